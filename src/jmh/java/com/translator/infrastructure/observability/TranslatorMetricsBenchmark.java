@@ -0,0 +1,45 @@
+package com.translator.infrastructure.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request metric recording. Each call builds the {@code counterKey} / {@code timerKey}
+ * lookup string before hitting the meter cache, so this measures that string building plus the
+ * map lookup and increment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TranslatorMetricsBenchmark {
+
+    private TranslatorMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        metrics = new TranslatorMetrics(new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void recordTranslationRequest() {
+        metrics.recordTranslationRequest("es", "AWS_TRANSLATE", false);
+    }
+
+    @Benchmark
+    public void recordL1CacheHit() {
+        metrics.recordL1CacheHit(true);
+    }
+
+    @Benchmark
+    public void recordStage() {
+        metrics.recordStage("l1_lookup", "none", "hit", 1_000);
+    }
+}
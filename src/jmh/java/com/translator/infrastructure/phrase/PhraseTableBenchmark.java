@@ -0,0 +1,98 @@
+package com.translator.infrastructure.phrase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit and miss lookups in a memory-mapped phrase table, against a HashMap of the same phrases
+ * as the on-heap baseline. Setup prints each fork's memory cost: the mapped file (off-heap,
+ * shared page cache) and the heap the HashMap retains.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PhraseTableBenchmark {
+
+    @Param({"1000", "100000"})
+    int phrases;
+
+    private Path file;
+    private PhraseTable table;
+    private Map<String, String> heapMap;
+    private String[] hits;
+    private String[] misses;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        long heapBefore = usedHeap();
+        heapMap = new HashMap<>();
+        for (int i = 0; i < phrases; i++) {
+            heapMap.put(phrase(i), "Traducción de la frase número " + i);
+        }
+        long heapAfter = usedHeap();
+
+        file = Files.createTempFile("phrases", PhraseTableBuilder.FILE_SUFFIX);
+        Files.write(file, PhraseTableBuilder.build("en", "es", new TreeMap<>(heapMap)));
+        table = PhraseTable.map(file);
+        System.out.printf("%n%d phrases: table %,d bytes mapped, HashMap ~%,d bytes heap%n",
+                phrases, table.byteSize(), heapAfter - heapBefore);
+
+        hits = new String[1024];
+        misses = new String[1024];
+        for (int i = 0; i < hits.length; i++) {
+            // Fresh String instances, as a request would carry
+            hits[i] = phrase((int) ((i * 2654435761L) % phrases));
+            misses[i] = phrase(phrases + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        table = null;
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String tableHit() {
+        return table.lookup(hits[next++ & 1023]);
+    }
+
+    @Benchmark
+    public String tableMiss() {
+        return table.lookup(misses[next++ & 1023]);
+    }
+
+    @Benchmark
+    public String heapMapHit() {
+        return heapMap.get(hits[next++ & 1023]);
+    }
+
+    private static String phrase(int i) {
+        return "Common UI phrase " + i;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
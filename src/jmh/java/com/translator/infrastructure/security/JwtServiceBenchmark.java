@@ -0,0 +1,55 @@
+package com.translator.infrastructure.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/** RS256 parse/verify as performed by {@link JwtAuthFilter} on every authenticated request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        // Blacklist lookups answer "not blacklisted" without a Redis connection
+        StringRedisTemplate redis = new StringRedisTemplate() {
+            @Override
+            public Boolean hasKey(String key) {
+                return false;
+            }
+        };
+        jwtService = new JwtService(redis, "benchmark");
+        UUID userId = UUID.fromString("00000000-0000-0000-0000-000000000042");
+        accessToken = jwtService.generateAccessToken(userId, "USER");
+        refreshToken = jwtService.generateRefreshToken(userId);
+    }
+
+    @Benchmark
+    public Claims parseAndVerify() {
+        return jwtService.extractAllClaims(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateAccessToken() {
+        return jwtService.isTokenValid(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateRefreshToken() {
+        return jwtService.isTokenValid(refreshToken);
+    }
+}
@@ -0,0 +1,65 @@
+package com.translator.translation.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.translator.presentation.rest.TranslationResponseEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the translate response: an ObjectMapper configured like Boot's against
+ * {@link TranslationResponseEncoder}, whose escaped text is cached per L1 entry. Run with the
+ * gc profiler (the jmh profile's default) and compare {@code gc.alloc.rate.norm}, the bytes
+ * allocated per hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TranslationResponseEncoder encoder;
+    private TranslationResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        encoder = new TranslationResponseEncoder(10_000);
+        response = TranslationResponseDTO.builder()
+                .translationId(UUID.fromString("00000000-0000-0000-0000-000000000042"))
+                .translatedText("El rápido zorro marrón salta sobre el perro perezoso")
+                .sourceLanguageDetected("en")
+                .targetLanguage("es")
+                .providerUsed("CAFFEINE_CACHE")
+                .servedFromCache(true)
+                .wordCount(9)
+                .characterCount(43)
+                .createdAt(OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /** Steady state of an L1 hit: the text's encoding is already cached. */
+    @Benchmark
+    public byte[] preEncoded() {
+        return encoder.encode(response);
+    }
+}
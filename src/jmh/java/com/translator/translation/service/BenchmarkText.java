@@ -0,0 +1,25 @@
+package com.translator.translation.service;
+
+import java.util.Random;
+
+/** Deterministic benchmark input: the same seed always yields the same text. */
+public final class BenchmarkText {
+
+    private static final String[] WORDS = {
+            "The", "quick", "brown", "fox", "jumps", "over", "the", "lazy", "dog", "translation",
+            "memory", "cache", "Über", "naïve", "café", "नमस्ते"
+    };
+
+    private BenchmarkText() {
+    }
+
+    /** Space-separated words (occasionally doubled spaces) truncated to {@code length} chars. */
+    public static String sentence(int length) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(10) == 0 ? "  " : " ");
+        }
+        return text.substring(0, length).strip();
+    }
+}
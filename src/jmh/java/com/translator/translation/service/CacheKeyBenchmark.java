@@ -0,0 +1,39 @@
+package com.translator.translation.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** L1 key (lower-case + concat) versus L2 key (MD5 hex) derivation, run on every translate call. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheKeyBenchmark {
+
+    @Param({"16", "256", "4096"})
+    int length;
+
+    private String sourceText;
+
+    @Setup
+    public void setUp() {
+        sourceText = BenchmarkText.sentence(length);
+    }
+
+    @Benchmark
+    public String l1Key() {
+        return TranslationService.l1Key(sourceText, "es");
+    }
+
+    @Benchmark
+    public String l2Key() {
+        return TranslationService.l2Key(sourceText, "es");
+    }
+}
@@ -0,0 +1,47 @@
+package com.translator.translation.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detection throughput in texts per second on one core (single benchmark thread), for trigram-scored
+ * Latin and Cyrillic text and for the script-only shortcut.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LanguageDetectorBenchmark {
+
+    @Param({"latin", "cyrillic", "han"})
+    String script;
+
+    @Param({"64", "1000"})
+    int length;
+
+    private LanguageDetector detector;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        detector = new LanguageDetector("", 0.6, 0.5, 20, 0.85, 1000);
+        String sentence = switch (script) {
+            case "latin" -> "Wo kann ich Karten für das Konzert heute Abend in der Innenstadt kaufen? ";
+            case "cyrillic" -> "Где можно купить билеты на сегодняшний концерт в центре города? ";
+            default -> "我需要预订两晚的酒店房间，请问市中心哪里可以买到今晚音乐会的票？";
+        };
+        text = sentence.repeat(length / sentence.length() + 1).substring(0, length);
+    }
+
+    @Benchmark
+    public LanguageDetector.DetectedLanguage detect() {
+        return detector.detect(text);
+    }
+}
@@ -0,0 +1,59 @@
+package com.translator.translation.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Word counting as done by {@code buildResponse} and the history writer
+ * ({@code split("\\s+").length}), against a precompiled pattern and a single character scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WordCountBenchmark {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Param({"16", "256", "4096"})
+    int length;
+
+    private String sourceText;
+
+    @Setup
+    public void setUp() {
+        sourceText = BenchmarkText.sentence(length);
+    }
+
+    @Benchmark
+    public int stringSplit() {
+        return sourceText.split("\\s+").length;
+    }
+
+    @Benchmark
+    public int precompiledSplit() {
+        return WHITESPACE.split(sourceText).length;
+    }
+
+    @Benchmark
+    public int characterScan() {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < sourceText.length(); i++) {
+            boolean whitespace = Character.isWhitespace(sourceText.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+}
@@ -0,0 +1,218 @@
+package com.translator.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.translator.grpc.v1.TranslateRequest;
+import com.translator.grpc.v1.TranslateResponse;
+import com.translator.grpc.v1.TranslatorGrpc;
+import com.translator.loadtest.LoadTestRunner.LoadProfile;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.MetadataUtils;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Requests are issued on a fixed schedule regardless of how fast the
+ * server answers, and latency is measured from each request's scheduled start rather than its
+ * actual send time, so a stalled server shows up in the percentiles instead of silently lowering
+ * the offered load (coordinated omission).
+ *
+ * With protocol {@code grpc}, translate requests go to the gRPC API instead, over a few
+ * long-lived connections as an internal caller would use it; the other endpoints stay on REST.
+ */
+class LoadGenerator implements AutoCloseable {
+
+    private static final String[] TARGET_LANGUAGES = {"es", "fr", "de", "hi"};
+    private static final String PASSWORD = "loadtest-password";
+    /** Latencies are recorded in microseconds, three significant digits, clamped to one minute. */
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int GRPC_CHANNELS = 4;
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final URI baseUri;
+    private final LoadProfile profile;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random(42);
+    private final List<String> emails = new ArrayList<>();
+    private final List<String> accessTokens = new ArrayList<>();
+    private final List<ManagedChannel> grpcChannels = new ArrayList<>();
+    private final List<TranslatorGrpc.TranslatorFutureStub> grpcStubs = new ArrayList<>();
+
+    LoadGenerator(URI baseUri, int grpcPort, LoadProfile profile) {
+        this.baseUri = baseUri;
+        this.profile = profile;
+        if (profile.grpc()) {
+            for (int i = 0; i < GRPC_CHANNELS; i++) {
+                grpcChannels.add(NettyChannelBuilder.forAddress(baseUri.getHost(), grpcPort).usePlaintext().build());
+            }
+        }
+    }
+
+    void registerUsers() throws IOException, InterruptedException {
+        for (int i = 0; i < profile.users(); i++) {
+            String email = "loadtest-" + i + "@example.com";
+            HttpResponse<String> response = client.send(
+                    json("/api/v1/auth/register", Map.of("email", email, "password", PASSWORD)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Registering " + email + " failed: " + response.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            emails.add(email);
+            accessTokens.add(body.get("accessToken").asText());
+            if (profile.grpc()) {
+                Metadata headers = new Metadata();
+                headers.put(AUTHORIZATION, "Bearer " + body.get("accessToken").asText());
+                grpcStubs.add(TranslatorGrpc.newFutureStub(grpcChannels.get(i % GRPC_CHANNELS))
+                        .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers)));
+            }
+        }
+    }
+
+    /** Drives the mix at the profile's rate for {@code duration} and waits for in-flight requests. */
+    LoadReport run(Duration duration) throws InterruptedException {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        for (String name : new String[]{"translate", "history", "auth"}) {
+            endpoints.put(name, new Endpoint());
+        }
+        ResourceSampler sampler = ResourceSampler.start();
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        LongAdder dropped = new LongAdder();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rps();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        int totalWeight = profile.translateWeight() + profile.historyWeight() + profile.authWeight();
+
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int pick = random.nextInt(totalWeight);
+            String name = pick < profile.translateWeight() ? "translate"
+                    : pick < profile.translateWeight() + profile.historyWeight() ? "history" : "auth";
+            Endpoint endpoint = endpoints.get(name);
+            if (!inFlight.tryAcquire()) {
+                // The client cannot keep up; count it rather than block and skew the schedule
+                dropped.increment();
+                continue;
+            }
+            long intendedStart = scheduled;
+            if (profile.grpc() && name.equals("translate")) {
+                Futures.addCallback(grpcStubs.get(random.nextInt(grpcStubs.size())).translate(grpcTranslateRequest()),
+                        new FutureCallback<TranslateResponse>() {
+                            @Override
+                            public void onSuccess(TranslateResponse response) {
+                                endpoint.complete(intendedStart, false);
+                                inFlight.release();
+                            }
+
+                            @Override
+                            public void onFailure(Throwable t) {
+                                endpoint.complete(intendedStart, true);
+                                inFlight.release();
+                            }
+                        }, MoreExecutors.directExecutor());
+                continue;
+            }
+            client.sendAsync(request(name), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        endpoint.complete(intendedStart, error != null || response.statusCode() >= 400);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(profile.maxInFlight());
+        inFlight.release(profile.maxInFlight());
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<String, LoadReport.EndpointResult> results = new LinkedHashMap<>();
+        endpoints.forEach((name, endpoint) -> results.put(name, new LoadReport.EndpointResult(
+                endpoint.latency.getIntervalHistogram(), endpoint.errors.sum())));
+        sampler.stop();
+        return new LoadReport("", profile.rps(), elapsed, dropped.sum(),
+                sampler.peakHeapMb(), sampler.peakPlatformThreads(), results);
+    }
+
+    private HttpRequest request(String name) {
+        int user = random.nextInt(accessTokens.size());
+        return switch (name) {
+            case "translate" -> authorized(json("/api/v1/translations", Map.of(
+                    "sourceText", "load test sentence number " + skewedTextIndex(),
+                    "sourceLanguage", "en",
+                    "targetLanguage", TARGET_LANGUAGES[random.nextInt(TARGET_LANGUAGES.length)])), user);
+            case "history" -> authorized(HttpRequest.newBuilder(baseUri.resolve("/api/v1/history?page=0&size=10")).GET(), user);
+            default -> json("/api/v1/auth/login", Map.of("email", emails.get(user), "password", PASSWORD)).build();
+        };
+    }
+
+    private TranslateRequest grpcTranslateRequest() {
+        return TranslateRequest.newBuilder()
+                .setSourceText("load test sentence number " + skewedTextIndex())
+                .setSourceLanguage("en")
+                .setTargetLanguage(TARGET_LANGUAGES[random.nextInt(TARGET_LANGUAGES.length)])
+                .build();
+    }
+
+    /** Cubing a uniform sample concentrates draws on low indices: a small hot set, a long tail. */
+    private int skewedTextIndex() {
+        double u = random.nextDouble();
+        return (int) (u * u * u * profile.distinctTexts());
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder, int user) {
+        return builder.header("Authorization", "Bearer " + accessTokens.get(user)).build();
+    }
+
+    private HttpRequest.Builder json(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ManagedChannel channel : grpcChannels) {
+            channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class Endpoint {
+        private final Recorder latency = new Recorder(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        private void complete(long intendedStart, boolean failed) {
+            latency.recordValue(Math.min(MAX_LATENCY_MICROS,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart)));
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+}
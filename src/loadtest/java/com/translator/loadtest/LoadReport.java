@@ -0,0 +1,90 @@
+package com.translator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of one measured run. Writes an HdrHistogram percentile distribution per endpoint
+ * ({@code <endpoint>.hgrm}, values in milliseconds, plottable with the HdrHistogram plotter) and
+ * a {@code summary.json} with throughput and headline percentiles for comparison across runs.
+ */
+record LoadReport(String mode, int targetRps, Duration elapsed, long dropped,
+                  long peakHeapMb, int peakPlatformThreads, Map<String, EndpointResult> endpoints) {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    record EndpointResult(Histogram latency, long errors) {
+    }
+
+    LoadReport withMode(String mode) {
+        return new LoadReport(mode, targetRps, elapsed, dropped, peakHeapMb, peakPlatformThreads, endpoints);
+    }
+
+    void write(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        for (Map.Entry<String, EndpointResult> entry : endpoints.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(outputDir.resolve(entry.getKey() + ".hgrm")), false, "UTF-8")) {
+                entry.getValue().latency().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDir.resolve("summary.json").toFile(), toSummary());
+    }
+
+    String summary() {
+        StringBuilder text = new StringBuilder(String.format(
+                "%s: target %d rps over %ds, %d dropped by the client, peak heap %d MB, peak platform threads %d%n",
+                mode, targetRps, elapsed.toSeconds(), dropped, peakHeapMb, peakPlatformThreads));
+        endpoints.forEach((name, result) -> {
+            Histogram h = result.latency();
+            text.append(String.format("%-10s %8d req %8.1f rps %6d err  p50 %7.1f  p99 %7.1f  p99.9 %7.1f  max %7.1f ms%n",
+                    name, h.getTotalCount(), throughput(h), result.errors(),
+                    millis(h, 50), millis(h, 99), millis(h, 99.9), h.getMaxValue() / MICROS_PER_MILLI));
+        });
+        return text.toString();
+    }
+
+    private Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", mode);
+        summary.put("targetRps", targetRps);
+        summary.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        summary.put("droppedByClient", dropped);
+        summary.put("peakHeapMb", peakHeapMb);
+        summary.put("peakPlatformThreads", peakPlatformThreads);
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((name, result) -> {
+            Histogram h = result.latency();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", h.getTotalCount());
+            stats.put("errors", result.errors());
+            stats.put("throughputRps", throughput(h));
+            stats.put("p50Ms", millis(h, 50));
+            stats.put("p90Ms", millis(h, 90));
+            stats.put("p99Ms", millis(h, 99));
+            stats.put("p999Ms", millis(h, 99.9));
+            stats.put("maxMs", h.getMaxValue() / MICROS_PER_MILLI);
+            perEndpoint.put(name, stats);
+        });
+        summary.put("endpoints", perEndpoint);
+        return summary;
+    }
+
+    private double throughput(Histogram latency) {
+        return latency.getTotalCount() / (elapsed.toMillis() / 1000.0);
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
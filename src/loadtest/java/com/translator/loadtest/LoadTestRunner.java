@@ -0,0 +1,97 @@
+package com.translator.loadtest;
+
+import com.translator.TranslatorApplication;
+import com.translator.presentation.grpc.GrpcServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Starts Postgres and Redis in Testcontainers, boots the application on a random port with the
+ * {@code loadtest} profile, and drives it at a fixed request rate. Settings are read from
+ * {@code loadtest.*} system properties (see the {@code loadtest} Maven profile).
+ *
+ * With {@code -Dloadtest.virtual-threads=true} (Java 21) the app runs in virtual-thread mode.
+ * Reports go to a per-mode subdirectory, so the two modes can be compared under the same load.
+ *
+ * With {@code -Dloadtest.protocol=grpc}, translate requests use the gRPC API instead of REST and
+ * the mode is prefixed with {@code grpc-}; with a translate-only mix the two APIs can be compared.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+        String mode = (profile.grpc() ? "grpc-" : "") + (virtualThreads ? "virtual-threads" : "platform-threads");
+        Path outputDir = Path.of(System.getProperty("loadtest.output-dir", "target/loadtest")).resolve(mode);
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+             GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379)) {
+            postgres.start();
+            redis.start();
+
+            try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TranslatorApplication.class)
+                    .profiles("loadtest")
+                    .run("--server.port=0",
+                            "--translator.grpc.port=0",
+                            "--spring.threads.virtual.enabled=" + virtualThreads,
+                            "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                            "--spring.datasource.username=" + postgres.getUsername(),
+                            "--spring.datasource.password=" + postgres.getPassword(),
+                            "--spring.data.redis.host=" + redis.getHost(),
+                            "--spring.data.redis.port=" + redis.getMappedPort(6379))) {
+                int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                int grpcPort = app.getBean(GrpcServer.class).getPort();
+                try (LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), grpcPort, profile)) {
+                    generator.registerUsers();
+                    log.info("Warming up for {}s at {} rps", profile.warmup().toSeconds(), profile.rps());
+                    generator.run(profile.warmup());
+                    log.info("Measuring for {}s at {} rps", profile.duration().toSeconds(), profile.rps());
+                    LoadReport report = generator.run(profile.duration()).withMode(mode);
+
+                    report.write(outputDir);
+                    log.info("Load test finished:\n{}", report.summary());
+                }
+            }
+        }
+    }
+
+    /**
+     * What to send and how fast. The mix is by weight; translate texts are drawn from a skewed
+     * distribution over {@code distinctTexts} so that cache tiers see a realistic hot set.
+     */
+    record LoadProfile(int rps, Duration warmup, Duration duration, int users, int distinctTexts,
+                       int translateWeight, int historyWeight, int authWeight, int maxInFlight,
+                       String protocol) {
+
+        static LoadProfile fromSystemProperties() {
+            return new LoadProfile(
+                    Integer.getInteger("loadtest.rps", 200),
+                    Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15)),
+                    Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                    Integer.getInteger("loadtest.users", 50),
+                    Integer.getInteger("loadtest.distinct-texts", 5000),
+                    Integer.getInteger("loadtest.mix.translate", 80),
+                    Integer.getInteger("loadtest.mix.history", 15),
+                    Integer.getInteger("loadtest.mix.auth", 5),
+                    Integer.getInteger("loadtest.max-in-flight", 2000),
+                    System.getProperty("loadtest.protocol", "rest"));
+        }
+
+        boolean grpc() {
+            return protocol.equals("grpc");
+        }
+    }
+}
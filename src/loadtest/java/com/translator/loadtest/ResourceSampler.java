@@ -0,0 +1,52 @@
+package com.translator.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples heap use and live platform threads of this JVM (which hosts the app) every 100 ms.
+ * Virtual threads are not counted by {@link ThreadMXBean}, so in virtual-thread mode the thread
+ * peak shows how many carriers and pool threads remain.
+ */
+final class ResourceSampler {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "loadtest-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicInteger peakThreads = new AtomicInteger();
+
+    private ResourceSampler() {
+    }
+
+    static ResourceSampler start() {
+        ResourceSampler sampler = new ResourceSampler();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        sampler.scheduler.scheduleAtFixedRate(() -> {
+            sampler.peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            sampler.peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+        }, 0, 100, TimeUnit.MILLISECONDS);
+        return sampler;
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    long peakHeapMb() {
+        return peakHeapBytes.get() / (1024 * 1024);
+    }
+
+    int peakPlatformThreads() {
+        return peakThreads.get();
+    }
+}
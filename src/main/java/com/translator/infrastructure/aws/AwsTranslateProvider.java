@@ -1,12 +1,20 @@
 package com.translator.infrastructure.aws;
 
 import com.translator.infrastructure.external.TranslationProvider;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.services.translate.TranslateClient;
+import software.amazon.awssdk.services.translate.model.Language;
+import software.amazon.awssdk.services.translate.model.ListLanguagesRequest;
 import software.amazon.awssdk.services.translate.model.TranslateTextRequest;
 import software.amazon.awssdk.services.translate.model.TranslateTextResponse;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
 @Component
+@Profile("!loadtest")
 public class AwsTranslateProvider implements TranslationProvider {
 
     private final TranslateClient translateClient;
@@ -29,6 +37,17 @@ public class AwsTranslateProvider implements TranslationProvider {
         return response.translatedText();
     }
 
+    /** Any listed language translates to any other; "auto" is accepted as a source. */
+    @Override
+    public Optional<Map<String, String>> supportedLanguages() {
+        Map<String, String> languages = new TreeMap<>();
+        for (Language language : translateClient.listLanguagesPaginator(ListLanguagesRequest.builder().build())
+                .languages()) {
+            languages.put(language.languageCode(), language.languageName());
+        }
+        return Optional.of(languages);
+    }
+
     @Override
     public String getProviderName() {
         return "AWS_TRANSLATE";
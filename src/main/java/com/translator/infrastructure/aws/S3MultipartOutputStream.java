@@ -0,0 +1,144 @@
+package com.translator.infrastructure.aws;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an S3 object of unknown length through a multipart upload, holding only one part in
+ * memory. Each full part is uploaded as it fills; {@link #close()} uploads the remainder and
+ * completes the object, {@link #abort()} discards it. {@link #flush()} does not upload, since
+ * every part but the last must be at least 5 MiB.
+ */
+public class S3MultipartOutputStream extends OutputStream {
+
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final String uploadId;
+    private final byte[] part;
+    private final List<CompletedPart> completedParts = new ArrayList<>();
+    private int position;
+    private long bytesWritten;
+    private boolean closed;
+
+    public S3MultipartOutputStream(S3Client s3Client, String bucket, String key, String contentType, int partSize) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("S3 parts must be at least " + MIN_PART_SIZE + " bytes: " + partSize);
+        }
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.part = new byte[partSize];
+        this.uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+    }
+
+    public String uploadId() {
+        return uploadId;
+    }
+
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (position == part.length) {
+            uploadPart();
+        }
+        part[position++] = (byte) b;
+        bytesWritten++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            if (position == part.length) {
+                uploadPart();
+            }
+            int chunk = Math.min(length, part.length - position);
+            System.arraycopy(bytes, offset, part, position, chunk);
+            position += chunk;
+            offset += chunk;
+            length -= chunk;
+            bytesWritten += chunk;
+        }
+    }
+
+    /** Uploads the buffered remainder as the last part and completes the object. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        // An object needs at least one part, even an empty one
+        if (position > 0 || completedParts.isEmpty()) {
+            uploadPart();
+        }
+        s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                .build());
+        closed = true;
+    }
+
+    /** Discards the upload and its parts; S3 keeps (and bills) parts of uploads never completed or aborted. */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        abort(s3Client, bucket, key, uploadId);
+    }
+
+    /** Aborts an upload left behind by a writer that is gone, e.g. a job interrupted on another node. */
+    public static void abort(S3Client s3Client, String bucket, String key, String uploadId) {
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    private void uploadPart() {
+        int partNumber = completedParts.size() + 1;
+        String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) position)
+                        .build(),
+                // Streams from the part buffer without the copy RequestBody.fromBytes makes
+                RequestBody.fromInputStream(new ByteArrayInputStream(part, 0, position), position)).eTag();
+        completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+        position = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Upload of s3://" + bucket + "/" + key + " is already closed");
+        }
+    }
+}
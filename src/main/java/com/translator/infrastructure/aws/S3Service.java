@@ -4,28 +4,41 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
+import java.util.OptionalLong;
 
 @Service
 public class S3Service {
 
+    private final S3Client s3Client;
     private final S3Presigner s3Presigner;
     private final String exportBucket;
 
     public S3Service(
+            S3Client s3Client,
             @Value("${aws.region}") String region,
             @Value("${aws.endpoint:}") String endpoint,
             @Value("${aws.credentials.access-key:}") String accessKey,
             @Value("${aws.credentials.secret-key:}") String secretKey,
             @Value("${aws.s3.export-bucket}") String exportBucket) {
         
+        this.s3Client = s3Client;
         this.exportBucket = exportBucket;
         
         S3Presigner.Builder builder = S3Presigner.builder().region(Region.of(region));
@@ -43,10 +56,14 @@ public class S3Service {
     }
 
     public String generatePresignedUrlForUpload(String objectKey) {
+        return generatePresignedUrlForUpload(objectKey, "application/json");
+    }
+
+    public String generatePresignedUrlForUpload(String objectKey, String contentType) {
         PutObjectRequest objectRequest = PutObjectRequest.builder()
                 .bucket(exportBucket)
                 .key(objectKey)
-                .contentType("application/json")
+                .contentType(contentType)
                 .build();
 
         PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
@@ -57,4 +74,48 @@ public class S3Service {
         PresignedPutObjectRequest presignedRequest = s3Presigner.presignPutObject(presignRequest);
         return presignedRequest.url().toString();
     }
+
+    public String generatePresignedUrlForDownload(String objectKey) {
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(60))
+                .getObjectRequest(GetObjectRequest.builder().bucket(exportBucket).key(objectKey).build())
+                .build();
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
+    /** Streams {@code length} bytes into the object without buffering them in memory. */
+    public void upload(String objectKey, InputStream content, long length, String contentType) {
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(exportBucket)
+                        .key(objectKey)
+                        .contentType(contentType)
+                        .build(),
+                RequestBody.fromInputStream(content, length));
+    }
+
+    /** @return the object's size, or empty when there is no such object */
+    public OptionalLong sizeIfExists(String objectKey) {
+        try {
+            return OptionalLong.of(s3Client.headObject(
+                    HeadObjectRequest.builder().bucket(exportBucket).key(objectKey).build()).contentLength());
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return OptionalLong.empty();
+            }
+            throw e;
+        }
+    }
+
+    /** The object's content as a stream; the caller must close it to release the connection. */
+    public ResponseInputStream<GetObjectResponse> open(String objectKey) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(exportBucket).key(objectKey).build());
+    }
+
+    public S3MultipartOutputStream openMultipartUpload(String objectKey, String contentType, int partSize) {
+        return new S3MultipartOutputStream(s3Client, exportBucket, objectKey, contentType, partSize);
+    }
+
+    public void abortMultipartUpload(String objectKey, String uploadId) {
+        S3MultipartOutputStream.abort(s3Client, exportBucket, objectKey, uploadId);
+    }
 }
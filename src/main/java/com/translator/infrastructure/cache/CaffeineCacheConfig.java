@@ -1,30 +1,54 @@
 package com.translator.infrastructure.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.scheduling.annotation.EnableAsync;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Caffeine L1 in-memory cache configuration.
- * Translations are cached with a 10-minute TTL and 1000-entry cap.
+ * TTL and size come from {@code translator.cache.l1}; nodes stay coherent through the
+ * {@link L1InvalidationBus}, so the TTL only bounds staleness if a broadcast is lost.
  * Redis acts as L2 with 24-hour TTL (configured in TranslationService).
  */
 @Configuration
 @EnableAsync
 public class CaffeineCacheConfig {
 
+    public static final String L1_CACHE = "translations-l1-caffeine";
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${translator.cache.l1.ttl:PT1H}") Duration ttl,
+                                     @Value("${translator.cache.l1.maximum-size:10000}") long maximumSize) {
         CaffeineCacheManager manager = new CaffeineCacheManager();
         manager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
                 .recordStats()); // enables cache hit rate metrics
+        // Declared up front (not created on first use) so Boot binds its stats to Micrometer
+        // at startup as cache.gets / cache.evictions / cache.size{cache=translations-l1-caffeine}
+        manager.setCacheNames(List.of(L1_CACHE));
         return manager;
     }
+
+    @Bean
+    public RedisMessageListenerContainer l1InvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                L1InvalidationBus bus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> bus.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(bus.getChannel()));
+        return container;
+    }
 }
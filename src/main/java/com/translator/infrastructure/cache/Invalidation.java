@@ -0,0 +1,63 @@
+package com.translator.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One L1 invalidation and its wire format. A batch is encoded as a run of
+ * {@code <type><length>:<value>} frames, e.g. {@code K8:hello-esP3:fooG2:17}, so keys may
+ * contain any character and a message carries no field names. An {@code ORIGIN} frame names the
+ * node that published the batch and invalidates nothing itself.
+ */
+record Invalidation(Type type, String value) {
+
+    enum Type {
+        KEY('K'), PREFIX('P'), GENERATION('G'), ORIGIN('N');
+
+        private final char code;
+
+        Type(char code) {
+            this.code = code;
+        }
+
+        static Type of(char code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation type '" + code + "'");
+        }
+    }
+
+    static String encode(List<Invalidation> batch) {
+        StringBuilder out = new StringBuilder();
+        for (Invalidation invalidation : batch) {
+            out.append(invalidation.type.code)
+                    .append(invalidation.value.length())
+                    .append(':')
+                    .append(invalidation.value);
+        }
+        return out.toString();
+    }
+
+    static List<Invalidation> decode(String payload) {
+        List<Invalidation> batch = new ArrayList<>();
+        int pos = 0;
+        while (pos < payload.length()) {
+            Type type = Type.of(payload.charAt(pos));
+            int colon = payload.indexOf(':', pos + 1);
+            if (colon < 0) {
+                throw new IllegalArgumentException("Missing length delimiter at " + pos);
+            }
+            int length = Integer.parseInt(payload, pos + 1, colon, 10);
+            int end = colon + 1 + length;
+            if (length < 0 || end > payload.length()) {
+                throw new IllegalArgumentException("Frame at " + pos + " overruns the message");
+            }
+            batch.add(new Invalidation(type, payload.substring(colon + 1, end)));
+            pos = end;
+        }
+        return batch;
+    }
+}
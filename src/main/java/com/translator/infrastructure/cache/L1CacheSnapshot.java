@@ -0,0 +1,107 @@
+package com.translator.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary snapshot of the L1 cache: a gzip stream of a small header followed by
+ * length-prefixed UTF-8 key/value pairs. Files are written to a temporary sibling and moved
+ * into place, so a crash mid-write never leaves a truncated snapshot behind.
+ */
+public final class L1CacheSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(L1CacheSnapshot.class);
+
+    private static final int MAGIC = 0x4C31534E; // "L1SN"
+    private static final int VERSION = 1;
+    private static final int MAX_ENTRY_BYTES = 1 << 20;
+
+    private L1CacheSnapshot() {
+    }
+
+    public static void write(Path path, Map<String, String> entries) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Instant.now().toEpochMilli());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the snapshot's entries, or an empty map if the file is missing, older than
+     *         {@code maxAge}, or unreadable
+     */
+    public static Map<String, String> read(Path path, Duration maxAge) {
+        if (!Files.isRegularFile(path)) {
+            return Map.of();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring L1 snapshot {}: unrecognised format", path);
+                return Map.of();
+            }
+            Instant writtenAt = Instant.ofEpochMilli(in.readLong());
+            if (writtenAt.isBefore(Instant.now().minus(maxAge))) {
+                log.info("Ignoring L1 snapshot {}: written at {}, older than {}", path, writtenAt, maxAge);
+                return Map.of();
+            }
+            int count = in.readInt();
+            Map<String, String> entries = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                entries.put(readString(in), readString(in));
+            }
+            return entries;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable L1 snapshot {}", path, e);
+            return Map.of();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_ENTRY_BYTES) {
+            throw new IOException("Corrupt snapshot entry length " + length);
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Truncated snapshot entry");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.translator.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every node's L1 coherent by broadcasting invalidations over Redis pub/sub.
+ *
+ * Invalidations apply to the local cache immediately and are queued; each flush publishes the
+ * queue as one compact message, so a burst of corrections costs one PUBLISH rather than one per
+ * key. Pub/sub is at-most-once, so whole-cache flushes are also recorded as a generation counter
+ * in Redis which every node polls on each flush: a node that missed the message still clears its
+ * L1 within one flush interval.
+ *
+ * Each message is tagged with the publishing node's id and that node ignores it on receipt: it
+ * already applied the invalidations when they were queued, and re-applying them a flush later
+ * would evict entries it has since refilled with the corrected value.
+ */
+@Component
+public class L1InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(L1InvalidationBus.class);
+
+    static final String GENERATION_KEY = "translator:l1:generation";
+
+    private final Cache<Object, Object> l1;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final int maxBatch;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<Invalidation> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public L1InvalidationBus(CacheManager cacheManager,
+                             StringRedisTemplate redisTemplate,
+                             @Value("${translator.cache.l1.invalidation.channel:translator:l1:invalidations}") String channel,
+                             @Value("${translator.cache.l1.invalidation.max-batch:500}") int maxBatch) {
+        this.l1 = ((CaffeineCache) cacheManager.getCache(CaffeineCacheConfig.L1_CACHE)).getNativeCache();
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.maxBatch = maxBatch;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void invalidateKey(String key) {
+        submit(new Invalidation(Invalidation.Type.KEY, key));
+    }
+
+    public void invalidatePrefix(String prefix) {
+        submit(new Invalidation(Invalidation.Type.PREFIX, prefix));
+    }
+
+    /** Clears L1 on every node by moving the cluster to a new generation. */
+    public long invalidateAll() {
+        long next = redisTemplate.opsForValue().increment(GENERATION_KEY);
+        generation.accumulateAndGet(next, Math::max);
+        l1.invalidateAll();
+        outbox.add(new Invalidation(Invalidation.Type.GENERATION, String.valueOf(next)));
+        return next;
+    }
+
+    private void submit(Invalidation invalidation) {
+        apply(invalidation);
+        outbox.add(invalidation);
+    }
+
+    /** Publishes queued invalidations, then catches up on any generation change that was missed. */
+    @Scheduled(fixedDelayString = "${translator.cache.l1.invalidation.flush-interval-ms:100}")
+    public void flush() {
+        try {
+            List<Invalidation> batch = new ArrayList<>();
+            Invalidation next;
+            while ((next = outbox.poll()) != null) {
+                batch.add(next);
+                if (batch.size() == maxBatch) {
+                    publish(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                publish(batch);
+            }
+            String current = redisTemplate.opsForValue().get(GENERATION_KEY);
+            if (current != null) {
+                catchUpGeneration(Long.parseLong(current));
+            }
+        } catch (Exception e) {
+            log.warn("L1 invalidation flush failed", e);
+        }
+    }
+
+    private void publish(List<Invalidation> batch) {
+        List<Invalidation> message = new ArrayList<>(batch.size() + 1);
+        message.add(new Invalidation(Invalidation.Type.ORIGIN, nodeId));
+        message.addAll(batch);
+        redisTemplate.convertAndSend(channel, Invalidation.encode(message));
+    }
+
+    /** Applies a message published by another node; this node's own messages are skipped. */
+    public void onMessage(String payload) {
+        try {
+            List<Invalidation> message = Invalidation.decode(payload);
+            if (!message.isEmpty() && message.get(0).equals(new Invalidation(Invalidation.Type.ORIGIN, nodeId))) {
+                return;
+            }
+            message.forEach(this::apply);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed L1 invalidation message", e);
+        }
+    }
+
+    private void apply(Invalidation invalidation) {
+        switch (invalidation.type()) {
+            case KEY -> l1.invalidate(invalidation.value());
+            case PREFIX -> l1.asMap().keySet().removeIf(key -> key.toString().startsWith(invalidation.value()));
+            case GENERATION -> {
+                long observed = Long.parseLong(invalidation.value());
+                if (generation.getAndAccumulate(observed, Math::max) < observed) {
+                    l1.invalidateAll();
+                }
+            }
+            case ORIGIN -> {
+                // Names the publisher; handled in onMessage
+            }
+        }
+    }
+
+    private void catchUpGeneration(long observed) {
+        long previous = generation.getAndAccumulate(observed, Math::max);
+        // The first poll only records the baseline: this node's L1 was filled in that generation
+        if (observed > previous && previous > 0) {
+            l1.invalidateAll();
+            log.info("L1 cleared after missing the broadcast for generation {}", observed);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.translator.infrastructure.external;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+@Profile("!loadtest")
 public class LibreTranslateProvider implements TranslationProvider {
 
     @Override
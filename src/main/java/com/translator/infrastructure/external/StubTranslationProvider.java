@@ -0,0 +1,75 @@
+package com.translator.infrastructure.external;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in provider for the {@code loadtest} profile, where the real providers are disabled.
+ * Latency is log-normal, fitted to a configured median and p99, so the tail looks like a real
+ * network call. A configurable fraction of calls fails, and calls above the configured rate are
+ * throttled the way AWS Translate answers with {@code ThrottlingException}.
+ */
+@Component
+@Profile("loadtest")
+public class StubTranslationProvider implements TranslationProvider {
+
+    /** z-score of the 99th percentile of a standard normal distribution. */
+    private static final double Z_99 = 2.326;
+
+    private final double medianMs;
+    private final double sigma;
+    private final double errorRate;
+    private final Bucket throttle;
+
+    public StubTranslationProvider(@Value("${translator.loadtest.stub.latency-median-ms:80}") double medianMs,
+                                   @Value("${translator.loadtest.stub.latency-p99-ms:400}") double p99Ms,
+                                   @Value("${translator.loadtest.stub.error-rate:0.01}") double errorRate,
+                                   @Value("${translator.loadtest.stub.throttle-rps:0}") long throttleRps) {
+        if (p99Ms < medianMs) {
+            throw new IllegalArgumentException("latency-p99-ms must be >= latency-median-ms");
+        }
+        this.medianMs = medianMs;
+        this.sigma = medianMs > 0 ? Math.log(p99Ms / medianMs) / Z_99 : 0;
+        this.errorRate = errorRate;
+        this.throttle = throttleRps > 0
+                ? Bucket.builder()
+                        .addLimit(Bandwidth.builder().capacity(throttleRps).refillGreedy(throttleRps, Duration.ofSeconds(1)).build())
+                        .build()
+                : null;
+    }
+
+    @Override
+    public String translate(String text, String sourceLang, String targetLang) {
+        if (throttle != null && !throttle.tryConsume(1)) {
+            throw new IllegalStateException("Stub provider throttled: rate exceeded");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latencyMicros = Math.round(medianMs * 1000 * Math.exp(sigma * random.nextGaussian()));
+        try {
+            Thread.sleep(latencyMicros / 1000, (int) (latencyMicros % 1000) * 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Stub provider interrupted", e);
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new IllegalStateException("Stub provider simulated failure");
+        }
+        return "[" + targetLang + "] " + text;
+    }
+
+    @Override
+    public String getProviderName() {
+        return "STUB";
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+}
@@ -1,7 +1,18 @@
 package com.translator.infrastructure.external;
 
+import java.util.Map;
+import java.util.Optional;
+
 public interface TranslationProvider {
     String translate(String text, String sourceLang, String targetLang);
     String getProviderName();
     int getPriority(); // 1 = highest
+
+    /**
+     * Languages this provider translates between, code to display name. Empty if it publishes no
+     * list; it is then offered every pair. Fetched at startup and on each catalog refresh.
+     */
+    default Optional<Map<String, String>> supportedLanguages() {
+        return Optional.empty();
+    }
 }
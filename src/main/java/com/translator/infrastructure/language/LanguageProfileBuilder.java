@@ -0,0 +1,110 @@
+package com.translator.infrastructure.language;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Builds a {@link LanguageProfileModel} file from one plain-text corpus per language
+ * ({@code <code>.txt}). The output is deterministic, so a rebuilt model can be compared byte
+ * for byte with the committed one.
+ *
+ * <pre>java LanguageProfileBuilder src/main/language-corpus src/main/resources/language/profiles.bin</pre>
+ */
+public final class LanguageProfileBuilder {
+
+    /**
+     * Most frequent trigrams kept per language; the union of these forms the model. High enough
+     * that a trigram missing from a language's row means its corpus never had it, which the
+     * detector's coverage check relies on.
+     */
+    static final int GRAMS_PER_LANGUAGE = 3000;
+    static final int MAX_CORPUS_CHARS = 1 << 20;
+
+    private LanguageProfileBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: LanguageProfileBuilder <corpus-dir> <output-file>");
+        }
+        byte[] model = build(readCorpora(Path.of(args[0])));
+        Files.write(Path.of(args[1]), model);
+    }
+
+    public static SortedMap<String, String> readCorpora(Path dir) throws IOException {
+        SortedMap<String, String> corpora = new TreeMap<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".txt")).toList()) {
+                String code = file.getFileName().toString().replace(".txt", "");
+                corpora.put(code, Files.readString(file, StandardCharsets.UTF_8));
+            }
+        }
+        return corpora;
+    }
+
+    public static byte[] build(SortedMap<String, String> corpora) {
+        List<String> languages = new ArrayList<>(corpora.keySet());
+        List<Map<Long, Integer>> counts = new ArrayList<>();
+        long[] totals = new long[languages.size()];
+        TreeSet<Long> keys = new TreeSet<>();
+
+        for (int l = 0; l < languages.size(); l++) {
+            Map<Long, Integer> languageCounts = new HashMap<>();
+            LanguageProfileModel.forEachTrigram(corpora.get(languages.get(l)), MAX_CORPUS_CHARS,
+                    key -> languageCounts.merge(key, 1, Integer::sum));
+            counts.add(languageCounts);
+            totals[l] = languageCounts.values().stream().mapToLong(Integer::longValue).sum();
+            languageCounts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(GRAMS_PER_LANGUAGE)
+                    .forEach(entry -> keys.add(entry.getKey()));
+        }
+
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(LanguageProfileModel.MAGIC);
+            out.writeInt(LanguageProfileModel.VERSION);
+            out.writeInt(languages.size());
+            for (int l = 0; l < languages.size(); l++) {
+                byte[] code = languages.get(l).getBytes(StandardCharsets.US_ASCII);
+                out.writeShort(code.length);
+                out.write(code);
+                out.writeByte(score(0, totals[l]));
+            }
+            out.writeInt(keys.size());
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+            for (long key : keys) {
+                for (int l = 0; l < languages.size(); l++) {
+                    out.writeByte(score(counts.get(l).getOrDefault(key, 0), totals[l]));
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Add-half smoothing, so a trigram never seen in a language is unlikely, not impossible. */
+    private static int score(int count, long total) {
+        double p = (count + 0.5) / (total + 1.0);
+        return (int) Math.min(255, Math.round(-Math.log(p) * LanguageProfileModel.SCORE_SCALE));
+    }
+}
@@ -0,0 +1,149 @@
+package com.translator.infrastructure.language;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Read-only character-trigram model for language identification, used straight from a
+ * (usually memory-mapped) buffer without being unpacked onto the heap.
+ *
+ * Layout, big-endian: magic, version, language count, each language code (length-prefixed
+ * ASCII) followed by its unseen score (one byte), trigram count N, then N sorted trigram keys
+ * (8 bytes each) followed by an N x L matrix of scores. A score is
+ * {@code -ln p(trigram | language)} in units of 1/16, one byte per cell, which covers
+ * probabilities down to about e^-16. A cell at its language's unseen score is a trigram that
+ * language's corpus never contained; it is smoothed rather than impossible, and is what lets
+ * the detector tell text that fits no trained language from text that fits one.
+ */
+public final class LanguageProfileModel {
+
+    static final int MAGIC = 0x4C505246; // "LPRF"
+    static final int VERSION = 2;
+    static final double SCORE_SCALE = 16.0;
+
+    /** Word boundary marker; runs of non-letters collapse into one. */
+    static final char BOUNDARY = '_';
+
+    private final ByteBuffer buffer;
+    private final List<String> languages;
+    private final int[] unseenScores;
+    private final int gramCount;
+    private final int keysOffset;
+    private final int scoresOffset;
+
+    private LanguageProfileModel(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " language profile");
+        }
+        int languageCount = buffer.getInt(8);
+        List<String> codes = new ArrayList<>(languageCount);
+        this.unseenScores = new int[languageCount];
+        int pos = 12;
+        for (int i = 0; i < languageCount; i++) {
+            int length = buffer.getShort(pos);
+            byte[] code = new byte[length];
+            buffer.get(pos + 2, code);
+            codes.add(new String(code, StandardCharsets.US_ASCII));
+            unseenScores[i] = buffer.get(pos + 2 + length) & 0xFF;
+            pos += 3 + length;
+        }
+        this.languages = List.copyOf(codes);
+        this.gramCount = buffer.getInt(pos);
+        this.keysOffset = pos + 4;
+        this.scoresOffset = keysOffset + gramCount * Long.BYTES;
+        if (buffer.limit() < scoresOffset + gramCount * languageCount) {
+            throw new IllegalArgumentException("Truncated language profile");
+        }
+    }
+
+    public static LanguageProfileModel map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LanguageProfileModel(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static LanguageProfileModel wrap(ByteBuffer buffer) {
+        return new LanguageProfileModel(buffer);
+    }
+
+    public List<String> languages() {
+        return languages;
+    }
+
+    public int gramCount() {
+        return gramCount;
+    }
+
+    /**
+     * Adds each language's log-probability of {@code key} to {@code logLikelihoods}, and counts
+     * it in {@code seen} for every language whose corpus contained it.
+     *
+     * @return false if the trigram is not in the model, in which case nothing is added
+     */
+    public boolean accumulate(long key, double[] logLikelihoods, int[] seen) {
+        int index = find(key);
+        if (index < 0) {
+            return false;
+        }
+        int row = scoresOffset + index * languages.size();
+        for (int l = 0; l < logLikelihoods.length; l++) {
+            int score = buffer.get(row + l) & 0xFF;
+            logLikelihoods[l] -= score / SCORE_SCALE;
+            if (score < unseenScores[l]) {
+                seen[l]++;
+            }
+        }
+        return true;
+    }
+
+    private int find(long key) {
+        int low = 0;
+        int high = gramCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long probe = buffer.getLong(keysOffset + mid * Long.BYTES);
+            if (probe < key) {
+                low = mid + 1;
+            } else if (probe > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Feeds every trigram of {@code text} to {@code consumer}, reading at most {@code maxChars}.
+     * Letters are lower-cased; everything else is a word boundary, so "The cat" yields
+     * {@code _th, the, he_, e_c, _ca, cat, at_}.
+     */
+    public static void forEachTrigram(CharSequence text, int maxChars, LongConsumer consumer) {
+        char first = 0;
+        char second = BOUNDARY;
+        int end = Math.min(text.length(), maxChars);
+        for (int i = 0; i <= end; i++) {
+            char c = i < end && Character.isLetter(text.charAt(i)) ? Character.toLowerCase(text.charAt(i)) : BOUNDARY;
+            if (c == BOUNDARY && second == BOUNDARY) {
+                continue;
+            }
+            if (first != 0) {
+                consumer.accept(key(first, second, c));
+            }
+            first = second;
+            second = c;
+        }
+    }
+
+    static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+}
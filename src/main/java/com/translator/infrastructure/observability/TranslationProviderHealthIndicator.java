@@ -1,51 +1,235 @@
 package com.translator.infrastructure.observability;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.services.translate.TranslateClient;
 import software.amazon.awssdk.services.translate.model.ListLanguagesRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
- * Custom actuator health indicator that checks:
- *   - Redis connectivity
- *   - AWS Translate reachability (via lightweight ListLanguages call)
+ * Custom actuator health indicator for Redis connectivity and AWS Translate reachability.
+ *
+ * Health probes from the load balancer and ECS arrive every few seconds on every instance, so
+ * {@link #health()} only reads the last result. The dependencies are probed in the background
+ * every {@code probe-interval}, each bounded by {@code probe-timeout}. A state flips only after
+ * {@code failure-threshold} consecutive failures (or {@code success-threshold} successes), so
+ * one slow ping does not take an instance out of the target group. A dependency starts UNKNOWN
+ * and becomes UP on its first successful probe, or DOWN only after {@code failure-threshold}
+ * failures, so a hiccup at startup does not fail readiness either. Redis down makes the
+ * instance DOWN. AWS Translate down is reported as DEGRADED, since LibreTranslate can serve.
  */
 @Component("translationProviders")
 public class TranslationProviderHealthIndicator implements HealthIndicator {
 
+    private static final Logger log = LoggerFactory.getLogger(TranslationProviderHealthIndicator.class);
+
     private final StringRedisTemplate redisTemplate;
     private final TranslateClient translateClient;
+    private final TranslatorMetrics metrics;
+    private final Duration probeInterval;
+    private final Duration probeTimeout;
+    private final List<Dependency> dependencies;
+    private final ScheduledExecutorService probeScheduler;
 
     public TranslationProviderHealthIndicator(StringRedisTemplate redisTemplate,
-                                              TranslateClient translateClient) {
+                                              TranslateClient translateClient,
+                                              TranslatorMetrics metrics,
+                                              @Value("${translator.health.probe-interval:PT10S}") Duration probeInterval,
+                                              @Value("${translator.health.probe-timeout:PT2S}") Duration probeTimeout,
+                                              @Value("${translator.health.failure-threshold:3}") int failureThreshold,
+                                              @Value("${translator.health.success-threshold:2}") int successThreshold) {
         this.redisTemplate = redisTemplate;
         this.translateClient = translateClient;
+        this.metrics = metrics;
+        this.probeInterval = probeInterval;
+        this.probeTimeout = probeTimeout;
+        this.dependencies = List.of(
+                new Dependency("redis", true, this::pingRedis, failureThreshold, successThreshold),
+                new Dependency("awsTranslate", false, this::listAwsLanguages, failureThreshold, successThreshold));
+        this.probeScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("health-probe-"));
+    }
+
+    @PostConstruct
+    void start() {
+        probeScheduler.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        probeScheduler.shutdownNow();
+        dependencies.forEach(dependency -> dependency.executor.shutdownNow());
     }
 
     @Override
     public Health health() {
         Health.Builder builder = Health.up();
+        Status overall = Status.UP;
+        for (Dependency dependency : dependencies) {
+            Result result = dependency.result;
+            if (result == null) {
+                return Health.unknown().withDetail("reason", "first probe pending").build();
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", result.status().getCode());
+            details.put("latencyMs", result.latencyMs());
+            details.put("checkedAt", result.checkedAt().toString());
+            if (result.error() != null) {
+                details.put("lastError", result.error());
+            }
+            if (result.status() == Status.UNKNOWN && dependency.critical && overall == Status.UP) {
+                // Failing since startup, but not yet for failure-threshold probes in a row
+                overall = Status.UNKNOWN;
+            } else if (result.status() == Status.DOWN) {
+                if (dependency.critical) {
+                    overall = Status.DOWN;
+                } else {
+                    // Degraded, not fatal — falling back to LibreTranslate is acceptable
+                    details.put("status", "DEGRADED");
+                }
+            }
+            builder.withDetail(dependency.name, details);
+        }
+        return builder.status(overall).build();
+    }
 
-        // Redis check
-        try {
-            String pong = redisTemplate.getConnectionFactory()
-                    .getConnection().ping();
-            builder.withDetail("redis", "UP — " + pong);
-        } catch (Exception e) {
-            builder.down().withDetail("redis", "DOWN — " + e.getMessage());
+    /**
+     * Probes every dependency concurrently and waits for each up to the timeout. A dependency
+     * whose previous probe is still running (a call that ignored the interrupt) is not probed
+     * again; that round counts as a timeout for it alone.
+     */
+    void probe() {
+        long start = System.nanoTime();
+        Map<Dependency, Future<Long>> calls = new LinkedHashMap<>();
+        for (Dependency dependency : dependencies) {
+            Future<Long> previous = dependency.inFlight;
+            // A cancelled future reports done while its thread may still be inside the call
+            if (dependency.calling || (previous != null && !previous.isDone())) {
+                long stuck = start - dependency.inFlightSince;
+                metrics.recordHealthProbe(dependency.name, "timeout", stuck);
+                dependency.record(false, "no answer within " + probeTimeout.toMillis() + " ms",
+                        TimeUnit.NANOSECONDS.toMillis(stuck));
+                continue;
+            }
+            dependency.inFlightSince = start;
+            dependency.inFlight = dependency.executor.submit(() -> {
+                dependency.calling = true;
+                try {
+                    long callStart = System.nanoTime();
+                    dependency.check.run();
+                    return System.nanoTime() - callStart;
+                } finally {
+                    dependency.calling = false;
+                }
+            });
+            calls.put(dependency, dependency.inFlight);
         }
+        long deadline = start + probeTimeout.toNanos();
+        calls.forEach((dependency, call) -> {
+            String outcome = "up";
+            String error = null;
+            long elapsed;
+            try {
+                elapsed = call.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                outcome = "timeout";
+                error = "no answer within " + probeTimeout.toMillis() + " ms";
+                elapsed = System.nanoTime() - start;
+            } catch (ExecutionException e) {
+                outcome = "down";
+                error = e.getCause().getMessage();
+                elapsed = System.nanoTime() - start;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            metrics.recordHealthProbe(dependency.name, outcome, elapsed);
+            dependency.record(error == null, error, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+    }
 
-        // AWS Translate check
-        try {
-            translateClient.listLanguages(ListLanguagesRequest.builder().maxResults(1).build());
-            builder.withDetail("awsTranslate", "UP");
-        } catch (Exception e) {
-            // Degraded, not fatal — falling back to LibreTranslate is acceptable
-            builder.withDetail("awsTranslate", "DEGRADED — " + e.getMessage());
+    private void pingRedis() {
+        // execute() releases the connection; the ping itself goes over the shared Lettuce connection
+        redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+    }
+
+    private void listAwsLanguages() {
+        translateClient.listLanguages(ListLanguagesRequest.builder()
+                .maxResults(1)
+                .overrideConfiguration(config -> config.apiCallTimeout(probeTimeout))
+                .build());
+    }
+
+    /** What {@link #health()} reports for one dependency. */
+    record Result(Status status, long latencyMs, Instant checkedAt, String error) {
+    }
+
+    /** One probed dependency and its hysteresis; written by the probe thread, except {@code calling}. */
+    private static final class Dependency {
+
+        private final String name;
+        /** Whether this dependency being down makes the instance DOWN. */
+        private final boolean critical;
+        private final Runnable check;
+        /** Its own thread, so a call stuck past its timeout cannot hold up another dependency. */
+        private final ExecutorService executor;
+        private Future<Long> inFlight;
+        private long inFlightSince;
+        private volatile boolean calling;
+        private final int failureThreshold;
+        private final int successThreshold;
+        private int consecutiveFailures;
+        private int consecutiveSuccesses;
+        private volatile Result result;
+
+        private Dependency(String name, boolean critical, Runnable check, int failureThreshold, int successThreshold) {
+            this.name = name;
+            this.critical = critical;
+            this.check = check;
+            this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("health-probe-" + name + "-"));
+            this.failureThreshold = failureThreshold;
+            this.successThreshold = successThreshold;
         }
 
-        return builder.build();
+        private void record(boolean success, String error, long latencyMs) {
+            consecutiveFailures = success ? 0 : consecutiveFailures + 1;
+            consecutiveSuccesses = success ? consecutiveSuccesses + 1 : 0;
+            // Starts UNKNOWN and is settled by the same thresholds as any later flip
+            Status status = result == null ? Status.UNKNOWN : result.status();
+            if (status != Status.DOWN && consecutiveFailures >= failureThreshold) {
+                status = Status.DOWN;
+                log.warn("{} marked DOWN after {} failed probes: {}", name, consecutiveFailures, error);
+            } else if (status == Status.UNKNOWN && success) {
+                // A healthy dependency is serving from the first good answer
+                status = Status.UP;
+            } else if (status == Status.DOWN && consecutiveSuccesses >= successThreshold) {
+                status = Status.UP;
+                log.info("{} marked UP after {} successful probes", name, consecutiveSuccesses);
+            }
+            result = new Result(status, latencyMs, Instant.now(), error);
+        }
     }
 }
@@ -1,11 +1,16 @@
 package com.translator.infrastructure.observability;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Central registry for all custom Micrometer metrics.
@@ -16,6 +21,8 @@ public class TranslatorMetrics {
 
     private final MeterRegistry registry;
     private final ConcurrentHashMap<String, Counter> counterCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timerCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> hitRatioGauges = new ConcurrentHashMap<>();
 
     public TranslatorMetrics(MeterRegistry registry) {
         this.registry = registry;
@@ -43,6 +50,67 @@ public class TranslatorMetrics {
                 .register(registry);
     }
 
+    /**
+     * Latency of one stage of the translate path: {@code l1_lookup}, {@code l2_lookup},
+     * {@code l3_lookup}, {@code provider} (one per attempt, tagged with the provider) and
+     * {@code persist_enqueue}. Percentile histograms and SLO buckets are configured under
+     * {@code management.metrics.distribution}.
+     */
+    public void recordStage(String stage, String provider, String outcome, long elapsedNanos) {
+        timerKey("translation.stage.latency",
+                "stage", stage,
+                "provider", provider,
+                "outcome", outcome).record(Duration.ofNanos(elapsedNanos));
+    }
+
+    /**
+     * Characters of a markup request as received, and as looked up for translation: distinct
+     * runs only, with tags, attributes and code reduced to placeholders. The gap is what
+     * markup mode saves on provider billing.
+     */
+    public void recordMarkupCharacters(int sourceChars, int textChars) {
+        counterKey("translation.markup.characters", "part", "source").increment(sourceChars);
+        counterKey("translation.markup.characters", "part", "text").increment(textChars);
+    }
+
+    // ── Provider scheduling ──────────────────────────────────────────────────
+
+    /**
+     * Time a provider call spent waiting for a slot, per lane ({@code interactive}, {@code bulk},
+     * {@code background}). {@code outcome} is {@code admitted}, {@code timeout} or
+     * {@code rejected} (queue full).
+     */
+    public void recordProviderQueueWait(String lane, String outcome, long elapsedNanos) {
+        timerKey("translation.provider.queue.wait",
+                "lane", lane,
+                "outcome", outcome).record(Duration.ofNanos(elapsedNanos));
+    }
+
+    public void registerProviderQueue(String lane, Supplier<Number> depth) {
+        Gauge.builder("translation.provider.queue.depth", depth)
+                .description("Provider calls waiting for a slot")
+                .tag("lane", lane)
+                .register(registry);
+    }
+
+    public void registerProviderCallsActive(Supplier<Number> active) {
+        Gauge.builder("translation.provider.calls.active", active)
+                .description("Provider calls holding a slot, across all lanes")
+                .register(registry);
+    }
+
+    // ── Health probes ────────────────────────────────────────────────────────
+
+    /**
+     * One background health probe of a dependency ({@code redis}, {@code awsTranslate});
+     * {@code outcome} is {@code up}, {@code down} or {@code timeout}.
+     */
+    public void recordHealthProbe(String dependency, String outcome, long elapsedNanos) {
+        timerKey("health.probe.latency",
+                "dependency", dependency,
+                "outcome", outcome).record(Duration.ofNanos(elapsedNanos));
+    }
+
     // ── Auth metrics ─────────────────────────────────────────────────────────
 
     public void recordLoginAttempt(boolean success) {
@@ -52,11 +120,82 @@ public class TranslatorMetrics {
     // ── Cache metrics ─────────────────────────────────────────────────────────
 
     public void recordL1CacheHit(boolean hit) {
-        counterKey("cache.hit", "level", "L1", "result", hit ? "hit" : "miss").increment();
+        recordCacheLookup("L1", hit);
     }
 
     public void recordL2CacheHit(boolean hit) {
-        counterKey("cache.hit", "level", "L2", "result", hit ? "hit" : "miss").increment();
+        recordCacheLookup("L2", hit);
+    }
+
+    public void recordL3CacheHit(boolean hit) {
+        recordCacheLookup("L3", hit);
+    }
+
+    /**
+     * Counts a lookup against one cache tier. Each tier also gets a {@code cache.hit.ratio}
+     * gauge, so the per-tier ratio is visible without a PromQL division.
+     */
+    private void recordCacheLookup(String level, boolean hit) {
+        Counter hits = counterKey("cache.hit", "level", level, "result", "hit");
+        Counter misses = counterKey("cache.hit", "level", level, "result", "miss");
+        (hit ? hits : misses).increment();
+        hitRatioGauges.computeIfAbsent(level, l -> Gauge.builder("cache.hit.ratio", () -> {
+                    double total = hits.count() + misses.count();
+                    return total == 0 ? 0.0 : hits.count() / total;
+                })
+                .description("Fraction of lookups served by this cache tier")
+                .tag("level", l)
+                .register(registry));
+    }
+
+    /**
+     * Records one warm-up pass of the L1 cache: how long it took and how many entries each
+     * source (snapshot, translation memory) contributed.
+     */
+    public void recordCacheWarmup(Duration elapsed, int snapshotEntries, int memoryEntries) {
+        Timer.builder("cache.warmup.duration")
+                .description("Time spent preloading L1 before the instance reports ready")
+                .register(registry)
+                .record(elapsed);
+        counterKey("cache.warmup.entries", "source", "snapshot").increment(snapshotEntries);
+        counterKey("cache.warmup.entries", "source", "memory").increment(memoryEntries);
+    }
+
+    /** L1 hit ratio measured from the end of warm-up, i.e. how well the warmed cache performs. */
+    public void registerWarmedHitRatio(Supplier<Number> hitRatio) {
+        Gauge.builder("cache.warmup.hit.ratio", hitRatio)
+                .description("L1 hit ratio since warm-up completed")
+                .register(registry);
+    }
+
+    // ── Reads for the admin dashboard (this instance, since start) ───────────
+
+    /** Hit ratio of one cache tier ({@code L1}, {@code L2}, {@code L3}). */
+    public double cacheHitRatio(String level) {
+        return hitRatio(registry.find("cache.hit").tag("level", level).tag("result", "hit").counters()
+                        .stream().mapToDouble(Counter::count).sum(),
+                registry.find("cache.hit").tag("level", level).counters()
+                        .stream().mapToDouble(Counter::count).sum());
+    }
+
+    /** Fraction of translate requests answered by any cache tier instead of a provider. */
+    public double requestCacheHitRatio() {
+        return hitRatio(registry.find("translation.requests.total").tag("cached", "true").counters()
+                        .stream().mapToDouble(Counter::count).sum(),
+                registry.find("translation.requests.total").counters()
+                        .stream().mapToDouble(Counter::count).sum());
+    }
+
+    /** Successful provider calls, keyed by provider name. */
+    public Map<String, Long> providerSuccessCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        registry.find("translation.stage.latency").tag("stage", "provider").tag("outcome", "success").timers()
+                .forEach(timer -> counts.merge(timer.getId().getTag("provider"), timer.count(), Long::sum));
+        return counts;
+    }
+
+    private static double hitRatio(double hits, double total) {
+        return total == 0 ? 0.0 : hits / total;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -68,4 +207,11 @@ public class TranslatorMetrics {
                 .tags(tags)
                 .register(registry));
     }
+
+    private Timer timerKey(String name, String... tags) {
+        String key = name + ":" + String.join(":", tags);
+        return timerCache.computeIfAbsent(key, k -> Timer.builder(name)
+                .tags(tags)
+                .register(registry));
+    }
 }
@@ -0,0 +1,144 @@
+package com.translator.infrastructure.phrase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only exact-match phrase table for one language pair, used straight from a (usually
+ * memory-mapped) buffer. Neither the index nor the phrases are unpacked onto the heap. A lookup
+ * hashes the text, probes the index and compares the key bytes in place. Only a hit's
+ * translation is copied out, to become the returned String.
+ *
+ * Layout, big-endian: magic, version, source and target language codes (length-prefixed
+ * ASCII), entry count, slot count S (a power of two), longest key in bytes, then S index slots
+ * followed by the records. A slot is two ints: the upper half of the key's 64-bit FNV-1a hash,
+ * and the record's offset from the start of the file (0 marks an empty slot). Probing is
+ * linear from {@code hash & (S - 1)}. A record is the key's UTF-8 length (unsigned short), the
+ * translation's UTF-8 length (int), then both byte strings.
+ */
+public final class PhraseTable {
+
+    static final int MAGIC = 0x50485254; // "PHRT"
+    static final int VERSION = 1;
+    static final int SLOT_BYTES = 8;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ByteBuffer buffer;
+    private final String sourceLanguage;
+    private final String targetLanguage;
+    private final int entryCount;
+    private final int slotMask;
+    private final int maxKeyBytes;
+    private final int slotsOffset;
+
+    private PhraseTable(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " phrase table");
+        }
+        int pos = 8;
+        this.sourceLanguage = readCode(pos);
+        pos += 2 + sourceLanguage.length();
+        this.targetLanguage = readCode(pos);
+        pos += 2 + targetLanguage.length();
+        this.entryCount = buffer.getInt(pos);
+        int slotCount = buffer.getInt(pos + 4);
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Phrase table slot count is not a power of two");
+        }
+        this.slotMask = slotCount - 1;
+        this.maxKeyBytes = buffer.getInt(pos + 8);
+        this.slotsOffset = pos + 12;
+        if (buffer.limit() < slotsOffset + (long) slotCount * SLOT_BYTES) {
+            throw new IllegalArgumentException("Truncated phrase table");
+        }
+    }
+
+    public static PhraseTable map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PhraseTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static PhraseTable wrap(ByteBuffer buffer) {
+        return new PhraseTable(buffer);
+    }
+
+    public String sourceLanguage() {
+        return sourceLanguage;
+    }
+
+    public String targetLanguage() {
+        return targetLanguage;
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    /** Bytes of the table, index and records included; all of it is off-heap when mapped. */
+    public long byteSize() {
+        return buffer.limit();
+    }
+
+    /** @return the stored translation of exactly {@code text}, or null */
+    public String lookup(String text) {
+        // A UTF-8 key is at least one byte per char, so longer texts cannot be in the table
+        if (text.length() > maxKeyBytes) {
+            return null;
+        }
+        byte[] key = text.getBytes(StandardCharsets.UTF_8);
+        if (key.length > maxKeyBytes) {
+            return null;
+        }
+        long hash = hash(key);
+        int fingerprint = (int) (hash >>> 32);
+        for (int slot = (int) hash & slotMask; ; slot = (slot + 1) & slotMask) {
+            long entry = buffer.getLong(slotsOffset + slot * SLOT_BYTES);
+            int offset = (int) entry;
+            if (offset == 0) {
+                return null;
+            }
+            if ((int) (entry >>> 32) == fingerprint && keyEquals(offset, key)) {
+                int keyLength = buffer.getShort(offset) & 0xFFFF;
+                byte[] value = new byte[buffer.getInt(offset + 2)];
+                buffer.get(offset + 6 + keyLength, value);
+                return new String(value, StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+        if ((buffer.getShort(offset) & 0xFFFF) != key.length) {
+            return false;
+        }
+        int start = offset + 6;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readCode(int pos) {
+        byte[] code = new byte[buffer.getShort(pos)];
+        buffer.get(pos + 2, code);
+        return new String(code, StandardCharsets.US_ASCII);
+    }
+
+    static long hash(byte[] key) {
+        long hash = FNV_OFFSET;
+        for (byte b : key) {
+            hash ^= b & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
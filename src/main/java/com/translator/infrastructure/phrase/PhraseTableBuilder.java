@@ -0,0 +1,166 @@
+package com.translator.infrastructure.phrase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Builds one {@link PhraseTable} file per language pair from translation history: the short
+ * texts requested at least {@code min-uses} times, each with its most frequent translation.
+ * Reads {@code DB_URL}, {@code DB_USER} and {@code DB_PASSWORD} from the environment, as the
+ * prod profile does. The output is deterministic for a given set of phrases.
+ *
+ * <pre>java PhraseTableBuilder /var/lib/translator/phrases [min-uses] [max-chars] [max-phrases-per-pair]</pre>
+ */
+public final class PhraseTableBuilder {
+
+    public static final String FILE_SUFFIX = ".phrases";
+
+    static final int DEFAULT_MIN_USES = 5;
+    static final int DEFAULT_MAX_CHARS = 200;
+    static final int DEFAULT_MAX_PHRASES = 20_000;
+
+    /**
+     * Per (text, pair), the translation given most often and the total number of requests.
+     * Cached rows count as demand too; a null source language is stored as 'auto', as in
+     * translation memory.
+     */
+    private static final String PHRASES_QUERY = """
+            WITH counted AS (
+                SELECT t.source_hash, coalesce(t.source_language, 'auto') AS source_language,
+                       t.target_language, t.translated_hash, count(*) AS uses
+                FROM translations t
+                GROUP BY 1, 2, 3, 4
+            ), ranked AS (
+                SELECT c.*, sum(c.uses) OVER w AS total_uses,
+                       row_number() OVER (w ORDER BY c.uses DESC, c.translated_hash) AS rank
+                FROM counted c
+                WINDOW w AS (PARTITION BY c.source_hash, c.source_language, c.target_language)
+            )
+            SELECT r.source_language, r.target_language, s.content, tr.content, r.total_uses
+            FROM ranked r
+            JOIN text_blobs s ON s.hash = r.source_hash
+            JOIN text_blobs tr ON tr.hash = r.translated_hash
+            WHERE r.rank = 1 AND r.total_uses >= ? AND char_length(s.content) <= ?
+            ORDER BY r.source_language, r.target_language, r.total_uses DESC, s.content
+            """;
+
+    private PhraseTableBuilder() {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        if (args.length < 1 || args.length > 4) {
+            throw new IllegalArgumentException(
+                    "usage: PhraseTableBuilder <output-dir> [min-uses] [max-chars] [max-phrases-per-pair]");
+        }
+        Path outputDir = Files.createDirectories(Path.of(args[0]));
+        int minUses = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MIN_USES;
+        int maxChars = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_CHARS;
+        int maxPhrases = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_PHRASES;
+
+        try (Connection connection = DriverManager.getConnection(
+                System.getenv("DB_URL"), System.getenv("DB_USER"), System.getenv("DB_PASSWORD"))) {
+            for (Map.Entry<String, SortedMap<String, String>> pair
+                    : readPhrases(connection, minUses, maxChars, maxPhrases).entrySet()) {
+                String[] languages = pair.getKey().split(" ", 2);
+                Path file = outputDir.resolve(languages[0] + "_" + languages[1] + FILE_SUFFIX);
+                Files.write(file, build(languages[0], languages[1], pair.getValue()));
+                System.out.printf("%s: %d phrases%n", file, pair.getValue().size());
+            }
+        }
+    }
+
+    /** @return phrases keyed by {@code "<source> <target>"}, at most {@code maxPhrases} per pair */
+    public static SortedMap<String, SortedMap<String, String>> readPhrases(
+            Connection connection, int minUses, int maxChars, int maxPhrases) throws SQLException {
+        SortedMap<String, SortedMap<String, String>> pairs = new TreeMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(PHRASES_QUERY)) {
+            statement.setInt(1, minUses);
+            statement.setInt(2, maxChars);
+            statement.setFetchSize(1000);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    SortedMap<String, String> phrases = pairs.computeIfAbsent(
+                            rows.getString(1) + " " + rows.getString(2), pair -> new TreeMap<>());
+                    // Rows arrive most used first, so the cap keeps the most frequent phrases
+                    if (phrases.size() < maxPhrases) {
+                        phrases.put(rows.getString(3), rows.getString(4));
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    public static byte[] build(String sourceLanguage, String targetLanguage, SortedMap<String, String> phrases) {
+        List<byte[]> keys = new ArrayList<>(phrases.size());
+        List<byte[]> values = new ArrayList<>(phrases.size());
+        int maxKeyBytes = 0;
+        for (Map.Entry<String, String> phrase : phrases.entrySet()) {
+            byte[] key = phrase.getKey().getBytes(StandardCharsets.UTF_8);
+            if (key.length > 0xFFFF) {
+                throw new IllegalArgumentException("Phrase longer than 65535 UTF-8 bytes");
+            }
+            keys.add(key);
+            values.add(phrase.getValue().getBytes(StandardCharsets.UTF_8));
+            maxKeyBytes = Math.max(maxKeyBytes, key.length);
+        }
+        // At most half full, so a miss ends after a probe or two
+        int slotCount = Integer.highestOneBit(Math.max(1, keys.size()) * 2 - 1) << 1;
+        byte[] source = sourceLanguage.getBytes(StandardCharsets.US_ASCII);
+        byte[] target = targetLanguage.getBytes(StandardCharsets.US_ASCII);
+        int slotsOffset = 8 + 2 + source.length + 2 + target.length + 12;
+
+        long[] slots = new long[slotCount];
+        int offset = slotsOffset + slotCount * PhraseTable.SLOT_BYTES;
+        for (int i = 0; i < keys.size(); i++) {
+            long hash = PhraseTable.hash(keys.get(i));
+            int slot = (int) hash & (slotCount - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slots[slot] = (hash & 0xFFFFFFFF00000000L) | (offset & 0xFFFFFFFFL);
+            offset += 6 + keys.get(i).length + values.get(i).length;
+        }
+
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(offset);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(PhraseTable.MAGIC);
+            out.writeInt(PhraseTable.VERSION);
+            out.writeShort(source.length);
+            out.write(source);
+            out.writeShort(target.length);
+            out.write(target);
+            out.writeInt(keys.size());
+            out.writeInt(slotCount);
+            out.writeInt(maxKeyBytes);
+            for (long slot : slots) {
+                out.writeLong(slot);
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                out.writeShort(keys.get(i).length);
+                out.writeInt(values.get(i).length);
+                out.write(keys.get(i));
+                out.write(values.get(i));
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
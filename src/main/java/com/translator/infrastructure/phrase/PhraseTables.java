@@ -0,0 +1,64 @@
+package com.translator.infrastructure.phrase;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves exact matches of recurring short texts ("Save", "Cancel", "Welcome back") from
+ * memory-mapped phrase tables. Tables are built offline from history by
+ * {@link PhraseTableBuilder}, one file per language pair, and mapped at startup from
+ * {@code translator.phrase-table.dir}; with no directory set every lookup misses. A rebuilt set is
+ * picked up on the next restart.
+ *
+ * A local tier of its own, consulted after the cache tiers and before any provider call, so a
+ * hit never waits for a provider slot or passes through the circuit breaker. The source language
+ * must match the table's as resolved for the request; undetected texts use the {@code auto} tables.
+ */
+@Component
+public class PhraseTables {
+
+    private static final Logger log = LoggerFactory.getLogger(PhraseTables.class);
+
+    private final Map<String, PhraseTable> tables = new HashMap<>();
+
+    public PhraseTables(@Value("${translator.phrase-table.dir:}") String dir) {
+        if (dir.isBlank()) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(Path.of(dir))) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(PhraseTableBuilder.FILE_SUFFIX))
+                    .sorted().toList()) {
+                PhraseTable table = PhraseTable.map(file);
+                tables.put(pair(table.sourceLanguage(), table.targetLanguage()), table);
+                log.info("Mapped phrase table {} ({} -> {}): {} phrases, {} bytes", file.getFileName(),
+                        table.sourceLanguage(), table.targetLanguage(), table.size(), table.byteSize());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load phrase tables from " + dir, e);
+        }
+    }
+
+    /** @return the table's translation, or empty when no table holds the text */
+    public Optional<String> lookup(String text, String sourceLang, String targetLang) {
+        if (tables.isEmpty()) {
+            return Optional.empty();
+        }
+        PhraseTable table = tables.get(pair(sourceLang == null ? "auto" : sourceLang, targetLang));
+        return table == null ? Optional.empty() : Optional.ofNullable(table.lookup(text));
+    }
+
+    private static String pair(String sourceLang, String targetLang) {
+        return sourceLang.toLowerCase() + " " + targetLang.toLowerCase();
+    }
+}
@@ -0,0 +1,102 @@
+package com.translator.presentation.grpc;
+
+import com.translator.infrastructure.security.JwtService;
+import io.grpc.Attributes;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerTransportFilter;
+import io.grpc.Status;
+import io.jsonwebtoken.Claims;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Authenticates gRPC calls with the same access tokens as the REST API, but once per
+ * connection rather than once per request.
+ *
+ * Every new connection gets its own slot in its transport attributes. The first call verifies
+ * the bearer token (signature, expiry, logout blacklist) and stores the user in that slot.
+ * Later calls on the connection that present the same token are accepted from the slot without
+ * parsing the JWT or asking Redis. The slot expires with the token, or after
+ * {@code recheckInterval} at the latest, so a logout reaches open connections within that
+ * interval. A different token on the same connection is verified afresh.
+ */
+class GrpcAuthenticator extends ServerTransportFilter implements ServerInterceptor {
+
+    /** The authenticated user of the current call. */
+    static final Context.Key<UUID> USER_ID = Context.key("translator.userId");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Attributes.Key<ConnectionAuth> CONNECTION_AUTH = Attributes.Key.create("translator.connectionAuth");
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+    private final long recheckNanos;
+
+    GrpcAuthenticator(JwtService jwtService, Duration recheckInterval) {
+        this.jwtService = jwtService;
+        this.recheckNanos = recheckInterval.toNanos();
+    }
+
+    @Override
+    public Attributes transportReady(Attributes transportAttrs) {
+        return transportAttrs.toBuilder().set(CONNECTION_AUTH, new ConnectionAuth()).build();
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String header = headers.get(AUTHORIZATION);
+        UUID userId = header != null && header.startsWith(BEARER)
+                ? authenticate(call.getAttributes().get(CONNECTION_AUTH), header.substring(BEARER.length()))
+                : null;
+        if (userId == null) {
+            call.close(Status.UNAUTHENTICATED.withDescription("Missing or invalid bearer token"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return Contexts.interceptCall(Context.current().withValue(USER_ID, userId), call, headers, next);
+    }
+
+    private UUID authenticate(ConnectionAuth connection, String token) {
+        long now = System.nanoTime();
+        if (connection != null) {
+            UUID known = connection.userFor(token, now);
+            if (known != null) {
+                return known;
+            }
+        }
+        if (!jwtService.isTokenValid(token)) {
+            return null;
+        }
+        Claims claims = jwtService.extractAllClaims(token);
+        UUID userId = UUID.fromString(claims.getSubject());
+        if (connection != null) {
+            long untilExpiry = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+            connection.verified = new Verified(token, userId, now + Math.min(untilExpiry, recheckNanos));
+        }
+        return userId;
+    }
+
+    private record Verified(String token, UUID userId, long validUntilNanos) {
+    }
+
+    /** What a connection has proven so far. Its calls may run concurrently, hence volatile. */
+    private static final class ConnectionAuth {
+
+        private volatile Verified verified;
+
+        private UUID userFor(String token, long nowNanos) {
+            Verified current = verified;
+            return current != null && current.validUntilNanos() - nowNanos > 0 && current.token().equals(token)
+                    ? current.userId()
+                    : null;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.translator.presentation.grpc;
+
+import com.translator.infrastructure.security.JwtService;
+import com.translator.translation.service.MarkupTranslationService;
+import com.translator.translation.service.TranslationService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC API ({@code src/main/proto/translator/v1/translator.proto}) on its own port,
+ * next to the REST API, for internal callers. It is started after the rest of the context and
+ * stopped first, draining in-flight calls for up to {@code shutdown-grace}.
+ */
+@Component
+@ConditionalOnProperty(name = "translator.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final TranslationService translationService;
+    private final MarkupTranslationService markupService;
+    private final JwtService jwtService;
+    private final int port;
+    private final int threads;
+    private final int streamThreads;
+    private final int streamMaxInFlight;
+    private final int maxInboundMessageSize;
+    private final int maxConcurrentCallsPerConnection;
+    private final int flowControlWindow;
+    private final Duration authRecheckInterval;
+    private final Duration shutdownGrace;
+    private ExecutorService callExecutor;
+    private ExecutorService streamExecutor;
+    private Server server;
+
+    public GrpcServer(TranslationService translationService,
+                      MarkupTranslationService markupService,
+                      JwtService jwtService,
+                      @Value("${translator.grpc.port:9090}") int port,
+                      @Value("${translator.grpc.threads:64}") int threads,
+                      @Value("${translator.grpc.stream.threads:32}") int streamThreads,
+                      @Value("${translator.grpc.stream.max-in-flight:32}") int streamMaxInFlight,
+                      @Value("${translator.grpc.max-inbound-message-size:4194304}") int maxInboundMessageSize,
+                      @Value("${translator.grpc.max-concurrent-calls-per-connection:256}") int maxConcurrentCallsPerConnection,
+                      @Value("${translator.grpc.flow-control-window:1048576}") int flowControlWindow,
+                      @Value("${translator.grpc.auth-recheck-interval:PT1M}") Duration authRecheckInterval,
+                      @Value("${translator.grpc.shutdown-grace:PT10S}") Duration shutdownGrace) {
+        this.translationService = translationService;
+        this.markupService = markupService;
+        this.jwtService = jwtService;
+        this.port = port;
+        this.threads = threads;
+        this.streamThreads = streamThreads;
+        this.streamMaxInFlight = streamMaxInFlight;
+        this.maxInboundMessageSize = maxInboundMessageSize;
+        this.maxConcurrentCallsPerConnection = maxConcurrentCallsPerConnection;
+        this.flowControlWindow = flowControlWindow;
+        this.authRecheckInterval = authRecheckInterval;
+        this.shutdownGrace = shutdownGrace;
+    }
+
+    @Override
+    public synchronized void start() {
+        // Unary calls block on cache lookups and providers, so they run on a bounded pool
+        // rather than gRPC's default unbounded one
+        callExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("grpc-call-"));
+        streamExecutor = Executors.newFixedThreadPool(streamThreads, new CustomizableThreadFactory("grpc-stream-"));
+        GrpcAuthenticator authenticator = new GrpcAuthenticator(jwtService, authRecheckInterval);
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .executor(callExecutor)
+                    .addTransportFilter(authenticator)
+                    .intercept(authenticator)
+                    .addService(new TranslatorGrpcService(translationService, markupService, streamExecutor, streamMaxInFlight))
+                    .maxInboundMessageSize(maxInboundMessageSize)
+                    .maxConcurrentCallsPerConnection(maxConcurrentCallsPerConnection)
+                    .flowControlWindow(flowControlWindow)
+                    .permitKeepAliveTime(30, TimeUnit.SECONDS)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+        log.info("gRPC server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+        callExecutor.shutdownNow();
+        streamExecutor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /** The bound port; differs from the configured one when that is 0. */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+}
@@ -0,0 +1,226 @@
+package com.translator.presentation.grpc;
+
+import com.translator.grpc.v1.TranslateRequest;
+import com.translator.grpc.v1.TranslateResponse;
+import com.translator.grpc.v1.TranslatorGrpc;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.model.ContentFormat;
+import com.translator.translation.service.MarkupTranslationService;
+import com.translator.translation.service.TranslationService;
+import com.translator.translation.service.UnsupportedLanguageException;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * gRPC front end of the translate pipeline: the same {@link TranslationService} and
+ * {@link MarkupTranslationService} calls as {@code TranslationController}, with protobuf
+ * instead of JSON.
+ *
+ * The streaming RPC uses manual flow control. It reads up to {@code maxInFlight} requests,
+ * translates them concurrently on {@code streamExecutor}, and reads one more request only
+ * after a response has been handed to the transport. If the client stops reading responses,
+ * the transport stops being ready, no more requests are read, and HTTP/2 flow control pushes
+ * back on the client's writes. Memory per stream is therefore bounded by the window.
+ */
+class TranslatorGrpcService extends TranslatorGrpc.TranslatorImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslatorGrpcService.class);
+
+    private final TranslationService translationService;
+    private final MarkupTranslationService markupService;
+    private final Executor streamExecutor;
+    private final int maxInFlight;
+
+    TranslatorGrpcService(TranslationService translationService, MarkupTranslationService markupService,
+                          Executor streamExecutor, int maxInFlight) {
+        this.translationService = translationService;
+        this.markupService = markupService;
+        this.streamExecutor = streamExecutor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void translate(TranslateRequest request, StreamObserver<TranslateResponse> responseObserver) {
+        String invalid = validate(request);
+        if (invalid != null) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(invalid).asRuntimeException());
+            return;
+        }
+        TranslateResponse response;
+        try {
+            response = translate(request, GrpcAuthenticator.USER_ID.get());
+        } catch (UnsupportedLanguageException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("gRPC translation {} failed: {}", request.getRequestId(), e.getMessage());
+            responseObserver.onError(Status.UNAVAILABLE.withDescription("Translation failed").asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<TranslateRequest> translateStream(StreamObserver<TranslateResponse> responseObserver) {
+        ServerCallStreamObserver<TranslateResponse> call = (ServerCallStreamObserver<TranslateResponse>) responseObserver;
+        TranslationStream stream = new TranslationStream(call, GrpcAuthenticator.USER_ID.get());
+        call.disableAutoRequest();
+        call.setOnReadyHandler(stream::drain);
+        call.setOnCancelHandler(stream::cancel);
+        call.request(maxInFlight);
+        return stream;
+    }
+
+    private TranslateResponse translate(TranslateRequest request, UUID userId) {
+        TranslationRequestDTO dto = new TranslationRequestDTO();
+        dto.setSourceText(request.getSourceText());
+        dto.setTargetLanguage(request.getTargetLanguage());
+        if (!request.getSourceLanguage().isBlank()) {
+            dto.setSourceLanguage(request.getSourceLanguage());
+        }
+        dto.setFormat(switch (request.getFormat()) {
+            case HTML -> ContentFormat.HTML;
+            case MARKDOWN -> ContentFormat.MARKDOWN;
+            default -> ContentFormat.TEXT;
+        });
+        TranslationResponseDTO result = dto.getFormat().isMarkup()
+                ? markupService.translate(dto, userId)
+                : translationService.translate(dto, userId);
+
+        TranslateResponse.Builder response = TranslateResponse.newBuilder()
+                .setRequestId(request.getRequestId())
+                .setTranslatedText(result.getTranslatedText())
+                .setServedFromCache(result.isServedFromCache())
+                .setWordCount(result.getWordCount())
+                .setCharacterCount(result.getCharacterCount());
+        // Protobuf setters reject null
+        if (result.getTranslationId() != null) {
+            response.setTranslationId(result.getTranslationId().toString());
+        }
+        if (result.getSourceLanguageDetected() != null) {
+            response.setSourceLanguageDetected(result.getSourceLanguageDetected());
+        }
+        if (result.getDetectionConfidence() != null) {
+            response.setDetectionConfidence(result.getDetectionConfidence());
+        }
+        if (result.getTargetLanguage() != null) {
+            response.setTargetLanguage(result.getTargetLanguage());
+        }
+        if (result.getProviderUsed() != null) {
+            response.setProviderUsed(result.getProviderUsed());
+        }
+        return response.build();
+    }
+
+    private static String validate(TranslateRequest request) {
+        if (request.getSourceText().isBlank()) {
+            return "source_text must not be blank";
+        }
+        if (request.getTargetLanguage().isBlank()) {
+            return "target_language must not be blank";
+        }
+        return null;
+    }
+
+    private static TranslateResponse error(TranslateRequest request, String message) {
+        return TranslateResponse.newBuilder().setRequestId(request.getRequestId()).setError(message).build();
+    }
+
+    /**
+     * One bidirectional stream. Responses are queued as translations finish and written
+     * while the transport is ready. Every written response lets one more request in.
+     */
+    private final class TranslationStream implements StreamObserver<TranslateRequest> {
+
+        private final ServerCallStreamObserver<TranslateResponse> call;
+        private final UUID userId;
+        private final Queue<TranslateResponse> finished = new ArrayDeque<>();
+        /** Requests read whose response has not been written yet; never above maxInFlight. */
+        private int outstanding;
+        private boolean halfClosed;
+        private boolean done;
+
+        private TranslationStream(ServerCallStreamObserver<TranslateResponse> call, UUID userId) {
+            this.call = call;
+            this.userId = userId;
+        }
+
+        @Override
+        public void onNext(TranslateRequest request) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                outstanding++;
+            }
+            String invalid = validate(request);
+            if (invalid != null) {
+                finish(error(request, invalid));
+                return;
+            }
+            streamExecutor.execute(() -> {
+                TranslateResponse response;
+                try {
+                    response = translate(request, userId);
+                } catch (UnsupportedLanguageException e) {
+                    response = error(request, e.getMessage());
+                } catch (RuntimeException e) {
+                    log.warn("gRPC stream translation {} failed: {}", request.getRequestId(), e.getMessage());
+                    response = error(request, "Translation failed");
+                }
+                finish(response);
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            cancel();
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                halfClosed = true;
+            }
+            drain();
+        }
+
+        private void finish(TranslateResponse response) {
+            synchronized (this) {
+                finished.add(response);
+            }
+            drain();
+        }
+
+        private synchronized void drain() {
+            if (done) {
+                return;
+            }
+            while (!finished.isEmpty() && call.isReady()) {
+                call.onNext(finished.poll());
+                outstanding--;
+                call.request(1);
+            }
+            if (halfClosed && outstanding == 0) {
+                done = true;
+                call.onCompleted();
+            }
+        }
+
+        /** Client went away: translations still running finish and are dropped. */
+        private synchronized void cancel() {
+            done = true;
+            finished.clear();
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.translator.presentation.rest;
 
+import com.translator.translation.dto.CacheInvalidationDTO;
+import com.translator.translation.dto.HistoryFilterDTO;
 import com.translator.translation.dto.SystemStatsDTO;
 import com.translator.translation.model.Translation;
-import com.translator.translation.repository.TranslationRepository;
+import com.translator.translation.service.CacheInvalidationService;
+import com.translator.translation.service.HistoryService;
+import com.translator.translation.service.SystemStatsService;
 import com.translator.user.dto.UserSummaryDTO;
 import com.translator.user.model.User;
 import com.translator.user.repository.UserRepository;
+import com.translator.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.OffsetDateTime;
@@ -28,25 +37,41 @@ import java.util.UUID;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final TranslationRepository translationRepository;
+    private final UserService userService;
+    private final HistoryService historyService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final SystemStatsService systemStatsService;
 
-    public AdminController(UserRepository userRepository, TranslationRepository translationRepository) {
+    public AdminController(UserRepository userRepository,
+                           UserService userService,
+                           HistoryService historyService,
+                           CacheInvalidationService cacheInvalidationService,
+                           SystemStatsService systemStatsService) {
         this.userRepository = userRepository;
-        this.translationRepository = translationRepository;
+        this.userService = userService;
+        this.historyService = historyService;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.systemStatsService = systemStatsService;
     }
 
     @GetMapping("/users")
-    @Operation(summary = "List all users", description = "Returns a paginated list of all registered users with their stats")
-    public ResponseEntity<Page<UserSummaryDTO>> listUsers(Pageable pageable) {
-        Page<UserSummaryDTO> users = userRepository.findAll(pageable).map(this::toUserSummary);
-        return ResponseEntity.ok(users);
+    @Operation(summary = "List all users",
+               description = "Returns a paginated list of all registered users with their stats. " +
+                       "Sortable by email, createdAt, translationCount and lastActivityAt.")
+    public ResponseEntity<Page<UserSummaryDTO>> listUsers(
+            @Parameter(description = "Only users with at least this many translations")
+            @RequestParam(required = false, defaultValue = "0") long minTranslations,
+            @Parameter(description = "Only users who translated at or after this instant (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime activeSince,
+            Pageable pageable) {
+        return ResponseEntity.ok(userService.listUserSummaries(minTranslations, activeSince, pageable));
     }
 
     @GetMapping("/users/{userId}/history")
     @Operation(summary = "View user history", description = "Returns paginated translation history for a specific user")
     public ResponseEntity<Page<Translation>> getUserHistory(
             @PathVariable UUID userId, Pageable pageable) {
-        Page<Translation> history = translationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<Translation> history = historyService.getHistory(userId, new HistoryFilterDTO(), pageable);
         return ResponseEntity.ok(history);
     }
 
@@ -62,30 +87,31 @@ public class AdminController {
     }
 
     @GetMapping("/stats")
-    @Operation(summary = "System-wide stats", description = "Returns aggregate stats: users, translations today, cache hit rates, provider breakdown")
+    @Operation(summary = "System-wide stats",
+               description = "Returns users, translations today, live cache hit rates per tier and per-provider call " +
+                       "counts. Hit rates and provider counts come from this instance's metrics since startup.")
     public ResponseEntity<SystemStatsDTO> getSystemStats() {
-        long totalUsers = userRepository.count();
-        long totalTranslationsToday = translationRepository.countByCreatedAtAfter(OffsetDateTime.now().withHour(0).withMinute(0).withSecond(0));
+        return ResponseEntity.ok(systemStatsService.getSystemStats());
+    }
 
-        return ResponseEntity.ok(SystemStatsDTO.builder()
-                .totalUsers(totalUsers)
-                .totalTranslationsToday(totalTranslationsToday)
-                .cacheHitRate(0.0) // Populated from Micrometer in Phase 9
-                .awsTranslateCount(0)
-                .libreTranslateCount(0)
-                .myMemoryCount(0)
-                .build());
+    @DeleteMapping("/cache/translations")
+    @Operation(summary = "Invalidate one cached translation",
+               description = "Removes a translation from L1 on every node, from Redis and from the translation memory, " +
+                       "so the next request is sent to a provider. Use after correcting a bad translation.")
+    public ResponseEntity<CacheInvalidationDTO> invalidateTranslation(
+            @RequestParam String sourceText, @RequestParam String targetLanguage) {
+        return ResponseEntity.ok(cacheInvalidationService.invalidateTranslation(sourceText, targetLanguage));
     }
 
-    private UserSummaryDTO toUserSummary(User user) {
-        long count = translationRepository.countByUserId(user.getId());
-        return UserSummaryDTO.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .role(user.getRole().name())
-                .isActive(user.isActive())
-                .translationCount(count)
-                .createdAt(user.getCreatedAt())
-                .build();
+    @DeleteMapping("/cache/l1")
+    @Operation(summary = "Invalidate L1 on every node",
+               description = "With a prefix, drops L1 entries whose source text starts with it; without one, " +
+                       "moves the cluster to a new L1 generation, clearing every node's L1.")
+    public ResponseEntity<CacheInvalidationDTO> invalidateL1(
+            @Parameter(description = "Source-text prefix (case-insensitive); omit to flush everything")
+            @RequestParam(required = false) String prefix) {
+        return ResponseEntity.ok(prefix == null || prefix.isEmpty()
+                ? cacheInvalidationService.invalidateAll()
+                : cacheInvalidationService.invalidatePrefix(prefix));
     }
 }
@@ -0,0 +1,112 @@
+package com.translator.presentation.rest;
+
+import com.translator.translation.dto.DocumentJobDTO;
+import com.translator.translation.dto.DocumentJobRequestDTO;
+import com.translator.translation.dto.DocumentUploadDTO;
+import com.translator.translation.model.DocumentFormat;
+import com.translator.translation.service.DocumentTranslationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/documents")
+@Tag(name = "Documents", description = "Background translation of large text and subtitle files")
+@SecurityRequirement(name = "bearerAuth")
+public class DocumentController {
+
+    private final DocumentTranslationService documentService;
+
+    public DocumentController(DocumentTranslationService documentService) {
+        this.documentService = documentService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Translate an uploaded document",
+               description = "Stores the file in S3 and translates it in the background, segment by segment, " +
+                       "through the usual cache tiers and providers. Plain text (UTF-8), SRT and WebVTT are " +
+                       "supported; subtitle numbering and timings are kept. Poll the returned job for progress.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "400", description = "Missing file or target language, or an unsupported language pair"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<DocumentJobDTO> submitUpload(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam String targetLanguage,
+            @RequestParam(defaultValue = "auto") String sourceLanguage,
+            @Parameter(description = "TEXT, SRT or VTT; taken from the file extension when omitted")
+            @RequestParam(required = false) DocumentFormat format,
+            @AuthenticationPrincipal UUID userId) throws IOException {
+
+        return ResponseEntity.accepted()
+                .body(documentService.submitUpload(file, sourceLanguage, targetLanguage, format, userId));
+    }
+
+    @PostMapping("/uploads")
+    @Operation(summary = "Presigned upload URL",
+               description = "Returns a URL to PUT a large document straight to S3 (valid 60 minutes) and the " +
+                       "object key to start the job with afterwards")
+    public ResponseEntity<DocumentUploadDTO> createUpload(
+            @RequestParam String fileName,
+            @AuthenticationPrincipal UUID userId) {
+        return ResponseEntity.ok(documentService.createUpload(fileName, userId));
+    }
+
+    @PostMapping(value = "/from-s3", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Translate a document uploaded to S3",
+               description = "Starts a job for an object previously PUT to a presigned upload URL")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Job accepted"),
+        @ApiResponse(responseCode = "400", description = "Unsupported language pair"),
+        @ApiResponse(responseCode = "403", description = "Object key outside the user's upload prefix"),
+        @ApiResponse(responseCode = "404", description = "No such object")
+    })
+    public ResponseEntity<DocumentJobDTO> submitObject(
+            @Valid @RequestBody DocumentJobRequestDTO request,
+            @AuthenticationPrincipal UUID userId) {
+
+        if (!documentService.ownsObject(request.getObjectKey(), userId)) {
+            return ResponseEntity.status(403).build();
+        }
+        return documentService.submitObject(request, userId)
+                .map(job -> ResponseEntity.accepted().body(job))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Document job progress",
+               description = "Bytes and segments processed so far; includes a download URL once completed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Job returned"),
+        @ApiResponse(responseCode = "404", description = "No such job for this user")
+    })
+    public ResponseEntity<DocumentJobDTO> getJob(
+            @Parameter(description = "UUID of the document job")
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UUID userId) {
+
+        return documentService.getJob(jobId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,27 @@
+package com.translator.presentation.rest;
+
+/** If-None-Match handling shared by the controllers that answer 304s. */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /** Weak comparison, as If-None-Match requires: {@code W/"x"} matches {@code "x"}. */
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,8 +1,11 @@
 package com.translator.presentation.rest;
 
+import com.translator.translation.dto.HistoryFilterDTO;
+import com.translator.translation.dto.HistoryPurgeJobDTO;
 import com.translator.translation.dto.HistoryStatsDTO;
 import com.translator.translation.model.Translation;
-import com.translator.translation.repository.TranslationRepository;
+import com.translator.translation.repository.TranslationSearchView;
+import com.translator.translation.service.HistoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,18 +14,27 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/history")
@@ -30,59 +42,95 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class HistoryController {
 
-    private final TranslationRepository translationRepository;
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
-    public HistoryController(TranslationRepository translationRepository) {
-        this.translationRepository = translationRepository;
+    private final HistoryService historyService;
+
+    public HistoryController(HistoryService historyService) {
+        this.historyService = historyService;
     }
 
     @GetMapping
     @Operation(summary = "Get translation history",
                description = "Paginated list of the authenticated user's translations. " +
-                       "Can be filtered by target language, full-text search, or favourites-only.")
+                       "All supplied filters are combined: target language, provider, source-text search, " +
+                       "favourites-only and a created-at range. Responses carry an ETag; send it back as " +
+                       "If-None-Match to get 304 when the history has not changed.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Page of translations"),
+        @ApiResponse(responseCode = "304", description = "History unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Not authenticated")
     })
     public ResponseEntity<Page<Translation>> getHistory(
             @AuthenticationPrincipal UUID userId,
             @Parameter(description = "Filter by target language code, e.g. 'hi'")
             @RequestParam(required = false) String targetLanguage,
-            @Parameter(description = "Full-text search on source text")
+            @Parameter(description = "Case-insensitive substring search on source text")
             @RequestParam(required = false) String search,
             @Parameter(description = "Return only favourited translations")
             @RequestParam(required = false, defaultValue = "false") boolean favoritesOnly,
+            @Parameter(description = "Filter by provider, e.g. 'AWS_TRANSLATE'")
+            @RequestParam(required = false) String provider,
+            @Parameter(description = "Created at or after (ISO-8601), inclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @Parameter(description = "Created before (ISO-8601), exclusive")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        HistoryFilterDTO filter = HistoryFilterDTO.builder()
+                .targetLanguage(targetLanguage)
+                .search(search)
+                .favoritesOnly(favoritesOnly)
+                .provider(provider)
+                .from(from)
+                .to(to)
+                .build();
+
+        String etag = historyService.getVersion(userId)
+                .map(version -> "W/\"h-" + userId + "-" + version.history() + "\"")
+                .orElse(null);
+        return conditional(etag, ifNoneMatch, () -> historyService.getHistory(userId, filter, pageable));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search translation history",
+               description = "Ranked full-text and fuzzy search over source and translated text. " +
+                       "Matched terms are wrapped in <mark> tags in the highlight fields.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of ranked matches"),
+        @ApiResponse(responseCode = "400", description = "Missing search term"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    public ResponseEntity<Page<TranslationSearchView>> searchHistory(
+            @AuthenticationPrincipal UUID userId,
+            @Parameter(description = "Words, phrases (quoted) or partial text to look for")
+            @RequestParam("q") String query,
             Pageable pageable) {
 
-        Page<Translation> results;
-        if (favoritesOnly) {
-            results = translationRepository.findByUserIdAndIsFavoriteTrueOrderByCreatedAtDesc(userId, pageable);
-        } else if (search != null && !search.trim().isEmpty()) {
-            results = translationRepository.findByUserIdAndSourceTextContainingIgnoreCaseOrderByCreatedAtDesc(userId, search, pageable);
-        } else if (targetLanguage != null && !targetLanguage.trim().isEmpty()) {
-            results = translationRepository.findByUserIdAndTargetLanguageOrderByCreatedAtDesc(userId, targetLanguage, pageable);
-        } else {
-            results = translationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
         }
-
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(historyService.search(userId, query.trim(), pageable));
     }
 
     @GetMapping("/stats")
-    @Operation(summary = "Translation stats", description = "Aggregate stats for the authenticated user's history")
-    @ApiResponse(responseCode = "200", description = "Stats returned successfully")
-    public ResponseEntity<HistoryStatsDTO> getStats(@AuthenticationPrincipal UUID userId) {
-        long total = translationRepository.countByUserId(userId);
-        long favorites = translationRepository.countByUserIdAndIsFavoriteTrue(userId);
-        long thisWeek = translationRepository.countByUserIdAndCreatedAtAfter(userId, OffsetDateTime.now().minusDays(7));
-
-        return ResponseEntity.ok(HistoryStatsDTO.builder()
-                .totalTranslations(total)
-                .favoriteCount(favorites)
-                .translationsThisWeek(thisWeek)
-                .mostUsedLanguage(null)
-                .cacheHitRate(0.0)
-                .build());
+    @Operation(summary = "Translation stats",
+               description = "Aggregate stats for the authenticated user's history. Supports If-None-Match " +
+                       "with the returned ETag.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stats returned successfully"),
+        @ApiResponse(responseCode = "304", description = "Stats unchanged since the ETag in If-None-Match")
+    })
+    public ResponseEntity<HistoryStatsDTO> getStats(
+            @AuthenticationPrincipal UUID userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // The week is part of the tag: "this week" rolls over without any write
+        LocalDate week = LocalDate.now(ZoneOffset.UTC).with(DayOfWeek.MONDAY);
+        String etag = historyService.getVersion(userId)
+                .map(version -> "W/\"s-" + userId + "-" + version.history() + "." + version.lookups() + "-" + week + "\"")
+                .orElse(null);
+        return conditional(etag, ifNoneMatch, () -> historyService.getStats(userId));
     }
 
     @PatchMapping("/{id}/favorite")
@@ -97,12 +145,9 @@ public class HistoryController {
             @PathVariable UUID id,
             @AuthenticationPrincipal UUID userId) {
 
-        Translation translation = translationRepository.findById(id).orElseThrow();
-        if (!translation.getUser().getId().equals(userId)) {
+        if (!historyService.toggleFavorite(id, userId)) {
             return ResponseEntity.status(403).build();
         }
-        translation.setFavorite(!translation.isFavorite());
-        translationRepository.save(translation);
         return ResponseEntity.ok().build();
     }
 
@@ -116,20 +161,50 @@ public class HistoryController {
             @PathVariable UUID id,
             @AuthenticationPrincipal UUID userId) {
 
-        Translation translation = translationRepository.findById(id).orElseThrow();
-        if (!translation.getUser().getId().equals(userId)) {
+        if (!historyService.delete(id, userId)) {
             return ResponseEntity.status(403).build();
         }
-        translationRepository.delete(translation);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping
-    @Operation(summary = "Delete all history", description = "Permanently deletes all translations for the authenticated user")
-    @ApiResponse(responseCode = "204", description = "All history deleted")
-    public ResponseEntity<Void> deleteAllHistory(@AuthenticationPrincipal UUID userId) {
-        Page<Translation> page = translationRepository.findByUserIdOrderByCreatedAtDesc(userId, Pageable.unpaged());
-        translationRepository.deleteAllInBatch(page.getContent());
-        return ResponseEntity.noContent().build();
+    @Operation(summary = "Delete all history",
+               description = "Hides all of the authenticated user's translations immediately and deletes them " +
+                       "in the background. Poll the returned job for progress.")
+    @ApiResponse(responseCode = "202", description = "Purge accepted")
+    public ResponseEntity<HistoryPurgeJobDTO> deleteAllHistory(@AuthenticationPrincipal UUID userId) {
+        return ResponseEntity.accepted().body(historyService.deleteAll(userId));
+    }
+
+    @GetMapping("/purges/{jobId}")
+    @Operation(summary = "Purge progress", description = "Status and deleted-row count of a history purge")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Purge job returned"),
+        @ApiResponse(responseCode = "404", description = "No such purge for this user")
+    })
+    public ResponseEntity<HistoryPurgeJobDTO> getPurge(
+            @Parameter(description = "UUID of the purge job")
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal UUID userId) {
+
+        return historyService.getPurge(jobId, userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Answers 304 from the version-based ETag alone when it matches If-None-Match; otherwise
+     * loads the body. The user id is part of every tag, so a browser cache shared by two
+     * accounts never revalidates one user's copy for the other. {@code no-cache} makes
+     * browsers revalidate on every poll instead of reusing a copy unchecked.
+     */
+    private static <T> ResponseEntity<T> conditional(String etag, String ifNoneMatch, Supplier<T> body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (EntityTags.matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
     }
 }
@@ -0,0 +1,53 @@
+package com.translator.presentation.rest;
+
+import com.translator.translation.dto.LanguageCatalogDTO;
+import com.translator.translation.service.LanguageCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/languages")
+@Tag(name = "Languages", description = "Languages the translation providers accept")
+public class LanguageController {
+
+    private final LanguageCatalogService languageCatalog;
+    private final CacheControl cacheControl;
+
+    public LanguageController(LanguageCatalogService languageCatalog,
+                              @Value("${translator.languages.refresh-interval-ms:3600000}") long refreshIntervalMs) {
+        this.languageCatalog = languageCatalog;
+        // The same for every caller, and stale for at most one refresh
+        this.cacheControl = CacheControl.maxAge(Duration.ofMillis(refreshIntervalMs)).cachePublic();
+    }
+
+    @GetMapping
+    @Operation(summary = "Supported languages",
+               description = "Language codes accepted as source or target, with the providers that translate each. " +
+                       "Any listed language can be translated to any other; \"auto\" is accepted as the source. " +
+                       "No authentication needed. Responses carry an ETag and may be cached publicly.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Language catalog"),
+        @ApiResponse(responseCode = "304", description = "Catalog unchanged since the ETag in If-None-Match")
+    })
+    public ResponseEntity<LanguageCatalogDTO> getLanguages(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = "\"l-" + languageCatalog.version() + "\"";
+        if (EntityTags.matchesAny(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(languageCatalog.getCatalog());
+    }
+}
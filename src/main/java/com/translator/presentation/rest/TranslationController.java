@@ -1,20 +1,28 @@
 package com.translator.presentation.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.translator.translation.dto.TranslationRequestDTO;
 import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.service.LanguageCatalogService;
+import com.translator.translation.service.MarkupTranslationService;
 import com.translator.translation.service.TranslationService;
+import com.translator.translation.service.TranslationStreamService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -24,26 +32,88 @@ import java.util.UUID;
 @SecurityRequirement(name = "bearerAuth")
 public class TranslationController {
 
+    private static final byte[] NEWLINE = {'\n'};
+
     private final TranslationService translationService;
+    private final TranslationStreamService streamService;
+    private final MarkupTranslationService markupService;
+    private final TranslationResponseEncoder responseEncoder;
+    private final LanguageCatalogService languageCatalog;
+    private final ObjectMapper objectMapper;
 
-    public TranslationController(TranslationService translationService) {
+    public TranslationController(TranslationService translationService,
+                                 TranslationStreamService streamService,
+                                 MarkupTranslationService markupService,
+                                 TranslationResponseEncoder responseEncoder,
+                                 LanguageCatalogService languageCatalog,
+                                 ObjectMapper objectMapper) {
         this.translationService = translationService;
+        this.streamService = streamService;
+        this.markupService = markupService;
+        this.responseEncoder = responseEncoder;
+        this.languageCatalog = languageCatalog;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
     @Operation(summary = "Translate text",
                description = "Translates source text to target language. Uses L1 Caffeine → L2 Redis → " +
-                       "AWS Translate → LibreTranslate fallback chain. Results are cached and persisted asynchronously.")
+                       "AWS Translate → LibreTranslate fallback chain. Results are cached and persisted asynchronously. " +
+                       "With format HTML or MARKDOWN only the text runs are translated, each cached on its own, " +
+                       "and the markup is returned intact.")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "Translation successful"),
-        @ApiResponse(responseCode = "400", description = "Missing or invalid fields"),
+        @ApiResponse(responseCode = "200", description = "Translation successful",
+                content = @Content(schema = @Schema(implementation = TranslationResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid fields, or an unsupported language pair"),
         @ApiResponse(responseCode = "401", description = "Not authenticated"),
         @ApiResponse(responseCode = "429", description = "Rate limit exceeded — 100 requests/day for USER role"),
         @ApiResponse(responseCode = "500", description = "All translation providers failed")
     })
-    public ResponseEntity<TranslationResponseDTO> translate(
+    public ResponseEntity<?> translate(
+            @Valid @RequestBody TranslationRequestDTO request,
+            @AuthenticationPrincipal UUID userId) {
+        if (request.getFormat() != null && request.getFormat().isMarkup()) {
+            return ResponseEntity.ok(markupService.translate(request, userId));
+        }
+        // Mostly L1 hits: the cached text's JSON encoding is reused and the bytes are written as-is
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseEncoder.encode(translationService.translate(request, userId)));
+    }
+
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Translate text as a stream of segments",
+               description = "Splits the text into sentence-aligned segments, translates them concurrently through the " +
+                       "same cache tiers and providers, and writes one NDJSON line per segment, in order, as soon as " +
+                       "it and all earlier segments are ready. Each line carries its own cache/provider attribution; " +
+                       "the full translation is the concatenation of translatedText + separator. A line with " +
+                       "\"error\" set ends the stream.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stream started; failures after this point arrive as an error line"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid fields, an unsupported language pair, " +
+                "or a markup format (plain text only)"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "429", description = "Rate limit exceeded — 100 requests/day for USER role")
+    })
+    public ResponseEntity<StreamingResponseBody> translateStream(
             @Valid @RequestBody TranslationRequestDTO request,
             @AuthenticationPrincipal UUID userId) {
-        return ResponseEntity.ok(translationService.translate(request, userId));
+        if (request.getFormat() != null && request.getFormat().isMarkup()) {
+            // Sentence segmentation would cut through tags
+            return ResponseEntity.badRequest().build();
+        }
+        // The body runs after the 200 is committed; reject an unsupported pair while a 400 still can be sent
+        languageCatalog.requireSupported(request.getSourceLanguage(), request.getTargetLanguage());
+        StreamingResponseBody body = out -> streamService.stream(request, userId, segment -> {
+            // writeValue(out, ...) would close the response stream after the first line
+            out.write(objectMapper.writeValueAsBytes(segment));
+            out.write(NEWLINE);
+            out.flush();
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                // Keep proxies (nginx) from buffering the stream back into one response
+                .header("X-Accel-Buffering", "no")
+                .body(body);
     }
 }
@@ -0,0 +1,217 @@
+package com.translator.presentation.rest;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.translator.translation.dto.TranslationResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link TranslationResponseDTO} as the same JSON bytes Boot's ObjectMapper would,
+ * without going through Jackson's serializer machinery. Used by the plain translate endpoint,
+ * where most responses are L1 hits.
+ *
+ * The translated text is most of the payload and the only part that is costly to escape. Its
+ * escaped UTF-8 form is cached under the identity of the String instance, which on this path is
+ * the value held in L1. Keys are weak, so an encoding lives exactly as long as its L1 entry. An
+ * invalidated or replaced entry is a different String and never picks up a stale encoding. The
+ * other fields are short and are written straight into one exactly sized array.
+ */
+@Component
+public class TranslationResponseEncoder {
+
+    private static final byte[] TRANSLATION_ID = ascii("{\"translationId\":");
+    private static final byte[] TRANSLATED_TEXT = ascii(",\"translatedText\":");
+    private static final byte[] PRONUNCIATION = ascii(",\"pronunciation\":");
+    private static final byte[] SOURCE_LANGUAGE_DETECTED = ascii(",\"sourceLanguageDetected\":");
+    private static final byte[] DETECTION_CONFIDENCE = ascii(",\"detectionConfidence\":");
+    private static final byte[] TARGET_LANGUAGE = ascii(",\"targetLanguage\":");
+    private static final byte[] PROVIDER_USED = ascii(",\"providerUsed\":");
+    private static final byte[] SERVED_FROM_CACHE = ascii(",\"servedFromCache\":");
+    private static final byte[] WORD_COUNT = ascii(",\"wordCount\":");
+    private static final byte[] CHARACTER_COUNT = ascii(",\"characterCount\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final int FIXED_LENGTH = TRANSLATION_ID.length + TRANSLATED_TEXT.length + PRONUNCIATION.length
+            + SOURCE_LANGUAGE_DETECTED.length + DETECTION_CONFIDENCE.length + TARGET_LANGUAGE.length
+            + PROVIDER_USED.length + SERVED_FROM_CACHE.length + WORD_COUNT.length + CHARACTER_COUNT.length
+            + CREATED_AT.length + 1;
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private final Cache<String, byte[]> escapedTexts;
+    private final Function<String, byte[]> escape = JsonStringEncoder.getInstance()::quoteAsUTF8;
+
+    public TranslationResponseEncoder(@Value("${translator.cache.l1.maximum-size:10000}") long l1MaximumSize) {
+        this.escapedTexts = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(l1MaximumSize)
+                .build();
+    }
+
+    public byte[] encode(TranslationResponseDTO response) {
+        String text = response.getTranslatedText();
+        byte[] escapedText = text == null ? null : escapedTexts.get(text, escape);
+        String confidence = response.getDetectionConfidence() == null
+                ? null : Double.toString(response.getDetectionConfidence());
+        String createdAt = response.getCreatedAt() == null
+                ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(response.getCreatedAt());
+
+        int length = FIXED_LENGTH
+                + (response.getTranslationId() == null ? NULL.length : 38)
+                + (escapedText == null ? NULL.length : escapedText.length + 2)
+                + stringLength(response.getPronunciation())
+                + stringLength(response.getSourceLanguageDetected())
+                + (confidence == null ? NULL.length : confidence.length())
+                + stringLength(response.getTargetLanguage())
+                + stringLength(response.getProviderUsed())
+                + (response.isServedFromCache() ? TRUE.length : FALSE.length)
+                + digits(response.getWordCount())
+                + digits(response.getCharacterCount())
+                + stringLength(createdAt);
+
+        Writer out = new Writer(new byte[length]);
+        out.raw(TRANSLATION_ID).uuid(response.getTranslationId());
+        out.raw(TRANSLATED_TEXT).escaped(escapedText);
+        out.raw(PRONUNCIATION).string(response.getPronunciation());
+        out.raw(SOURCE_LANGUAGE_DETECTED).string(response.getSourceLanguageDetected());
+        out.raw(DETECTION_CONFIDENCE);
+        if (confidence == null) {
+            out.raw(NULL);
+        } else {
+            out.ascii(confidence);
+        }
+        out.raw(TARGET_LANGUAGE).string(response.getTargetLanguage());
+        out.raw(PROVIDER_USED).string(response.getProviderUsed());
+        out.raw(SERVED_FROM_CACHE).raw(response.isServedFromCache() ? TRUE : FALSE);
+        out.raw(WORD_COUNT).number(response.getWordCount());
+        out.raw(CHARACTER_COUNT).number(response.getCharacterCount());
+        out.raw(CREATED_AT).string(createdAt);
+        out.buffer[out.position] = '}';
+        return out.buffer;
+    }
+
+    private static int stringLength(String value) {
+        if (value == null) {
+            return NULL.length;
+        }
+        return (isPlain(value) ? value.length() : JsonStringEncoder.getInstance().quoteAsUTF8(value).length) + 2;
+    }
+
+    /** Printable ASCII without quote or backslash: language codes, provider names, timestamps. */
+    private static boolean isPlain(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7E || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(int value) {
+        long magnitude = Math.abs((long) value);
+        int digits = 1;
+        while (magnitude >= 10) {
+            magnitude /= 10;
+            digits++;
+        }
+        return value < 0 ? digits + 1 : digits;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Writer {
+
+        private final byte[] buffer;
+        private int position;
+
+        private Writer(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private Writer raw(byte[] bytes) {
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+            return this;
+        }
+
+        private void ascii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        }
+
+        private void escaped(byte[] escaped) {
+            if (escaped == null) {
+                raw(NULL);
+                return;
+            }
+            buffer[position++] = '"';
+            raw(escaped);
+            buffer[position++] = '"';
+        }
+
+        private void string(String value) {
+            if (value == null) {
+                raw(NULL);
+            } else if (isPlain(value)) {
+                buffer[position++] = '"';
+                ascii(value);
+                buffer[position++] = '"';
+            } else {
+                escaped(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+            }
+        }
+
+        /** Canonical lowercase form, as {@link UUID#toString()} and Jackson write it. */
+        private void uuid(UUID value) {
+            if (value == null) {
+                raw(NULL);
+                return;
+            }
+            buffer[position++] = '"';
+            hex(value.getMostSignificantBits() >>> 32, 8);
+            buffer[position++] = '-';
+            hex(value.getMostSignificantBits() >>> 16, 4);
+            buffer[position++] = '-';
+            hex(value.getMostSignificantBits(), 4);
+            buffer[position++] = '-';
+            hex(value.getLeastSignificantBits() >>> 48, 4);
+            buffer[position++] = '-';
+            hex(value.getLeastSignificantBits(), 12);
+            buffer[position++] = '"';
+        }
+
+        /** The low {@code digits} hex digits of {@code bits}. */
+        private void hex(long bits, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                buffer[position + i] = HEX[(int) (bits & 0xF)];
+                bits >>>= 4;
+            }
+            position += digits;
+        }
+
+        private void number(int value) {
+            int length = digits(value);
+            long magnitude = Math.abs((long) value);
+            for (int i = position + length - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + magnitude % 10);
+                magnitude /= 10;
+            }
+            if (value < 0) {
+                buffer[position] = '-';
+            }
+            position += length;
+        }
+    }
+}
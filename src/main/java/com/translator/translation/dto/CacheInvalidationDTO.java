@@ -0,0 +1,19 @@
+package com.translator.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationDTO {
+    /** KEY, PREFIX or ALL. */
+    private String scope;
+    private String target;
+    /** The new L1 generation after a full flush; null otherwise. */
+    private Long generation;
+    private int translationMemoryRowsRemoved;
+}
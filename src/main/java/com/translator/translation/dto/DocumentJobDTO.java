@@ -0,0 +1,35 @@
+package com.translator.translation.dto;
+
+import com.translator.translation.model.DocumentFormat;
+import com.translator.translation.model.DocumentJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentJobDTO {
+    private UUID jobId;
+    private String fileName;
+    private DocumentFormat format;
+    private DocumentJobStatus status;
+    private String sourceLanguage;
+    private String targetLanguage;
+    private long totalBytes;
+    private long processedBytes;
+    /** Share of the input read so far, in [0, 1]. */
+    private double progress;
+    private long completedSegments;
+    private long cachedSegments;
+    private OffsetDateTime requestedAt;
+    private OffsetDateTime completedAt;
+    private String errorMessage;
+    /** Presigned link to the translated document, once the job has completed. */
+    private String downloadUrl;
+}
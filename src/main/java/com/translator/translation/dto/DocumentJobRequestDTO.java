@@ -0,0 +1,20 @@
+package com.translator.translation.dto;
+
+import com.translator.translation.model.DocumentFormat;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/** Starts a document job from an object already uploaded through a presigned URL. */
+@Data
+public class DocumentJobRequestDTO {
+    @NotBlank
+    private String objectKey;
+
+    @NotBlank
+    private String targetLanguage;
+
+    private String sourceLanguage = "auto";
+
+    /** Derived from the object key's extension when omitted. */
+    private DocumentFormat format;
+}
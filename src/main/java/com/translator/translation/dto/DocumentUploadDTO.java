@@ -0,0 +1,16 @@
+package com.translator.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentUploadDTO {
+    /** Pass back as {@code objectKey} to start the job once the PUT has finished. */
+    private String objectKey;
+    private String uploadUrl;
+}
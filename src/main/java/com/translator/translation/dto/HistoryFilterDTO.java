@@ -0,0 +1,25 @@
+package com.translator.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Optional history filters; every non-null field narrows the result set.
+ * {@code from} is inclusive and {@code to} is exclusive.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryFilterDTO {
+    private String targetLanguage;
+    private String search;
+    private boolean favoritesOnly;
+    private String provider;
+    private OffsetDateTime from;
+    private OffsetDateTime to;
+}
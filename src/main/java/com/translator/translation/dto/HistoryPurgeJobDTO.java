@@ -0,0 +1,24 @@
+package com.translator.translation.dto;
+
+import com.translator.translation.model.PurgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryPurgeJobDTO {
+    private UUID jobId;
+    private PurgeStatus status;
+    private long deletedCount;
+    private OffsetDateTime cutoff;
+    private OffsetDateTime requestedAt;
+    private OffsetDateTime completedAt;
+    private String errorMessage;
+}
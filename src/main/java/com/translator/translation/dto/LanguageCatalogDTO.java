@@ -0,0 +1,19 @@
+package com.translator.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageCatalogDTO {
+    /** Any listed language can be translated to any other, and "auto" is accepted as the source. */
+    private List<LanguageDTO> languages;
+    private OffsetDateTime refreshedAt;
+}
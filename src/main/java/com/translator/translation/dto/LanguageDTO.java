@@ -0,0 +1,19 @@
+package com.translator.translation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguageDTO {
+    private String code;
+    private String name;
+    /** Providers that accept this code, as source or target. */
+    private List<String> providers;
+}
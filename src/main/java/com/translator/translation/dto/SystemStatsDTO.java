@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,4 +18,8 @@ public class SystemStatsDTO {
     private long awsTranslateCount;
     private long libreTranslateCount;
     private long myMemoryCount;
+    /** Hit ratio per cache tier (L1, L2, L3). */
+    private Map<String, Double> cacheHitRates;
+    /** Successful calls per provider. */
+    private Map<String, Long> providerCounts;
 }
@@ -1,5 +1,6 @@
 package com.translator.translation.dto;
 
+import com.translator.translation.model.ContentFormat;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -12,4 +13,7 @@ public class TranslationRequestDTO {
     private String targetLanguage;
     
     private String sourceLanguage = "auto";
+
+    /** HTML or MARKDOWN translates only the text runs and returns the markup intact. */
+    private ContentFormat format = ContentFormat.TEXT;
 }
@@ -17,6 +17,8 @@ public class TranslationResponseDTO {
     private String translatedText;
     private String pronunciation;
     private String sourceLanguageDetected;
+    /** Detector confidence in [0, 1]; null when the caller supplied the source language. */
+    private Double detectionConfidence;
     private String targetLanguage;
     private String providerUsed;
     private boolean servedFromCache;
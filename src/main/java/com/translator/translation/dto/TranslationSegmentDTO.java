@@ -0,0 +1,31 @@
+package com.translator.translation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One NDJSON line of a streamed translation. Segments arrive in order; the full translation is
+ * the concatenation of {@code translatedText + separator}. A line with {@code error} set ends
+ * the stream early.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TranslationSegmentDTO {
+    private int index;
+    private int totalSegments;
+    private String translatedText;
+    /** Whitespace that followed this segment in the source text. */
+    private String separator;
+    private String sourceLanguageDetected;
+    private Double detectionConfidence;
+    private String targetLanguage;
+    private String providerUsed;
+    private Boolean servedFromCache;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.translator.translation.model;
+
+/**
+ * What {@code sourceText} of a translation request contains. Markup formats are parsed so only
+ * their text is translated; tags, attributes, code and URLs come back unchanged.
+ */
+public enum ContentFormat {
+    TEXT,
+    HTML,
+    MARKDOWN;
+
+    public boolean isMarkup() {
+        return this != TEXT;
+    }
+}
@@ -0,0 +1,39 @@
+package com.translator.translation.model;
+
+import java.util.Locale;
+
+/**
+ * How a document is segmented. Plain text is split at sentence boundaries; subtitle cues keep
+ * their numbering and timing lines verbatim and only the cue text is translated.
+ */
+public enum DocumentFormat {
+    TEXT("text/plain"),
+    SRT("application/x-subrip"),
+    VTT("text/vtt");
+
+    private final String contentType;
+
+    DocumentFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public boolean isSubtitle() {
+        return this != TEXT;
+    }
+
+    /** Picks the format from a file extension, treating anything unrecognised as plain text. */
+    public static DocumentFormat fromFileName(String fileName) {
+        String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".srt")) {
+            return SRT;
+        }
+        if (lower.endsWith(".vtt")) {
+            return VTT;
+        }
+        return TEXT;
+    }
+}
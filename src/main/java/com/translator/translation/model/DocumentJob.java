@@ -0,0 +1,96 @@
+package com.translator.translation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A background translation of a document stored in S3, written segment by segment to
+ * {@code outputKey}.
+ */
+@Entity
+@Table(name = "document_jobs")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@ToString
+public class DocumentJob {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "file_name", nullable = false, updatable = false)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, updatable = false, length = 10)
+    private DocumentFormat format;
+
+    @Column(name = "source_language", updatable = false, length = 10)
+    private String sourceLanguage;
+
+    @Column(name = "target_language", nullable = false, updatable = false, length = 10)
+    private String targetLanguage;
+
+    @Column(name = "input_key", nullable = false, updatable = false)
+    private String inputKey;
+
+    @Column(name = "output_key", nullable = false, updatable = false)
+    private String outputKey;
+
+    @Column(name = "upload_id")
+    private String uploadId;
+
+    /** Set by each claim; the worker's writes only apply while it still matches. */
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private DocumentJobStatus status = DocumentJobStatus.PENDING;
+
+    @Column(name = "total_bytes", nullable = false)
+    private long totalBytes;
+
+    @Column(name = "processed_bytes", nullable = false)
+    private long processedBytes;
+
+    @Column(name = "completed_segments", nullable = false)
+    private long completedSegments;
+
+    @Column(name = "cached_segments", nullable = false)
+    private long cachedSegments;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "requested_at", updatable = false)
+    @Builder.Default
+    private OffsetDateTime requestedAt = OffsetDateTime.now();
+
+    @Column(name = "heartbeat_at")
+    private OffsetDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+}
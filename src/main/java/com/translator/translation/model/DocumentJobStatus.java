@@ -0,0 +1,8 @@
+package com.translator.translation.model;
+
+public enum DocumentJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
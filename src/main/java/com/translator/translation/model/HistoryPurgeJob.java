@@ -0,0 +1,74 @@
+package com.translator.translation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A chunked, background deletion of a user's history up to {@code cutoff}.
+ */
+@Entity
+@Table(name = "history_purge_jobs")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@ToString
+public class HistoryPurgeJob {
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "cutoff", nullable = false, updatable = false)
+    private OffsetDateTime cutoff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private PurgeStatus status = PurgeStatus.PENDING;
+
+    @Column(name = "deleted_count", nullable = false)
+    private long deletedCount;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    /** Failed runs so far; a FAILED job is retried from {@code retryAt}. */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "retry_at")
+    private OffsetDateTime retryAt;
+
+    /** Set by each claim; the worker's writes only apply while it still matches. */
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "requested_at", updatable = false)
+    @Builder.Default
+    private OffsetDateTime requestedAt = OffsetDateTime.now();
+
+    @Column(name = "heartbeat_at")
+    private OffsetDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+}
@@ -0,0 +1,8 @@
+package com.translator.translation.model;
+
+public enum PurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,34 @@
+package com.translator.translation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A distinct piece of text, shared by every translation that uses it. Rows are written only
+ * through {@code intern_text_blob()}; the entity exists for read-side criteria subqueries.
+ */
+@Entity
+@Immutable
+@Table(name = "text_blobs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TextBlob {
+
+    @Id
+    @Column(name = "hash", nullable = false, updatable = false)
+    private byte[] hash;
+
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.translator.translation.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.translator.user.model.User;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,6 +16,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -29,7 +31,7 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"user"})
+@ToString(exclude = {"user", "sourceHash", "translatedHash"})
 public class Translation {
 
     @Id
@@ -40,12 +42,30 @@ public class Translation {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "source_text", nullable = false, columnDefinition = "TEXT")
+    /**
+     * Stored as a {@link TextBlob} hash (V10): written through {@code intern_text_blob()} and
+     * read back by joining {@code text_blobs}.
+     */
+    @Column(name = "source_hash", nullable = false, updatable = false, columnDefinition = "bytea")
+    @ColumnTransformer(
+            read = "(SELECT b.content FROM text_blobs b WHERE b.hash = source_hash)",
+            write = "intern_text_blob(?)")
     private String sourceText;
 
-    @Column(name = "translated_text", nullable = false, columnDefinition = "TEXT")
+    @Column(name = "translated_hash", nullable = false, updatable = false, columnDefinition = "bytea")
+    @ColumnTransformer(
+            read = "(SELECT b.content FROM text_blobs b WHERE b.hash = translated_hash)",
+            write = "intern_text_blob(?)")
     private String translatedText;
 
+    @JsonIgnore
+    @Column(name = "source_hash", insertable = false, updatable = false)
+    private byte[] sourceHash;
+
+    @JsonIgnore
+    @Column(name = "translated_hash", insertable = false, updatable = false)
+    private byte[] translatedHash;
+
     @Column(name = "source_language", length = 10)
     private String sourceLanguage;
 
@@ -67,7 +87,7 @@ public class Translation {
     @Column(name = "metadata", columnDefinition = "jsonb")
     private Map<String, Object> metadata;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false, updatable = false)
     @Builder.Default
     private OffsetDateTime createdAt = OffsetDateTime.now();
 }
@@ -0,0 +1,66 @@
+package com.translator.translation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Incrementally maintained per-user history rollup.
+ * {@code weeklyCounts} is keyed by the ISO date of the week's Monday (UTC).
+ */
+@Entity
+@Table(name = "user_translation_stats")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class UserTranslationStats {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+
+    @Column(name = "favorite_count", nullable = false)
+    private long favoriteCount;
+
+    @Column(name = "lookup_count", nullable = false)
+    private long lookupCount;
+
+    @Column(name = "cache_hit_count", nullable = false)
+    private long cacheHitCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "language_counts", nullable = false, columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Long> languageCounts = new HashMap<>();
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "weekly_counts", nullable = false, columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Long> weeklyCounts = new HashMap<>();
+
+    @Column(name = "last_translation_at")
+    private OffsetDateTime lastTranslationAt;
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+}
@@ -0,0 +1,99 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.DocumentJob;
+import com.translator.translation.model.DocumentJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DocumentJobRepository extends JpaRepository<DocumentJob, UUID> {
+
+    /** Ids of the jobs {@link #claim} would accept right now. */
+    @Query("""
+            SELECT j.id FROM DocumentJob j
+            WHERE j.status = :pending
+               OR (j.status = :running AND j.heartbeatAt < :staleBefore)
+            """)
+    List<UUID> findClaimableIds(@Param("staleBefore") OffsetDateTime staleBefore,
+                                @Param("pending") DocumentJobStatus pending,
+                                @Param("running") DocumentJobStatus running);
+
+    /**
+     * Atomically claims a job that is pending, or running with a stale heartbeat (its node died),
+     * and stamps it with {@code token}. The writes below only apply while the token still matches.
+     *
+     * @return 1 if this caller now owns the job, 0 if another worker does
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DocumentJob j
+            SET j.status = :running, j.heartbeatAt = :now, j.claimToken = :token
+            WHERE j.id = :id
+              AND (j.status = :pending OR (j.status = :running AND j.heartbeatAt < :staleBefore))
+            """)
+    int claim(@Param("id") UUID id,
+              @Param("token") UUID token,
+              @Param("now") OffsetDateTime now,
+              @Param("staleBefore") OffsetDateTime staleBefore,
+              @Param("pending") DocumentJobStatus pending,
+              @Param("running") DocumentJobStatus running);
+
+    /** @return 0 if the job was claimed by another worker since {@code token} was issued */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DocumentJob j
+            SET j.heartbeatAt = :now
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int heartbeat(@Param("id") UUID id,
+                  @Param("token") UUID token,
+                  @Param("now") OffsetDateTime now);
+
+    /** @return 0 if the job was claimed by another worker since {@code token} was issued */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DocumentJob j
+            SET j.uploadId = :uploadId, j.processedBytes = :processedBytes,
+                j.completedSegments = :completedSegments, j.cachedSegments = :cachedSegments,
+                j.heartbeatAt = :now
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int updateProgress(@Param("id") UUID id,
+                       @Param("token") UUID token,
+                       @Param("uploadId") String uploadId,
+                       @Param("processedBytes") long processedBytes,
+                       @Param("completedSegments") long completedSegments,
+                       @Param("cachedSegments") long cachedSegments,
+                       @Param("now") OffsetDateTime now);
+
+    /** Moves the job to COMPLETED or FAILED; 0 if another worker claimed it in the meantime. */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE DocumentJob j
+            SET j.status = :status, j.uploadId = :uploadId, j.processedBytes = :processedBytes,
+                j.completedSegments = :completedSegments, j.cachedSegments = :cachedSegments,
+                j.errorMessage = :errorMessage, j.completedAt = :now
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int finish(@Param("id") UUID id,
+               @Param("token") UUID token,
+               @Param("status") DocumentJobStatus status,
+               @Param("uploadId") String uploadId,
+               @Param("processedBytes") long processedBytes,
+               @Param("completedSegments") long completedSegments,
+               @Param("cachedSegments") long cachedSegments,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") OffsetDateTime now);
+}
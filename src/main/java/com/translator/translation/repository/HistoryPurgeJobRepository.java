@@ -0,0 +1,105 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.HistoryPurgeJob;
+import com.translator.translation.model.PurgeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HistoryPurgeJobRepository extends JpaRepository<HistoryPurgeJob, UUID> {
+
+    /** The newest purge for a user; its cutoff is the tombstone applied to history reads. */
+    Optional<HistoryPurgeJob> findFirstByUserIdOrderByCutoffDesc(UUID userId);
+
+    /** Ids of the jobs {@link #claim} would accept right now. */
+    @Query("""
+            SELECT j.id FROM HistoryPurgeJob j
+            WHERE j.status = :pending
+               OR (j.status = :running AND j.heartbeatAt < :staleBefore)
+               OR (j.status = :failed AND j.retryAt <= :now)
+            """)
+    List<UUID> findClaimableIds(@Param("now") OffsetDateTime now,
+                                @Param("staleBefore") OffsetDateTime staleBefore,
+                                @Param("pending") PurgeStatus pending,
+                                @Param("running") PurgeStatus running,
+                                @Param("failed") PurgeStatus failed);
+
+    /**
+     * Atomically claims a job that is pending, running with a stale heartbeat (its node died),
+     * or failed and due for a retry, and stamps it with {@code token}. The writes below only
+     * apply while the token still matches.
+     *
+     * @return 1 if this caller now owns the job, 0 if another worker does
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE HistoryPurgeJob j
+            SET j.status = :running, j.heartbeatAt = :now, j.claimToken = :token
+            WHERE j.id = :id
+              AND (j.status = :pending
+                   OR (j.status = :running AND j.heartbeatAt < :staleBefore)
+                   OR (j.status = :failed AND j.retryAt <= :now))
+            """)
+    int claim(@Param("id") UUID id,
+              @Param("token") UUID token,
+              @Param("now") OffsetDateTime now,
+              @Param("staleBefore") OffsetDateTime staleBefore,
+              @Param("pending") PurgeStatus pending,
+              @Param("running") PurgeStatus running,
+              @Param("failed") PurgeStatus failed);
+
+    /** Progress and heartbeat; 0 if the job was claimed by another worker since {@code token} was issued. */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE HistoryPurgeJob j
+            SET j.deletedCount = :deletedCount, j.heartbeatAt = :now
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int updateProgress(@Param("id") UUID id,
+                       @Param("token") UUID token,
+                       @Param("deletedCount") long deletedCount,
+                       @Param("now") OffsetDateTime now);
+
+    /** Marks the job COMPLETED; 0 if another worker claimed it in the meantime. */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE HistoryPurgeJob j
+            SET j.status = :completed, j.deletedCount = :deletedCount, j.errorMessage = NULL,
+                j.retryAt = NULL, j.completedAt = :now
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int complete(@Param("id") UUID id,
+                 @Param("token") UUID token,
+                 @Param("completed") PurgeStatus completed,
+                 @Param("deletedCount") long deletedCount,
+                 @Param("now") OffsetDateTime now);
+
+    /** Marks the job FAILED until {@code retryAt}; 0 if another worker claimed it in the meantime. */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE HistoryPurgeJob j
+            SET j.status = :failed, j.deletedCount = :deletedCount, j.attempts = :attempts,
+                j.errorMessage = :errorMessage, j.retryAt = :retryAt
+            WHERE j.id = :id AND j.claimToken = :token
+            """)
+    int fail(@Param("id") UUID id,
+             @Param("token") UUID token,
+             @Param("failed") PurgeStatus failed,
+             @Param("deletedCount") long deletedCount,
+             @Param("attempts") int attempts,
+             @Param("errorMessage") String errorMessage,
+             @Param("retryAt") OffsetDateTime retryAt);
+}
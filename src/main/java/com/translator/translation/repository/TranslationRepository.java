@@ -2,16 +2,23 @@ package com.translator.translation.repository;
 
 import com.translator.translation.model.Translation;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 @Repository
-public interface TranslationRepository extends JpaRepository<Translation, UUID> {
+public interface TranslationRepository extends JpaRepository<Translation, UUID>,
+        JpaSpecificationExecutor<Translation> {
 
     Page<Translation> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
 
@@ -29,6 +36,116 @@ public interface TranslationRepository extends JpaRepository<Translation, UUID>
 
     long countByCreatedAtAfter(OffsetDateTime date);
 
+    /**
+     * Ranked search over source and translated text, scoped to one user.
+     * Distinct texts matching the term (full-text via {@code search_vector}, substring via
+     * {@code pattern}, near-miss spellings via trigram word similarity) are found first in
+     * {@code text_blobs}, all index-backed (see V10), then joined to the user's rows by hash.
+     * Rows created at or before {@code visibleAfter} (a pending purge's tombstone) are hidden.
+     * Ordering is fixed by score, so callers must pass an unsorted {@link Pageable}.
+     */
+    @Query(value = """
+            WITH matched AS MATERIALIZED (
+                SELECT b.hash
+                FROM text_blobs b
+                WHERE b.search_vector @@ websearch_to_tsquery('simple', :term)
+                   OR lower(b.content) LIKE :pattern
+                   OR lower(:term) <% lower(b.content)
+            ), hits AS (
+                SELECT t.id, t.created_at
+                FROM translations t JOIN matched m ON m.hash = t.source_hash
+                WHERE t.user_id = :userId AND t.created_at > :visibleAfter
+                UNION
+                SELECT t.id, t.created_at
+                FROM translations t JOIN matched m ON m.hash = t.translated_hash
+                WHERE t.user_id = :userId AND t.created_at > :visibleAfter
+            )
+            SELECT t.id AS id,
+                   sb.content AS sourceText,
+                   tb.content AS translatedText,
+                   t.source_language AS sourceLanguage,
+                   t.target_language AS targetLanguage,
+                   t.is_favorite AS favorite,
+                   t.created_at AS createdAt,
+                   CAST(ts_rank_cd(setweight(sb.search_vector, 'A') || setweight(tb.search_vector, 'B'), q.tsq)
+                        + word_similarity(lower(:term), lower(sb.content)) AS double precision) AS score,
+                   ts_headline('simple', sb.content, q.tsq,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5') AS sourceHighlight,
+                   ts_headline('simple', tb.content, q.tsq,
+                               'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5') AS translatedHighlight
+            FROM hits h
+            JOIN translations t ON t.id = h.id AND t.created_at = h.created_at
+            JOIN text_blobs sb ON sb.hash = t.source_hash
+            JOIN text_blobs tb ON tb.hash = t.translated_hash
+            CROSS JOIN websearch_to_tsquery('simple', :term) AS q(tsq)
+            ORDER BY score DESC, t.created_at DESC
+            """,
+            countQuery = """
+            WITH matched AS MATERIALIZED (
+                SELECT b.hash
+                FROM text_blobs b
+                WHERE b.search_vector @@ websearch_to_tsquery('simple', :term)
+                   OR lower(b.content) LIKE :pattern
+                   OR lower(:term) <% lower(b.content)
+            )
+            SELECT count(*) FROM (
+                SELECT t.id
+                FROM translations t JOIN matched m ON m.hash = t.source_hash
+                WHERE t.user_id = :userId AND t.created_at > :visibleAfter
+                UNION
+                SELECT t.id
+                FROM translations t JOIN matched m ON m.hash = t.translated_hash
+                WHERE t.user_id = :userId AND t.created_at > :visibleAfter
+            ) hits
+            """,
+            nativeQuery = true)
+    Page<TranslationSearchView> searchByUserId(@Param("userId") UUID userId,
+                                               @Param("term") String term,
+                                               @Param("pattern") String pattern,
+                                               @Param("visibleAfter") OffsetDateTime visibleAfter,
+                                               Pageable pageable);
+
+    /** Lower bound for {@code visibleAfter} when the user has never purged their history. */
+    OffsetDateTime NO_TOMBSTONE = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    default Page<TranslationSearchView> search(UUID userId, String term, Pageable pageable) {
+        return search(userId, term, NO_TOMBSTONE, pageable);
+    }
+
+    /**
+     * Escapes LIKE wildcards in the user's term and strips any client-supplied sort
+     * before delegating to {@link #searchByUserId}.
+     */
+    default Page<TranslationSearchView> search(UUID userId, String term, OffsetDateTime visibleAfter,
+                                               Pageable pageable) {
+        String pattern = "%" + TranslationSpecifications.escapeLike(term.toLowerCase()) + "%";
+        return searchByUserId(userId, term, pattern, visibleAfter,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * Deletes at most {@code batchSize} of the user's rows created at or before {@code cutoff}.
+     * Each call is its own short transaction so a large purge never holds locks or
+     * a snapshot for longer than one chunk. The repeated cutoff bound lets PostgreSQL prune
+     * the monthly partitions written after the purge was requested.
+     *
+     * @return rows deleted; fewer than {@code batchSize} means the purge is done
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM translations
+            WHERE created_at <= :cutoff
+              AND (id, created_at) IN (SELECT id, created_at
+                                       FROM translations
+                                       WHERE user_id = :userId AND created_at <= :cutoff
+                                       LIMIT :batchSize)
+            """,
+            nativeQuery = true)
+    int deleteChunk(@Param("userId") UUID userId,
+                    @Param("cutoff") OffsetDateTime cutoff,
+                    @Param("batchSize") int batchSize);
+
     @Query("SELECT t.targetLanguage FROM Translation t WHERE t.user.id = :userId GROUP BY t.targetLanguage ORDER BY COUNT(t) DESC")
     java.util.List<String> findMostUsedLanguagesByUserId(UUID userId, Pageable pageable);
 }
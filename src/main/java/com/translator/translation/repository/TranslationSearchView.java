@@ -0,0 +1,31 @@
+package com.translator.translation.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Projection returned by the ranked history search.
+ * Highlights wrap matched terms in {@code <mark>} tags.
+ */
+public interface TranslationSearchView {
+
+    UUID getId();
+
+    String getSourceText();
+
+    String getTranslatedText();
+
+    String getSourceLanguage();
+
+    String getTargetLanguage();
+
+    Boolean getFavorite();
+
+    OffsetDateTime getCreatedAt();
+
+    Double getScore();
+
+    String getSourceHighlight();
+
+    String getTranslatedHighlight();
+}
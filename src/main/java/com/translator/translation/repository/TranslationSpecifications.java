@@ -0,0 +1,97 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.dto.HistoryFilterDTO;
+import com.translator.translation.model.TextBlob;
+import com.translator.translation.model.Translation;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Composable predicates over {@link Translation}.
+ * Every history query starts from {@link #belongsTo(UUID)} so it can use the
+ * {@code (user_id, ..., created_at DESC)} indexes from V5.
+ */
+public final class TranslationSpecifications {
+
+    private TranslationSpecifications() {
+    }
+
+    public static Specification<Translation> fromFilter(UUID userId, HistoryFilterDTO filter) {
+        Specification<Translation> spec = Specification.where(belongsTo(userId));
+        if (filter.isFavoritesOnly()) {
+            spec = spec.and(isFavorite());
+        }
+        if (StringUtils.hasText(filter.getTargetLanguage())) {
+            spec = spec.and(hasTargetLanguage(filter.getTargetLanguage().trim()));
+        }
+        if (StringUtils.hasText(filter.getProvider())) {
+            spec = spec.and(usedProvider(filter.getProvider().trim()));
+        }
+        if (StringUtils.hasText(filter.getSearch())) {
+            spec = spec.and(sourceTextContains(filter.getSearch().trim()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and(createdAtOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and(createdBefore(filter.getTo()));
+        }
+        return spec;
+    }
+
+    public static Specification<Translation> belongsTo(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Translation> isFavorite() {
+        return (root, query, cb) -> cb.isTrue(root.<Boolean>get("isFavorite"));
+    }
+
+    public static Specification<Translation> hasTargetLanguage(String targetLanguage) {
+        return (root, query, cb) -> cb.equal(root.get("targetLanguage"), targetLanguage);
+    }
+
+    public static Specification<Translation> usedProvider(String provider) {
+        return (root, query, cb) -> cb.equal(root.get("providerUsed"), provider);
+    }
+
+    /**
+     * Case-insensitive substring match on the source text. Matching blobs are found through the
+     * expression trigram index on {@code text_blobs} (V10) and joined back by hash, instead of
+     * resolving and testing the text of every history row.
+     */
+    public static Specification<Translation> sourceTextContains(String text) {
+        String pattern = "%" + escapeLike(text.toLowerCase()) + "%";
+        return (root, query, cb) -> {
+            Subquery<byte[]> matching = query.subquery(byte[].class);
+            Root<TextBlob> blob = matching.from(TextBlob.class);
+            matching.select(blob.<byte[]>get("hash"))
+                    .where(cb.like(cb.lower(blob.<String>get("content")), pattern, '\\'));
+            return root.get("sourceHash").in(matching);
+        };
+    }
+
+    public static Specification<Translation> createdAtOrAfter(OffsetDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.<OffsetDateTime>get("createdAt"), from);
+    }
+
+    public static Specification<Translation> createdBefore(OffsetDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.<OffsetDateTime>get("createdAt"), to);
+    }
+
+    /** Hides rows covered by a purge tombstone; the cutoff itself is inclusive of the purge. */
+    public static Specification<Translation> createdAfter(OffsetDateTime cutoff) {
+        return (root, query, cb) -> cb.greaterThan(root.<OffsetDateTime>get("createdAt"), cutoff);
+    }
+
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
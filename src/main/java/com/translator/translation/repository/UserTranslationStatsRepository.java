@@ -0,0 +1,62 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.UserTranslationStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserTranslationStatsRepository extends JpaRepository<UserTranslationStats, UUID> {
+
+    /**
+     * Creates the zeroed row if it is missing, so concurrent first writes for a user
+     * never race on the primary key before {@link #findByUserIdForUpdate} locks it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_translation_stats (user_id) VALUES (:userId) ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(@Param("userId") UUID userId);
+
+    /**
+     * Recomputes the history-derived counters from the rows that remain, leaving lookup counts
+     * alone. Used once a purge has finished, when the remaining history is small.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE user_translation_stats s SET
+                total_count = agg.total,
+                favorite_count = agg.favorites,
+                language_counts = coalesce((SELECT jsonb_object_agg(l.target_language, l.cnt)
+                                              FROM (SELECT target_language, count(*) AS cnt
+                                                      FROM translations
+                                                     WHERE user_id = :userId
+                                                     GROUP BY target_language) l), '{}'::jsonb),
+                weekly_counts = coalesce((SELECT jsonb_object_agg(w.week, w.cnt)
+                                            FROM (SELECT to_char(date_trunc('week', created_at AT TIME ZONE 'UTC'), 'YYYY-MM-DD') AS week,
+                                                         count(*) AS cnt
+                                                    FROM translations
+                                                   WHERE user_id = :userId
+                                                     AND created_at >= now() - make_interval(weeks => :retainedWeeks)
+                                                   GROUP BY 1) w), '{}'::jsonb),
+                last_translation_at = agg.last_at,
+                updated_at = CURRENT_TIMESTAMP
+            FROM (SELECT count(*) AS total,
+                         count(*) FILTER (WHERE is_favorite) AS favorites,
+                         max(created_at) AS last_at
+                    FROM translations
+                   WHERE user_id = :userId) agg
+            WHERE s.user_id = :userId
+            """, nativeQuery = true)
+    int rebuildHistoryCounters(@Param("userId") UUID userId, @Param("retainedWeeks") int retainedWeeks);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserTranslationStats s WHERE s.userId = :userId")
+    Optional<UserTranslationStats> findByUserIdForUpdate(@Param("userId") UUID userId);
+}
@@ -0,0 +1,57 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.cache.L1InvalidationBus;
+import com.translator.translation.dto.CacheInvalidationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Removes cached translations from every tier. Single translations are dropped from L1 on all
+ * nodes, from Redis and from the translation memory, so the next request goes to a provider.
+ * Prefix and full flushes reach L1 only: L2 keys are hashed and cannot be matched by prefix.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private final L1InvalidationBus invalidationBus;
+    private final StringRedisTemplate redisTemplate;
+    private final TranslationMemoryService translationMemory;
+
+    public CacheInvalidationService(L1InvalidationBus invalidationBus,
+                                    StringRedisTemplate redisTemplate,
+                                    TranslationMemoryService translationMemory) {
+        this.invalidationBus = invalidationBus;
+        this.redisTemplate = redisTemplate;
+        this.translationMemory = translationMemory;
+    }
+
+    public CacheInvalidationDTO invalidateTranslation(String sourceText, String targetLanguage) {
+        int removed = translationMemory.forget(sourceText, targetLanguage);
+        redisTemplate.delete(TranslationService.l2Key(sourceText, targetLanguage));
+        invalidationBus.invalidateKey(TranslationService.l1Key(sourceText, targetLanguage));
+        log.info("Invalidated cached translation into {} ({} memory rows)", targetLanguage, removed);
+        return CacheInvalidationDTO.builder()
+                .scope("KEY")
+                .target(targetLanguage)
+                .translationMemoryRowsRemoved(removed)
+                .build();
+    }
+
+    /** {@code prefix} is matched against L1 keys, which start with the lower-cased source text. */
+    public CacheInvalidationDTO invalidatePrefix(String prefix) {
+        String keyPrefix = prefix.toLowerCase();
+        invalidationBus.invalidatePrefix(keyPrefix);
+        log.info("Invalidated L1 entries with prefix '{}'", keyPrefix);
+        return CacheInvalidationDTO.builder().scope("PREFIX").target(keyPrefix).build();
+    }
+
+    public CacheInvalidationDTO invalidateAll() {
+        long generation = invalidationBus.invalidateAll();
+        log.info("Flushed L1 on all nodes; generation is now {}", generation);
+        return CacheInvalidationDTO.builder().scope("ALL").generation(generation).build();
+    }
+}
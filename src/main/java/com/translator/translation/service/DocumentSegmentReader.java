@@ -0,0 +1,36 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.DocumentFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pulls a document apart into translatable segments one at a time, holding only a bounded
+ * window of it in memory. Writing {@code preamble + translation(text) + separator} for every
+ * segment in order rebuilds the document.
+ */
+interface DocumentSegmentReader extends Closeable {
+
+    /**
+     * @param preamble  markup copied verbatim (subtitle numbering and timing)
+     * @param text      what to translate; empty when the segment is markup only
+     * @param separator whitespace copied verbatim after the translation
+     */
+    record DocumentSegment(String preamble, String text, String separator) {
+
+        boolean isTranslatable() {
+            return !text.isEmpty();
+        }
+    }
+
+    /** @return the next segment, or null at the end of the document */
+    DocumentSegment next() throws IOException;
+
+    static DocumentSegmentReader open(Reader reader, DocumentFormat format, int maxChars) {
+        return format.isSubtitle()
+                ? new SubtitleSegmentReader(reader)
+                : new TextSegmentReader(reader, maxChars);
+    }
+}
@@ -0,0 +1,173 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.aws.S3Service;
+import com.translator.translation.dto.DocumentJobDTO;
+import com.translator.translation.dto.DocumentJobRequestDTO;
+import com.translator.translation.dto.DocumentUploadDTO;
+import com.translator.translation.model.DocumentFormat;
+import com.translator.translation.model.DocumentJob;
+import com.translator.translation.model.DocumentJobStatus;
+import com.translator.translation.repository.DocumentJobRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Accepts document translation jobs and hands them to {@link DocumentTranslationWorker}.
+ *
+ * The input always lives in S3 before a job is created. Uploads through the API are streamed
+ * there from Spring's multipart spool file. Larger files can skip the app entirely: they are PUT
+ * to a presigned URL under the user's {@code uploads/} prefix and then referenced by key. Either
+ * way any node can run or resume the job.
+ */
+@Service
+public class DocumentTranslationService {
+
+    static final String UPLOADS_PREFIX = "uploads/";
+    static final String DOCUMENTS_PREFIX = "documents/";
+
+    private final DocumentJobRepository jobRepository;
+    private final S3Service s3Service;
+    private final DocumentTranslationWorker worker;
+    private final LanguageCatalogService languageCatalog;
+
+    public DocumentTranslationService(DocumentJobRepository jobRepository,
+                                      S3Service s3Service,
+                                      DocumentTranslationWorker worker,
+                                      LanguageCatalogService languageCatalog) {
+        this.jobRepository = jobRepository;
+        this.s3Service = s3Service;
+        this.worker = worker;
+        this.languageCatalog = languageCatalog;
+    }
+
+    /** @throws UnsupportedLanguageException before anything is uploaded, if no provider lists the pair */
+    public DocumentJobDTO submitUpload(MultipartFile file, String sourceLanguage, String targetLanguage,
+                                       DocumentFormat format, UUID userId) throws IOException {
+        languageCatalog.requireSupported(sourceLanguage, targetLanguage);
+        UUID jobId = UUID.randomUUID();
+        String fileName = fileName(file.getOriginalFilename());
+        DocumentFormat resolvedFormat = format != null ? format : DocumentFormat.fromFileName(fileName);
+        String inputKey = DOCUMENTS_PREFIX + jobId + "/input";
+        try (InputStream content = file.getInputStream()) {
+            s3Service.upload(inputKey, content, file.getSize(), resolvedFormat.contentType());
+        }
+        return toDto(start(jobId, userId, fileName, resolvedFormat, sourceLanguage, targetLanguage,
+                inputKey, file.getSize()));
+    }
+
+    /** A presigned PUT under the user's upload prefix, for files too large to send through the API. */
+    public DocumentUploadDTO createUpload(String fileName, UUID userId) {
+        String name = fileName(fileName);
+        String objectKey = uploadPrefix(userId) + UUID.randomUUID() + "/" + name;
+        return DocumentUploadDTO.builder()
+                .objectKey(objectKey)
+                .uploadUrl(s3Service.generatePresignedUrlForUpload(
+                        objectKey, DocumentFormat.fromFileName(name).contentType()))
+                .build();
+    }
+
+    /** Users may only start jobs on objects under their own upload prefix. */
+    public boolean ownsObject(String objectKey, UUID userId) {
+        return objectKey.startsWith(uploadPrefix(userId)) && !objectKey.contains("..");
+    }
+
+    /** @return the new job, or empty when the object does not exist */
+    public Optional<DocumentJobDTO> submitObject(DocumentJobRequestDTO request, UUID userId) {
+        languageCatalog.requireSupported(request.getSourceLanguage(), request.getTargetLanguage());
+        OptionalLong size = s3Service.sizeIfExists(request.getObjectKey());
+        if (size.isEmpty()) {
+            return Optional.empty();
+        }
+        String fileName = fileName(request.getObjectKey());
+        DocumentFormat format = request.getFormat() != null
+                ? request.getFormat()
+                : DocumentFormat.fromFileName(fileName);
+        return Optional.of(toDto(start(UUID.randomUUID(), userId, fileName, format, request.getSourceLanguage(),
+                request.getTargetLanguage(), request.getObjectKey(), size.getAsLong())));
+    }
+
+    public Optional<DocumentJobDTO> getJob(UUID jobId, UUID userId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(this::toDto);
+    }
+
+    /**
+     * Picks up document jobs no node is working on: those whose submitting node went down before
+     * running them, and RUNNING jobs whose heartbeat is older than {@code stale-after-ms}. Only
+     * those are queried, and jobs already queued on this node are skipped, so the sweep does not
+     * grow the worker queue with jobs that would fail their claim anyway.
+     */
+    @Scheduled(fixedDelayString = "${translator.documents.recovery-interval-ms:60000}")
+    public void resumeAbandonedJobs() {
+        worker.submitClaimable();
+    }
+
+    private DocumentJob start(UUID jobId, UUID userId, String fileName, DocumentFormat format,
+                              String sourceLanguage, String targetLanguage, String inputKey, long totalBytes) {
+        DocumentJob job = jobRepository.save(DocumentJob.builder()
+                .id(jobId)
+                .userId(userId)
+                .fileName(fileName)
+                .format(format)
+                .sourceLanguage(sourceLanguage)
+                .targetLanguage(targetLanguage)
+                .inputKey(inputKey)
+                .outputKey(DOCUMENTS_PREFIX + jobId + "/output." + format.name().toLowerCase())
+                .totalBytes(totalBytes)
+                .build());
+        worker.submit(job.getId());
+        return job;
+    }
+
+    private static String uploadPrefix(UUID userId) {
+        return UPLOADS_PREFIX + userId + "/";
+    }
+
+    /** The last path element, without directories a client may have sent along. */
+    private static String fileName(String name) {
+        if (name == null || name.isBlank()) {
+            return "document.txt";
+        }
+        Path fileName = Path.of(name.replace('\\', '/')).getFileName();
+        String base = fileName == null ? "document.txt" : fileName.toString();
+        return base.length() > 255 ? base.substring(base.length() - 255) : base;
+    }
+
+    private static double progress(DocumentJob job) {
+        if (job.getStatus() == DocumentJobStatus.COMPLETED) {
+            return 1.0;
+        }
+        return job.getTotalBytes() == 0 ? 0.0 : (double) job.getProcessedBytes() / job.getTotalBytes();
+    }
+
+    private DocumentJobDTO toDto(DocumentJob job) {
+        return DocumentJobDTO.builder()
+                .jobId(job.getId())
+                .fileName(job.getFileName())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .sourceLanguage(job.getSourceLanguage())
+                .targetLanguage(job.getTargetLanguage())
+                .totalBytes(job.getTotalBytes())
+                .processedBytes(job.getProcessedBytes())
+                .progress(progress(job))
+                .completedSegments(job.getCompletedSegments())
+                .cachedSegments(job.getCachedSegments())
+                .requestedAt(job.getRequestedAt())
+                .completedAt(job.getCompletedAt())
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getStatus() == DocumentJobStatus.COMPLETED
+                        ? s3Service.generatePresignedUrlForDownload(job.getOutputKey())
+                        : null)
+                .build();
+    }
+}
@@ -0,0 +1,418 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.aws.S3MultipartOutputStream;
+import com.translator.infrastructure.aws.S3Service;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.model.DocumentJob;
+import com.translator.translation.model.DocumentJobStatus;
+import com.translator.translation.repository.DocumentJobRepository;
+import com.translator.translation.service.DocumentSegmentReader.DocumentSegment;
+import com.translator.translation.service.ProviderCallScheduler.Lane;
+import com.translator.translation.service.TranslationService.ResolvedRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Translates one document job end to end without holding the document in memory.
+ *
+ * The input is streamed from S3 and cut into segments by a {@link DocumentSegmentReader}.
+ * Segments are submitted to a bounded pool shared by all jobs, with at most
+ * {@code max-in-flight} per job, and go through the usual L1 → L2 → L3 → provider path. They are
+ * written in order to a {@link S3MultipartOutputStream}. Heap per job is therefore the reader
+ * window, the in-flight segments and one upload part, whatever the document size.
+ *
+ * A timer writes the heartbeat every {@code heartbeat-interval-ms}, independent of segment
+ * progress, so a job whose segments wait out the bulk lane's queue still looks alive. A job whose
+ * node died is claimed again by {@link DocumentTranslationService#resumeAbandonedJobs()} and
+ * restarts from the beginning. Its earlier segments are then cache hits, and its orphaned upload
+ * is aborted.
+ *
+ * Each claim stamps the job with a fresh token and every later write matches on it. If another
+ * node has claimed the job, the heartbeat or progress write updates no row and this worker stops
+ * and aborts its own upload, so two owners never overwrite each other.
+ */
+@Component
+public class DocumentTranslationWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentTranslationWorker.class);
+
+    private final DocumentJobRepository jobRepository;
+    private final S3Service s3Service;
+    private final TranslationService translationService;
+    private final int segmentChars;
+    private final int maxInFlight;
+    private final int partSize;
+    private final Duration heartbeatInterval;
+    private final Duration staleAfter;
+    private final ExecutorService jobExecutor;
+    private final ExecutorService segmentExecutor;
+    private final ScheduledExecutorService heartbeatExecutor;
+    /** Jobs queued or running on this node, so the recovery sweep does not queue them twice. */
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    public DocumentTranslationWorker(DocumentJobRepository jobRepository,
+                                     S3Service s3Service,
+                                     TranslationService translationService,
+                                     @Value("${translator.documents.segment-chars:1000}") int segmentChars,
+                                     @Value("${translator.documents.max-in-flight:8}") int maxInFlight,
+                                     @Value("${translator.documents.part-size:8388608}") int partSize,
+                                     @Value("${translator.documents.heartbeat-interval-ms:5000}") long heartbeatIntervalMs,
+                                     @Value("${translator.documents.stale-after-ms:300000}") long staleAfterMs,
+                                     @Value("${translator.documents.concurrency:2}") int concurrency,
+                                     @Value("${translator.documents.segment-threads:16}") int segmentThreads) {
+        if (staleAfterMs < 3 * heartbeatIntervalMs) {
+            throw new IllegalArgumentException("stale-after-ms must be at least three heartbeat intervals: "
+                    + staleAfterMs + " < 3 * " + heartbeatIntervalMs);
+        }
+        this.jobRepository = jobRepository;
+        this.s3Service = s3Service;
+        this.translationService = translationService;
+        this.segmentChars = segmentChars;
+        this.maxInFlight = maxInFlight;
+        this.partSize = partSize;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatIntervalMs);
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.jobExecutor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("document-job-"));
+        this.segmentExecutor = Executors.newFixedThreadPool(segmentThreads,
+                new CustomizableThreadFactory("document-segment-"));
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("document-heartbeat-"));
+    }
+
+    public void submit(UUID jobId) {
+        if (!queued.add(jobId)) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                queued.remove(jobId);
+            }
+        });
+    }
+
+    /** Submits every job that is pending or abandoned by its node. */
+    void submitClaimable() {
+        jobRepository.findClaimableIds(OffsetDateTime.now().minus(staleAfter),
+                        DocumentJobStatus.PENDING, DocumentJobStatus.RUNNING)
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs stay RUNNING and are restarted elsewhere once their heartbeat is stale
+        heartbeatExecutor.shutdownNow();
+        jobExecutor.shutdownNow();
+        segmentExecutor.shutdownNow();
+    }
+
+    void run(UUID jobId) {
+        UUID token = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        if (jobRepository.claim(jobId, token, now, now.minus(staleAfter),
+                DocumentJobStatus.PENDING, DocumentJobStatus.RUNNING) == 0) {
+            return; // finished, or owned by a live worker
+        }
+        DocumentJob job = jobRepository.findById(jobId).orElseThrow();
+        Heartbeat heartbeat = new Heartbeat(jobId, token, Thread.currentThread());
+        try {
+            translate(job, token, heartbeat);
+        } finally {
+            heartbeat.stop();
+            if (heartbeat.lost) {
+                Thread.interrupted(); // the job is over; do not carry the interrupt into the next one
+            }
+        }
+    }
+
+    private void translate(DocumentJob job, UUID token, Heartbeat heartbeat) {
+        UUID jobId = job.getId();
+        abortOrphanedUpload(job);
+
+        S3MultipartOutputStream output = null;
+        ArrayDeque<PendingSegment> inFlight = new ArrayDeque<>(maxInFlight);
+        try (CountingInputStream input = new CountingInputStream(s3Service.open(job.getInputKey()));
+             DocumentSegmentReader reader = DocumentSegmentReader.open(
+                     new InputStreamReader(input, StandardCharsets.UTF_8), job.getFormat(), segmentChars)) {
+            output = s3Service.openMultipartUpload(job.getOutputKey(),
+                    job.getFormat().contentType() + "; charset=utf-8", partSize);
+            job.setUploadId(output.uploadId());
+            job.setProcessedBytes(0);
+            job.setCompletedSegments(0);
+            job.setCachedSegments(0);
+            requireClaim(jobRepository.updateProgress(jobId, token, job.getUploadId(), 0, 0, 0, OffsetDateTime.now()));
+
+            Progress progress = new Progress(job, token, input);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            ResolvedRequest language = null;
+            DocumentSegment segment;
+            while ((segment = reader.next()) != null) {
+                if (inFlight.size() == maxInFlight) {
+                    write(inFlight.poll(), writer, progress);
+                }
+                Future<TranslationResponseDTO> translation = null;
+                if (segment.isTranslatable()) {
+                    if (language == null) {
+                        // Detected once, from the first text, for the whole document
+                        language = translationService.resolveSourceLanguage(
+                                request(segment.text(), job.getSourceLanguage(), job.getTargetLanguage()));
+                    }
+                    ResolvedRequest segmentRequest = language.forSegment(segment.text());
+                    UUID userId = job.getUserId();
+                    translation = segmentExecutor.submit(() -> translationService.translateSegment(segmentRequest, userId, Lane.BULK));
+                }
+                inFlight.add(new PendingSegment(segment, translation));
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.poll(), writer, progress);
+            }
+            writer.flush();
+            // Last check before the object becomes visible under the output key
+            requireClaim(jobRepository.heartbeat(jobId, token, OffsetDateTime.now()));
+            output.close();
+
+            requireClaim(jobRepository.finish(jobId, token, DocumentJobStatus.COMPLETED, null, job.getTotalBytes(),
+                    job.getCompletedSegments(), job.getCachedSegments(), null, OffsetDateTime.now()));
+            log.info("Document job {} completed: {} segments ({} cached) for user {}",
+                    jobId, job.getCompletedSegments(), job.getCachedSegments(), job.getUserId());
+        } catch (LostClaimException e) {
+            stopAfterLostClaim(jobId, output);
+        } catch (InterruptedException e) {
+            if (heartbeat.lost) {
+                stopAfterLostClaim(jobId, output);
+            } else {
+                Thread.currentThread().interrupt();
+                log.info("Document job {} interrupted; it will be restarted", jobId);
+            }
+        } catch (Exception e) {
+            if (heartbeat.lost) {
+                // The interrupt surfaced as an I/O or SDK error
+                stopAfterLostClaim(jobId, output);
+                return;
+            }
+            log.error("Document job {} failed", jobId, e);
+            String uploadId = output != null && abort(jobId, output) ? null : job.getUploadId();
+            String message = e instanceof ExecutionException ? e.getCause().getMessage() : e.getMessage();
+            if (jobRepository.finish(jobId, token, DocumentJobStatus.FAILED, uploadId, job.getProcessedBytes(),
+                    job.getCompletedSegments(), job.getCachedSegments(), message, OffsetDateTime.now()) == 0) {
+                log.info("Document job {} was claimed by another worker; its failure is not recorded", jobId);
+            }
+        } finally {
+            inFlight.forEach(pending -> {
+                if (pending.translation() != null) {
+                    pending.translation().cancel(true);
+                }
+            });
+        }
+    }
+
+    private void write(PendingSegment pending, Writer writer, Progress progress)
+            throws IOException, InterruptedException, ExecutionException {
+        DocumentSegment segment = pending.segment();
+        writer.write(segment.preamble());
+        if (pending.translation() != null) {
+            TranslationResponseDTO response = pending.translation().get();
+            writer.write(response.getTranslatedText());
+            progress.job.setCompletedSegments(progress.job.getCompletedSegments() + 1);
+            if (response.isServedFromCache()) {
+                progress.job.setCachedSegments(progress.job.getCachedSegments() + 1);
+            }
+        }
+        writer.write(segment.separator());
+        progress.maybeSave();
+    }
+
+    private static void requireClaim(int updated) {
+        if (updated == 0) {
+            throw new LostClaimException();
+        }
+    }
+
+    /** Another worker owns the job now; leave the row to it and discard this worker's upload. */
+    private void stopAfterLostClaim(UUID jobId, S3MultipartOutputStream output) {
+        log.warn("Document job {} was claimed by another worker; stopping this run", jobId);
+        if (output != null) {
+            abort(jobId, output);
+        }
+    }
+
+    private boolean abort(UUID jobId, S3MultipartOutputStream output) {
+        try {
+            output.abort();
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not abort upload of document job {}: {}", jobId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void abortOrphanedUpload(DocumentJob job) {
+        if (job.getUploadId() == null) {
+            return;
+        }
+        try {
+            s3Service.abortMultipartUpload(job.getOutputKey(), job.getUploadId());
+        } catch (Exception e) {
+            // The bucket's lifecycle rule removes it eventually
+            log.warn("Could not abort orphaned upload of document job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    private static TranslationRequestDTO request(String text, String sourceLanguage, String targetLanguage) {
+        TranslationRequestDTO request = new TranslationRequestDTO();
+        request.setSourceText(text);
+        request.setSourceLanguage(sourceLanguage);
+        request.setTargetLanguage(targetLanguage);
+        return request;
+    }
+
+    private record PendingSegment(DocumentSegment segment, Future<TranslationResponseDTO> translation) {
+    }
+
+    /** Saves progress at most once per interval, while the job's claim is still ours. */
+    private final class Progress {
+
+        private final DocumentJob job;
+        private final UUID token;
+        private final CountingInputStream input;
+        private long lastSave = System.nanoTime();
+
+        private Progress(DocumentJob job, UUID token, CountingInputStream input) {
+            this.job = job;
+            this.token = token;
+            this.input = input;
+        }
+
+        private void maybeSave() {
+            if (System.nanoTime() - lastSave < heartbeatInterval.toNanos()) {
+                return;
+            }
+            // Bytes read by the decoder run slightly ahead of the bytes written
+            job.setProcessedBytes(Math.min(input.count, job.getTotalBytes()));
+            requireClaim(jobRepository.updateProgress(job.getId(), token, job.getUploadId(), job.getProcessedBytes(),
+                    job.getCompletedSegments(), job.getCachedSegments(), OffsetDateTime.now()));
+            lastSave = System.nanoTime();
+        }
+    }
+
+    /**
+     * Writes the heartbeat on a timer for as long as the job runs. If the write updates no row,
+     * another worker has claimed the job: the job thread is interrupted so it stops waiting on
+     * segments and gives up.
+     */
+    private final class Heartbeat implements Runnable {
+
+        private final UUID jobId;
+        private final UUID token;
+        private final Thread worker;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ScheduledFuture<?> schedule;
+        private boolean stopped;
+        private volatile boolean lost;
+
+        private Heartbeat(UUID jobId, UUID token, Thread worker) {
+            this.jobId = jobId;
+            this.token = token;
+            this.worker = worker;
+            long intervalMs = heartbeatInterval.toMillis();
+            this.schedule = heartbeatExecutor.scheduleWithFixedDelay(this, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (lost) {
+                return;
+            }
+            int updated;
+            try {
+                updated = jobRepository.heartbeat(jobId, token, OffsetDateTime.now());
+            } catch (Exception e) {
+                // Stale-after spans several intervals, so one missed beat does not lose the job
+                log.warn("Heartbeat of document job {} failed: {}", jobId, e.getMessage());
+                return;
+            }
+            if (updated == 0) {
+                lock.lock();
+                try {
+                    // Never interrupt the thread once it has moved on to another job
+                    if (!stopped) {
+                        lost = true;
+                        worker.interrupt();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void stop() {
+            lock.lock();
+            try {
+                stopped = true;
+            } finally {
+                lock.unlock();
+            }
+            schedule.cancel(false);
+        }
+    }
+
+    /** A progress or status write matched no row: another worker has claimed the job. */
+    private static final class LostClaimException extends RuntimeException {
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = super.read(bytes, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
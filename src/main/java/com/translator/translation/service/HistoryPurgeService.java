@@ -0,0 +1,83 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.HistoryPurgeJobDTO;
+import com.translator.translation.model.HistoryPurgeJob;
+import com.translator.translation.repository.HistoryPurgeJobRepository;
+import com.translator.translation.repository.TranslationRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Accepts "delete all history" requests and hands them to {@link HistoryPurgeWorker}.
+ *
+ * The job row is written before any data is removed and its cutoff acts as a tombstone:
+ * {@link #visibleAfter(UUID)} is applied to every history read, so purged records disappear
+ * from the API as soon as the request returns, however long the physical delete takes.
+ */
+@Service
+public class HistoryPurgeService {
+
+    private final HistoryPurgeJobRepository jobRepository;
+    private final TranslationStatsService statsService;
+    private final HistoryPurgeWorker worker;
+
+    public HistoryPurgeService(HistoryPurgeJobRepository jobRepository,
+                               TranslationStatsService statsService,
+                               HistoryPurgeWorker worker) {
+        this.jobRepository = jobRepository;
+        this.statsService = statsService;
+        this.worker = worker;
+    }
+
+    public HistoryPurgeJobDTO requestPurge(UUID userId) {
+        HistoryPurgeJob job = jobRepository.save(HistoryPurgeJob.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .cutoff(OffsetDateTime.now())
+                .build());
+        statsService.resetHistory(userId);
+        worker.submit(job.getId());
+        return toDto(job);
+    }
+
+    public Optional<HistoryPurgeJobDTO> getJob(UUID jobId, UUID userId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .map(this::toDto);
+    }
+
+    /**
+     * @return the instant after which the user's history is visible; rows created at or
+     *         before it belong to a purge that may still be running
+     */
+    public OffsetDateTime visibleAfter(UUID userId) {
+        return jobRepository.findFirstByUserIdOrderByCutoffDesc(userId)
+                .map(HistoryPurgeJob::getCutoff)
+                .orElse(TranslationRepository.NO_TOMBSTONE);
+    }
+
+    /**
+     * Re-submits jobs that never started, whose worker stopped heartbeating, or that failed and
+     * are due for a retry. The claim still decides, so at most one worker runs each job.
+     */
+    @Scheduled(fixedDelayString = "${translator.history.purge.recovery-interval-ms:60000}")
+    public void resumeAbandonedJobs() {
+        worker.submitClaimable();
+    }
+
+    private HistoryPurgeJobDTO toDto(HistoryPurgeJob job) {
+        return HistoryPurgeJobDTO.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .deletedCount(job.getDeletedCount())
+                .cutoff(job.getCutoff())
+                .requestedAt(job.getRequestedAt())
+                .completedAt(job.getCompletedAt())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.HistoryPurgeJob;
+import com.translator.translation.model.PurgeStatus;
+import com.translator.translation.repository.HistoryPurgeJobRepository;
+import com.translator.translation.repository.TranslationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs purge jobs chunk by chunk. Jobs get their own small pool, so a multi-minute purge never
+ * holds up other background work.
+ *
+ * Each chunk is a separate transaction followed by a pause, which bounds lock time and
+ * gives replicas room to catch up. Progress and a heartbeat are written after every chunk;
+ * a job whose heartbeat goes stale (its node died) is picked up again by
+ * {@link HistoryPurgeService#resumeAbandonedJobs()}. So is a failed job, once its backoff has
+ * passed: the rows are already hidden and the stats reset, so a purge is never abandoned.
+ *
+ * Every write after the claim matches on the claim's token. A worker whose job was reclaimed
+ * after its heartbeat went stale updates no row, and stops without touching the new owner's state.
+ */
+@Component
+public class HistoryPurgeWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryPurgeWorker.class);
+
+    private final HistoryPurgeJobRepository jobRepository;
+    private final TranslationRepository translationRepository;
+    private final TranslationStatsService statsService;
+    private final int batchSize;
+    private final long pauseMs;
+    private final Duration staleAfter;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final ExecutorService executor;
+    /** Jobs queued or running on this node, so the recovery sweep does not queue them twice. */
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+
+    public HistoryPurgeWorker(HistoryPurgeJobRepository jobRepository,
+                              TranslationRepository translationRepository,
+                              TranslationStatsService statsService,
+                              @Value("${translator.history.purge.batch-size:1000}") int batchSize,
+                              @Value("${translator.history.purge.pause-ms:200}") long pauseMs,
+                              @Value("${translator.history.purge.stale-after-ms:300000}") long staleAfterMs,
+                              @Value("${translator.history.purge.retry-backoff-ms:60000}") long retryBackoffMs,
+                              @Value("${translator.history.purge.max-retry-backoff-ms:3600000}") long maxRetryBackoffMs,
+                              @Value("${translator.history.purge.concurrency:2}") int concurrency) {
+        this.jobRepository = jobRepository;
+        this.translationRepository = translationRepository;
+        this.statsService = statsService;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.maxRetryBackoff = Duration.ofMillis(maxRetryBackoffMs);
+        this.executor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("history-purge-"));
+    }
+
+    public void submit(UUID jobId) {
+        if (!queued.add(jobId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                queued.remove(jobId);
+            }
+        });
+    }
+
+    /** Submits every job that is pending, abandoned by its node, or due for a retry. */
+    void submitClaimable() {
+        OffsetDateTime now = OffsetDateTime.now();
+        jobRepository.findClaimableIds(now, now.minus(staleAfter),
+                        PurgeStatus.PENDING, PurgeStatus.RUNNING, PurgeStatus.FAILED)
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs stay RUNNING and are resumed elsewhere once their heartbeat is stale
+        executor.shutdownNow();
+    }
+
+    void run(UUID jobId) {
+        UUID token = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        if (jobRepository.claim(jobId, token, now, now.minus(staleAfter),
+                PurgeStatus.PENDING, PurgeStatus.RUNNING, PurgeStatus.FAILED) == 0) {
+            return; // finished, owned by a live worker, or waiting out its retry backoff
+        }
+        HistoryPurgeJob job = jobRepository.findById(jobId).orElseThrow();
+        try {
+            int deleted;
+            do {
+                deleted = translationRepository.deleteChunk(job.getUserId(), job.getCutoff(), batchSize);
+                job.setDeletedCount(job.getDeletedCount() + deleted);
+                job.setHeartbeatAt(OffsetDateTime.now());
+                if (jobRepository.updateProgress(jobId, token, job.getDeletedCount(), job.getHeartbeatAt()) == 0) {
+                    log.warn("Purge {} was claimed by another worker; stopping this run", jobId);
+                    return;
+                }
+                log.debug("Purge {} deleted {} rows so far", jobId, job.getDeletedCount());
+                if (deleted == batchSize && pauseMs > 0) {
+                    Thread.sleep(pauseMs);
+                }
+            } while (deleted == batchSize);
+
+            statsService.rebuildHistory(job.getUserId());
+            job.setStatus(PurgeStatus.COMPLETED);
+            job.setErrorMessage(null);
+            job.setRetryAt(null);
+            job.setCompletedAt(OffsetDateTime.now());
+            if (jobRepository.complete(jobId, token, PurgeStatus.COMPLETED, job.getDeletedCount(),
+                    job.getCompletedAt()) == 0) {
+                log.warn("Purge {} was claimed by another worker; leaving its status to it", jobId);
+                return;
+            }
+            log.info("Purge {} completed: {} rows deleted for user {}", jobId, job.getDeletedCount(), job.getUserId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Purge {} interrupted after {} rows; it will be resumed", jobId, job.getDeletedCount());
+        } catch (Exception e) {
+            job.setAttempts(job.getAttempts() + 1);
+            Duration backoff = backoff(job.getAttempts());
+            log.error("Purge {} failed after {} rows (attempt {}); retrying in {} s", jobId, job.getDeletedCount(),
+                    job.getAttempts(), backoff.toSeconds(), e);
+            job.setStatus(PurgeStatus.FAILED);
+            job.setErrorMessage(e.getMessage());
+            job.setRetryAt(OffsetDateTime.now().plus(backoff));
+            if (jobRepository.fail(jobId, token, PurgeStatus.FAILED, job.getDeletedCount(), job.getAttempts(),
+                    job.getErrorMessage(), job.getRetryAt()) == 0) {
+                log.warn("Purge {} was claimed by another worker; its failure is not recorded", jobId);
+            }
+        }
+    }
+
+    /** retry-backoff doubled per failed attempt, up to max-retry-backoff. */
+    Duration backoff(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+}
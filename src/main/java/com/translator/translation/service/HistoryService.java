@@ -0,0 +1,122 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.HistoryFilterDTO;
+import com.translator.translation.dto.HistoryPurgeJobDTO;
+import com.translator.translation.dto.HistoryStatsDTO;
+import com.translator.translation.model.Translation;
+import com.translator.translation.repository.TranslationRepository;
+import com.translator.translation.repository.TranslationSearchView;
+import com.translator.translation.repository.TranslationSpecifications;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class HistoryService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final TranslationRepository translationRepository;
+    private final TranslationStatsService statsService;
+    private final HistoryPurgeService purgeService;
+    private final HistoryVersionService versionService;
+
+    public HistoryService(TranslationRepository translationRepository,
+                          TranslationStatsService statsService,
+                          HistoryPurgeService purgeService,
+                          HistoryVersionService versionService) {
+        this.translationRepository = translationRepository;
+        this.statsService = statsService;
+        this.purgeService = purgeService;
+        this.versionService = versionService;
+    }
+
+    /**
+     * The user's history and stats versions, read from Redis only. Read it before the data it
+     * tags: a change committed in between then yields new data under the old version, which
+     * costs one extra full response rather than serving stale data as current.
+     */
+    public Optional<HistoryVersionService.HistoryVersion> getVersion(UUID userId) {
+        return versionService.current(userId);
+    }
+
+    /**
+     * Applies every supplied filter at once. Unsorted requests are ordered newest first,
+     * matching the trailing {@code created_at DESC} column of the history indexes.
+     * Records covered by a purge tombstone are excluded.
+     */
+    public Page<Translation> getHistory(UUID userId, HistoryFilterDTO filter, Pageable pageable) {
+        Pageable ordered = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), NEWEST_FIRST);
+        Specification<Translation> spec = TranslationSpecifications.fromFilter(userId, filter)
+                .and(TranslationSpecifications.createdAfter(purgeService.visibleAfter(userId)));
+        return translationRepository.findAll(spec, ordered);
+    }
+
+    public Page<TranslationSearchView> search(UUID userId, String term, Pageable pageable) {
+        return translationRepository.search(userId, term, purgeService.visibleAfter(userId), pageable);
+    }
+
+    public HistoryStatsDTO getStats(UUID userId) {
+        return statsService.getStats(userId);
+    }
+
+    /**
+     * @return {@code false} if the translation belongs to another user
+     */
+    @Transactional
+    public boolean toggleFavorite(UUID translationId, UUID userId) {
+        Translation translation = translationRepository.findById(translationId).orElseThrow();
+        if (!translation.getUser().getId().equals(userId)) {
+            return false;
+        }
+        requireNotPurged(translation, userId);
+        translation.setFavorite(!translation.isFavorite());
+        statsService.recordFavoriteChange(userId, translation.isFavorite());
+        return true;
+    }
+
+    /**
+     * @return {@code false} if the translation belongs to another user
+     */
+    @Transactional
+    public boolean delete(UUID translationId, UUID userId) {
+        Translation translation = translationRepository.findById(translationId).orElseThrow();
+        if (!translation.getUser().getId().equals(userId)) {
+            return false;
+        }
+        requireNotPurged(translation, userId);
+        translationRepository.delete(translation);
+        statsService.recordRemoval(userId, translation.getTargetLanguage(), translation.getCreatedAt(), translation.isFavorite());
+        return true;
+    }
+
+    /**
+     * Hides the user's whole history immediately and deletes it in the background.
+     */
+    public HistoryPurgeJobDTO deleteAll(UUID userId) {
+        return purgeService.requestPurge(userId);
+    }
+
+    public Optional<HistoryPurgeJobDTO> getPurge(UUID jobId, UUID userId) {
+        return purgeService.getJob(jobId, userId);
+    }
+
+    /** A tombstoned record is already gone as far as the API is concerned. */
+    private void requireNotPurged(Translation translation, UUID userId) {
+        OffsetDateTime visibleAfter = purgeService.visibleAfter(userId);
+        if (!translation.getCreatedAt().isAfter(visibleAfter)) {
+            throw new NoSuchElementException("Translation " + translation.getId() + " has been purged");
+        }
+    }
+}
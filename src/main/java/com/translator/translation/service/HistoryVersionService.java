@@ -0,0 +1,125 @@
+package com.translator.translation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-user version counters for the history and stats endpoints, kept in Redis so conditional
+ * GETs can be answered without a database query.
+ *
+ * Each user has one hash with two counters. {@code history} moves on every insert, favourite
+ * toggle, delete, purge and rebuild. {@code lookups} moves when the user's lookup tallies are
+ * flushed, which changes only the cache-hit rate in the stats. Bumps inside a transaction are
+ * applied after it commits, so a version is never seen before the data it describes.
+ *
+ * A missing hash (expired, or Redis restarted) is seeded with the current time in
+ * milliseconds rather than zero. A recreated counter therefore starts above any value it held
+ * before, and ETags from before the loss never match again.
+ */
+@Service
+public class HistoryVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryVersionService.class);
+
+    static final String KEY_PREFIX = "translator:history:version:";
+    private static final String HISTORY = "history";
+    private static final String LOOKUPS = "lookups";
+
+    /** KEYS[1] hash; ARGV[1] field, ARGV[2] seed, ARGV[3] ttl ms. Returns the new value. */
+    private static final RedisScript<Long> BUMP = new DefaultRedisScript<>("""
+            redis.call('HSETNX', KEYS[1], 'history', ARGV[2])
+            redis.call('HSETNX', KEYS[1], 'lookups', ARGV[2])
+            local value = redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return value
+            """, Long.class);
+
+    /** KEYS[1] hash; ARGV[1] seed, ARGV[2] ttl ms. Returns {history, lookups}. */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SEED = new DefaultRedisScript<>("""
+            if redis.call('HSETNX', KEYS[1], 'history', ARGV[1]) == 1 then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            redis.call('HSETNX', KEYS[1], 'lookups', ARGV[1])
+            return redis.call('HMGET', KEYS[1], 'history', 'lookups')
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public HistoryVersionService(StringRedisTemplate redisTemplate,
+                                 @Value("${translator.history.etag.version-ttl:PT24H}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    /** Where both counters of one user stand. */
+    public record HistoryVersion(long history, long lookups) {
+    }
+
+    /**
+     * @return the user's counters, or empty if Redis cannot be reached; callers then serve
+     *         the full response without an ETag
+     */
+    public Optional<HistoryVersion> current(UUID userId) {
+        String key = key(userId);
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(key, List.of(HISTORY, LOOKUPS));
+            if (values.get(0) == null || values.get(1) == null) {
+                values = redisTemplate.execute(SEED, List.of(key),
+                        String.valueOf(System.currentTimeMillis()), String.valueOf(ttl.toMillis()));
+            }
+            return Optional.of(new HistoryVersion(
+                    Long.parseLong(values.get(0).toString()), Long.parseLong(values.get(1).toString())));
+        } catch (RuntimeException e) {
+            log.warn("History version unavailable for user {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** The user's history changed; applied once the surrounding transaction (if any) commits. */
+    public void historyChanged(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId, HISTORY);
+                }
+            });
+        } else {
+            bump(userId, HISTORY);
+        }
+    }
+
+    /** Lookup tallies of these users were written, so their cache-hit rate moved. */
+    public void lookupsChanged(Collection<UUID> userIds) {
+        userIds.forEach(userId -> bump(userId, LOOKUPS));
+    }
+
+    private void bump(UUID userId, String field) {
+        try {
+            redisTemplate.execute(BUMP, List.of(key(userId)), field,
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            // The old ETag stays valid until the next change or until the hash expires
+            log.warn("Failed to bump {} version for user {}: {}", field, userId, e.getMessage());
+        }
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+}
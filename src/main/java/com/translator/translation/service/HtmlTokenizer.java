@@ -0,0 +1,239 @@
+package com.translator.translation.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass tokenizer for HTML fragments; it builds no DOM. Phrasing tags such as
+ * {@code <b>} or {@code <a>} stay inside a run as placeholders. Any other tag ends the run
+ * and is copied through, as are comments and the whole content of {@code <script>},
+ * {@code <style>} and {@code <pre>}. Code-like inline elements become one opaque placeholder.
+ * Known character references are decoded for the provider and re-escaped afterwards. Unknown
+ * ones are kept as placeholders. Attribute values, including {@code alt} and {@code title}, are
+ * not translated.
+ */
+final class HtmlTokenizer {
+
+    private static final Set<String> INLINE = Set.of(
+            "a", "abbr", "b", "bdi", "bdo", "cite", "data", "del", "dfn", "em", "font", "i", "ins",
+            "mark", "q", "s", "small", "span", "strong", "sub", "sup", "time", "u");
+    private static final Set<String> INLINE_VOID = Set.of("br", "img", "wbr");
+    private static final Set<String> OPAQUE_INLINE = Set.of("code", "kbd", "math", "samp", "svg", "var");
+    private static final Set<String> RAW_TEXT = Set.of("noscript", "pre", "script", "style", "template", "textarea");
+    private static final Map<String, String> ENTITIES = Map.of(
+            "amp", "&", "lt", "<", "gt", ">", "quot", "\"", "apos", "'", "nbsp", "\u00A0");
+
+    private record OpenTag(String name, int id) {
+    }
+
+    private HtmlTokenizer() {
+    }
+
+    static void tokenize(String html, MarkupTemplate.Builder out) {
+        Deque<OpenTag> openTags = new ArrayDeque<>();
+        int n = html.length();
+        int textStart = 0;
+        int i = 0;
+        while (i < n) {
+            char c = html.charAt(i);
+            int end = c == '<' ? markupEnd(html, i) : c == '&' ? referenceEnd(html, i) : -1;
+            if (end < 0) {
+                i++;
+                continue;
+            }
+            out.text(html.substring(textStart, i));
+            if (c == '&') {
+                String reference = html.substring(i, end);
+                String decoded = decode(reference);
+                if (decoded != null) {
+                    out.text(reference, decoded);
+                } else {
+                    out.inline(reference);
+                }
+            } else {
+                end = tag(html, i, end, openTags, out);
+            }
+            i = end;
+            textStart = end;
+        }
+        out.text(html.substring(textStart));
+    }
+
+    /** Escapes translated text for an HTML text node. */
+    static String escape(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            String replacement = switch (text.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 8).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(text.charAt(i));
+                }
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+
+    /** Emits the tag in {@code [start, end)} and returns where scanning resumes. */
+    private static int tag(String html, int start, int end, Deque<OpenTag> openTags, MarkupTemplate.Builder out) {
+        String markup = html.substring(start, end);
+        if (markup.startsWith("<!") || markup.startsWith("<?")) {
+            out.verbatim(markup);
+            return end;
+        }
+        boolean closing = markup.startsWith("</");
+        boolean selfClosing = markup.endsWith("/>");
+        String name = tagName(markup, closing ? 2 : 1);
+
+        if (!closing && (RAW_TEXT.contains(name) || OPAQUE_INLINE.contains(name)) && !selfClosing) {
+            // Content is not markup we should look into: take everything up to the closing tag
+            int elementEnd = elementEnd(html, end, name);
+            String element = html.substring(start, elementEnd);
+            if (RAW_TEXT.contains(name)) {
+                out.verbatim(element);
+            } else {
+                out.inline(element);
+            }
+            return elementEnd;
+        }
+        if (INLINE_VOID.contains(name) || OPAQUE_INLINE.contains(name)) {
+            out.inline(markup);
+        } else if (!INLINE.contains(name)) {
+            out.verbatim(markup);
+        } else if (!closing) {
+            if (selfClosing) {
+                out.inline(markup);
+            } else {
+                openTags.push(new OpenTag(name, out.open(markup)));
+            }
+        } else {
+            OpenTag partner = popPartner(openTags, name);
+            if (partner != null) {
+                out.close(partner.id(), markup);
+            } else {
+                out.inline(markup);
+            }
+        }
+        return end;
+    }
+
+    /** Pops up to the innermost open tag with this name; tags left open inside it stay unpaired. */
+    private static OpenTag popPartner(Deque<OpenTag> openTags, String name) {
+        boolean present = false;
+        for (Iterator<OpenTag> it = openTags.iterator(); it.hasNext() && !present; ) {
+            present = it.next().name().equals(name);
+        }
+        if (!present) {
+            return null;
+        }
+        OpenTag top;
+        do {
+            top = openTags.pop();
+        } while (!top.name().equals(name));
+        return top;
+    }
+
+    /**
+     * End of the tag, comment or declaration starting at {@code start}, or -1 when the
+     * {@code <} is just text (e.g. {@code a < b}). An unterminated tag runs to the end.
+     */
+    private static int markupEnd(String html, int start) {
+        int n = html.length();
+        if (html.startsWith("<!--", start)) {
+            int close = html.indexOf("-->", start + 4);
+            return close < 0 ? n : close + 3;
+        }
+        if (start + 1 >= n) {
+            return -1;
+        }
+        char next = html.charAt(start + 1);
+        if (next == '!' || next == '?') {
+            int close = html.indexOf('>', start);
+            return close < 0 ? n : close + 1;
+        }
+        boolean closing = next == '/';
+        if (!isAsciiLetter(closing ? (start + 2 < n ? html.charAt(start + 2) : ' ') : next)) {
+            return -1;
+        }
+        char quote = 0;
+        for (int i = start + 1; i < n; i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return n;
+    }
+
+    /** End of a {@code &name;} or {@code &#...;} reference, or -1 for a bare ampersand. */
+    private static int referenceEnd(String html, int start) {
+        int limit = Math.min(html.length(), start + 32);
+        for (int i = start + 1; i < limit; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                return i > start + 1 ? i + 1 : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && !(c == '#' && i == start + 1)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(String reference) {
+        String body = reference.substring(1, reference.length() - 1);
+        if (!body.startsWith("#")) {
+            return ENTITIES.get(body);
+        }
+        try {
+            int codePoint = body.length() > 1 && (body.charAt(1) == 'x' || body.charAt(1) == 'X')
+                    ? Integer.parseInt(body.substring(2), 16)
+                    : Integer.parseInt(body.substring(1));
+            return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int elementEnd(String html, int from, String name) {
+        String closeTag = "</" + name;
+        for (int i = html.indexOf("</", from); i >= 0; i = html.indexOf("</", i + 2)) {
+            if (html.regionMatches(true, i, closeTag, 0, closeTag.length())) {
+                int close = html.indexOf('>', i);
+                return close < 0 ? html.length() : close + 1;
+            }
+        }
+        return html.length();
+    }
+
+    private static String tagName(String markup, int from) {
+        int end = from;
+        while (end < markup.length() && (Character.isLetterOrDigit(markup.charAt(end)) || markup.charAt(end) == '-')) {
+            end++;
+        }
+        return markup.substring(from, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,114 @@
+package com.translator.translation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.translator.infrastructure.cache.L1CacheSnapshot;
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.service.TranslationMemoryService.MemoryEntry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fills the L1 cache before the instance takes traffic, so a fresh deployment does not start
+ * by sending every request to Redis and the providers.
+ *
+ * Runs as an {@link ApplicationRunner}: Spring Boot reports readiness only after runners finish.
+ * Entries come from an optional snapshot written by the previous instance on graceful shutdown,
+ * then from the most used translation-memory rows. Neither source is required; failures are
+ * logged and the instance starts cold.
+ */
+@Component
+public class L1CacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(L1CacheWarmer.class);
+
+    private final Cache<Object, Object> l1;
+    private final TranslationMemoryService translationMemory;
+    private final TranslatorMetrics metrics;
+    private final int topN;
+    private final boolean snapshotEnabled;
+    private final Path snapshotPath;
+    private final Duration snapshotMaxAge;
+
+    public L1CacheWarmer(CacheManager cacheManager,
+                         TranslationMemoryService translationMemory,
+                         TranslatorMetrics metrics,
+                         @Value("${translator.cache.l1.warmup.top-n:500}") int topN,
+                         @Value("${translator.cache.l1.snapshot.enabled:false}") boolean snapshotEnabled,
+                         @Value("${translator.cache.l1.snapshot.path:/tmp/translator-l1.snapshot}") Path snapshotPath,
+                         @Value("${translator.cache.l1.snapshot.max-age:PT1H}") Duration snapshotMaxAge) {
+        this.l1 = ((CaffeineCache) cacheManager.getCache(TranslationService.L1_CACHE)).getNativeCache();
+        this.translationMemory = translationMemory;
+        this.metrics = metrics;
+        this.topN = topN;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotPath = snapshotPath;
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        int fromSnapshot = 0;
+        if (snapshotEnabled) {
+            Map<String, String> snapshot = L1CacheSnapshot.read(snapshotPath, snapshotMaxAge);
+            l1.putAll(snapshot);
+            fromSnapshot = snapshot.size();
+        }
+
+        // putIfAbsent on the map view: snapshot values are newer, and it leaves hit stats untouched
+        int fromMemory = 0;
+        if (topN > 0) {
+            try {
+                for (MemoryEntry entry : translationMemory.mostUsed(topN)) {
+                    String key = TranslationService.l1Key(entry.sourceText(), entry.targetLang());
+                    if (l1.asMap().putIfAbsent(key, entry.translatedText()) == null) {
+                        fromMemory++;
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("L1 warm-up from translation memory failed; continuing", e);
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        metrics.recordCacheWarmup(elapsed, fromSnapshot, fromMemory);
+        CacheStats baseline = l1.stats();
+        metrics.registerWarmedHitRatio(() -> {
+            CacheStats sinceWarmup = l1.stats().minus(baseline);
+            // Caffeine reports a hit rate of 1.0 before any request; report 0 like cache.hit.ratio
+            return sinceWarmup.requestCount() == 0 ? 0.0 : sinceWarmup.hitRate();
+        });
+        log.info("L1 warmed in {} ms: {} entries from snapshot, {} from translation memory",
+                elapsed.toMillis(), fromSnapshot, fromMemory);
+    }
+
+    @PreDestroy
+    void writeSnapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        Map<String, String> entries = new HashMap<>();
+        l1.asMap().forEach((key, value) -> entries.put(key.toString(), value.toString()));
+        try {
+            L1CacheSnapshot.write(snapshotPath, entries);
+            log.info("Wrote L1 snapshot with {} entries to {}", entries.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Failed to write L1 snapshot to {}", snapshotPath, e);
+        }
+    }
+}
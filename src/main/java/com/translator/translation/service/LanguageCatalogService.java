@@ -0,0 +1,142 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.external.TranslationProvider;
+import com.translator.translation.dto.LanguageCatalogDTO;
+import com.translator.translation.dto.LanguageDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Languages each provider accepts, loaded at startup and refreshed every
+ * {@code translator.languages.refresh-interval-ms}. Requests for a pair no provider lists are
+ * rejected before any cache lookup, and each provider is offered only the pairs it lists.
+ *
+ * Providers that publish no list (LibreTranslate, the load-test stub) are offered every pair but
+ * do not vouch for any. If no provider has published a list yet, every pair is
+ * accepted, so a failed first load does not take the API down. A provider whose refresh fails
+ * keeps its previous list.
+ */
+@Service
+public class LanguageCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(LanguageCatalogService.class);
+
+    private final List<TranslationProvider> providers;
+    private volatile Catalog catalog = new Catalog(Map.of(), OffsetDateTime.now());
+
+    public LanguageCatalogService(List<TranslationProvider> providers) {
+        this.providers = providers;
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${translator.languages.refresh-interval-ms:3600000}",
+               initialDelayString = "${translator.languages.refresh-interval-ms:3600000}")
+    public void refresh() {
+        Map<String, Map<String, String>> byProvider = new TreeMap<>();
+        for (TranslationProvider provider : providers) {
+            try {
+                provider.supportedLanguages().ifPresent(languages ->
+                        byProvider.put(provider.getProviderName(), new TreeMap<>(languages)));
+            } catch (RuntimeException e) {
+                Map<String, String> previous = catalog.byProvider().get(provider.getProviderName());
+                if (previous != null) {
+                    byProvider.put(provider.getProviderName(), previous);
+                }
+                log.warn("Could not list languages of {}; keeping {} known: {}", provider.getProviderName(),
+                        previous == null ? 0 : previous.size(), e.getMessage());
+            }
+        }
+        if (!byProvider.equals(catalog.byProvider())) {
+            catalog = new Catalog(Map.copyOf(byProvider), OffsetDateTime.now());
+            log.info("Language catalog loaded: {}", byProvider.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue().size()).toList());
+        }
+    }
+
+    /** @throws UnsupportedLanguageException if no provider lists this pair */
+    public void requireSupported(String sourceLanguage, String targetLanguage) {
+        Catalog current = catalog;
+        if (current.byProvider().isEmpty()) {
+            return;
+        }
+        for (Set<String> codes : current.codes().values()) {
+            if (accepts(codes, sourceLanguage, targetLanguage)) {
+                return;
+            }
+        }
+        String target = normalise(targetLanguage);
+        boolean targetKnown = current.codes().values().stream().anyMatch(codes -> codes.contains(target));
+        throw new UnsupportedLanguageException(targetKnown
+                ? "Unsupported language pair: " + sourceLanguage + " -> " + targetLanguage
+                : "Unsupported target language: " + targetLanguage);
+    }
+
+    /** Whether {@code providerName} should be sent this pair; true for providers without a list. */
+    public boolean supports(String providerName, String sourceLanguage, String targetLanguage) {
+        Set<String> codes = catalog.codes().get(providerName);
+        return codes == null || accepts(codes, sourceLanguage, targetLanguage);
+    }
+
+    public LanguageCatalogDTO getCatalog() {
+        Catalog current = catalog;
+        Map<String, LanguageDTO> languages = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        current.byProvider().forEach((provider, codes) -> codes.forEach((code, name) -> languages
+                .computeIfAbsent(code, c -> LanguageDTO.builder().code(c).name(name).providers(new ArrayList<>()).build())
+                .getProviders().add(provider)));
+        return LanguageCatalogDTO.builder()
+                .languages(List.copyOf(languages.values()))
+                .refreshedAt(current.refreshedAt())
+                .build();
+    }
+
+    /** Changes whenever the catalog's content does; used as the ETag of the languages endpoint. */
+    public String version() {
+        return catalog.version();
+    }
+
+    private static boolean accepts(Set<String> codes, String sourceLanguage, String targetLanguage) {
+        String source = normalise(sourceLanguage);
+        return codes.contains(normalise(targetLanguage))
+                && (source.equals(TranslationMemoryService.AUTO_DETECT) || codes.contains(source));
+    }
+
+    private static String normalise(String language) {
+        return TranslationMemoryService.normalise(language).toLowerCase();
+    }
+
+    /** Codes as each provider lists them, plus lowercased sets for case-insensitive checks. */
+    private record Catalog(Map<String, Map<String, String>> byProvider, Map<String, Set<String>> codes,
+                           OffsetDateTime refreshedAt, String version) {
+
+        private Catalog(Map<String, Map<String, String>> byProvider, OffsetDateTime refreshedAt) {
+            this(byProvider, lowercaseCodes(byProvider), refreshedAt, DigestUtils.md5DigestAsHex(
+                    new TreeMap<>(byProvider).toString().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private static Map<String, Set<String>> lowercaseCodes(Map<String, Map<String, String>> byProvider) {
+            Map<String, Set<String>> codes = new HashMap<>();
+            byProvider.forEach((provider, languages) -> codes.put(provider, languages.keySet().stream()
+                    .map(String::toLowerCase)
+                    .collect(Collectors.toUnmodifiableSet())));
+            return Map.copyOf(codes);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.language.LanguageProfileModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.Character.UnicodeScript;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Identifies the language of source text in-process, so requests without a source language
+ * get a concrete code for the L3 key and the provider call instead of {@code auto}.
+ *
+ * The script is decided first: most scripts (Hangul, kana, Devanagari, Greek, ...) name the
+ * language outright. Latin and Cyrillic text is scored against a character-trigram model
+ * (naive Bayes over {@link LanguageProfileModel}). The model is memory-mapped from
+ * {@code translator.language-detection.model-path}, or from the bundled profile when unset.
+ *
+ * A trigram verdict is only given when the text can support one. It needs enough trigrams to
+ * score (a word or two fits several languages equally well), and enough of them must have
+ * occurred in the winning language's corpus, since naive Bayes always ranks some language first
+ * even for one it was never trained on. The winner must also beat the runner-up by a margin.
+ * Otherwise the result is {@link DetectedLanguage#UNKNOWN} and the source stays {@code auto}.
+ */
+@Component
+public class LanguageDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(LanguageDetector.class);
+
+    static final String BUNDLED_MODEL = "/language/profiles.bin";
+
+    /** Scripts that identify a single language on their own. Han and kana are handled apart. */
+    private static final Map<UnicodeScript, String> SCRIPT_LANGUAGES = new EnumMap<>(Map.ofEntries(
+            Map.entry(UnicodeScript.ARABIC, "ar"),
+            Map.entry(UnicodeScript.ARMENIAN, "hy"),
+            Map.entry(UnicodeScript.BENGALI, "bn"),
+            Map.entry(UnicodeScript.DEVANAGARI, "hi"),
+            Map.entry(UnicodeScript.GEORGIAN, "ka"),
+            Map.entry(UnicodeScript.GREEK, "el"),
+            Map.entry(UnicodeScript.GUJARATI, "gu"),
+            Map.entry(UnicodeScript.GURMUKHI, "pa"),
+            Map.entry(UnicodeScript.HANGUL, "ko"),
+            Map.entry(UnicodeScript.HEBREW, "he"),
+            Map.entry(UnicodeScript.KANNADA, "kn"),
+            Map.entry(UnicodeScript.MALAYALAM, "ml"),
+            Map.entry(UnicodeScript.TAMIL, "ta"),
+            Map.entry(UnicodeScript.TELUGU, "te"),
+            Map.entry(UnicodeScript.THAI, "th")));
+
+    /**
+     * Trigrams overlap (each letter is in three of them), so they are far from the independent
+     * evidence naive Bayes assumes and its raw posterior is overconfident. Log-likelihoods are
+     * divided by this before the softmax; the value was fitted so that the reported confidence
+     * matches the accuracy measured on held-out sentences and their word prefixes (see
+     * LanguageDetectorTest).
+     */
+    static final double EVIDENCE_TEMPERATURE = 1.25;
+
+    private final LanguageProfileModel model;
+    private final double minConfidence;
+    private final double minMargin;
+    private final int minTrigrams;
+    private final double minCoverage;
+    private final int maxChars;
+
+    @Autowired
+    public LanguageDetector(@Value("${translator.language-detection.model-path:}") String modelPath,
+                            @Value("${translator.language-detection.min-confidence:0.6}") double minConfidence,
+                            @Value("${translator.language-detection.min-margin:0.5}") double minMargin,
+                            @Value("${translator.language-detection.min-trigrams:20}") int minTrigrams,
+                            @Value("${translator.language-detection.min-coverage:0.85}") double minCoverage,
+                            @Value("${translator.language-detection.max-chars:1000}") int maxChars) {
+        this(loadModel(modelPath), minConfidence, minMargin, minTrigrams, minCoverage, maxChars);
+    }
+
+    LanguageDetector(LanguageProfileModel model, double minConfidence, double minMargin, int minTrigrams,
+                     double minCoverage, int maxChars) {
+        this.model = model;
+        this.minConfidence = minConfidence;
+        this.minMargin = minMargin;
+        this.minTrigrams = minTrigrams;
+        this.minCoverage = minCoverage;
+        this.maxChars = maxChars;
+        log.info("Language detection model: {} trigrams over {}", model.gramCount(), model.languages());
+    }
+
+    public record DetectedLanguage(String code, double confidence) {
+
+        static final DetectedLanguage UNKNOWN = new DetectedLanguage(null, 0.0);
+    }
+
+    /** Whether a detection is confident enough to stand in for a caller-supplied source language. */
+    public boolean isReliable(DetectedLanguage detected) {
+        return detected.code() != null && detected.confidence() >= minConfidence;
+    }
+
+    /**
+     * @return the most likely language with a confidence in [0, 1], or {@link DetectedLanguage#UNKNOWN}
+     *         for text without letters and for Latin or Cyrillic text that is too short, fits no
+     *         trained language, or fits two about equally well
+     */
+    public DetectedLanguage detect(String text) {
+        Map<UnicodeScript, Integer> scripts = new EnumMap<>(UnicodeScript.class);
+        int letters = 0;
+        int end = Math.min(text.length(), maxChars);
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetter(c)) {
+                scripts.merge(UnicodeScript.of(c), 1, Integer::sum);
+                letters++;
+            }
+        }
+        if (letters == 0) {
+            return DetectedLanguage.UNKNOWN;
+        }
+        UnicodeScript dominant = scripts.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+        double scriptShare = (double) scripts.get(dominant) / letters;
+
+        int kana = scripts.getOrDefault(UnicodeScript.HIRAGANA, 0) + scripts.getOrDefault(UnicodeScript.KATAKANA, 0);
+        if (dominant == UnicodeScript.HIRAGANA || dominant == UnicodeScript.KATAKANA
+                || (dominant == UnicodeScript.HAN && kana > 0)) {
+            return new DetectedLanguage("ja", (double) (scripts.getOrDefault(UnicodeScript.HAN, 0) + kana) / letters);
+        }
+        if (dominant == UnicodeScript.HAN) {
+            return new DetectedLanguage("zh", scriptShare);
+        }
+        String byScript = SCRIPT_LANGUAGES.get(dominant);
+        if (byScript != null) {
+            return new DetectedLanguage(byScript, scriptShare);
+        }
+        return detectByTrigrams(text, scriptShare);
+    }
+
+    private DetectedLanguage detectByTrigrams(String text, double scriptShare) {
+        List<String> languages = model.languages();
+        double[] logLikelihoods = new double[languages.size()];
+        int[] seen = new int[languages.size()];
+        int[] trigrams = new int[1];
+        LanguageProfileModel.forEachTrigram(text, maxChars, key -> {
+            model.accumulate(key, logLikelihoods, seen);
+            trigrams[0]++;
+        });
+        if (trigrams[0] < minTrigrams) {
+            return DetectedLanguage.UNKNOWN;
+        }
+
+        int best = 0;
+        for (int l = 1; l < logLikelihoods.length; l++) {
+            if (logLikelihoods[l] > logLikelihoods[best]) {
+                best = l;
+            }
+        }
+        // Trigrams the winner never saw, counted against all of the text's trigrams: text in an
+        // untrained relative (Danish for Swedish, Catalan for Spanish) still ranks its neighbour
+        // first, but with far fewer of its trigrams covered
+        if ((double) seen[best] / trigrams[0] < minCoverage) {
+            return DetectedLanguage.UNKNOWN;
+        }
+
+        // Posterior under a uniform prior: softmax of the tempered log-likelihoods
+        double normaliser = 0;
+        double runnerUp = 0;
+        for (int l = 0; l < logLikelihoods.length; l++) {
+            double relative = Math.exp((logLikelihoods[l] - logLikelihoods[best]) / EVIDENCE_TEMPERATURE);
+            normaliser += relative;
+            if (l != best) {
+                runnerUp = Math.max(runnerUp, relative);
+            }
+        }
+        if ((1 - runnerUp) / normaliser < minMargin) {
+            return DetectedLanguage.UNKNOWN;
+        }
+        return new DetectedLanguage(languages.get(best), scriptShare / normaliser);
+    }
+
+    private static LanguageProfileModel loadModel(String modelPath) {
+        try {
+            if (modelPath != null && !modelPath.isBlank()) {
+                return LanguageProfileModel.map(Path.of(modelPath));
+            }
+            URL bundled = LanguageDetector.class.getResource(BUNDLED_MODEL);
+            if (bundled == null) {
+                throw new IllegalStateException("Bundled language model " + BUNDLED_MODEL + " is missing");
+            }
+            if ("file".equals(bundled.getProtocol())) {
+                return LanguageProfileModel.map(Path.of(bundled.toURI()));
+            }
+            // Inside a jar the resource cannot be mapped; read it into a direct buffer once
+            try (InputStream in = bundled.openStream()) {
+                byte[] bytes = in.readAllBytes();
+                return LanguageProfileModel.wrap(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load language model", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Failed to load language model", e);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.translator.translation.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line-oriented tokenizer for Markdown fragments. Each line's block prefix (heading marks,
+ * quote markers, list bullets, task boxes) is copied through, and the rest of the line is one
+ * run. Table rows are split into one run per cell. Fenced code blocks are copied through
+ * untouched. Inside a run, emphasis markers and link brackets are paired placeholders. Code
+ * spans, images, inline HTML, autolinks and backslash escapes are opaque placeholders, so link
+ * targets and code never reach a provider.
+ *
+ * Soft-wrapped paragraph lines are translated as separate runs. Indented code blocks are not
+ * recognised; fence them to keep them out of translation.
+ */
+final class MarkdownTokenizer {
+
+    private static final Pattern BLOCK_PREFIX = Pattern.compile(
+            "[ \\t]*(?:(?:>[ \\t]?)|(?:#{1,6}[ \\t]+)|(?:[-*+][ \\t]+(?:\\[[ xX]][ \\t]+)?)|(?:\\d{1,9}[.)][ \\t]+(?:\\[[ xX]][ \\t]+)?))*");
+    private static final Pattern FENCE = Pattern.compile("[ \\t]{0,3}(`{3,}|~{3,}).*");
+
+    private record Marker(String delimiter, int id) {
+    }
+
+    private record LinkEnd(int at, int resume, int id) {
+    }
+
+    private MarkdownTokenizer() {
+    }
+
+    static void tokenize(String markdown, MarkupTemplate.Builder out) {
+        String fence = null;
+        int start = 0;
+        while (start < markdown.length()) {
+            int newline = markdown.indexOf('\n', start);
+            int end = newline < 0 ? markdown.length() : newline + 1;
+            int contentEnd = newline < 0 ? end : newline > start && markdown.charAt(newline - 1) == '\r' ? newline - 1 : newline;
+            String line = markdown.substring(start, contentEnd);
+
+            Matcher fenceLine = FENCE.matcher(line);
+            if (fence != null) {
+                out.verbatim(markdown.substring(start, end));
+                String trimmed = line.strip();
+                char fenceChar = fence.charAt(0);
+                if (trimmed.startsWith(fence) && trimmed.chars().allMatch(ch -> ch == fenceChar)) {
+                    fence = null;
+                }
+            } else if (fenceLine.matches()) {
+                fence = fenceLine.group(1);
+                out.verbatim(markdown.substring(start, end));
+            } else {
+                line(line, out);
+                out.verbatim(markdown.substring(contentEnd, end));
+            }
+            start = end;
+        }
+        out.endRun();
+    }
+
+    private static void line(String line, MarkupTemplate.Builder out) {
+        Matcher prefix = BLOCK_PREFIX.matcher(line);
+        int contentStart = prefix.lookingAt() ? prefix.end() : 0;
+        out.verbatim(line.substring(0, contentStart));
+        String content = line.substring(contentStart);
+        if (!content.strip().startsWith("|")) {
+            inline(content, out);
+            return;
+        }
+        // Table row: every cell is its own run
+        int cellStart = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '|') {
+                inline(content.substring(cellStart, i), out);
+                out.verbatim("|");
+                cellStart = i + 1;
+            }
+        }
+        inline(content.substring(cellStart), out);
+    }
+
+    private static void inline(String text, MarkupTemplate.Builder out) {
+        Deque<Marker> markers = new ArrayDeque<>();
+        Deque<LinkEnd> links = new ArrayDeque<>();
+        int n = text.length();
+        int textStart = 0;
+        int i = 0;
+        while (i < n) {
+            if (!links.isEmpty() && links.peek().at() == i) {
+                LinkEnd link = links.pop();
+                out.text(text.substring(textStart, i));
+                out.close(link.id(), text.substring(i, link.resume()));
+                i = link.resume();
+                textStart = i;
+                continue;
+            }
+            char c = text.charAt(i);
+            int end = -1;
+            switch (c) {
+                case '\\' -> end = i + 1 < n && isAsciiPunctuation(text.charAt(i + 1)) ? i + 2 : -1;
+                case '`' -> end = codeSpanEnd(text, i);
+                case '<' -> end = i + 1 < n && (Character.isLetter(text.charAt(i + 1)) || text.charAt(i + 1) == '/')
+                        ? text.indexOf('>', i) + 1 : -1;
+                case '!' -> end = i + 1 < n && text.charAt(i + 1) == '[' ? linkEnd(text, i + 1)[1] : -1;
+                default -> {
+                }
+            }
+            if (end > 0) {
+                out.text(text.substring(textStart, i));
+                out.inline(text.substring(i, end));
+                i = end;
+                textStart = i;
+                continue;
+            }
+            if (c == '`') {
+                // Unclosed backtick run: literal text
+                while (i < n && text.charAt(i) == '`') {
+                    i++;
+                }
+                continue;
+            } else if (c == '[') {
+                int[] link = linkEnd(text, i);
+                if (link[1] > 0 && (links.isEmpty() || link[1] <= links.peek().at())) {
+                    out.text(text.substring(textStart, i));
+                    links.push(new LinkEnd(link[0], link[1], out.open("[")));
+                    i++;
+                    textStart = i;
+                    continue;
+                }
+            } else if (c == '*' || c == '_' || c == '~') {
+                int runEnd = i;
+                while (runEnd < n && text.charAt(runEnd) == c) {
+                    runEnd++;
+                }
+                String delimiter = text.substring(i, runEnd);
+                boolean before = i > 0 && !Character.isWhitespace(text.charAt(i - 1));
+                boolean after = runEnd < n && !Character.isWhitespace(text.charAt(runEnd));
+                boolean intraword = c == '_' && i > 0 && runEnd < n
+                        && Character.isLetterOrDigit(text.charAt(i - 1)) && Character.isLetterOrDigit(text.charAt(runEnd));
+                boolean valid = (c == '~' ? delimiter.length() == 2 : delimiter.length() <= 3) && !intraword;
+                Marker partner = before && valid ? popPartner(markers, delimiter) : null;
+                if (partner != null) {
+                    out.text(text.substring(textStart, i));
+                    out.close(partner.id(), delimiter);
+                    textStart = runEnd;
+                } else if (after && valid) {
+                    out.text(text.substring(textStart, i));
+                    markers.push(new Marker(delimiter, out.open(delimiter)));
+                    textStart = runEnd;
+                }
+                i = runEnd;
+                continue;
+            }
+            i++;
+        }
+        out.text(text.substring(textStart));
+        out.endRun();
+    }
+
+    private static Marker popPartner(Deque<Marker> markers, String delimiter) {
+        boolean present = false;
+        for (Iterator<Marker> it = markers.iterator(); it.hasNext() && !present; ) {
+            present = it.next().delimiter().equals(delimiter);
+        }
+        if (!present) {
+            return null;
+        }
+        Marker top;
+        do {
+            top = markers.pop();
+        } while (!top.delimiter().equals(delimiter));
+        return top;
+    }
+
+    /**
+     * For a {@code [} at {@code open}: the index of its {@code ]} and the end of the link
+     * destination or reference after it, or {@code -1} for both when it is not a link.
+     */
+    private static int[] linkEnd(String text, int open) {
+        int close = matching(text, open, '[', ']');
+        if (close < 0 || close + 1 >= text.length()) {
+            return new int[] {-1, -1};
+        }
+        char next = text.charAt(close + 1);
+        int end = next == '(' ? matching(text, close + 1, '(', ')') : next == '[' ? matching(text, close + 1, '[', ']') : -1;
+        return end < 0 ? new int[] {-1, -1} : new int[] {close, end + 1};
+    }
+
+    private static int matching(String text, int open, char opening, char closing) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == opening) {
+                depth++;
+            } else if (c == closing && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** End of the code span opened by the backtick run at {@code start}, or -1 if it is never closed. */
+    private static int codeSpanEnd(String text, int start) {
+        int runEnd = start;
+        while (runEnd < text.length() && text.charAt(runEnd) == '`') {
+            runEnd++;
+        }
+        String ticks = text.substring(start, runEnd);
+        for (int close = text.indexOf(ticks, runEnd); close >= 0; close = text.indexOf(ticks, close + ticks.length())) {
+            int closeEnd = close + ticks.length();
+            if ((closeEnd == text.length() || text.charAt(closeEnd) != '`') && text.charAt(close - 1) != '`') {
+                return closeEnd;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isAsciiPunctuation(char c) {
+        return c < 128 && !Character.isLetterOrDigit(c) && !Character.isWhitespace(c) && !Character.isISOControl(c);
+    }
+}
@@ -0,0 +1,312 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.ContentFormat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A markup fragment split into verbatim markup, which no provider sees, and the text runs
+ * that are translated.
+ *
+ * A run is the text between two block boundaries. Inline tags inside it become numbered
+ * placeholders, e.g. {@code Click <x1>here</x1> to continue}. A tag with no partner in the
+ * run, and any opaque inline element such as {@code <code>}, becomes a standalone
+ * {@code <xN/>}. Numbering restarts in every run. The same sentence therefore has the same
+ * text, and the same cache key, whatever tags, attributes or links surround it on a page.
+ * Attributes are never billed as provider characters.
+ */
+final class MarkupTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("</?x\\d+/?>");
+
+    sealed interface Part permits Verbatim, Run {
+    }
+
+    record Verbatim(String markup) implements Part {
+    }
+
+    /**
+     * Translatable text with placeholders, the markup each placeholder stands for, and the
+     * escaping applied to translated text when it is put back into the markup.
+     */
+    record Run(String text, Map<String, String> placeholders, UnaryOperator<String> escape) implements Part {
+
+        /**
+         * Puts a translation of {@link #text()} back into markup. Returns null when the provider
+         * dropped, duplicated or invented a placeholder. Reordering is fine, since word order
+         * differs between languages.
+         */
+        String render(String translated) {
+            StringBuilder markup = new StringBuilder(translated.length() + 16 * placeholders.size());
+            Set<String> seen = new HashSet<>();
+            Matcher matcher = PLACEHOLDER.matcher(translated);
+            int last = 0;
+            while (matcher.find()) {
+                String original = placeholders.get(matcher.group());
+                if (original == null || !seen.add(matcher.group())) {
+                    return null;
+                }
+                markup.append(escape.apply(translated.substring(last, matcher.start()))).append(original);
+                last = matcher.end();
+            }
+            if (seen.size() != placeholders.size()) {
+                return null;
+            }
+            return markup.append(escape.apply(translated.substring(last))).toString();
+        }
+
+        /** The text between placeholders, in order; {@link #withPieces} puts translated pieces back. */
+        List<String> pieces() {
+            return List.of(PLACEHOLDER.split(text, -1));
+        }
+
+        String withPieces(List<String> translatedPieces) {
+            StringBuilder result = new StringBuilder(text.length());
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            int piece = 0;
+            while (matcher.find()) {
+                result.append(translatedPieces.get(piece++)).append(matcher.group());
+            }
+            return result.append(translatedPieces.get(piece)).toString();
+        }
+    }
+
+    private final List<Part> parts;
+
+    private MarkupTemplate(List<Part> parts) {
+        this.parts = parts;
+    }
+
+    static MarkupTemplate parse(String source, ContentFormat format) {
+        return switch (format) {
+            case HTML -> {
+                Builder builder = new Builder(HtmlTokenizer::escape);
+                HtmlTokenizer.tokenize(source, builder);
+                yield builder.build();
+            }
+            case MARKDOWN -> {
+                Builder builder = new Builder(UnaryOperator.identity());
+                MarkdownTokenizer.tokenize(source, builder);
+                yield builder.build();
+            }
+            case TEXT -> throw new IllegalArgumentException("Plain text has no markup to parse");
+        };
+    }
+
+    List<Part> parts() {
+        return parts;
+    }
+
+    List<Run> runs() {
+        List<Run> runs = new ArrayList<>();
+        for (Part part : parts) {
+            if (part instanceof Run run) {
+                runs.add(run);
+            }
+        }
+        return runs;
+    }
+
+    /** The runs without placeholders, one per line; what language detection looks at. */
+    String plainText() {
+        StringBuilder text = new StringBuilder();
+        for (Run run : runs()) {
+            text.append(PLACEHOLDER.matcher(run.text()).replaceAll("")).append('\n');
+        }
+        return text.toString().strip();
+    }
+
+    static boolean hasLetters(String text) {
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetter(codePoint)) {
+                return true;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return false;
+    }
+
+    /**
+     * Receives tokens in source order from a tokenizer. Inline tags are collected into the
+     * current run until a block boundary ends it.
+     */
+    static final class Builder {
+
+        private enum Kind { TEXT, OPEN, CLOSE, INLINE }
+
+        private record Piece(Kind kind, int id, String raw, String text) {
+        }
+
+        private final UnaryOperator<String> escape;
+        private final List<Part> parts = new ArrayList<>();
+        private final StringBuilder verbatim = new StringBuilder();
+        private final List<Piece> run = new ArrayList<>();
+        private final Set<Integer> openedInRun = new HashSet<>();
+        private int nextId;
+
+        private Builder(UnaryOperator<String> escape) {
+            this.escape = escape;
+        }
+
+        /** Block-level markup: ends the current run and is copied through. */
+        void verbatim(String markup) {
+            endRun();
+            verbatim.append(markup);
+        }
+
+        /** Text as it appears in the source, and as the provider should see it (entities decoded). */
+        void text(String raw, String text) {
+            if (!raw.isEmpty()) {
+                run.add(new Piece(Kind.TEXT, 0, raw, text));
+            }
+        }
+
+        void text(String text) {
+            text(text, text);
+        }
+
+        /** An inline opening tag; the returned id is passed to {@link #close} with its partner. */
+        int open(String markup) {
+            int id = ++nextId;
+            run.add(new Piece(Kind.OPEN, id, markup, null));
+            openedInRun.add(id);
+            return id;
+        }
+
+        void close(int openId, String markup) {
+            // Partner opened in an earlier run (invalid nesting across blocks): keep it standalone
+            run.add(new Piece(openedInRun.contains(openId) ? Kind.CLOSE : Kind.INLINE, openId, markup, null));
+        }
+
+        /** Inline markup that is kept in place but never translated, e.g. an image or code span. */
+        void inline(String markup) {
+            run.add(new Piece(Kind.INLINE, 0, markup, null));
+        }
+
+        void endRun() {
+            if (run.isEmpty()) {
+                return;
+            }
+            boolean translatable = false;
+            for (Piece piece : run) {
+                translatable |= piece.kind() == Kind.TEXT && hasLetters(piece.text());
+            }
+            if (!translatable) {
+                // Numbers, punctuation and bare tags are copied, not sent to a provider
+                run.forEach(piece -> verbatim.append(piece.raw()));
+                clearRun();
+                return;
+            }
+            String leading = trimLeading();
+            String trailing = trimTrailing();
+            verbatim.append(leading);
+            flushVerbatim();
+
+            Set<Integer> closed = new HashSet<>();
+            for (Piece piece : run) {
+                if (piece.kind() == Kind.CLOSE) {
+                    closed.add(piece.id());
+                }
+            }
+            // One counter for paired and standalone placeholders, in order of appearance
+            StringBuilder text = new StringBuilder();
+            Map<String, String> placeholders = new LinkedHashMap<>();
+            Map<Integer, Integer> pairNumbers = new HashMap<>();
+            int count = 0;
+            for (Piece piece : run) {
+                if (piece.kind() == Kind.TEXT) {
+                    text.append(piece.text());
+                    continue;
+                }
+                String placeholder;
+                if (piece.kind() != Kind.INLINE && closed.contains(piece.id())) {
+                    Integer number = pairNumbers.get(piece.id());
+                    if (number == null) {
+                        number = ++count;
+                        pairNumbers.put(piece.id(), number);
+                    }
+                    placeholder = piece.kind() == Kind.OPEN ? "<x" + number + ">" : "</x" + number + ">";
+                } else {
+                    placeholder = "<x" + ++count + "/>";
+                }
+                placeholders.put(placeholder, piece.raw());
+                text.append(placeholder);
+            }
+            parts.add(new Run(text.toString(), Collections.unmodifiableMap(placeholders), escape));
+            verbatim.append(trailing);
+            clearRun();
+        }
+
+        MarkupTemplate build() {
+            endRun();
+            flushVerbatim();
+            return new MarkupTemplate(List.copyOf(parts));
+        }
+
+        /** Moves whitespace at the start of the run out of the translated text. */
+        private String trimLeading() {
+            StringBuilder removed = new StringBuilder();
+            while (!run.isEmpty() && isPlainText(run.get(0))) {
+                String raw = run.get(0).raw();
+                int end = 0;
+                while (end < raw.length() && Character.isWhitespace(raw.charAt(end))) {
+                    end++;
+                }
+                removed.append(raw, 0, end);
+                if (end < raw.length()) {
+                    run.set(0, new Piece(Kind.TEXT, 0, raw.substring(end), raw.substring(end)));
+                    break;
+                }
+                run.remove(0);
+            }
+            return removed.toString();
+        }
+
+        private String trimTrailing() {
+            StringBuilder removed = new StringBuilder();
+            while (!run.isEmpty() && isPlainText(run.get(run.size() - 1))) {
+                int last = run.size() - 1;
+                String raw = run.get(last).raw();
+                int start = raw.length();
+                while (start > 0 && Character.isWhitespace(raw.charAt(start - 1))) {
+                    start--;
+                }
+                removed.insert(0, raw.substring(start));
+                if (start > 0) {
+                    run.set(last, new Piece(Kind.TEXT, 0, raw.substring(0, start), raw.substring(0, start)));
+                    break;
+                }
+                run.remove(last);
+            }
+            return removed.toString();
+        }
+
+        /** Text copied from the source unchanged; decoded entities are left where they are. */
+        private static boolean isPlainText(Piece piece) {
+            return piece.kind() == Kind.TEXT && piece.raw().equals(piece.text());
+        }
+
+        private void flushVerbatim() {
+            if (!verbatim.isEmpty()) {
+                parts.add(new Verbatim(verbatim.toString()));
+                verbatim.setLength(0);
+            }
+        }
+
+        private void clearRun() {
+            run.clear();
+            openedInRun.clear();
+        }
+    }
+}
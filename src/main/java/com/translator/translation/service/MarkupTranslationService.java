@@ -0,0 +1,170 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.service.MarkupTemplate.Part;
+import com.translator.translation.service.MarkupTemplate.Run;
+import com.translator.translation.service.MarkupTemplate.Verbatim;
+import com.translator.translation.service.TranslationService.ResolvedRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates HTML and Markdown fragments run by run (see {@link MarkupTemplate}).
+ *
+ * Each distinct run goes through the normal L1 → L2 → L3 → provider path, concurrently on a
+ * shared pool. A navigation label or a repeated sentence is therefore a cache hit on every page
+ * that contains it, whatever markup surrounds it, and only text is billed. The source language
+ * is resolved once, from the fragment's text. If a provider mangles a run's placeholders, the
+ * text between them is translated piece by piece instead, so the markup always survives. Such a
+ * result is never cached, and one already in the cache tiers is invalidated once it is seen.
+ */
+@Service
+public class MarkupTranslationService {
+
+    private static final Logger log = LoggerFactory.getLogger(MarkupTranslationService.class);
+    private static final String NO_PROVIDER = "none";
+
+    private final TranslationService translationService;
+    private final CacheInvalidationService cacheInvalidation;
+    private final TranslatorMetrics metrics;
+    private final ExecutorService executor;
+
+    public MarkupTranslationService(TranslationService translationService,
+                                    CacheInvalidationService cacheInvalidation,
+                                    TranslatorMetrics metrics,
+                                    @Value("${translator.markup.threads:16}") int threads) {
+        this.translationService = translationService;
+        this.cacheInvalidation = cacheInvalidation;
+        this.metrics = metrics;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("markup-translation-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public TranslationResponseDTO translate(TranslationRequestDTO request, UUID userId) {
+        long start = System.nanoTime();
+        MarkupTemplate template = MarkupTemplate.parse(request.getSourceText(), request.getFormat());
+        metrics.recordStage("markup_parse", NO_PROVIDER, "success", System.nanoTime() - start);
+        String plainText = template.plainText();
+
+        ResolvedRequest resolved = translationService.resolveSourceLanguage(textOnly(request, plainText));
+        // Repeated runs in one fragment (menu items, table headers) are translated once
+        Map<String, Future<TranslationResponseDTO>> pending = new LinkedHashMap<>();
+        for (Run run : template.runs()) {
+            // Runs with the same text have the same placeholders, so any of them can validate the result
+            pending.computeIfAbsent(run.text(), text -> executor.submit(() -> translationService.translateSegment(
+                    resolved.forSegment(text), userId, translated -> run.render(translated) != null)));
+        }
+        metrics.recordMarkupCharacters(request.getSourceText().length(),
+                pending.keySet().stream().mapToInt(String::length).sum());
+
+        String provider = null;
+        String firstTier = null;
+        boolean cached = !pending.isEmpty();
+        StringBuilder translated = new StringBuilder(request.getSourceText().length());
+        try {
+            for (Part part : template.parts()) {
+                if (part instanceof Verbatim verbatim) {
+                    translated.append(verbatim.markup());
+                    continue;
+                }
+                Run run = (Run) part;
+                TranslationResponseDTO response = pending.get(run.text()).get();
+                cached &= response.isServedFromCache();
+                if (firstTier == null) {
+                    firstTier = response.getProviderUsed();
+                }
+                if (provider == null && !response.isServedFromCache()) {
+                    provider = response.getProviderUsed();
+                }
+                String markup = run.render(response.getTranslatedText());
+                if (markup == null) {
+                    log.debug("Placeholders lost by {}, translating run piece by piece", response.getProviderUsed());
+                    if (response.isServedFromCache()) {
+                        // Cached before results were validated; drop it so the next request asks a provider
+                        cacheInvalidation.invalidateTranslation(run.text(), request.getTargetLanguage());
+                    }
+                    long fallbackStart = System.nanoTime();
+                    markup = translatePieces(run, resolved, userId);
+                    metrics.recordStage("markup_fallback", response.getProviderUsed(), "placeholder_mismatch",
+                            System.nanoTime() - fallbackStart);
+                }
+                translated.append(markup);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while translating markup", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } finally {
+            // No-op on success; after a failure stops runs nobody will read
+            pending.values().forEach(future -> future.cancel(true));
+        }
+
+        String result = translated.toString();
+        if (provider != null) {
+            translationService.recordSegmentedTranslation(
+                    resolved.forSegment(request.getSourceText()), result, provider, userId);
+        }
+        String providerUsed = provider != null ? provider : cached ? firstTier : NO_PROVIDER;
+        metrics.translationLatencyTimer(providerUsed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return TranslationResponseDTO.builder()
+                .translationId(UUID.randomUUID())
+                .translatedText(result)
+                .sourceLanguageDetected(resolved.request().getSourceLanguage())
+                .detectionConfidence(resolved.detectionConfidence())
+                .targetLanguage(request.getTargetLanguage())
+                .providerUsed(providerUsed)
+                .servedFromCache(cached)
+                .wordCount(plainText.isEmpty() ? 0 : plainText.split("\\s+").length)
+                .characterCount(request.getSourceText().length())
+                .build();
+    }
+
+    /** Fallback for one run: each text piece is translated on its own, so tags cannot be lost. */
+    private String translatePieces(Run run, ResolvedRequest resolved, UUID userId) {
+        List<String> pieces = new ArrayList<>();
+        for (String piece : run.pieces()) {
+            String text = piece.strip();
+            if (!MarkupTemplate.hasLetters(text)) {
+                pieces.add(piece);
+                continue;
+            }
+            String translated = translationService.translateSegment(resolved.forSegment(text), userId).getTranslatedText();
+            // Keep the spacing next to the tags; providers trim it
+            int lead = piece.indexOf(text);
+            pieces.add(piece.substring(0, lead) + translated + piece.substring(lead + text.length()));
+        }
+        String markup = run.render(run.withPieces(pieces));
+        // Only if a piece's translation itself looked like a placeholder: keep the source text
+        return markup != null ? markup : run.render(run.text());
+    }
+
+    private static TranslationRequestDTO textOnly(TranslationRequestDTO request, String text) {
+        TranslationRequestDTO plain = new TranslationRequestDTO();
+        plain.setSourceText(text);
+        plain.setSourceLanguage(request.getSourceLanguage());
+        plain.setTargetLanguage(request.getTargetLanguage());
+        return plain;
+    }
+}
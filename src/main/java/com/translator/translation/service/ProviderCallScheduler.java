@@ -0,0 +1,225 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admits provider calls against a fixed number of concurrent slots, shared by three priority
+ * lanes: {@link Lane#INTERACTIVE} (REST, gRPC, streams), {@link Lane#BULK} (document jobs)
+ * and {@link Lane#BACKGROUND} (refresh work).
+ *
+ * A freed slot always goes to the highest lane with a waiter. Lower lanes also keep headroom:
+ * a bulk call starts only while more than {@code bulk.headroom} slots are free, so a burst of
+ * interactive requests finds capacity without queueing behind a large job. Each lane bounds
+ * its queue and its wait. A call that cannot be admitted fails with
+ * {@link ProviderCapacityException} before reaching a provider.
+ *
+ * Within a lane, waiters are ordered by start-time fair queueing across users, with the
+ * text's length as the cost. Each call is tagged {@code finish = max(virtualTime,
+ * user's last finish) + cost}, and the smallest finish tag goes next. A user with thousands of
+ * queued segments therefore shares the lane with a user who has one, instead of going first.
+ */
+@Component
+public class ProviderCallScheduler {
+
+    /** Declared in priority order. */
+    public enum Lane {
+        INTERACTIVE, BULK, BACKGROUND;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Object lock = new Object();
+    private final int maxConcurrentCalls;
+    private final Map<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+    private final TranslatorMetrics metrics;
+    private int active;
+
+    public ProviderCallScheduler(TranslatorMetrics metrics,
+                                 @Value("${translator.scheduler.max-concurrent-calls:50}") int maxConcurrentCalls,
+                                 @Value("${translator.scheduler.interactive.max-wait:500ms}") Duration interactiveMaxWait,
+                                 @Value("${translator.scheduler.interactive.max-queued:500}") int interactiveMaxQueued,
+                                 @Value("${translator.scheduler.bulk.headroom:10}") int bulkHeadroom,
+                                 @Value("${translator.scheduler.bulk.max-wait:PT5M}") Duration bulkMaxWait,
+                                 @Value("${translator.scheduler.bulk.max-queued:1000}") int bulkMaxQueued,
+                                 @Value("${translator.scheduler.background.headroom:25}") int backgroundHeadroom,
+                                 @Value("${translator.scheduler.background.max-wait:PT5M}") Duration backgroundMaxWait,
+                                 @Value("${translator.scheduler.background.max-queued:1000}") int backgroundMaxQueued) {
+        this.metrics = metrics;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        lanes.put(Lane.INTERACTIVE, new LaneQueue(0, interactiveMaxWait, interactiveMaxQueued));
+        lanes.put(Lane.BULK, new LaneQueue(bulkHeadroom, bulkMaxWait, bulkMaxQueued));
+        lanes.put(Lane.BACKGROUND, new LaneQueue(backgroundHeadroom, backgroundMaxWait, backgroundMaxQueued));
+        lanes.forEach((lane, queue) -> metrics.registerProviderQueue(lane.tag(), () -> {
+            synchronized (lock) {
+                return queue.waiting.size();
+            }
+        }));
+        metrics.registerProviderCallsActive(() -> {
+            synchronized (lock) {
+                return active;
+            }
+        });
+    }
+
+    /**
+     * Runs {@code call} once a slot is granted, and frees the slot when it returns.
+     *
+     * @param cost relative size of the call (characters of text); used for fairness only
+     * @throws ProviderCapacityException if the call was not admitted
+     */
+    public <T> T call(Lane lane, UUID userId, int cost, Supplier<T> call) {
+        long start = System.nanoTime();
+        LaneQueue queue = lanes.get(lane);
+        Waiter waiter = null;
+        synchronized (lock) {
+            if (canStartNow(lane)) {
+                queue.advance(queue.tag(userId, cost));
+                active++;
+            } else if (queue.waiting.size() >= queue.maxQueued) {
+                metrics.recordProviderQueueWait(lane.tag(), "rejected", System.nanoTime() - start);
+                throw new ProviderCapacityException("Provider queue full for " + lane.tag() + " traffic");
+            } else {
+                waiter = queue.tag(userId, cost);
+                queue.waiting.add(waiter);
+            }
+        }
+        if (waiter != null) {
+            awaitGrant(lane, queue, waiter, start);
+        }
+        metrics.recordProviderQueueWait(lane.tag(), "admitted", System.nanoTime() - start);
+        try {
+            return call.get();
+        } finally {
+            synchronized (lock) {
+                active--;
+                dispatch();
+            }
+        }
+    }
+
+    private void awaitGrant(Lane lane, LaneQueue queue, Waiter waiter, long start) {
+        boolean interrupted = false;
+        try {
+            if (waiter.grant.await(queue.maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        synchronized (lock) {
+            if (waiter.grant.getCount() == 0) {
+                if (!interrupted) {
+                    return; // granted between the timeout and taking the lock
+                }
+                active--;
+                dispatch();
+            } else {
+                queue.waiting.remove(waiter);
+            }
+        }
+        metrics.recordProviderQueueWait(lane.tag(), "timeout", System.nanoTime() - start);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ProviderCapacityException("Interrupted while waiting for provider capacity");
+        }
+        throw new ProviderCapacityException("No provider capacity for " + lane.tag() + " traffic within "
+                + queue.maxWait.toMillis() + " ms");
+    }
+
+    /** A new call may bypass the queues only if nobody of its lane or a higher one is waiting. */
+    private boolean canStartNow(Lane lane) {
+        for (Lane higher : Lane.values()) {
+            if (!lanes.get(higher).waiting.isEmpty()) {
+                return false;
+            }
+            if (higher == lane) {
+                break;
+            }
+        }
+        return maxConcurrentCalls - active > lanes.get(lane).headroom;
+    }
+
+    /** Hands free slots to waiters, highest lane first; a lane still waiting blocks those below it. */
+    private void dispatch() {
+        for (Lane lane : Lane.values()) {
+            LaneQueue queue = lanes.get(lane);
+            while (!queue.waiting.isEmpty() && maxConcurrentCalls - active > queue.headroom) {
+                Waiter next = queue.waiting.poll();
+                queue.advance(next);
+                active++;
+                next.grant.countDown();
+            }
+            if (!queue.waiting.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final double startTag;
+        private final double finishTag;
+        private final long sequence;
+        private final CountDownLatch grant = new CountDownLatch(1);
+
+        private Waiter(double startTag, double finishTag, long sequence) {
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+        }
+    }
+
+    /** One lane's waiters and fair-queueing state; guarded by the scheduler's lock. */
+    private static final class LaneQueue {
+
+        private static final int MIN_PRUNE_THRESHOLD = 1024;
+
+        private final int headroom;
+        private final Duration maxWait;
+        private final int maxQueued;
+        private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(
+                Comparator.<Waiter>comparingDouble(w -> w.finishTag).thenComparingLong(w -> w.sequence));
+        private final Map<UUID, Double> lastFinish = new HashMap<>();
+        private double virtualTime;
+        private long sequence;
+        private int pruneThreshold = MIN_PRUNE_THRESHOLD;
+
+        private LaneQueue(int headroom, Duration maxWait, int maxQueued) {
+            this.headroom = headroom;
+            this.maxWait = maxWait;
+            this.maxQueued = maxQueued;
+        }
+
+        private Waiter tag(UUID userId, int cost) {
+            double startTag = Math.max(virtualTime, lastFinish.getOrDefault(userId, 0.0));
+            double finishTag = startTag + Math.max(1, cost);
+            lastFinish.put(userId, finishTag);
+            if (lastFinish.size() > pruneThreshold) {
+                // Users whose last finish is behind virtual time are no different from new ones
+                lastFinish.values().removeIf(finish -> finish <= virtualTime);
+                pruneThreshold = Math.max(MIN_PRUNE_THRESHOLD, lastFinish.size() * 2);
+            }
+            return new Waiter(startTag, finishTag, sequence++);
+        }
+
+        /** Virtual time follows the start tag of the call most recently let through. */
+        private void advance(Waiter started) {
+            virtualTime = Math.max(virtualTime, started.startTag);
+        }
+    }
+}
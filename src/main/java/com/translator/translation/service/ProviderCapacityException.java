@@ -0,0 +1,16 @@
+package com.translator.translation.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A provider call was not admitted: its lane's queue was full, or no capacity freed up within
+ * the lane's maximum wait. Nothing was sent to a provider, so the caller may retry.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProviderCapacityException extends RuntimeException {
+
+    public ProviderCapacityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,80 @@
+package com.translator.translation.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SRT and WebVTT, one cue per segment. The cue's lines up to and including the
+ * {@code 00:00:01,000 --> 00:00:02,000} timing line, and the blank lines before it, are the
+ * preamble; the remaining lines are the text. Blocks without a timing line ({@code WEBVTT}
+ * header, {@code NOTE}, {@code STYLE}) are copied as they are. Line endings are normalised to
+ * {@code \n}.
+ */
+final class SubtitleSegmentReader implements DocumentSegmentReader {
+
+    private static final String TIMING_ARROW = "-->";
+
+    private final BufferedReader reader;
+    private boolean firstLine = true;
+
+    SubtitleSegmentReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public DocumentSegment next() throws IOException {
+        StringBuilder preamble = new StringBuilder();
+        List<String> block = new ArrayList<>();
+        String line;
+        while ((line = readLine()) != null) {
+            if (!line.isBlank()) {
+                block.add(line);
+            } else if (block.isEmpty()) {
+                preamble.append('\n');
+            } else {
+                break;
+            }
+        }
+        if (block.isEmpty()) {
+            // Trailing blank lines at the end of the file
+            return preamble.isEmpty() ? null : new DocumentSegment(preamble.toString(), "", "");
+        }
+
+        int timing = -1;
+        for (int i = 0; i < block.size() && timing < 0; i++) {
+            if (block.get(i).contains(TIMING_ARROW)) {
+                timing = i;
+            }
+        }
+        for (int i = 0; i <= (timing < 0 ? block.size() - 1 : timing); i++) {
+            preamble.append(block.get(i)).append('\n');
+        }
+        // The blank line that ended the block, absent at the end of the file
+        String blockEnd = line != null ? "\n" : "";
+        if (timing < 0 || timing == block.size() - 1) {
+            return new DocumentSegment(preamble.append(blockEnd).toString(), "", "");
+        }
+        String text = String.join("\n", block.subList(timing + 1, block.size()));
+        return new DocumentSegment(preamble.toString(), text, "\n" + blockEnd);
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (firstLine && line != null) {
+            firstLine = false;
+            // Drop a UTF-8 byte order mark; output is written without one
+            if (line.startsWith("\uFEFF")) {
+                return line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.dto.SystemStatsDTO;
+import com.translator.translation.repository.TranslationRepository;
+import com.translator.user.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the admin dashboard stats. User and daily translation totals come from the database;
+ * hit rates and provider counts are read from this instance's meters, so they cover traffic
+ * since the instance started. Use Prometheus for fleet-wide numbers.
+ */
+@Service
+public class SystemStatsService {
+
+    private final UserRepository userRepository;
+    private final TranslationRepository translationRepository;
+    private final TranslatorMetrics metrics;
+
+    public SystemStatsService(UserRepository userRepository,
+                              TranslationRepository translationRepository,
+                              TranslatorMetrics metrics) {
+        this.userRepository = userRepository;
+        this.translationRepository = translationRepository;
+        this.metrics = metrics;
+    }
+
+    public SystemStatsDTO getSystemStats() {
+        Map<String, Double> cacheHitRates = new LinkedHashMap<>();
+        for (String level : new String[]{"L1", "L2", "L3"}) {
+            cacheHitRates.put(level, metrics.cacheHitRatio(level));
+        }
+        Map<String, Long> providerCounts = metrics.providerSuccessCounts();
+
+        return SystemStatsDTO.builder()
+                .totalUsers(userRepository.count())
+                .totalTranslationsToday(translationRepository.countByCreatedAtAfter(
+                        OffsetDateTime.now().withHour(0).withMinute(0).withSecond(0)))
+                .cacheHitRate(metrics.requestCacheHitRatio())
+                .cacheHitRates(cacheHitRates)
+                .awsTranslateCount(providerCounts.getOrDefault("AWS_TRANSLATE", 0L))
+                .libreTranslateCount(providerCounts.getOrDefault("LIBRE_TRANSLATE", 0L))
+                .myMemoryCount(providerCounts.getOrDefault("MYMEMORY", 0L))
+                .providerCounts(providerCounts)
+                .build();
+    }
+}
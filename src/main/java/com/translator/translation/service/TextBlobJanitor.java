@@ -0,0 +1,66 @@
+package com.translator.translation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Removes {@code text_blobs} rows that neither history nor the translation memory references
+ * any more, e.g. after a history purge, so deleted history does not leave its text behind.
+ *
+ * Each run inspects one hash-ordered slice of the table and remembers where it stopped, so the
+ * cost per run is bounded and the whole table is covered over successive runs. Blobs younger
+ * than the grace period are skipped. A blob being reused by an in-flight write is locked by
+ * {@code intern_text_blob()} and skipped; one deleted just before the write locks it is
+ * inserted again by the write, so neither side fails.
+ */
+@Component
+public class TextBlobJanitor {
+
+    private static final Logger log = LoggerFactory.getLogger(TextBlobJanitor.class);
+
+    private static final byte[] START = new byte[0];
+
+    // sweep_text_blobs (V15) locks its candidates and re-checks references before deleting
+    private static final String SWEEP_SQL = "SELECT last_hash, removed FROM sweep_text_blobs(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int sliceSize;
+    private final long graceSeconds;
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private byte[] cursor = START;
+
+    public TextBlobJanitor(JdbcTemplate jdbcTemplate,
+                           @Value("${translator.text-blobs.sweep-slice-size:5000}") int sliceSize,
+                           @Value("${translator.text-blobs.orphan-grace-seconds:86400}") long graceSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sliceSize = sliceSize;
+        this.graceSeconds = graceSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${translator.text-blobs.sweep-interval-ms:60000}")
+    public void sweepOrphans() {
+        // A lock rather than synchronized: the sweep blocks on JDBC, which would pin a virtual thread
+        sweepLock.lock();
+        try {
+            Map<String, Object> result = jdbcTemplate.queryForMap(SWEEP_SQL, cursor, sliceSize, graceSeconds);
+            byte[] lastHash = (byte[]) result.get("last_hash");
+            long removed = ((Number) result.get("removed")).longValue();
+            // An empty slice means the end of the table was reached; start over next run
+            cursor = lastHash == null ? START : lastHash;
+            if (removed > 0) {
+                log.info("Removed {} orphaned text blobs", removed);
+            }
+        } catch (Exception e) {
+            log.warn("Text blob sweep failed; retrying from the same position next run", e);
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.translator.translation.service;
+
+import com.translator.translation.service.TextSegmenter.Segment;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Plain text, segmented by {@link TextSegmenter} over a sliding window of about two segments.
+ * Once the window is full, every segment but the last is final. The last one may end at an
+ * arbitrary read boundary, so it stays in the window and is segmented again with the next read.
+ */
+final class TextSegmentReader implements DocumentSegmentReader {
+
+    private final Reader reader;
+    private final int maxChars;
+    private final char[] buffer;
+    private final StringBuilder window;
+    private final ArrayDeque<Segment> ready = new ArrayDeque<>();
+    private boolean endOfInput;
+
+    TextSegmentReader(Reader reader, int maxChars) {
+        this.reader = reader;
+        this.maxChars = maxChars;
+        this.buffer = new char[Math.min(maxChars, 8192)];
+        this.window = new StringBuilder(2 * maxChars + buffer.length);
+    }
+
+    @Override
+    public DocumentSegment next() throws IOException {
+        while (ready.isEmpty()) {
+            if (endOfInput) {
+                if (window.isEmpty()) {
+                    return null;
+                }
+                ready.addAll(TextSegmenter.split(window.toString(), maxChars));
+                window.setLength(0);
+                continue;
+            }
+            fill();
+            if (!endOfInput) {
+                List<Segment> segments = TextSegmenter.split(window.toString(), maxChars);
+                if (segments.size() > 1) {
+                    Segment tail = segments.get(segments.size() - 1);
+                    ready.addAll(segments.subList(0, segments.size() - 1));
+                    // The last segment always runs to the end of the window
+                    window.delete(0, window.length() - tail.text().length() - tail.separator().length());
+                }
+            }
+        }
+        Segment segment = ready.poll();
+        return new DocumentSegment("", segment.text(), segment.separator());
+    }
+
+    private void fill() throws IOException {
+        while (window.length() < 2 * maxChars) {
+            int read = reader.read(buffer);
+            if (read < 0) {
+                endOfInput = true;
+                return;
+            }
+            window.append(buffer, 0, read);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
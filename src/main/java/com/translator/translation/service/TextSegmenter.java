@@ -0,0 +1,84 @@
+package com.translator.translation.service;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits source text into segments for streamed translation. Whole sentences are packed into a
+ * segment up to {@code maxChars}. A single longer sentence is cut at its last whitespace before
+ * the limit. Segment text is trimmed; the whitespace that followed it is kept as the separator,
+ * so concatenating translation and separator per segment preserves paragraph breaks.
+ */
+final class TextSegmenter {
+
+    record Segment(String text, String separator) {
+    }
+
+    private TextSegmenter() {
+    }
+
+    static List<Segment> split(String text, int maxChars) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("maxChars must be positive: " + maxChars);
+        }
+        List<Segment> segments = new ArrayList<>();
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(text);
+        int segmentStart = 0;
+        int packedEnd = 0;
+        for (int end = sentences.next(); end != BreakIterator.DONE; end = sentences.next()) {
+            // Trailing whitespace becomes the separator, so it does not count towards the limit
+            if (trimEnd(text, segmentStart, end) - segmentStart > maxChars && packedEnd > segmentStart) {
+                add(text, segmentStart, packedEnd, segments);
+                segmentStart = packedEnd;
+            }
+            while (trimEnd(text, segmentStart, end) - segmentStart > maxChars) {
+                int cut = cutPoint(text, segmentStart, segmentStart + maxChars);
+                add(text, segmentStart, cut, segments);
+                segmentStart = cut;
+            }
+            packedEnd = end;
+        }
+        if (packedEnd > segmentStart) {
+            add(text, segmentStart, packedEnd, segments);
+        }
+        return segments;
+    }
+
+    /** Just past the last whitespace in {@code (from, limit]}, or {@code limit} when there is none. */
+    private static int cutPoint(String text, int from, int limit) {
+        for (int i = limit; i > from; i--) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        // No whitespace (e.g. CJK): never cut a surrogate pair in half
+        return Character.isHighSurrogate(text.charAt(limit - 1)) && limit - 1 > from ? limit - 1 : limit;
+    }
+
+    private static int trimEnd(String text, int from, int to) {
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+
+    private static void add(String text, int from, int to, List<Segment> segments) {
+        int contentEnd = trimEnd(text, from, to);
+        int contentStart = from;
+        while (contentStart < contentEnd && Character.isWhitespace(text.charAt(contentStart))) {
+            contentStart++;
+        }
+        if (contentStart == contentEnd) {
+            if (!segments.isEmpty()) {
+                // Whitespace-only run: fold it into the previous separator
+                Segment last = segments.remove(segments.size() - 1);
+                segments.add(new Segment(last.text(), last.separator() + text.substring(from, to)));
+            }
+            return;
+        }
+        segments.add(new Segment(text.substring(contentStart, contentEnd), text.substring(contentEnd, to)));
+    }
+}
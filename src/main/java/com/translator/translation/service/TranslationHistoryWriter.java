@@ -0,0 +1,252 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.service.TranslationStatsService.HistoryInsert;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Persists completed translations off the request thread. Rows are queued and each flush writes
+ * a batch in one transaction of three steps: one statement interns every distinct text of the
+ * batch, one multi-row {@code INSERT ... ON CONFLICT DO NOTHING} adds the history rows, and the
+ * stats rollup is updated once per user. A row and its rollup update still commit together.
+ *
+ * A full queue triggers a flush in the background rather than on the request thread. A batch
+ * that fails is queued again, up to {@link #MAX_ATTEMPTS} times; the insert skips ids that
+ * already exist, so retrying a batch whose commit was in doubt neither duplicates rows nor
+ * counts them twice.
+ */
+@Component
+public class TranslationHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationHistoryWriter.class);
+
+    static final int MAX_ATTEMPTS = 3;
+
+    // Texts are interned in sorted order, so concurrent flushes lock shared blobs in one order
+    private static final String INTERN_SQL = """
+            SELECT count(intern_text_blob(t.txt))
+            FROM (SELECT txt FROM unnest(?::text[]) WITH ORDINALITY AS a(txt, n) ORDER BY n) t
+            """;
+
+    // Rows of a user deleted while they were queued are skipped rather than failing the batch
+    private static final String INSERT_SQL = """
+            INSERT INTO translations (id, user_id, source_hash, translated_hash, source_language,
+                                      target_language, provider_used, is_cached, metadata, created_at)
+            SELECT r.id, r.user_id, sha256(convert_to(r.source_text, 'UTF8')),
+                   sha256(convert_to(r.translated_text, 'UTF8')), r.source_language, r.target_language,
+                   r.provider_used, r.is_cached, jsonb_build_object('wordCount', r.word_count), r.created_at
+            FROM unnest(?::uuid[], ?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[],
+                        ?::boolean[], ?::int[], ?::timestamptz[])
+                 AS r(id, user_id, source_text, translated_text, source_language, target_language,
+                      provider_used, is_cached, word_count, created_at)
+            WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = r.user_id)
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TranslationStatsService statsService;
+    private final int batchSize;
+    private final int maxPending;
+    private final Queue<PendingTranslation> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flushExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("history-flush-"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TranslationHistoryWriter(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    TranslationStatsService statsService,
+                                    @Value("${translator.history.write.batch-size:500}") int batchSize,
+                                    @Value("${translator.history.write.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statsService = statsService;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdownNow();
+        flush();
+    }
+
+    /** Queues a completed translation for the next flush. */
+    public void enqueue(TranslationRequestDTO request, String translatedText, String provider, UUID userId, boolean isCached) {
+        int size = queued.get();
+        if (size >= batchSize) {
+            requestFlush();
+        }
+        if (size >= maxPending) {
+            // Flushes are failing or not keeping up; shed load rather than grow without bound
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.add(new PendingTranslation(UUID.randomUUID(), userId, request.getSourceText(), translatedText,
+                request.getSourceLanguage(), request.getTargetLanguage(), provider, isCached,
+                request.getSourceText().split("\\s+").length, OffsetDateTime.now(), 0));
+        queued.incrementAndGet();
+    }
+
+    /** Queues one background flush; further requests are ignored until it starts. */
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // shutting down; the final flush picks the rows up
+            }
+        }
+    }
+
+    /**
+     * Writes the rows queued when the flush starts, {@code batch-size} at a time. Rows queued
+     * meanwhile wait for the next flush, so a steady stream cannot keep one flush running.
+     *
+     * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: the body does JDBC I/O,
+     * and on Java 21 a virtual thread blocking inside a monitor pins its carrier thread.
+     */
+    @Scheduled(fixedDelayString = "${translator.history.write.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            long droppedRows = dropped.getAndSet(0);
+            if (droppedRows > 0) {
+                log.warn("Dropped {} history rows while the write queue was full", droppedRows);
+            }
+            int remaining = queued.get();
+            List<PendingTranslation> retries = new ArrayList<>();
+            while (remaining > 0) {
+                List<PendingTranslation> batch = new ArrayList<>(Math.min(remaining, batchSize));
+                PendingTranslation next;
+                while (batch.size() < batchSize && batch.size() < remaining && (next = queue.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                queued.addAndGet(-batch.size());
+                remaining -= batch.size();
+                writeBatch(batch, retries);
+            }
+            retries.forEach(row -> {
+                queue.add(row);
+                queued.incrementAndGet();
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeBatch(List<PendingTranslation> batch, List<PendingTranslation> retries) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                internTexts(batch);
+                Set<UUID> inserted = new HashSet<>(insertRows(batch));
+                // Users in id order, so concurrent flushes lock stats rows in the same order
+                Map<UUID, List<HistoryInsert>> byUser = new TreeMap<>();
+                for (PendingTranslation row : batch) {
+                    if (inserted.contains(row.id())) {
+                        byUser.computeIfAbsent(row.userId(), id -> new ArrayList<>())
+                                .add(new HistoryInsert(row.targetLanguage(), row.createdAt(), false));
+                    }
+                }
+                byUser.forEach(statsService::recordInserts);
+            });
+        } catch (Exception e) {
+            int requeued = 0;
+            for (PendingTranslation row : batch) {
+                if (row.attempts() + 1 < MAX_ATTEMPTS) {
+                    retries.add(row.retried());
+                    requeued++;
+                }
+            }
+            log.warn("Failed to write {} history rows; {} queued for retry", batch.size(), requeued, e);
+        }
+    }
+
+    private void internTexts(List<PendingTranslation> batch) {
+        TreeSet<String> texts = new TreeSet<>();
+        batch.forEach(row -> {
+            texts.add(row.sourceText());
+            texts.add(row.translatedText());
+        });
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INTERN_SQL);
+            ps.setArray(1, con.createArrayOf("text", texts.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getLong(1));
+    }
+
+    private List<UUID> insertRows(List<PendingTranslation> batch) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+            ps.setArray(1, array(con, "text", batch, row -> row.id().toString()));
+            ps.setArray(2, array(con, "text", batch, row -> row.userId().toString()));
+            ps.setArray(3, array(con, "text", batch, PendingTranslation::sourceText));
+            ps.setArray(4, array(con, "text", batch, PendingTranslation::translatedText));
+            ps.setArray(5, array(con, "text", batch, PendingTranslation::sourceLanguage));
+            ps.setArray(6, array(con, "text", batch, PendingTranslation::targetLanguage));
+            ps.setArray(7, array(con, "text", batch, PendingTranslation::provider));
+            ps.setArray(8, array(con, "bool", batch, PendingTranslation::isCached));
+            ps.setArray(9, array(con, "int4", batch, PendingTranslation::wordCount));
+            ps.setArray(10, array(con, "text", batch, row -> row.createdAt().toString()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    private static Array array(Connection con, String type, List<PendingTranslation> batch,
+                               Function<PendingTranslation, Object> column) throws SQLException {
+        return con.createArrayOf(type, batch.stream().map(column).toArray());
+    }
+
+    private record PendingTranslation(UUID id, UUID userId, String sourceText, String translatedText,
+                                      String sourceLanguage, String targetLanguage, String provider,
+                                      boolean isCached, int wordCount, OffsetDateTime createdAt, int attempts) {
+
+        PendingTranslation retried() {
+            return new PendingTranslation(id, userId, sourceText, translatedText, sourceLanguage, targetLanguage,
+                    provider, isCached, wordCount, createdAt, attempts + 1);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.translator.translation.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The L3 tier: a global, Postgres-backed memory of every provider result, consulted after a
+ * Redis miss and before any provider call. Unlike Redis it survives evictions and restarts.
+ *
+ * Lookups are a single primary-key read. Writes are buffered: repeated results for the same key
+ * collapse into one pending entry with a summed usage count, and the buffer is flushed as one
+ * JDBC batch of upserts. A full buffer triggers a flush in the background rather than on the
+ * request thread; a batch that fails is merged back and retried on the next flush.
+ */
+@Service
+public class TranslationMemoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationMemoryService.class);
+
+    /** Stored in place of a missing source language, which is part of the primary key. */
+    static final String AUTO_DETECT = "auto";
+
+    private static final String LOOKUP_SQL = """
+            SELECT b.content
+            FROM translation_memory m
+            JOIN text_blobs b ON b.hash = m.translated_hash
+            WHERE m.text_hash = sha256(convert_to(?, 'UTF8'))
+              AND m.source_lang = ?
+              AND m.target_lang = ?
+            """;
+
+    // No index on usage_count: it changes on every hit, and indexing it would make each usage
+    // increment a non-HOT update. The top-N sort runs once per instance start.
+    private static final String MOST_USED_SQL = """
+            SELECT sb.content AS source_text, m.target_lang, tb.content AS translated_text
+            FROM translation_memory m
+            JOIN text_blobs sb ON sb.hash = m.text_hash
+            JOIN text_blobs tb ON tb.hash = m.translated_hash
+            ORDER BY m.usage_count DESC
+            LIMIT ?
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO translation_memory (text_hash, source_lang, target_lang, translated_hash,
+                                            provider_used, usage_count)
+            VALUES (intern_text_blob(?), ?, ?, intern_text_blob(?), ?, ?)
+            ON CONFLICT (text_hash, source_lang, target_lang) DO UPDATE SET
+                usage_count = translation_memory.usage_count + EXCLUDED.usage_count,
+                last_used_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String RECORD_USAGE_SQL = """
+            UPDATE translation_memory
+            SET usage_count = usage_count + ?, last_used_at = CURRENT_TIMESTAMP
+            WHERE text_hash = sha256(convert_to(?, 'UTF8'))
+              AND source_lang = ?
+              AND target_lang = ?
+            """;
+
+    private static final String FORGET_SQL = """
+            DELETE FROM translation_memory
+            WHERE text_hash = sha256(convert_to(?, 'UTF8'))
+              AND target_lang = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<MemoryKey, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final int maxPending;
+    private final ExecutorService flushExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("memory-flush-"));
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public TranslationMemoryService(JdbcTemplate jdbcTemplate,
+                                    @Value("${translator.memory.max-pending:10000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdownNow();
+        flush();
+    }
+
+    public Optional<String> lookup(String sourceText, String sourceLang, String targetLang) {
+        try {
+            List<String> rows = jdbcTemplate.queryForList(LOOKUP_SQL, String.class,
+                    sourceText, normalise(sourceLang), targetLang);
+            return rows.stream().findFirst();
+        } catch (Exception e) {
+            // The memory is an optimisation; a database hiccup must not fail the translation
+            log.warn("Translation memory lookup failed", e);
+            return Optional.empty();
+        }
+    }
+
+    /** The {@code limit} most used entries, hottest first; used to warm L1 on startup. */
+    public List<MemoryEntry> mostUsed(int limit) {
+        return jdbcTemplate.query(MOST_USED_SQL, (rs, rowNum) -> new MemoryEntry(
+                rs.getString("source_text"), rs.getString("target_lang"), rs.getString("translated_text")), limit);
+    }
+
+    /** Buffers a fresh provider result for the next flush. */
+    public void remember(String sourceText, String sourceLang, String targetLang,
+                         String translatedText, String provider) {
+        buffer(new MemoryKey(sourceText, normalise(sourceLang), targetLang), translatedText, provider);
+    }
+
+    /** Buffers a usage increment for an entry that was just served from memory. */
+    public void recordUsage(String sourceText, String sourceLang, String targetLang) {
+        buffer(new MemoryKey(sourceText, normalise(sourceLang), targetLang), null, null);
+    }
+
+    /**
+     * Drops every remembered result for {@code sourceText} into {@code targetLang}, whatever the
+     * source language, together with any buffered write that would re-insert it.
+     */
+    public int forget(String sourceText, String targetLang) {
+        pending.keySet().removeIf(key -> key.sourceText().equals(sourceText) && key.targetLang().equals(targetLang));
+        return jdbcTemplate.update(FORGET_SQL, sourceText, targetLang);
+    }
+
+    private void buffer(MemoryKey key, String translatedText, String provider) {
+        int size = pending.size();
+        if (size >= maxPending && !pending.containsKey(key)) {
+            requestFlush();
+            if (size >= 2 * maxPending) {
+                // Flushes are failing or not keeping up; the memory is an optimisation, so shed load
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        pending.merge(key, new PendingWrite(translatedText, provider, 1), PendingWrite::combine);
+    }
+
+    /** Queues one background flush; further requests are ignored until it starts. */
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushRequested.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // shutting down; the final flush picks the entries up
+            }
+        }
+    }
+
+    /**
+     * Writes buffered entries as two batches: upserts for new results and usage increments for
+     * memory hits. Rows are written in key order so concurrent flushes from several instances
+     * lock them in the same order and cannot deadlock.
+     *
+     * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: the body does JDBC I/O,
+     * and on Java 21 a virtual thread blocking inside a monitor pins its carrier thread.
+     */
+    @Scheduled(fixedDelayString = "${translator.memory.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        long droppedWrites = dropped.getAndSet(0);
+        if (droppedWrites > 0) {
+            log.warn("Dropped {} translation memory writes while the buffer was full", droppedWrites);
+        }
+        Map<MemoryKey, PendingWrite> upsertWrites = new LinkedHashMap<>();
+        Map<MemoryKey, PendingWrite> usageWrites = new LinkedHashMap<>();
+        pending.keySet().stream()
+                .sorted(Comparator.comparing(MemoryKey::sourceText)
+                        .thenComparing(MemoryKey::sourceLang)
+                        .thenComparing(MemoryKey::targetLang))
+                .forEach(key -> {
+                    PendingWrite write = pending.remove(key);
+                    if (write == null) {
+                        return;
+                    }
+                    (write.translatedText() != null ? upsertWrites : usageWrites).put(key, write);
+                });
+        List<Object[]> upserts = new ArrayList<>();
+        upsertWrites.forEach((key, write) -> upserts.add(new Object[]{key.sourceText(), key.sourceLang(),
+                key.targetLang(), write.translatedText(), write.provider(), write.uses()}));
+        List<Object[]> usages = new ArrayList<>();
+        usageWrites.forEach((key, write) -> usages.add(new Object[]{write.uses(), key.sourceText(),
+                key.sourceLang(), key.targetLang()}));
+        writeBatch(UPSERT_SQL, upserts, upsertWrites);
+        writeBatch(RECORD_USAGE_SQL, usages, usageWrites);
+    }
+
+    /**
+     * Runs one batch. The driver sends an auto-commit batch as a single implicit transaction, so
+     * a failed batch wrote nothing and its entries are merged back for the next flush.
+     */
+    private void writeBatch(String sql, List<Object[]> batch, Map<MemoryKey, PendingWrite> writes) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, batch);
+        } catch (Exception e) {
+            log.warn("Failed to flush {} translation memory writes; retrying next flush", batch.size(), e);
+            writes.forEach((key, write) -> pending.merge(key, write, PendingWrite::combine));
+        }
+    }
+
+    static String normalise(String sourceLang) {
+        return sourceLang == null || sourceLang.isBlank() ? AUTO_DETECT : sourceLang;
+    }
+
+    public record MemoryEntry(String sourceText, String targetLang, String translatedText) {
+    }
+
+    private record MemoryKey(String sourceText, String sourceLang, String targetLang) {
+    }
+
+    /** A result (or a bare usage increment when {@code translatedText} is null) awaiting flush. */
+    private record PendingWrite(String translatedText, String provider, long uses) {
+
+        PendingWrite combine(PendingWrite other) {
+            // Keep the result if either side carries one, so usage never downgrades an insert
+            return translatedText != null
+                    ? new PendingWrite(translatedText, provider, uses + other.uses)
+                    : new PendingWrite(other.translatedText, other.provider, uses + other.uses);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.translator.translation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly partitions of {@code translations} created ahead of time, so new rows never
+ * fall into the default partition. The work is done by {@code create_translation_partitions}
+ * (V9), which is idempotent and serialised with an advisory lock across instances.
+ */
+@Component
+public class TranslationPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public TranslationPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                           @Value("${translator.history.partitions.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${translator.history.partitions.maintenance-cron:0 15 3 * * *}")
+    public void ensureFuturePartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject(
+                    "SELECT create_translation_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                log.info("Created {} translation partitions ({} months ahead)", created, monthsAhead);
+            }
+        } catch (Exception e) {
+            log.error("Translation partition maintenance failed", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.external.TranslationProvider;
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Priority-ordered provider failover, guarded by the {@code translationService} circuit
+ * breaker and retry. Kept separate from {@link TranslationService} so cache hits are served
+ * without passing through the breaker.
+ *
+ * Callers go through {@link ProviderCallScheduler} first, which caps concurrent provider calls.
+ * A provider whose published language list lacks the pair is skipped rather than called.
+ */
+@Component
+public class TranslationProviderChain {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationProviderChain.class);
+
+    private final List<TranslationProvider> providers;
+    private final LanguageCatalogService languageCatalog;
+    private final TranslatorMetrics metrics;
+
+    public TranslationProviderChain(List<TranslationProvider> providers,
+                                    LanguageCatalogService languageCatalog,
+                                    TranslatorMetrics metrics) {
+        this.providers = new ArrayList<>(providers);
+        this.languageCatalog = languageCatalog;
+        this.metrics = metrics;
+        // Sort providers by priority
+        this.providers.sort(Comparator.comparingInt(TranslationProvider::getPriority));
+    }
+
+    @CircuitBreaker(name = "translationService", fallbackMethod = "fallbackTranslation")
+    @Retry(name = "translationService")
+    public ProviderResult translate(String text, String sourceLang, String targetLang) {
+        for (TranslationProvider provider : providers) {
+            if (!languageCatalog.supports(provider.getProviderName(), sourceLang, targetLang)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                String translated = provider.translate(text, sourceLang, targetLang);
+                metrics.recordStage("provider", provider.getProviderName(), "success", System.nanoTime() - start);
+                return new ProviderResult(translated, provider.getProviderName());
+            } catch (Exception e) {
+                metrics.recordStage("provider", provider.getProviderName(), "failure", System.nanoTime() - start);
+                log.warn("Provider {} failed, trying next: {}", provider.getProviderName(), e.getMessage());
+            }
+        }
+
+        throw new RuntimeException("All translation providers failed");
+    }
+
+    // Fallback for circuit breaker
+    public ProviderResult fallbackTranslation(String text, String sourceLang, String targetLang, Throwable t) {
+        throw new RuntimeException("Service temporarily unavailable. Circuit breaker open. " + t.getMessage());
+    }
+
+    public record ProviderResult(String translatedText, String providerName) {
+    }
+}
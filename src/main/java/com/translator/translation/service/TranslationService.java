@@ -1,116 +1,314 @@
 package com.translator.translation.service;
 
-import com.translator.infrastructure.external.TranslationProvider;
+import com.translator.infrastructure.cache.CaffeineCacheConfig;
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.infrastructure.phrase.PhraseTables;
 import com.translator.translation.dto.TranslationRequestDTO;
 import com.translator.translation.dto.TranslationResponseDTO;
-import com.translator.translation.model.Translation;
-import com.translator.translation.repository.TranslationRepository;
-import com.translator.user.model.User;
-import com.translator.user.repository.UserRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import org.springframework.cache.annotation.Cacheable;
+import com.translator.translation.service.LanguageDetector.DetectedLanguage;
+import com.translator.translation.service.ProviderCallScheduler.Lane;
+import com.translator.translation.service.TranslationProviderChain.ProviderResult;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import org.springframework.util.DigestUtils;
 
 @Service
 @EnableAsync
 public class TranslationService {
 
-    private final List<TranslationProvider> providers;
-    private final TranslationRepository translationRepository;
-    private final UserRepository userRepository;
+    public static final String L1_CACHE = CaffeineCacheConfig.L1_CACHE;
+    private static final String NO_PROVIDER = "none";
+    private static final String PHRASE_TABLE = "PHRASE_TABLE";
+    private static final Predicate<String> CACHE_ANY = translated -> true;
+
+    private final TranslationProviderChain providerChain;
+    private final ProviderCallScheduler providerScheduler;
+    private final LanguageCatalogService languageCatalog;
+    private final TranslationHistoryWriter historyWriter;
+    private final TranslationStatsService statsService;
+    private final TranslationMemoryService translationMemory;
+    private final PhraseTables phraseTables;
+    private final TranslatorMetrics metrics;
+    private final LanguageDetector languageDetector;
     private final StringRedisTemplate redisTemplate;
+    private final Cache l1Cache;
 
-    public TranslationService(List<TranslationProvider> providers,
-                              TranslationRepository translationRepository,
-                              UserRepository userRepository,
-                              StringRedisTemplate redisTemplate) {
-        this.providers = providers;
-        this.translationRepository = translationRepository;
-        this.userRepository = userRepository;
+    public TranslationService(TranslationProviderChain providerChain,
+                              ProviderCallScheduler providerScheduler,
+                              LanguageCatalogService languageCatalog,
+                              TranslationHistoryWriter historyWriter,
+                              TranslationStatsService statsService,
+                              TranslationMemoryService translationMemory,
+                              PhraseTables phraseTables,
+                              TranslatorMetrics metrics,
+                              LanguageDetector languageDetector,
+                              StringRedisTemplate redisTemplate,
+                              CacheManager cacheManager) {
+        this.providerChain = providerChain;
+        this.providerScheduler = providerScheduler;
+        this.languageCatalog = languageCatalog;
+        this.historyWriter = historyWriter;
+        this.statsService = statsService;
+        this.translationMemory = translationMemory;
+        this.phraseTables = phraseTables;
+        this.metrics = metrics;
+        this.languageDetector = languageDetector;
         this.redisTemplate = redisTemplate;
-        
-        // Sort providers by priority
-        this.providers.sort(Comparator.comparingInt(TranslationProvider::getPriority));
+        this.l1Cache = cacheManager.getCache(L1_CACHE);
     }
 
-    @Cacheable(value = "translations-l1-caffeine", key = "#request.sourceText.toLowerCase() + '-' + #request.targetLanguage")
-    @CircuitBreaker(name = "translationService", fallbackMethod = "fallbackTranslation")
-    @Retry(name = "translationService")
     public TranslationResponseDTO translate(TranslationRequestDTO request, UUID userId) {
-        String md5hash = DigestUtils.md5DigestAsHex(request.getSourceText().getBytes());
-        String redisKey = "translation:l2:" + md5hash + ":" + request.getTargetLanguage();
-        
+        long start = System.nanoTime();
+        TranslationResponseDTO response = lookupOrTranslate(resolveSourceLanguage(request), userId, true,
+                Lane.INTERACTIVE, CACHE_ANY);
+        metrics.translationLatencyTimer(response.getProviderUsed())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        metrics.recordTranslationRequest(request.getTargetLanguage(), response.getProviderUsed(),
+                response.isServedFromCache());
+        return response;
+    }
+
+    /**
+     * Translates one segment of a streamed text through the same cache tiers and providers as
+     * {@link #translate}. No history row is written; the caller records the whole text once.
+     */
+    public TranslationResponseDTO translateSegment(ResolvedRequest segment, UUID userId) {
+        return translateSegment(segment, userId, Lane.INTERACTIVE);
+    }
+
+    /**
+     * As {@link #translateSegment(ResolvedRequest, UUID)}, with a cache miss queued for a
+     * provider in the given lane; document jobs use {@link Lane#BULK}.
+     */
+    public TranslationResponseDTO translateSegment(ResolvedRequest segment, UUID userId, Lane lane) {
+        return translateSegment(segment, userId, lane, CACHE_ANY);
+    }
+
+    /**
+     * As {@link #translateSegment(ResolvedRequest, UUID)}, caching a provider result only if it
+     * passes {@code cacheable}. Markup runs use it so a result with mangled placeholders, which
+     * the caller replaces, is not served from the cache tiers to every later request.
+     */
+    public TranslationResponseDTO translateSegment(ResolvedRequest segment, UUID userId, Predicate<String> cacheable) {
+        return translateSegment(segment, userId, Lane.INTERACTIVE, cacheable);
+    }
+
+    private TranslationResponseDTO translateSegment(ResolvedRequest segment, UUID userId, Lane lane,
+                                                    Predicate<String> cacheable) {
+        TranslationResponseDTO response = lookupOrTranslate(segment, userId, false, lane, cacheable);
+        metrics.recordTranslationRequest(segment.request().getTargetLanguage(), response.getProviderUsed(),
+                response.isServedFromCache());
+        return response;
+    }
+
+    /**
+     * Records a text translated in parts (streamed segments, markup runs) as a single history
+     * row once all of them are done.
+     */
+    public void recordSegmentedTranslation(ResolvedRequest request, String translatedText, String provider, UUID userId) {
+        historyWriter.enqueue(request.request(), translatedText, provider, userId, false);
+    }
+
+    /**
+     * Resolves an omitted source language once per request, so L3 keys, the provider call and
+     * history all carry the same concrete code; undetermined text stays "auto".
+     *
+     * @throws UnsupportedLanguageException if no provider lists the requested pair, before any
+     *         detection, cache or provider work
+     */
+    public ResolvedRequest resolveSourceLanguage(TranslationRequestDTO request) {
+        languageCatalog.requireSupported(request.getSourceLanguage(), request.getTargetLanguage());
+        if (!TranslationMemoryService.normalise(request.getSourceLanguage())
+                .equalsIgnoreCase(TranslationMemoryService.AUTO_DETECT)) {
+            return new ResolvedRequest(request, null);
+        }
+        long stageStart = System.nanoTime();
+        DetectedLanguage detected = languageDetector.detect(request.getSourceText());
+        boolean reliable = languageDetector.isReliable(detected);
+        metrics.recordStage("language_detect", NO_PROVIDER, reliable ? "detected" : "undetermined",
+                System.nanoTime() - stageStart);
+        return new ResolvedRequest(
+                withSourceLanguage(request, request.getSourceText(),
+                        reliable ? detected.code() : TranslationMemoryService.AUTO_DETECT),
+                detected.confidence());
+    }
+
+    /**
+     * A request whose source language is final, with the detector's confidence when it was
+     * detected (null when the caller supplied it).
+     */
+    public record ResolvedRequest(TranslationRequestDTO request, Double detectionConfidence) {
+
+        /** The same languages applied to a part of the source text. */
+        public ResolvedRequest forSegment(String segmentText) {
+            return new ResolvedRequest(
+                    withSourceLanguage(request, segmentText, request.getSourceLanguage()), detectionConfidence);
+        }
+    }
+
+    private TranslationResponseDTO lookupOrTranslate(ResolvedRequest resolved, UUID userId, boolean recordHistory,
+                                                     Lane lane, Predicate<String> cacheable) {
+        TranslationRequestDTO request = resolved.request();
+        Double detectionConfidence = resolved.detectionConfidence();
+
+        // Check L1 Caffeine Cache
+        long stageStart = System.nanoTime();
+        String l1Key = l1Key(request.getSourceText(), request.getTargetLanguage());
+        String l1Result = l1Cache.get(l1Key, String.class);
+        metrics.recordL1CacheHit(l1Result != null);
+        metrics.recordStage("l1_lookup", NO_PROVIDER, outcome(l1Result != null), System.nanoTime() - stageStart);
+        if (l1Result != null) {
+            statsService.recordLookup(userId, true);
+            return buildResponse(l1Result, request, "CAFFEINE_CACHE", true, detectionConfidence);
+        }
+
+        String redisKey = l2Key(request.getSourceText(), request.getTargetLanguage());
+
         // Check L2 Redis Cache
+        stageStart = System.nanoTime();
         String cachedResult = redisTemplate.opsForValue().get(redisKey);
+        metrics.recordL2CacheHit(cachedResult != null);
+        metrics.recordStage("l2_lookup", NO_PROVIDER, outcome(cachedResult != null), System.nanoTime() - stageStart);
         if (cachedResult != null) {
-            return buildResponse(cachedResult, request, "REDIS_CACHE", true);
+            l1Cache.put(l1Key, cachedResult);
+            statsService.recordLookup(userId, true);
+            return buildResponse(cachedResult, request, "REDIS_CACHE", true, detectionConfidence);
+        }
+
+        // Check L3 translation memory, then backfill L2 and L1 from it
+        stageStart = System.nanoTime();
+        Optional<String> remembered = translationMemory.lookup(
+                request.getSourceText(), request.getSourceLanguage(), request.getTargetLanguage());
+        metrics.recordL3CacheHit(remembered.isPresent());
+        metrics.recordStage("l3_lookup", NO_PROVIDER, outcome(remembered.isPresent()), System.nanoTime() - stageStart);
+        if (remembered.isPresent()) {
+            redisTemplate.opsForValue().set(redisKey, remembered.get(), Duration.ofHours(24));
+            l1Cache.put(l1Key, remembered.get());
+            translationMemory.recordUsage(
+                    request.getSourceText(), request.getSourceLanguage(), request.getTargetLanguage());
+            statsService.recordLookup(userId, true);
+            return buildResponse(remembered.get(), request, "TRANSLATION_MEMORY", true, detectionConfidence);
         }
 
-        // Try providers in priority
-        for (TranslationProvider provider : providers) {
-            try {
-                String translated = provider.translate(request.getSourceText(), request.getSourceLanguage(), request.getTargetLanguage());
-                
-                // Save to Redis (L2) TTL 24h
-                redisTemplate.opsForValue().set(redisKey, translated, Duration.ofHours(24));
-                
-                TranslationResponseDTO response = buildResponse(translated, request, provider.getProviderName(), false);
-                
-                // Persist async
-                persistTranslationAsync(request, translated, provider.getProviderName(), userId, false);
-                
-                return response;
-            } catch (Exception e) {
-                // Log and try next provider
+        // Check the local phrase tables; a hit needs no provider slot and never touches the breaker
+        stageStart = System.nanoTime();
+        Optional<String> phrase = phraseTables.lookup(
+                request.getSourceText(), request.getSourceLanguage(), request.getTargetLanguage());
+        metrics.recordStage("phrase_table_lookup", NO_PROVIDER, outcome(phrase.isPresent()),
+                System.nanoTime() - stageStart);
+        if (phrase.isPresent()) {
+            l1Cache.put(l1Key, phrase.get());
+            statsService.recordLookup(userId, true);
+            if (recordHistory) {
+                historyWriter.enqueue(request, phrase.get(), PHRASE_TABLE, userId, false);
             }
+            return buildResponse(phrase.get(), request, PHRASE_TABLE, true, detectionConfidence);
         }
-        
-        throw new RuntimeException("All translation providers failed");
-    }
-    
-    // Fallback for circuit breaker
-    public TranslationResponseDTO fallbackTranslation(TranslationRequestDTO request, UUID userId, Throwable t) {
-         throw new RuntimeException("Service temporarily unavailable. Circuit breaker open. " + t.getMessage());
-    }
-
-    @Async
-    public void persistTranslationAsync(TranslationRequestDTO request, String translatedText, String provider, UUID userId, boolean isCached) {
-        User user = userRepository.findById(userId).orElseThrow();
-        Translation translation = Translation.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .sourceText(request.getSourceText())
-                .translatedText(translatedText)
-                .sourceLanguage(request.getSourceLanguage())
-                .targetLanguage(request.getTargetLanguage())
-                .providerUsed(provider)
-                .isCached(isCached)
-                .metadata(Map.of("wordCount", request.getSourceText().split("\\s+").length))
-                .build();
-                
-        translationRepository.save(translation);
+
+        // Wait for a provider slot in this lane, then try providers in priority (circuit breaker + retry)
+        ProviderResult result = providerScheduler.call(lane, userId, request.getSourceText().length(),
+                () -> providerChain.translate(
+                        request.getSourceText(), request.getSourceLanguage(), request.getTargetLanguage()));
+
+        // Save to Redis (L2) TTL 24h, back-fill L1 and queue for L3
+        if (cacheable.test(result.translatedText())) {
+            redisTemplate.opsForValue().set(redisKey, result.translatedText(), Duration.ofHours(24));
+            l1Cache.put(l1Key, result.translatedText());
+            translationMemory.remember(request.getSourceText(), request.getSourceLanguage(),
+                    request.getTargetLanguage(), result.translatedText(), result.providerName());
+        }
+        statsService.recordLookup(userId, false);
+
+        // Persist async; only the hand-off to the executor is on the request path
+        if (recordHistory) {
+            stageStart = System.nanoTime();
+            historyWriter.enqueue(request, result.translatedText(), result.providerName(), userId, false);
+            metrics.recordStage("persist_enqueue", NO_PROVIDER, "success", System.nanoTime() - stageStart);
+        }
+
+        return buildResponse(result.translatedText(), request, result.providerName(), false, detectionConfidence);
+    }
+
+    private static String outcome(boolean hit) {
+        return hit ? "hit" : "miss";
+    }
+
+    private static TranslationRequestDTO withSourceLanguage(TranslationRequestDTO request, String sourceText,
+                                                            String sourceLanguage) {
+        TranslationRequestDTO resolved = new TranslationRequestDTO();
+        resolved.setSourceText(sourceText);
+        resolved.setTargetLanguage(request.getTargetLanguage());
+        resolved.setSourceLanguage(sourceLanguage);
+        return resolved;
+    }
+
+    static String l1Key(String sourceText, String targetLanguage) {
+        return sourceText.toLowerCase() + "-" + targetLanguage;
+    }
+
+    static String l2Key(String sourceText, String targetLanguage) {
+        return "translation:l2:" + DigestUtils.md5DigestAsHex(sourceText.getBytes()) + ":" + targetLanguage;
+    }
+
+    /**
+     * Same result as {@code text.split("\\s+").length} without the regex, the substrings and
+     * the array: an empty leading token counts, trailing ones do not.
+     */
+    static int wordCount(String text) {
+        int words = 0;
+        boolean inWord = false;
+        boolean separated = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = isRegexWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+            separated |= whitespace;
+        }
+        if (!separated) {
+            return 1;
+        }
+        return words == 0 ? 0 : words + (isRegexWhitespace(text.charAt(0)) ? 1 : 0);
+    }
+
+    /** {@code \s} in java.util.regex: ASCII whitespace only. */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * A random version-4 UUID from {@link ThreadLocalRandom}. The id is not a secret, and
+     * {@link UUID#randomUUID()} goes through one shared SecureRandom on every response.
+     */
+    static UUID responseId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
     }
 
-    private TranslationResponseDTO buildResponse(String translated, TranslationRequestDTO req, String provider, boolean cached) {
+    private TranslationResponseDTO buildResponse(String translated, TranslationRequestDTO req, String provider, boolean cached,
+                                                 Double detectionConfidence) {
         return TranslationResponseDTO.builder()
-                .translationId(UUID.randomUUID()) // Or fetch real from DB if blocking
+                .translationId(responseId()) // Or fetch real from DB if blocking
                 .translatedText(translated)
-                .sourceLanguageDetected(req.getSourceLanguage() == null ? "en" : req.getSourceLanguage())
+                .sourceLanguageDetected(req.getSourceLanguage())
+                .detectionConfidence(detectionConfidence)
                 .targetLanguage(req.getTargetLanguage())
                 .providerUsed(provider)
                 .servedFromCache(cached)
-                .wordCount(req.getSourceText().split("\\s+").length)
+                .wordCount(wordCount(req.getSourceText()))
                 .characterCount(req.getSourceText().length())
                 .build();
     }
@@ -0,0 +1,233 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.HistoryStatsDTO;
+import com.translator.translation.model.UserTranslationStats;
+import com.translator.translation.repository.UserTranslationStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the {@code user_translation_stats} rollup.
+ *
+ * History mutations update the row inside the caller's transaction, under a row lock, so the
+ * rollup commits or rolls back together with the write. Lookup and cache-hit counts are far
+ * hotter (every L1 hit), so they are tallied in memory and flushed as one JDBC batch.
+ * Every change is also reported to {@link HistoryVersionService}, which versions the ETags of
+ * the history and stats endpoints.
+ */
+@Service
+public class TranslationStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationStatsService.class);
+
+    private static final String FLUSH_LOOKUPS_SQL = """
+            INSERT INTO user_translation_stats (user_id, lookup_count, cache_hit_count)
+            VALUES (?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET
+                lookup_count = user_translation_stats.lookup_count + EXCLUDED.lookup_count,
+                cache_hit_count = user_translation_stats.cache_hit_count + EXCLUDED.cache_hit_count,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final UserTranslationStatsRepository statsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HistoryVersionService versionService;
+    private final int retainedWeeks;
+    private final ConcurrentHashMap<UUID, LookupTally> pendingLookups = new ConcurrentHashMap<>();
+
+    public TranslationStatsService(UserTranslationStatsRepository statsRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   HistoryVersionService versionService,
+                                   @Value("${translator.stats.retained-weeks:12}") int retainedWeeks) {
+        this.statsRepository = statsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.versionService = versionService;
+        this.retainedWeeks = retainedWeeks;
+    }
+
+    // ── History mutations (same transaction as the write) ────────────────────
+
+    @Transactional
+    public void recordInsert(UUID userId, String targetLanguage, OffsetDateTime createdAt, boolean favorite) {
+        recordInserts(userId, List.of(new HistoryInsert(targetLanguage, createdAt, favorite)));
+    }
+
+    /** Applies a batch of one user's new history rows under a single lock of the rollup row. */
+    @Transactional
+    public void recordInserts(UUID userId, List<HistoryInsert> inserts) {
+        UserTranslationStats stats = lockStats(userId);
+        for (HistoryInsert insert : inserts) {
+            stats.setTotalCount(stats.getTotalCount() + 1);
+            if (insert.favorite()) {
+                stats.setFavoriteCount(stats.getFavoriteCount() + 1);
+            }
+            stats.getLanguageCounts().merge(insert.targetLanguage(), 1L, Long::sum);
+            stats.getWeeklyCounts().merge(weekBucket(insert.createdAt()), 1L, Long::sum);
+            if (stats.getLastTranslationAt() == null || insert.createdAt().isAfter(stats.getLastTranslationAt())) {
+                stats.setLastTranslationAt(insert.createdAt());
+            }
+        }
+        pruneWeeks(stats.getWeeklyCounts());
+        stats.setUpdatedAt(OffsetDateTime.now());
+        versionService.historyChanged(userId);
+    }
+
+    @Transactional
+    public void recordFavoriteChange(UUID userId, boolean nowFavorite) {
+        UserTranslationStats stats = lockStats(userId);
+        stats.setFavoriteCount(Math.max(0, stats.getFavoriteCount() + (nowFavorite ? 1 : -1)));
+        stats.setUpdatedAt(OffsetDateTime.now());
+        versionService.historyChanged(userId);
+    }
+
+    @Transactional
+    public void recordRemoval(UUID userId, String targetLanguage, OffsetDateTime createdAt, boolean favorite) {
+        UserTranslationStats stats = lockStats(userId);
+        stats.setTotalCount(Math.max(0, stats.getTotalCount() - 1));
+        if (favorite) {
+            stats.setFavoriteCount(Math.max(0, stats.getFavoriteCount() - 1));
+        }
+        decrement(stats.getLanguageCounts(), targetLanguage);
+        decrement(stats.getWeeklyCounts(), weekBucket(createdAt));
+        stats.setUpdatedAt(OffsetDateTime.now());
+        versionService.historyChanged(userId);
+    }
+
+    /**
+     * Zeroes the history-derived counters after a full purge. Lookup and cache-hit
+     * counts describe traffic rather than stored history, so they are kept.
+     */
+    @Transactional
+    public void resetHistory(UUID userId) {
+        UserTranslationStats stats = lockStats(userId);
+        stats.setTotalCount(0);
+        stats.setFavoriteCount(0);
+        stats.getLanguageCounts().clear();
+        stats.getWeeklyCounts().clear();
+        stats.setLastTranslationAt(null);
+        stats.setUpdatedAt(OffsetDateTime.now());
+        versionService.historyChanged(userId);
+    }
+
+    /**
+     * Recomputes history counters from the table once a purge has finished, correcting any
+     * inserts that raced with {@link #resetHistory(UUID)} and were then purged.
+     */
+    @Transactional
+    public void rebuildHistory(UUID userId) {
+        statsRepository.insertIfAbsent(userId);
+        statsRepository.rebuildHistoryCounters(userId, retainedWeeks);
+        versionService.historyChanged(userId);
+    }
+
+    // ── Lookup tallies (batched) ──────────────────────────────────────────────
+
+    public void recordLookup(UUID userId, boolean servedFromCache) {
+        LookupTally tally = pendingLookups.computeIfAbsent(userId, id -> new LookupTally());
+        tally.lookups.increment();
+        if (servedFromCache) {
+            tally.cacheHits.increment();
+        }
+    }
+
+    /**
+     * Writes pending lookup tallies in a single batch. Counts are best-effort: an increment
+     * racing with the removal of an idle user's tally can be dropped.
+     */
+    @Scheduled(fixedDelayString = "${translator.stats.flush-interval-ms:10000}")
+    public void flushLookups() {
+        List<Object[]> batch = new ArrayList<>();
+        List<UUID> flushedUsers = new ArrayList<>();
+        for (Map.Entry<UUID, LookupTally> entry : pendingLookups.entrySet()) {
+            long lookups = entry.getValue().lookups.sumThenReset();
+            long hits = entry.getValue().cacheHits.sumThenReset();
+            if (lookups == 0) {
+                pendingLookups.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            batch.add(new Object[]{entry.getKey(), lookups, hits});
+            flushedUsers.add(entry.getKey());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_LOOKUPS_SQL, batch);
+        } catch (Exception e) {
+            log.warn("Failed to flush lookup stats for {} users", batch.size(), e);
+            return;
+        }
+        versionService.lookupsChanged(flushedUsers);
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public HistoryStatsDTO getStats(UUID userId) {
+        return statsRepository.findById(userId)
+                .map(this::toDto)
+                .orElseGet(() -> HistoryStatsDTO.builder().build());
+    }
+
+    private HistoryStatsDTO toDto(UserTranslationStats stats) {
+        String mostUsedLanguage = stats.getLanguageCounts().entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        long thisWeek = stats.getWeeklyCounts().getOrDefault(weekBucket(OffsetDateTime.now()), 0L);
+        double cacheHitRate = stats.getLookupCount() == 0
+                ? 0.0
+                : (double) stats.getCacheHitCount() / stats.getLookupCount();
+
+        return HistoryStatsDTO.builder()
+                .totalTranslations(stats.getTotalCount())
+                .favoriteCount(stats.getFavoriteCount())
+                .translationsThisWeek(thisWeek)
+                .mostUsedLanguage(mostUsedLanguage)
+                .cacheHitRate(cacheHitRate)
+                .build();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private UserTranslationStats lockStats(UUID userId) {
+        statsRepository.insertIfAbsent(userId);
+        return statsRepository.findByUserIdForUpdate(userId).orElseThrow();
+    }
+
+    private void pruneWeeks(Map<String, Long> weeklyCounts) {
+        String oldest = weekBucket(OffsetDateTime.now().minusWeeks(retainedWeeks));
+        weeklyCounts.keySet().removeIf(week -> week.compareTo(oldest) < 0);
+    }
+
+    private static void decrement(Map<String, Long> counts, String key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    static String weekBucket(OffsetDateTime at) {
+        return at.atZoneSameInstant(ZoneOffset.UTC).toLocalDate().with(DayOfWeek.MONDAY).toString();
+    }
+
+    public record HistoryInsert(String targetLanguage, OffsetDateTime createdAt, boolean favorite) {
+    }
+
+    private static final class LookupTally {
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+    }
+}
@@ -0,0 +1,131 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.dto.TranslationSegmentDTO;
+import com.translator.translation.service.TextSegmenter.Segment;
+import com.translator.translation.service.TranslationService.ResolvedRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Streams long translations segment by segment, so time-to-first-byte is one segment's round
+ * trip instead of the whole text's.
+ *
+ * The source language is resolved once for the whole text. Each segment then goes through the
+ * normal L1 → L2 → L3 → provider path, so common sentences are served from cache individually.
+ * Up to {@code max-in-flight} segments of one request run concurrently on a shared pool. Results
+ * are emitted strictly in order, each as soon as it and all earlier segments are done. Provider
+ * calls stay bounded by {@link ProviderCallScheduler} across all requests.
+ */
+@Service
+public class TranslationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranslationStreamService.class);
+    private static final String NO_PROVIDER = "none";
+
+    /** Receives segments in order; an {@link IOException} (client gone) aborts the stream. */
+    @FunctionalInterface
+    public interface SegmentSink {
+        void accept(TranslationSegmentDTO segment) throws IOException;
+    }
+
+    private final TranslationService translationService;
+    private final TranslatorMetrics metrics;
+    private final int segmentChars;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+
+    public TranslationStreamService(TranslationService translationService,
+                                    TranslatorMetrics metrics,
+                                    @Value("${translator.streaming.segment-chars:400}") int segmentChars,
+                                    @Value("${translator.streaming.max-in-flight:4}") int maxInFlight,
+                                    @Value("${translator.streaming.threads:32}") int threads) {
+        this.translationService = translationService;
+        this.metrics = metrics;
+        this.segmentChars = segmentChars;
+        this.maxInFlight = maxInFlight;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("translation-stream-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void stream(TranslationRequestDTO request, UUID userId, SegmentSink sink) throws IOException {
+        long start = System.nanoTime();
+        ResolvedRequest resolved = translationService.resolveSourceLanguage(request);
+        List<Segment> segments = TextSegmenter.split(request.getSourceText(), segmentChars);
+        List<Future<TranslationResponseDTO>> pending = new ArrayList<>(segments.size());
+        StringBuilder translated = new StringBuilder(request.getSourceText().length());
+        String provider = null;
+        try {
+            for (int i = 0; i < segments.size(); i++) {
+                // Keep a window of max-in-flight segments ahead of the one being emitted
+                while (pending.size() < segments.size() && pending.size() < i + maxInFlight) {
+                    ResolvedRequest segment = resolved.forSegment(segments.get(pending.size()).text());
+                    pending.add(executor.submit(() -> translationService.translateSegment(segment, userId)));
+                }
+                TranslationResponseDTO response;
+                try {
+                    response = pending.get(i).get();
+                } catch (ExecutionException e) {
+                    log.warn("Segment {}/{} failed, ending stream: {}", i + 1, segments.size(), e.getCause().getMessage());
+                    metrics.recordStage("stream", NO_PROVIDER, "failure", System.nanoTime() - start);
+                    sink.accept(TranslationSegmentDTO.builder()
+                            .index(i)
+                            .totalSegments(segments.size())
+                            .error("Translation failed")
+                            .build());
+                    return;
+                }
+                sink.accept(TranslationSegmentDTO.builder()
+                        .index(i)
+                        .totalSegments(segments.size())
+                        .translatedText(response.getTranslatedText())
+                        .separator(segments.get(i).separator())
+                        .sourceLanguageDetected(response.getSourceLanguageDetected())
+                        .detectionConfidence(response.getDetectionConfidence())
+                        .targetLanguage(response.getTargetLanguage())
+                        .providerUsed(response.getProviderUsed())
+                        .servedFromCache(response.isServedFromCache())
+                        .build());
+                if (i == 0) {
+                    metrics.recordStage("stream_first_segment", NO_PROVIDER, "success", System.nanoTime() - start);
+                }
+                translated.append(response.getTranslatedText()).append(segments.get(i).separator());
+                if (provider == null && !response.isServedFromCache()) {
+                    provider = response.getProviderUsed();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming translation");
+        } finally {
+            // No-op after a full run; on failure or disconnect stops segments nobody will read
+            pending.forEach(future -> future.cancel(true));
+        }
+        metrics.recordStage("stream", NO_PROVIDER, "success", System.nanoTime() - start);
+
+        // Like a single translation, history is written only when a provider was involved
+        if (provider != null) {
+            translationService.recordSegmentedTranslation(resolved, translated.toString().strip(), provider, userId);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.translator.translation.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** No provider translates the requested language pair; rejected before any cache or provider work. */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedLanguageException extends RuntimeException {
+
+    public UnsupportedLanguageException(String message) {
+        super(message);
+    }
+}
@@ -18,5 +18,6 @@ public class UserSummaryDTO {
     private String role;
     private boolean isActive;
     private long translationCount;
+    private OffsetDateTime lastActivityAt;
     private OffsetDateTime createdAt;
 }
@@ -0,0 +1,26 @@
+package com.translator.user.repository;
+
+import com.translator.user.model.Role;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A user joined with their maintained translation counters.
+ */
+public interface UserActivityView {
+
+    UUID getId();
+
+    String getEmail();
+
+    Role getRole();
+
+    Boolean getActive();
+
+    OffsetDateTime getCreatedAt();
+
+    Long getTranslationCount();
+
+    OffsetDateTime getLastActivityAt();
+}
@@ -1,9 +1,14 @@
 package com.translator.user.repository;
 
 import com.translator.user.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +18,28 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    /**
+     * One set-based query for the admin listing: users joined to their stats rollup, so
+     * translation counts never touch the {@code translations} table. Every user has a stats
+     * row (V13), so the join is inner and the counters are filtered and sorted as stored,
+     * where the V7 indexes apply. Sort with {@code JpaSort.unsafe} over the {@code u} /
+     * {@code s} aliases.
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.email AS email, u.role AS role, u.isActive AS active, u.createdAt AS createdAt,
+                   s.totalCount AS translationCount, s.lastTranslationAt AS lastActivityAt
+            FROM User u JOIN UserTranslationStats s ON s.userId = u.id
+            WHERE s.totalCount >= :minTranslations
+              AND (:activeSince IS NULL OR s.lastTranslationAt >= :activeSince)
+            """,
+            countQuery = """
+            SELECT count(u)
+            FROM User u JOIN UserTranslationStats s ON s.userId = u.id
+            WHERE s.totalCount >= :minTranslations
+              AND (:activeSince IS NULL OR s.lastTranslationAt >= :activeSince)
+            """)
+    Page<UserActivityView> findUserActivity(@Param("minTranslations") long minTranslations,
+                                            @Param("activeSince") OffsetDateTime activeSince,
+                                            Pageable pageable);
 }
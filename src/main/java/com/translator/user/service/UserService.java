@@ -4,17 +4,33 @@ import com.translator.infrastructure.security.JwtService;
 import com.translator.user.dto.AuthResponseDTO;
 import com.translator.user.dto.LoginRequestDTO;
 import com.translator.user.dto.RegisterRequestDTO;
+import com.translator.user.dto.UserSummaryDTO;
 import com.translator.user.model.Role;
 import com.translator.user.model.User;
+import com.translator.user.repository.UserActivityView;
 import com.translator.user.repository.UserRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 public class UserService {
 
+    // Client-facing sort keys mapped onto the aliases of UserRepository.findUserActivity
+    private static final Map<String, String> ACTIVITY_SORT_EXPRESSIONS = Map.of(
+            "email", "u.email",
+            "createdAt", "u.createdAt",
+            "translationCount", "s.totalCount",
+            "lastActivityAt", "s.lastTranslationAt");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
@@ -82,6 +98,39 @@ public class UserService {
         }
     }
 
+    /**
+     * Admin listing with translation counts from the stats rollup. Sortable by
+     * {@code email}, {@code createdAt}, {@code translationCount} and {@code lastActivityAt};
+     * other sort keys are ignored.
+     */
+    public Page<UserSummaryDTO> listUserSummaries(long minTranslations, OffsetDateTime activeSince, Pageable pageable) {
+        Sort sort = Sort.unsorted();
+        for (Sort.Order order : pageable.getSort()) {
+            String expression = ACTIVITY_SORT_EXPRESSIONS.get(order.getProperty());
+            if (expression != null) {
+                sort = sort.and(JpaSort.unsafe(order.getDirection(), expression));
+            }
+        }
+        if (sort.isUnsorted()) {
+            sort = JpaSort.unsafe(Sort.Direction.DESC, "u.createdAt");
+        }
+
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        return userRepository.findUserActivity(minTranslations, activeSince, page).map(this::toUserSummary);
+    }
+
+    private UserSummaryDTO toUserSummary(UserActivityView view) {
+        return UserSummaryDTO.builder()
+                .id(view.getId())
+                .email(view.getEmail())
+                .role(view.getRole().name())
+                .isActive(Boolean.TRUE.equals(view.getActive()))
+                .translationCount(view.getTranslationCount())
+                .lastActivityAt(view.getLastActivityAt())
+                .createdAt(view.getCreatedAt())
+                .build();
+    }
+
     private AuthResponseDTO buildAuthResponse(User user) {
         String accessToken = jwtService.generateAccessToken(user.getId(), user.getRole().name());
         String refreshToken = jwtService.generateRefreshToken(user.getId());
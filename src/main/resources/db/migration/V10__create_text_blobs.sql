@@ -0,0 +1,106 @@
+-- Content-addressed text storage. The same phrases are translated by many users, so source and
+-- translated texts are stored once in text_blobs, keyed by the SHA-256 of their UTF-8 bytes,
+-- and translations keeps only the two 32-byte hashes. Full-text and trigram indexes move with
+-- the text, so they are built over distinct content instead of every history row.
+CREATE TABLE text_blobs (
+    hash BYTEA PRIMARY KEY,
+    content TEXT NOT NULL,
+    search_vector tsvector GENERATED ALWAYS AS (to_tsvector('simple', content)) STORED,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Insert-if-absent for one text, returning its hash. Used as the write expression of the
+-- Translation text attributes, so interning happens inside the INSERT with no extra round trip.
+CREATE OR REPLACE FUNCTION intern_text_blob(txt text) RETURNS bytea
+LANGUAGE plpgsql AS $$
+DECLARE
+    h bytea := sha256(convert_to(txt, 'UTF8'));
+BEGIN
+    INSERT INTO text_blobs (hash, content) VALUES (h, txt) ON CONFLICT (hash) DO NOTHING;
+    RETURN h;
+END $$;
+
+-- Migrate existing history: intern every distinct text in one set-based pass, then point rows at it
+INSERT INTO text_blobs (hash, content)
+SELECT sha256(convert_to(s.txt, 'UTF8')), s.txt
+FROM (SELECT source_text AS txt FROM translations
+      UNION
+      SELECT translated_text FROM translations) s
+ON CONFLICT (hash) DO NOTHING;
+
+ALTER TABLE translations ADD COLUMN source_hash BYTEA, ADD COLUMN translated_hash BYTEA;
+
+UPDATE translations
+SET source_hash = sha256(convert_to(source_text, 'UTF8')),
+    translated_hash = sha256(convert_to(translated_text, 'UTF8'));
+
+ALTER TABLE translations ALTER COLUMN source_hash SET NOT NULL,
+                         ALTER COLUMN translated_hash SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_translations_search_vector;
+DROP INDEX IF EXISTS idx_translations_source_text_lower_trgm;
+ALTER TABLE translations DROP COLUMN search_vector,
+                         DROP COLUMN source_text,
+                         DROP COLUMN translated_text;
+
+ALTER TABLE translations ADD CONSTRAINT fk_translations_source_blob
+    FOREIGN KEY (source_hash) REFERENCES text_blobs(hash);
+ALTER TABLE translations ADD CONSTRAINT fk_translations_translated_blob
+    FOREIGN KEY (translated_hash) REFERENCES text_blobs(hash);
+
+-- Search resolves matching blobs first and then the user's rows that reference them; the
+-- trailing user_id keeps a popular phrase from fanning out across every user's history.
+-- The hash prefix also serves FK checks and orphan cleanup.
+CREATE INDEX idx_translations_source_hash_user
+    ON translations (source_hash, user_id);
+CREATE INDEX idx_translations_translated_hash_user
+    ON translations (translated_hash, user_id);
+
+CREATE INDEX idx_text_blobs_search_vector
+    ON text_blobs USING gin (search_vector);
+CREATE INDEX idx_text_blobs_content_lower_trgm
+    ON text_blobs USING gin (lower(content) gin_trgm_ops);
+CREATE INDEX idx_text_blobs_created
+    ON text_blobs (created_at);
+
+DO $$
+DECLARE
+    part record;
+BEGIN
+    FOR part IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'translations'::regclass
+    LOOP
+        PERFORM rename_translation_partition_indexes(part.relname);
+    END LOOP;
+END $$;
+
+-- Same as V9, with the new column list for rows moved out of the default partition
+CREATE OR REPLACE FUNCTION create_translation_partition(month_start date) RETURNS boolean
+LANGUAGE plpgsql AS $$
+DECLARE
+    part text := 'translations_p' || to_char(month_start, 'YYYY_MM');
+    lower_bound timestamptz := month_start::timestamp AT TIME ZONE 'UTC';
+    upper_bound timestamptz := (month_start + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    CREATE TEMP TABLE translation_partition_backlog AS
+        SELECT id, user_id, source_hash, translated_hash, source_language, target_language,
+               provider_used, is_cached, is_favorite, metadata, created_at
+        FROM translations_default
+        WHERE created_at >= lower_bound AND created_at < upper_bound;
+    DELETE FROM translations_default WHERE created_at >= lower_bound AND created_at < upper_bound;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF translations FOR VALUES FROM (%L) TO (%L)',
+                   part, lower_bound, upper_bound);
+    PERFORM rename_translation_partition_indexes(part);
+
+    INSERT INTO translations (id, user_id, source_hash, translated_hash, source_language, target_language,
+                              provider_used, is_cached, is_favorite, metadata, created_at)
+    SELECT * FROM translation_partition_backlog;
+    DROP TABLE translation_partition_backlog;
+    RETURN true;
+END $$;
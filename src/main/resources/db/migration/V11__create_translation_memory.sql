@@ -0,0 +1,36 @@
+-- Global translation memory: the L3 tier behind Caffeine (L1) and Redis (L2). One row per
+-- distinct (source text, source language, target language); both texts live in text_blobs.
+-- source_lang is 'auto' when the caller did not specify one.
+CREATE TABLE translation_memory (
+    text_hash BYTEA NOT NULL REFERENCES text_blobs(hash),
+    source_lang VARCHAR(10) NOT NULL,
+    target_lang VARCHAR(10) NOT NULL,
+    translated_hash BYTEA NOT NULL REFERENCES text_blobs(hash),
+    provider_used VARCHAR(50),
+    usage_count BIGINT NOT NULL DEFAULT 1,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_used_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (text_hash, source_lang, target_lang)
+);
+
+-- Lets the text_blobs orphan sweep check references from memory cheaply
+CREATE INDEX idx_translation_memory_translated_hash
+    ON translation_memory (translated_hash);
+
+-- Seed from history, which already holds every provider result: the most recent translation
+-- of each text wins and usage is the number of times it was requested
+INSERT INTO translation_memory (text_hash, source_lang, target_lang, translated_hash, provider_used,
+                                usage_count, created_at, last_used_at)
+SELECT DISTINCT ON (t.source_hash, coalesce(t.source_language, 'auto'), t.target_language)
+       t.source_hash,
+       coalesce(t.source_language, 'auto'),
+       t.target_language,
+       t.translated_hash,
+       t.provider_used,
+       count(*) OVER w,
+       min(t.created_at) OVER w,
+       max(t.created_at) OVER w
+FROM translations t
+WHERE NOT t.is_cached
+WINDOW w AS (PARTITION BY t.source_hash, coalesce(t.source_language, 'auto'), t.target_language)
+ORDER BY t.source_hash, coalesce(t.source_language, 'auto'), t.target_language, t.created_at DESC;
@@ -0,0 +1,32 @@
+-- Document translation jobs. Input and output live in S3 under documents/<job id>/; the row holds
+-- progress so any node can report it, and the heartbeat lets another node resume a job whose
+-- worker died (from the start: finished segments are then served from the cache tiers).
+CREATE TABLE document_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    format VARCHAR(10) NOT NULL CHECK (format IN ('TEXT', 'SRT', 'VTT')),
+    source_language VARCHAR(10),
+    target_language VARCHAR(10) NOT NULL,
+    input_key VARCHAR(1024) NOT NULL,
+    output_key VARCHAR(1024) NOT NULL,
+    -- Open multipart upload of the output, aborted if the job is restarted or fails
+    upload_id VARCHAR(1024),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    total_bytes BIGINT NOT NULL DEFAULT 0,
+    processed_bytes BIGINT NOT NULL DEFAULT 0,
+    completed_segments BIGINT NOT NULL DEFAULT 0,
+    cached_segments BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    requested_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_document_jobs_user_requested
+    ON document_jobs (user_id, requested_at DESC);
+
+CREATE INDEX idx_document_jobs_open
+    ON document_jobs (status)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,20 @@
+-- Every user gets a zeroed stats row when created, so the admin listing can inner-join the
+-- rollup and sort / filter on the raw total_count and last_translation_at columns, which the
+-- V7 indexes cover. With a LEFT JOIN the listing needed coalesce(total_count, 0), which no
+-- index on user_translation_stats can serve.
+INSERT INTO user_translation_stats (user_id)
+SELECT u.id
+FROM users u
+WHERE NOT EXISTS (SELECT 1 FROM user_translation_stats s WHERE s.user_id = u.id);
+
+CREATE OR REPLACE FUNCTION create_user_translation_stats() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO user_translation_stats (user_id) VALUES (NEW.id) ON CONFLICT (user_id) DO NOTHING;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_users_create_translation_stats
+    AFTER INSERT ON users
+    FOR EACH ROW EXECUTE FUNCTION create_user_translation_stats();
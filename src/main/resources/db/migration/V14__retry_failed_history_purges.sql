@@ -0,0 +1,12 @@
+-- A failed purge is retried: the user's stats are already reset and the rows hidden behind the
+-- tombstone, so giving up would leave them undeleted for good. retry_at is when the next
+-- attempt may claim the job, backing off with the number of attempts so far.
+ALTER TABLE history_purge_jobs
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN retry_at TIMESTAMP WITH TIME ZONE;
+
+DROP INDEX idx_history_purge_jobs_open;
+
+CREATE INDEX idx_history_purge_jobs_open
+    ON history_purge_jobs (status)
+    WHERE status IN ('PENDING', 'RUNNING', 'FAILED');
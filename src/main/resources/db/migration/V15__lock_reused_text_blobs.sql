@@ -0,0 +1,59 @@
+-- Closes the race between interning a text and the orphan sweep. ON CONFLICT DO NOTHING takes no
+-- lock on an existing blob, so the sweep could delete it after intern_text_blob() had returned
+-- its hash and before the referencing row's foreign key was checked, failing that write.
+--
+-- A reused blob is now locked FOR KEY SHARE until the interning transaction ends. The lock is
+-- shared, so concurrent writers of the same phrase do not wait on each other, but it conflicts
+-- with the sweep's FOR UPDATE. If the sweep got there first and deleted the blob, the lock finds
+-- no row and the text is inserted again.
+CREATE OR REPLACE FUNCTION intern_text_blob(txt text) RETURNS bytea
+LANGUAGE plpgsql AS $$
+DECLARE
+    h bytea := sha256(convert_to(txt, 'UTF8'));
+BEGIN
+    LOOP
+        INSERT INTO text_blobs (hash, content) VALUES (h, txt) ON CONFLICT (hash) DO NOTHING;
+        IF FOUND THEN
+            RETURN h;
+        END IF;
+        PERFORM 1 FROM text_blobs WHERE hash = h FOR KEY SHARE;
+        IF FOUND THEN
+            RETURN h;
+        END IF;
+    END LOOP;
+END $$;
+
+-- One slice of the orphan sweep (TextBlobJanitor). Candidates are locked FOR UPDATE SKIP LOCKED,
+-- which passes over blobs an in-flight intern holds. The DELETE then re-checks references under
+-- those locks with a fresh snapshot, so a reference committed after the candidates were picked
+-- keeps its blob. Returns the last hash of the slice (null at the end of the table) and the
+-- number of blobs removed.
+CREATE OR REPLACE FUNCTION sweep_text_blobs(after_hash bytea, slice_size int, grace_seconds bigint,
+                                            OUT last_hash bytea, OUT removed bigint)
+LANGUAGE plpgsql AS $$
+DECLARE
+    candidates bytea[];
+BEGIN
+    SELECT max(s.hash) INTO last_hash
+    FROM (SELECT hash FROM text_blobs WHERE hash > after_hash ORDER BY hash LIMIT slice_size) s;
+
+    SELECT array_agg(c.hash) INTO candidates
+    FROM (SELECT b.hash
+          FROM text_blobs b
+          WHERE b.hash > after_hash
+            AND b.hash <= last_hash
+            AND b.created_at < now() - make_interval(secs => grace_seconds)
+            AND NOT EXISTS (SELECT 1 FROM translations t WHERE t.source_hash = b.hash)
+            AND NOT EXISTS (SELECT 1 FROM translations t WHERE t.translated_hash = b.hash)
+            AND NOT EXISTS (SELECT 1 FROM translation_memory m WHERE m.text_hash = b.hash)
+            AND NOT EXISTS (SELECT 1 FROM translation_memory m WHERE m.translated_hash = b.hash)
+          FOR UPDATE SKIP LOCKED) c;
+
+    DELETE FROM text_blobs b
+    WHERE b.hash = ANY (candidates)
+      AND NOT EXISTS (SELECT 1 FROM translations t WHERE t.source_hash = b.hash)
+      AND NOT EXISTS (SELECT 1 FROM translations t WHERE t.translated_hash = b.hash)
+      AND NOT EXISTS (SELECT 1 FROM translation_memory m WHERE m.text_hash = b.hash)
+      AND NOT EXISTS (SELECT 1 FROM translation_memory m WHERE m.translated_hash = b.hash);
+    GET DIAGNOSTICS removed = ROW_COUNT;
+END $$;
@@ -0,0 +1,5 @@
+-- Each claim of a document job stamps a fresh token, and every later write by the worker
+-- matches on it. A worker whose job was claimed by another node (its heartbeat went stale)
+-- then updates no row and stops, instead of overwriting the new owner's progress and upload.
+ALTER TABLE document_jobs
+    ADD COLUMN claim_token UUID;
@@ -0,0 +1,5 @@
+-- As for document jobs (V16): each claim of a purge stamps a fresh token and the worker's
+-- progress and final status writes match on it, so a worker whose stale job was reclaimed
+-- cannot overwrite the new owner's state.
+ALTER TABLE history_purge_jobs
+    ADD COLUMN claim_token UUID;
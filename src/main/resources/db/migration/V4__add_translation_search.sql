@@ -0,0 +1,17 @@
+-- Weighted full-text document: source text ranks above translated text
+ALTER TABLE translations
+    ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', source_text), 'A') ||
+        setweight(to_tsvector('simple', translated_text), 'B')
+    ) STORED;
+
+CREATE INDEX idx_translations_search_vector
+    ON translations USING gin (search_vector);
+
+-- Substring and fuzzy matching compare lower(source_text), so the trigram index has to be
+-- built on that expression; the raw-column index from V3 is never chosen by the planner
+DROP INDEX IF EXISTS idx_translations_source_text_trgm;
+
+CREATE INDEX idx_translations_source_text_lower_trgm
+    ON translations USING gin (lower(source_text) gin_trgm_ops);
@@ -0,0 +1,15 @@
+-- Composite indexes behind the history filter engine. Each one leads with user_id and ends with
+-- created_at DESC, so a filtered page is an ordered index range scan with no separate sort step.
+CREATE INDEX idx_translations_user_lang_created
+    ON translations (user_id, target_language, created_at DESC);
+
+CREATE INDEX idx_translations_user_provider_created
+    ON translations (user_id, provider_used, created_at DESC);
+
+-- Favourites are a small fraction of history; a partial index keeps them dense
+CREATE INDEX idx_translations_user_favorite_created
+    ON translations (user_id, created_at DESC)
+    WHERE is_favorite;
+
+-- Superseded by idx_translations_user_lang_created: nothing filters on language across users
+DROP INDEX IF EXISTS idx_translations_target_language;
@@ -0,0 +1,36 @@
+-- Per-user rollup maintained incrementally alongside every history write, so the stats
+-- endpoints read one row instead of counting and grouping the user's full history.
+CREATE TABLE user_translation_stats (
+    user_id UUID PRIMARY KEY,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    favorite_count BIGINT NOT NULL DEFAULT 0,
+    lookup_count BIGINT NOT NULL DEFAULT 0,
+    cache_hit_count BIGINT NOT NULL DEFAULT 0,
+    language_counts JSONB NOT NULL DEFAULT '{}'::jsonb,
+    weekly_counts JSONB NOT NULL DEFAULT '{}'::jsonb,
+    last_translation_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Backfill from existing history. Weekly buckets are keyed by the UTC Monday of the ISO week
+-- and only the last 12 weeks are kept, matching TranslationStatsService.
+INSERT INTO user_translation_stats (user_id, total_count, favorite_count, language_counts, weekly_counts, last_translation_at)
+SELECT t.user_id,
+       count(*),
+       count(*) FILTER (WHERE t.is_favorite),
+       (SELECT jsonb_object_agg(l.target_language, l.cnt)
+          FROM (SELECT target_language, count(*) AS cnt
+                  FROM translations
+                 WHERE user_id = t.user_id
+                 GROUP BY target_language) l),
+       coalesce((SELECT jsonb_object_agg(w.week, w.cnt)
+                   FROM (SELECT to_char(date_trunc('week', created_at AT TIME ZONE 'UTC'), 'YYYY-MM-DD') AS week,
+                                count(*) AS cnt
+                           FROM translations
+                          WHERE user_id = t.user_id
+                            AND created_at >= now() - interval '12 weeks'
+                          GROUP BY 1) w), '{}'::jsonb),
+       max(t.created_at)
+FROM translations t
+GROUP BY t.user_id;
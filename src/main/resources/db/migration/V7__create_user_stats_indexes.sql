@@ -0,0 +1,6 @@
+-- Admin user listing sorts and filters on the maintained counters instead of counting translations
+CREATE INDEX idx_user_translation_stats_total
+    ON user_translation_stats (total_count DESC);
+
+CREATE INDEX idx_user_translation_stats_last_activity
+    ON user_translation_stats (last_translation_at DESC);
@@ -0,0 +1,21 @@
+-- Background history purges. The newest job's cutoff doubles as a tombstone: history reads hide
+-- rows created at or before it, so a purge is visible immediately while chunks are still deleting.
+CREATE TABLE history_purge_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    cutoff TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    deleted_count BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    requested_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    heartbeat_at TIMESTAMP WITH TIME ZONE,
+    completed_at TIMESTAMP WITH TIME ZONE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_history_purge_jobs_user_cutoff
+    ON history_purge_jobs (user_id, cutoff DESC);
+
+CREATE INDEX idx_history_purge_jobs_open
+    ON history_purge_jobs (status)
+    WHERE status IN ('PENDING', 'RUNNING');
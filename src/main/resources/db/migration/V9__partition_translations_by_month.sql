@@ -0,0 +1,160 @@
+-- Rebuild translations as a table range-partitioned by month on created_at. Each month is its own
+-- heap with its own (much smaller) GIN and btree indexes, so vacuum keeps up, and any query that
+-- bounds created_at only touches the months it needs. The primary key has to include the
+-- partition key, hence (id, created_at).
+
+-- Partition indexes are auto-named by PostgreSQL; rename them to <parent index>_<suffix> so plans
+-- and monitoring show which logical index is in use.
+CREATE OR REPLACE FUNCTION rename_translation_partition_indexes(part text) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    suffix text := substr(part, length('translations_') + 1);
+    idx record;
+BEGIN
+    FOR idx IN
+        SELECT child.relname AS child_name, left(parent.relname || '_' || suffix, 63) AS wanted_name
+        FROM pg_index x
+        JOIN pg_class child ON child.oid = x.indexrelid
+        JOIN pg_inherits i ON i.inhrelid = child.oid
+        JOIN pg_class parent ON parent.oid = i.inhparent
+        WHERE x.indrelid = part::regclass
+    LOOP
+        IF idx.child_name <> idx.wanted_name THEN
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.child_name, idx.wanted_name);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Creates the partition for the UTC month starting at month_start, if missing. Rows that already
+-- landed in the default partition for that month are moved into it first; otherwise PostgreSQL
+-- rejects the new bounds.
+CREATE OR REPLACE FUNCTION create_translation_partition(month_start date) RETURNS boolean
+LANGUAGE plpgsql AS $$
+DECLARE
+    part text := 'translations_p' || to_char(month_start, 'YYYY_MM');
+    lower_bound timestamptz := month_start::timestamp AT TIME ZONE 'UTC';
+    upper_bound timestamptz := (month_start + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    CREATE TEMP TABLE translation_partition_backlog AS
+        SELECT id, user_id, source_text, translated_text, source_language, target_language,
+               provider_used, is_cached, is_favorite, metadata, created_at
+        FROM translations_default
+        WHERE created_at >= lower_bound AND created_at < upper_bound;
+    DELETE FROM translations_default WHERE created_at >= lower_bound AND created_at < upper_bound;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF translations FOR VALUES FROM (%L) TO (%L)',
+                   part, lower_bound, upper_bound);
+    PERFORM rename_translation_partition_indexes(part);
+
+    INSERT INTO translations (id, user_id, source_text, translated_text, source_language, target_language,
+                              provider_used, is_cached, is_favorite, metadata, created_at)
+    SELECT * FROM translation_partition_backlog;
+    DROP TABLE translation_partition_backlog;
+    RETURN true;
+END $$;
+
+-- Ensures partitions exist from the current UTC month through months_ahead months later.
+-- Called on startup and daily by TranslationPartitionMaintenance; returns the number created.
+CREATE OR REPLACE FUNCTION create_translation_partitions(months_ahead int) RETURNS int
+LANGUAGE plpgsql AS $$
+DECLARE
+    current_month date := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    created int := 0;
+BEGIN
+    -- Several instances run this on startup; serialise them instead of racing on CREATE TABLE
+    PERFORM pg_advisory_xact_lock(hashtext('create_translation_partitions'));
+    FOR i IN 0..months_ahead LOOP
+        IF create_translation_partition((current_month + make_interval(months => i))::date) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END $$;
+
+CREATE TABLE translations_partitioned (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    source_text TEXT NOT NULL,
+    translated_text TEXT NOT NULL,
+    source_language VARCHAR(10),
+    target_language VARCHAR(10) NOT NULL,
+    provider_used VARCHAR(50),
+    is_cached BOOLEAN DEFAULT false,
+    is_favorite BOOLEAN DEFAULT false,
+    metadata JSONB,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', source_text), 'A') ||
+        setweight(to_tsvector('simple', translated_text), 'B')
+    ) STORED
+) PARTITION BY RANGE (created_at);
+
+-- Safety net for timestamps outside the maintained range (clock skew, backdated imports)
+CREATE TABLE translations_default PARTITION OF translations_partitioned DEFAULT;
+
+-- One partition per month of existing history, plus the maintenance window ahead
+DO $$
+DECLARE
+    first_month date;
+    current_month date := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    SELECT coalesce(date_trunc('month', min(created_at) AT TIME ZONE 'UTC')::date, current_month)
+    INTO first_month
+    FROM translations;
+
+    WHILE first_month < current_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF translations_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'translations_p' || to_char(first_month, 'YYYY_MM'),
+                       first_month::timestamp AT TIME ZONE 'UTC',
+                       (first_month + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+        first_month := (first_month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO translations_partitioned (id, user_id, source_text, translated_text, source_language, target_language,
+                                      provider_used, is_cached, is_favorite, metadata, created_at)
+SELECT id, user_id, source_text, translated_text, source_language, target_language,
+       provider_used, is_cached, is_favorite, metadata, coalesce(created_at, CURRENT_TIMESTAMP)
+FROM translations;
+
+DROP TABLE translations;
+ALTER TABLE translations_partitioned RENAME TO translations;
+
+ALTER TABLE translations ADD CONSTRAINT translations_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE translations ADD CONSTRAINT translations_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Indexes are declared once on the parent and built per partition after the bulk copy
+CREATE INDEX idx_translations_user_created
+    ON translations (user_id, created_at DESC);
+CREATE INDEX idx_translations_metadata_gin
+    ON translations USING gin (metadata);
+CREATE INDEX idx_translations_search_vector
+    ON translations USING gin (search_vector);
+CREATE INDEX idx_translations_source_text_lower_trgm
+    ON translations USING gin (lower(source_text) gin_trgm_ops);
+CREATE INDEX idx_translations_user_lang_created
+    ON translations (user_id, target_language, created_at DESC);
+CREATE INDEX idx_translations_user_provider_created
+    ON translations (user_id, provider_used, created_at DESC);
+CREATE INDEX idx_translations_user_favorite_created
+    ON translations (user_id, created_at DESC)
+    WHERE is_favorite;
+
+DO $$
+DECLARE
+    part record;
+BEGIN
+    FOR part IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'translations'::regclass
+    LOOP
+        PERFORM rename_translation_partition_indexes(part.relname);
+    END LOOP;
+END $$;
+
+SELECT create_translation_partitions(3);
@@ -0,0 +1,93 @@
+package com.translator.infrastructure.aws;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class S3MultipartOutputStreamTest {
+
+    private static final int PART = S3MultipartOutputStream.MIN_PART_SIZE;
+
+    private final S3Client s3Client = mock(S3Client.class);
+
+    @BeforeEach
+    void setUp() {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(call -> UploadPartResponse.builder()
+                        .eTag("etag-" + call.<UploadPartRequest>getArgument(0).partNumber())
+                        .build());
+    }
+
+    @Test
+    void shouldUploadFullPartsAsTheyFillAndTheRemainderOnClose() throws IOException {
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+
+        try (S3MultipartOutputStream out = new S3MultipartOutputStream(s3Client, "bucket", "key", "text/plain", PART)) {
+            byte[] chunk = new byte[1024 * 1024];
+            for (int i = 0; i < 12; i++) {
+                out.write(chunk);
+            }
+            // Only full parts go out before close
+            verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+            assertThat(out.bytesWritten()).isEqualTo(12L * chunk.length);
+        }
+
+        verify(s3Client, times(3)).uploadPart(parts.capture(), any(RequestBody.class));
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::contentLength)
+                .containsExactly((long) PART, (long) PART, 2L * 1024 * 1024);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        List<CompletedPart> completed = complete.getValue().multipartUpload().parts();
+        assertThat(completed).extracting(CompletedPart::partNumber).containsExactly(1, 2, 3);
+        assertThat(completed).extracting(CompletedPart::eTag).containsExactly("etag-1", "etag-2", "etag-3");
+    }
+
+    @Test
+    void shouldCompleteEmptyObjectWithOneEmptyPart() throws IOException {
+        new S3MultipartOutputStream(s3Client, "bucket", "key", "text/plain", PART).close();
+
+        verify(s3Client).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void abortShouldDiscardTheUploadAndRejectFurtherWrites() {
+        S3MultipartOutputStream out = new S3MultipartOutputStream(s3Client, "bucket", "key", "text/plain", PART);
+
+        out.abort();
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThatThrownBy(() -> out.write(1)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRejectPartsBelowTheS3Minimum() {
+        assertThatThrownBy(() -> new S3MultipartOutputStream(s3Client, "bucket", "key", "text/plain", PART - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
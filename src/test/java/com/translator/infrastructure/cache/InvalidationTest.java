@@ -0,0 +1,33 @@
+package com.translator.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvalidationTest {
+
+    @Test
+    void shouldRoundTripBatchWithArbitraryCharacters() {
+        List<Invalidation> batch = List.of(
+                new Invalidation(Invalidation.Type.KEY, "hello:world\nK3:x-es"),
+                new Invalidation(Invalidation.Type.PREFIX, "नमस्ते"),
+                new Invalidation(Invalidation.Type.KEY, ""),
+                new Invalidation(Invalidation.Type.GENERATION, "42"));
+
+        String payload = Invalidation.encode(batch);
+
+        assertThat(Invalidation.decode(payload)).isEqualTo(batch);
+        assertThat(Invalidation.encode(List.of(new Invalidation(Invalidation.Type.KEY, "hello-es"))))
+                .isEqualTo("K8:hello-es");
+    }
+
+    @Test
+    void shouldRejectMalformedPayloads() {
+        assertThatThrownBy(() -> Invalidation.decode("X1:a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Invalidation.decode("K9:short")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Invalidation.decode("K3abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.translator.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class L1CacheSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRoundTripEntries() throws Exception {
+        Path path = dir.resolve("l1.snapshot");
+        Map<String, String> entries = Map.of("hello-es", "hola", "good morning-hi", "सुप्रभात");
+
+        L1CacheSnapshot.write(path, entries);
+
+        assertThat(L1CacheSnapshot.read(path, Duration.ofHours(1))).isEqualTo(entries);
+        assertThat(path.resolveSibling("l1.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void shouldIgnoreStaleMissingOrCorruptSnapshots() throws Exception {
+        Path path = dir.resolve("l1.snapshot");
+        assertThat(L1CacheSnapshot.read(path, Duration.ofHours(1))).isEmpty();
+
+        L1CacheSnapshot.write(path, Map.of("hello-es", "hola"));
+        assertThat(L1CacheSnapshot.read(path, Duration.ofMillis(-1))).isEmpty();
+
+        Files.write(path, new byte[]{1, 2, 3});
+        assertThat(L1CacheSnapshot.read(path, Duration.ofHours(1))).isEmpty();
+    }
+}
@@ -0,0 +1,155 @@
+package com.translator.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two buses on a stubbed Redis: every PUBLISH is handed to each node's listener, as the
+ * message listener container would, unless the test drops it.
+ */
+class L1InvalidationBusTest {
+
+    private static final String CHANNEL = "translator:l1:invalidations";
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+
+    private final AtomicLong storedGeneration = new AtomicLong();
+    private final List<L1InvalidationBus> subscribers = new ArrayList<>();
+    private final List<String> published = new ArrayList<>();
+    private boolean dropMessages;
+
+    private L1InvalidationBus nodeA;
+    private L1InvalidationBus nodeB;
+    private Cache<Object, Object> l1A;
+    private Cache<Object, Object> l1B;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.increment(L1InvalidationBus.GENERATION_KEY)).thenAnswer(call -> storedGeneration.incrementAndGet());
+        when(valueOps.get(L1InvalidationBus.GENERATION_KEY)).thenAnswer(call ->
+                storedGeneration.get() == 0 ? null : String.valueOf(storedGeneration.get()));
+        doAnswer(call -> {
+            String payload = call.getArgument(1);
+            published.add(payload);
+            if (!dropMessages) {
+                subscribers.forEach(bus -> bus.onMessage(payload));
+            }
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+        CaffeineCacheManager managerA = cacheManager();
+        CaffeineCacheManager managerB = cacheManager();
+        nodeA = new L1InvalidationBus(managerA, redisTemplate, CHANNEL, 500);
+        nodeB = new L1InvalidationBus(managerB, redisTemplate, CHANNEL, 500);
+        subscribers.add(nodeA);
+        subscribers.add(nodeB);
+        l1A = nativeCache(managerA);
+        l1B = nativeCache(managerB);
+    }
+
+    @Test
+    void shouldEvictOnOtherNodesWhenTheMessageArrives() {
+        l1A.put("hello-es", "hola");
+        l1B.put("hello-es", "hola");
+        l1B.put("good morning-hi", "सुप्रभात");
+        l1B.put("good morning-fr", "bonjour");
+        l1B.put("goodbye-es", "adiós");
+
+        nodeA.invalidateKey("hello-es");
+        nodeA.invalidatePrefix("good morning-");
+
+        assertThat(l1A.getIfPresent("hello-es")).isNull();
+        // Nothing reaches other nodes until the outbox is flushed
+        assertThat(l1B.getIfPresent("hello-es")).isEqualTo("hola");
+
+        nodeA.flush();
+
+        assertThat(published).hasSize(1);
+        assertThat(l1B.asMap()).containsOnlyKeys("goodbye-es");
+    }
+
+    @Test
+    void shouldIgnoreItsOwnMessages() {
+        l1A.put("hello-es", "hola");
+        l1B.put("hello-es", "hola");
+
+        nodeA.invalidateKey("hello-es");
+        // A refills the key with the corrected translation before its broadcast goes out
+        l1A.put("hello-es", "hola (corrected)");
+        nodeA.flush();
+
+        assertThat(l1A.getIfPresent("hello-es")).isEqualTo("hola (corrected)");
+        assertThat(l1B.getIfPresent("hello-es")).isNull();
+    }
+
+    @Test
+    void shouldClearEveryNodeOnANewGenerationAndIgnoreStaleOnes() {
+        l1A.put("hello-es", "hola");
+        l1B.put("hello-es", "hola");
+
+        assertThat(nodeA.invalidateAll()).isEqualTo(1);
+        assertThat(l1A.asMap()).isEmpty();
+        nodeA.flush();
+        assertThat(l1B.asMap()).isEmpty();
+
+        // A generation this node has already seen is a replay, not a new flush
+        l1B.put("hello-es", "hola");
+        nodeB.onMessage(Invalidation.encode(List.of(new Invalidation(Invalidation.Type.GENERATION, "1"))));
+        assertThat(l1B.getIfPresent("hello-es")).isEqualTo("hola");
+    }
+
+    @Test
+    void shouldCatchUpOnAGenerationWhoseBroadcastWasLost() {
+        storedGeneration.set(5);
+        nodeB.flush(); // records the baseline generation
+        l1B.put("hello-es", "hola");
+        dropMessages = true;
+
+        nodeA.invalidateAll();
+        nodeA.flush();
+        assertThat(l1B.getIfPresent("hello-es")).isEqualTo("hola");
+
+        nodeB.flush();
+
+        assertThat(l1B.asMap()).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreMalformedMessages() {
+        l1B.put("hello-es", "hola");
+
+        nodeB.onMessage("K99:hello-es");
+
+        assertThat(l1B.getIfPresent("hello-es")).isEqualTo("hola");
+    }
+
+    private static CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCacheNames(List.of(CaffeineCacheConfig.L1_CACHE));
+        return manager;
+    }
+
+    private static Cache<Object, Object> nativeCache(CaffeineCacheManager manager) {
+        return ((CaffeineCache) manager.getCache(CaffeineCacheConfig.L1_CACHE)).getNativeCache();
+    }
+}
@@ -0,0 +1,95 @@
+package com.translator.infrastructure.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.data.redis.RedisHealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.health.CompositeHealth;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import software.amazon.awssdk.services.translate.TranslateClient;
+import software.amazon.awssdk.services.translate.model.ListLanguagesRequest;
+import software.amazon.awssdk.services.translate.model.ListLanguagesResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * The aggregate {@code /actuator/health} status with the application's own configuration: it
+ * comes from the background probes alone, and Boot's live Redis indicator is switched off.
+ */
+class HealthEndpointTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final TranslateClient translateClient = mock(TranslateClient.class);
+    private final RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+
+    @Test
+    void shouldAggregateOnlyTheProbedStatusAndNeverPingRedisPerRequest() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+
+        runner(3).run(context -> {
+            // The first background probe runs as the indicator starts
+            verify(redisTemplate, timeout(5000)).execute(any(RedisCallback.class));
+            HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+            awaitStatus(endpoint, Status.UP);
+
+            CompositeHealth health = (CompositeHealth) endpoint.health();
+            assertThat(health.getStatus()).isEqualTo(Status.UP);
+            assertThat(health.getComponents()).containsOnlyKeys("translationProviders");
+            verifyNoInteractions(connectionFactory);
+        });
+    }
+
+    @Test
+    void shouldReportDownFromTheLastProbe() {
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("refused"));
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+
+        runner(1).run(context -> {
+            HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+            awaitStatus(endpoint, Status.DOWN);
+
+            assertThat(endpoint.health().getStatus()).isEqualTo(Status.DOWN);
+            verifyNoInteractions(connectionFactory);
+        });
+    }
+
+    private ApplicationContextRunner runner(int failureThreshold) {
+        return new ApplicationContextRunner()
+                .withInitializer(new ConfigDataApplicationContextInitializer())
+                .withConfiguration(AutoConfigurations.of(HealthContributorAutoConfiguration.class,
+                        HealthEndpointAutoConfiguration.class, RedisHealthContributorAutoConfiguration.class))
+                .withBean(RedisConnectionFactory.class, () -> connectionFactory)
+                .withBean("translationProviders", TranslationProviderHealthIndicator.class,
+                        () -> new TranslationProviderHealthIndicator(redisTemplate, translateClient,
+                                new TranslatorMetrics(new SimpleMeterRegistry()), Duration.ofMinutes(10),
+                                Duration.ofMillis(500), failureThreshold, 2));
+    }
+
+    private static void awaitStatus(HealthEndpoint endpoint, Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!endpoint.health().getStatus().equals(status) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
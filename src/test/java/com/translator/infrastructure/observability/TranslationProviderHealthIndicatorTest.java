@@ -0,0 +1,163 @@
+package com.translator.infrastructure.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import software.amazon.awssdk.services.translate.TranslateClient;
+import software.amazon.awssdk.services.translate.model.ListLanguagesRequest;
+import software.amazon.awssdk.services.translate.model.ListLanguagesResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslationProviderHealthIndicatorTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final TranslateClient translateClient = mock(TranslateClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TranslationProviderHealthIndicator indicator = new TranslationProviderHealthIndicator(
+            redisTemplate, translateClient, new TranslatorMetrics(registry),
+            Duration.ofSeconds(10), Duration.ofMillis(200), 3, 2);
+
+    @AfterEach
+    void tearDown() {
+        indicator.shutdown();
+    }
+
+    @Test
+    void shouldServeHealthFromTheLastProbeWithoutTouchingDependencies() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+        indicator.probe();
+        for (int i = 0; i < 5; i++) {
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        }
+
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        verify(translateClient, times(1)).listLanguages(any(ListLanguagesRequest.class));
+        assertThat(registry.get("health.probe.latency").tags("dependency", "redis", "outcome", "up").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldGoDownOnlyAfterConsecutiveFailuresAndRecoverAfterConsecutiveSuccesses() {
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenReturn("PONG")
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenReturn("PONG");
+
+        indicator.probe();
+        indicator.probe();
+        indicator.probe();
+        Health flapping = indicator.health();
+        assertThat(flapping.getStatus()).isEqualTo(Status.UP);
+        assertThat(details(flapping, "redis")).containsEntry("lastError", "refused");
+
+        indicator.probe();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+        indicator.probe();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+        indicator.probe();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(registry.get("health.probe.latency").tags("dependency", "redis", "outcome", "down").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldTreatSlowProbesAsFailuresAndAwsOutagesAsDegraded() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(call -> {
+            Thread.sleep(5_000);
+            return "PONG";
+        });
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenThrow(new IllegalStateException("unreachable"));
+
+        for (int i = 0; i < 3; i++) {
+            indicator.probe();
+        }
+
+        Health health = indicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(details(health, "redis")).containsEntry("lastError", "no answer within 200 ms");
+        assertThat(details(health, "awsTranslate")).containsEntry("status", "DEGRADED");
+        assertThat(registry.get("health.probe.latency").tags("dependency", "redis", "outcome", "timeout").timer().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotFailReadinessOnAFailedFirstProbe() {
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("refused"))
+                .thenReturn("PONG");
+
+        indicator.probe();
+        Health startup = indicator.health();
+        assertThat(startup.getStatus()).isEqualTo(Status.UNKNOWN);
+        assertThat(details(startup, "redis")).containsEntry("status", "UNKNOWN");
+
+        indicator.probe();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldKeepAStuckProbeFromStarvingTheOtherDependency() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(call -> {
+            // A ping that ignores the interrupt from its timeout
+            while (true) {
+                try {
+                    if (release.await(10, TimeUnit.SECONDS)) {
+                        return "PONG";
+                    }
+                } catch (InterruptedException ignored) {
+                    // keep waiting
+                }
+            }
+        });
+        when(translateClient.listLanguages(any(ListLanguagesRequest.class)))
+                .thenReturn(ListLanguagesResponse.builder().build());
+        try {
+            for (int i = 0; i < 3; i++) {
+                indicator.probe();
+            }
+
+            Health health = indicator.health();
+            assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+            assertThat(details(health, "awsTranslate")).containsEntry("status", "UP");
+            assertThat(details(health, "redis")).containsEntry("lastError", "no answer within 200 ms");
+            verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+            verify(translateClient, times(3)).listLanguages(any(ListLanguagesRequest.class));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> details(Health health, String dependency) {
+        return (Map<String, Object>) health.getDetails().get(dependency);
+    }
+}
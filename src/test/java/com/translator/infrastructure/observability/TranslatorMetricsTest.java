@@ -0,0 +1,49 @@
+package com.translator.infrastructure.observability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TranslatorMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private TranslatorMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new TranslatorMetrics(registry);
+    }
+
+    @Test
+    void shouldReportHitRatiosFromRecordedLookups() {
+        metrics.recordL1CacheHit(true);
+        metrics.recordL1CacheHit(false);
+        metrics.recordL1CacheHit(true);
+        metrics.recordL1CacheHit(true);
+        metrics.recordTranslationRequest("es", "CAFFEINE_CACHE", true);
+        metrics.recordTranslationRequest("es", "AWS_TRANSLATE", false);
+
+        assertThat(metrics.cacheHitRatio("L1")).isCloseTo(0.75, within(1e-9));
+        assertThat(metrics.cacheHitRatio("L2")).isZero();
+        assertThat(metrics.requestCacheHitRatio()).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void shouldCountOnlySuccessfulProviderAttempts() {
+        metrics.recordStage("provider", "AWS_TRANSLATE", "failure", 1_000_000);
+        metrics.recordStage("provider", "LIBRE_TRANSLATE", "success", 2_000_000);
+        metrics.recordStage("provider", "AWS_TRANSLATE", "success", 3_000_000);
+        metrics.recordStage("provider", "AWS_TRANSLATE", "success", 3_000_000);
+        metrics.recordStage("l1_lookup", "none", "hit", 10_000);
+
+        assertThat(metrics.providerSuccessCounts())
+                .containsEntry("AWS_TRANSLATE", 2L)
+                .containsEntry("LIBRE_TRANSLATE", 1L)
+                .hasSize(2);
+        assertThat(registry.find("translation.stage.latency").tag("stage", "l1_lookup").timer().count()).isEqualTo(1);
+    }
+}
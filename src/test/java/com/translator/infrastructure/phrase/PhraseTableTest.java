@@ -0,0 +1,78 @@
+package com.translator.infrastructure.phrase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PhraseTableTest {
+
+    private static final SortedMap<String, String> PHRASES = new TreeMap<>();
+
+    static {
+        PHRASES.put("Save", "Guardar");
+        PHRASES.put("Cancel", "Cancelar");
+        PHRASES.put("Welcome back", "Bienvenido de nuevo");
+        PHRASES.put("Café \"menu\"", "Menú del café");
+        PHRASES.put("Done 👍", "Hecho 👍");
+        for (int i = 0; i < 500; i++) {
+            PHRASES.put("Item " + i, "Artículo " + i);
+        }
+    }
+
+    @Test
+    void shouldReturnExactMatchesOnly() {
+        PhraseTable table = PhraseTable.wrap(ByteBuffer.wrap(PhraseTableBuilder.build("en", "es", PHRASES)));
+
+        assertThat(table.sourceLanguage()).isEqualTo("en");
+        assertThat(table.targetLanguage()).isEqualTo("es");
+        assertThat(table.size()).isEqualTo(PHRASES.size());
+        PHRASES.forEach((phrase, translation) -> assertThat(table.lookup(phrase)).isEqualTo(translation));
+
+        assertThat(table.lookup("save")).isNull();
+        assertThat(table.lookup("Save ")).isNull();
+        assertThat(table.lookup("Item 500")).isNull();
+        assertThat(table.lookup("")).isNull();
+        assertThat(table.lookup("Welcome back, it has been a while since we last saw you here")).isNull();
+    }
+
+    @Test
+    void shouldBuildByteIdenticalTablesAndHandleAnEmptyOne() {
+        assertThat(PhraseTableBuilder.build("en", "es", PHRASES))
+                .isEqualTo(PhraseTableBuilder.build("en", "es", new TreeMap<>(PHRASES)));
+
+        PhraseTable empty = PhraseTable.wrap(ByteBuffer.wrap(PhraseTableBuilder.build("en", "es", new TreeMap<>())));
+        assertThat(empty.size()).isZero();
+        assertThat(empty.lookup("Save")).isNull();
+    }
+
+    @Test
+    void shouldRejectOtherFiles() {
+        assertThatThrownBy(() -> PhraseTable.wrap(ByteBuffer.wrap(new byte[64])))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldServeMappedTablesByResolvedLanguagePair(@TempDir Path dir) throws Exception {
+        Files.write(dir.resolve("en_es" + PhraseTableBuilder.FILE_SUFFIX), PhraseTableBuilder.build("en", "es", PHRASES));
+        SortedMap<String, String> undetected = new TreeMap<>();
+        undetected.put("OK", "Aceptar");
+        Files.write(dir.resolve("auto_es" + PhraseTableBuilder.FILE_SUFFIX), PhraseTableBuilder.build("auto", "es", undetected));
+        Files.writeString(dir.resolve("README.txt"), "not a table");
+
+        PhraseTables tables = new PhraseTables(dir.toString());
+
+        assertThat(tables.lookup("Save", "en", "ES")).contains("Guardar");
+        assertThat(tables.lookup("OK", null, "es")).contains("Aceptar");
+        assertThat(tables.lookup("OK", "en", "es")).isEmpty();
+        assertThat(tables.lookup("Save", "en", "fr")).isEmpty();
+        assertThat(new PhraseTables("").lookup("Save", "en", "es")).isEmpty();
+    }
+}
@@ -0,0 +1,198 @@
+package com.translator.presentation.grpc;
+
+import com.translator.grpc.v1.TranslateRequest;
+import com.translator.grpc.v1.TranslateResponse;
+import com.translator.grpc.v1.TranslatorGrpc;
+import com.translator.infrastructure.security.JwtService;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.service.MarkupTranslationService;
+import com.translator.translation.service.TranslationService;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslatorGrpcServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final String TOKEN = "valid-token";
+
+    private final TranslationService translationService = mock(TranslationService.class);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final ExecutorService streamExecutor = Executors.newFixedThreadPool(4);
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        GrpcAuthenticator authenticator = new GrpcAuthenticator(jwtService, Duration.ofMinutes(1));
+        server = InProcessServerBuilder.forName(name)
+                .addTransportFilter(authenticator)
+                .intercept(authenticator)
+                .addService(new TranslatorGrpcService(translationService, mock(MarkupTranslationService.class),
+                        streamExecutor, 2))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn(USER.toString());
+        when(claims.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 3_600_000));
+        when(jwtService.isTokenValid(TOKEN)).thenReturn(true);
+        when(jwtService.extractAllClaims(TOKEN)).thenReturn(claims);
+        when(translationService.translate(any(), eq(USER))).thenAnswer(call -> {
+            TranslationRequestDTO request = call.getArgument(0);
+            if (request.getSourceText().equals("fail")) {
+                throw new IllegalStateException("All translation providers failed");
+            }
+            return TranslationResponseDTO.builder()
+                    .translationId(UUID.randomUUID())
+                    .translatedText(request.getSourceText().toUpperCase())
+                    .sourceLanguageDetected(request.getSourceLanguage())
+                    .targetLanguage(request.getTargetLanguage())
+                    .providerUsed("CAFFEINE_CACHE")
+                    .servedFromCache(true)
+                    .wordCount(1)
+                    .characterCount(request.getSourceText().length())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        streamExecutor.shutdownNow();
+    }
+
+    @Test
+    void shouldTranslateAndVerifyTheTokenOncePerConnection() {
+        TranslatorGrpc.TranslatorBlockingStub stub = TranslatorGrpc.newBlockingStub(channel).withInterceptors(
+                MetadataUtils.newAttachHeadersInterceptor(bearer(TOKEN)));
+
+        TranslateResponse response = null;
+        for (int i = 0; i < 3; i++) {
+            response = stub.translate(request("r" + i, "hola"));
+        }
+
+        assertThat(response.getRequestId()).isEqualTo("r2");
+        assertThat(response.getTranslatedText()).isEqualTo("HOLA");
+        assertThat(response.getSourceLanguageDetected()).isEqualTo("auto");
+        assertThat(response.getProviderUsed()).isEqualTo("CAFFEINE_CACHE");
+        assertThat(response.hasDetectionConfidence()).isFalse();
+        verify(jwtService, times(1)).isTokenValid(TOKEN);
+        verify(translationService, times(3)).translate(any(), eq(USER));
+    }
+
+    @Test
+    void shouldRejectCallsWithoutAValidToken() {
+        TranslatorGrpc.TranslatorBlockingStub anonymous = TranslatorGrpc.newBlockingStub(channel);
+        TranslatorGrpc.TranslatorBlockingStub forged = anonymous.withInterceptors(
+                MetadataUtils.newAttachHeadersInterceptor(bearer("forged")));
+
+        assertThatThrownBy(() -> anonymous.translate(request("r", "hola")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+        assertThatThrownBy(() -> forged.translate(request("r", "hola")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+    }
+
+    @Test
+    void shouldMapInvalidRequestsAndProviderFailuresToStatuses() {
+        TranslatorGrpc.TranslatorBlockingStub stub = TranslatorGrpc.newBlockingStub(channel).withInterceptors(
+                MetadataUtils.newAttachHeadersInterceptor(bearer(TOKEN)));
+
+        assertThatThrownBy(() -> stub.translate(TranslateRequest.newBuilder().setSourceText("hola").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT));
+        assertThatThrownBy(() -> stub.translate(request("r", "fail")))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE));
+    }
+
+    @Test
+    void shouldAnswerEveryStreamedRequestIncludingFailuresAndThenComplete() throws InterruptedException {
+        List<TranslateResponse> responses = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        StreamObserver<TranslateRequest> requests = TranslatorGrpc.newStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(bearer(TOKEN)))
+                .translateStream(new StreamObserver<>() {
+                    @Override
+                    public void onNext(TranslateResponse response) {
+                        responses.add(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                });
+
+        // More requests than the in-flight window of 2: the rest wait for responses to go out
+        for (int i = 0; i < 6; i++) {
+            requests.onNext(request("s" + i, i == 3 ? "fail" : "text " + i));
+        }
+        requests.onCompleted();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(responses).extracting(TranslateResponse::getRequestId)
+                .containsExactlyInAnyOrder("s0", "s1", "s2", "s3", "s4", "s5");
+        assertThat(responses).filteredOn(response -> response.getRequestId().equals("s3"))
+                .singleElement()
+                .satisfies(response -> assertThat(response.getError()).isNotBlank());
+        assertThat(responses).filteredOn(response -> response.getRequestId().equals("s5"))
+                .singleElement()
+                .satisfies(response -> assertThat(response.getTranslatedText()).isEqualTo("TEXT 5"));
+        verify(jwtService, times(1)).isTokenValid(TOKEN);
+    }
+
+    private static TranslateRequest request(String id, String text) {
+        return TranslateRequest.newBuilder()
+                .setRequestId(id)
+                .setSourceText(text)
+                .setTargetLanguage("en")
+                .build();
+    }
+
+    private static Metadata bearer(String token) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
+        return headers;
+    }
+}
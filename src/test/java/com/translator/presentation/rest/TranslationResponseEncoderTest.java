@@ -0,0 +1,79 @@
+package com.translator.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.translator.translation.dto.TranslationResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationResponseEncoderTest {
+
+    // Configured as Boot's JacksonAutoConfiguration does
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TranslationResponseEncoder encoder = new TranslationResponseEncoder(100);
+
+    @Test
+    void shouldMatchJacksonForATypicalCacheHit() throws Exception {
+        TranslationResponseDTO response = TranslationResponseDTO.builder()
+                .translationId(UUID.fromString("0a1b2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d"))
+                .translatedText("El rápido zorro marrón salta sobre el perro perezoso")
+                .sourceLanguageDetected("en")
+                .targetLanguage("es")
+                .providerUsed("CAFFEINE_CACHE")
+                .servedFromCache(true)
+                .wordCount(9)
+                .characterCount(43)
+                .build();
+
+        assertThat(encoder.encode(response)).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Test
+    void shouldMatchJacksonWithEveryFieldSetAndCharactersThatNeedEscaping() throws Exception {
+        TranslationResponseDTO response = TranslationResponseDTO.builder()
+                .translationId(UUID.randomUUID())
+                .translatedText("Line \"one\"\n\ttab \\ back\u0001 ünïcødé 😀 </script>")
+                .pronunciation("ˈhɛloʊ")
+                .sourceLanguageDetected("zh-\"Hant\"")
+                .detectionConfidence(0.8731)
+                .targetLanguage("pt-BR")
+                .providerUsed("AWS_TRANSLATE")
+                .servedFromCache(false)
+                .wordCount(-12)
+                .characterCount(1_234_567)
+                .createdAt(OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 5_000_000, ZoneOffset.ofHours(2)))
+                .build();
+
+        assertThat(new String(encoder.encode(response))).isEqualTo(new String(objectMapper.writeValueAsBytes(response)));
+    }
+
+    @Test
+    void shouldMatchJacksonWhenFieldsAreNull() throws Exception {
+        TranslationResponseDTO response = new TranslationResponseDTO();
+
+        assertThat(encoder.encode(response)).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+
+    @Test
+    void shouldNotReuseTheEncodingOfAReplacedText() throws Exception {
+        TranslationResponseDTO response = TranslationResponseDTO.builder()
+                .translationId(UUID.randomUUID())
+                .translatedText("Hola")
+                .build();
+        encoder.encode(response);
+
+        // A corrected entry is a new String; equal content must not matter either way
+        response.setTranslatedText(new String("Buenos días"));
+        assertThat(encoder.encode(response)).isEqualTo(objectMapper.writeValueAsBytes(response));
+        response.setTranslatedText(new String("Buenos días"));
+        assertThat(encoder.encode(response)).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+}
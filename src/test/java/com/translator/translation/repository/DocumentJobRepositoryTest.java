@@ -0,0 +1,115 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.DocumentFormat;
+import com.translator.translation.model.DocumentJob;
+import com.translator.translation.model.DocumentJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DocumentJobRepositoryTest {
+
+    private static final DocumentJobStatus PENDING = DocumentJobStatus.PENDING;
+    private static final DocumentJobStatus RUNNING = DocumentJobStatus.RUNNING;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private DocumentJobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, role) VALUES (?, ?, 'hash', 'USER')",
+                userId, userId + "@test.com");
+    }
+
+    @Test
+    void shouldFenceOutTheWorkerWhoseClaimWasTakenOver() {
+        UUID jobId = saveJob().getId();
+        OffsetDateTime claimedAt = OffsetDateTime.now().minusMinutes(20);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertThat(jobRepository.claim(jobId, first, claimedAt, claimedAt.minusMinutes(15), PENDING, RUNNING)).isEqualTo(1);
+        // A live owner keeps its claim...
+        assertThat(jobRepository.claim(jobId, second, claimedAt.plusMinutes(1), claimedAt.minusMinutes(14),
+                PENDING, RUNNING)).isZero();
+        // ...until its heartbeat is older than stale-after
+        OffsetDateTime now = OffsetDateTime.now();
+        assertThat(jobRepository.claim(jobId, second, now, now.minusMinutes(15), PENDING, RUNNING)).isEqualTo(1);
+
+        assertThat(jobRepository.heartbeat(jobId, first, now)).isZero();
+        assertThat(jobRepository.updateProgress(jobId, first, "upload-1", 100, 3, 1, now)).isZero();
+        assertThat(jobRepository.finish(jobId, first, DocumentJobStatus.FAILED, null, 100, 3, 1, "boom", now)).isZero();
+        assertThat(jobRepository.updateProgress(jobId, second, "upload-2", 50, 2, 0, now)).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT upload_id FROM document_jobs WHERE id = ?", String.class, jobId))
+                .isEqualTo("upload-2");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM document_jobs WHERE id = ?", String.class, jobId))
+                .isEqualTo("RUNNING");
+    }
+
+    @Test
+    void shouldListOnlyPendingAndStaleJobsAsClaimable() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime staleBefore = now.minusMinutes(15);
+        UUID pending = saveJob().getId();
+        UUID live = saveJob().getId();
+        UUID stale = saveJob().getId();
+        UUID completed = saveJob().getId();
+        jobRepository.claim(live, UUID.randomUUID(), now, staleBefore, PENDING, RUNNING);
+        jobRepository.claim(stale, UUID.randomUUID(), now.minusMinutes(20), staleBefore, PENDING, RUNNING);
+        UUID token = UUID.randomUUID();
+        jobRepository.claim(completed, token, now, staleBefore, PENDING, RUNNING);
+        jobRepository.finish(completed, token, DocumentJobStatus.COMPLETED, null, 0, 0, 0, null, now);
+
+        assertThat(jobRepository.findClaimableIds(staleBefore, PENDING, RUNNING))
+                .containsExactlyInAnyOrder(pending, stale);
+    }
+
+    private DocumentJob saveJob() {
+        UUID jobId = UUID.randomUUID();
+        return jobRepository.saveAndFlush(DocumentJob.builder()
+                .id(jobId)
+                .userId(userId)
+                .fileName("notes.txt")
+                .format(DocumentFormat.TEXT)
+                .targetLanguage("es")
+                .inputKey("documents/" + jobId + "/input")
+                .outputKey("documents/" + jobId + "/output.text")
+                .build());
+    }
+}
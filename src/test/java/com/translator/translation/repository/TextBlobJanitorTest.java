@@ -0,0 +1,199 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.service.TextBlobJanitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The orphan sweep against concurrent writers reusing the blobs it is about to delete (V15):
+ * neither the history insert nor the sweep may fail, and no row may end up without its text.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TextBlobJanitorTest {
+
+    private static final String INSERT_TRANSLATION = """
+            INSERT INTO translations (id, user_id, source_hash, translated_hash, target_language)
+            VALUES (?, ?, intern_text_blob(?), intern_text_blob(?), 'es')
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM translations");
+        jdbcTemplate.update("DELETE FROM translation_memory");
+        jdbcTemplate.update("DELETE FROM text_blobs");
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, role) VALUES (?, ?, 'hash', 'USER')",
+                userId, userId + "@test.com");
+    }
+
+    @Test
+    void shouldReinsertABlobTheSweepDeletesWhileAWriterReusesIt() throws Exception {
+        insertOrphan("Good morning");
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try (Connection sweep = dataSource.getConnection()) {
+            // The sweep has locked the orphan and is about to delete it
+            sweep.setAutoCommit(false);
+            sweep.createStatement().execute(
+                    "SELECT 1 FROM text_blobs WHERE content = 'Good morning' FOR UPDATE");
+
+            // The writer sees the blob, so its insert conflicts, then waits on the sweep's lock
+            Future<?> insert = writer.submit(() -> {
+                jdbcTemplate.update(INSERT_TRANSLATION, UUID.randomUUID(), userId, "Good morning", "Buenos dias");
+                return null;
+            });
+            Thread.sleep(500);
+            assertThat(insert).isNotDone();
+
+            sweep.createStatement().execute("DELETE FROM text_blobs WHERE content = 'Good morning'");
+            sweep.commit();
+            insert.get(10, TimeUnit.SECONDS);
+        } finally {
+            writer.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM translations t JOIN text_blobs b ON b.hash = t.source_hash
+                WHERE b.content = 'Good morning'
+                """, Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipABlobAWriterHoldsUntilItsReferenceIsCommitted() throws Exception {
+        insertOrphan("Good night");
+        try (Connection write = dataSource.getConnection()) {
+            write.setAutoCommit(false);
+            try (PreparedStatement intern = write.prepareStatement("SELECT intern_text_blob(?)")) {
+                intern.setString(1, "Good night");
+                intern.executeQuery().close();
+            }
+
+            Map<String, Object> slice = jdbcTemplate.queryForMap(
+                    "SELECT last_hash, removed FROM sweep_text_blobs(?, ?, ?)", new byte[0], 100, 0L);
+            assertThat(((Number) slice.get("removed")).longValue()).isZero();
+
+            try (PreparedStatement insert = write.prepareStatement(INSERT_TRANSLATION)) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setObject(2, userId);
+                insert.setString(3, "Good night");
+                insert.setString(4, "Buenas noches");
+                insert.executeUpdate();
+            }
+            write.commit();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM text_blobs WHERE content = 'Good night'", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentInternsAndSweepsShouldNeitherFailNorLeaveDanglingRows() throws Exception {
+        int phrases = 50;
+        for (int i = 0; i < phrases; i++) {
+            insertOrphan("phrase " + i);
+        }
+        TextBlobJanitor janitor = new TextBlobJanitor(jdbcTemplate, 20, 0);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+        List<Future<Integer>> writers = new ArrayList<>();
+        try {
+            Future<Integer> sweeper = pool.submit(() -> {
+                int sweeps = 0;
+                while (running.get()) {
+                    // Called directly rather than through the janitor so a failure surfaces here
+                    jdbcTemplate.queryForMap("SELECT last_hash, removed FROM sweep_text_blobs(?, ?, ?)",
+                            new byte[0], phrases, 0L);
+                    janitor.sweepOrphans();
+                    sweeps++;
+                }
+                return sweeps;
+            });
+            for (int w = 0; w < 4; w++) {
+                int writerId = w;
+                writers.add(pool.submit(() -> {
+                    int written = 0;
+                    for (int i = 0; i < 200; i++) {
+                        String phrase = "phrase " + ((i * 7 + writerId) % phrases);
+                        jdbcTemplate.update(INSERT_TRANSLATION, UUID.randomUUID(), userId, phrase, phrase + " (es)");
+                        // Drop it again so the blob is an orphan for the next sweep
+                        jdbcTemplate.update("DELETE FROM translations WHERE user_id = ? AND source_hash = sha256(convert_to(?, 'UTF8'))",
+                                userId, phrase);
+                        written++;
+                    }
+                    return written;
+                }));
+            }
+            for (Future<Integer> writer : writers) {
+                assertThat(writer.get(60, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+            running.set(false);
+            assertThat(sweeper.get(60, TimeUnit.SECONDS)).isPositive();
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+
+        jdbcTemplate.update(INSERT_TRANSLATION, UUID.randomUUID(), userId, "phrase 0", "frase 0");
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM translations t
+                WHERE NOT EXISTS (SELECT 1 FROM text_blobs b WHERE b.hash = t.source_hash)
+                   OR NOT EXISTS (SELECT 1 FROM text_blobs b WHERE b.hash = t.translated_hash)
+                """, Long.class)).isZero();
+    }
+
+    private void insertOrphan(String content) {
+        jdbcTemplate.update("""
+                INSERT INTO text_blobs (hash, content, created_at)
+                VALUES (sha256(convert_to(?, 'UTF8')), ?, now() - interval '2 days')
+                """, content, content);
+    }
+}
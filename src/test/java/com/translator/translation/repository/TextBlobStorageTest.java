@@ -0,0 +1,153 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.Translation;
+import com.translator.user.model.Role;
+import com.translator.user.model.User;
+import com.translator.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Content-addressed text storage (V10): identical texts are stored once and resolved back
+ * through the entity mapping, and a history dominated by repeated phrases takes far less
+ * space than the same rows with inline text and per-row text indexes.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TextBlobStorageTest {
+
+    private static final int USERS = 200;
+    private static final int ROWS = 20_000;
+    private static final int DISTINCT_PHRASES = 500;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void identicalTextsShouldShareOneBlobAndResolveBack() {
+        User first = saveUser("first@test.com");
+        User second = saveUser("second@test.com");
+        Translation a = translationRepository.save(translation(first, "See you tomorrow", "Hasta manana"));
+        Translation b = translationRepository.save(translation(second, "See you tomorrow", "A demain"));
+        translationRepository.flush();
+        entityManager.clear();
+
+        Long blobs = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM text_blobs WHERE content = 'See you tomorrow'", Long.class);
+        Translation reloadedA = translationRepository.findById(a.getId()).orElseThrow();
+        Translation reloadedB = translationRepository.findById(b.getId()).orElseThrow();
+
+        assertThat(blobs).isEqualTo(1);
+        assertThat(reloadedA.getSourceText()).isEqualTo("See you tomorrow");
+        assertThat(reloadedA.getTranslatedText()).isEqualTo("Hasta manana");
+        assertThat(reloadedB.getTranslatedText()).isEqualTo("A demain");
+        assertThat(reloadedA.getSourceHash()).isEqualTo(reloadedB.getSourceHash());
+    }
+
+    @Test
+    void repeatedPhrasesShouldTakeLessThanHalfTheInlineFootprint() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password_hash, role)
+                SELECT gen_random_uuid(), 'synthetic' || g || '@test.com', 'hash', 'USER'
+                FROM generate_series(1, ?) AS g
+                """, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO translations (id, user_id, source_hash, translated_hash, source_language, target_language)
+                SELECT gen_random_uuid(), u.ids[1 + g % array_length(u.ids, 1)],
+                       intern_text_blob(repeat('please confirm the delivery window for order ', 5) || g % ?),
+                       intern_text_blob(repeat('confirme la ventana de entrega del pedido ', 5) || g % ?),
+                       'en', 'es'
+                FROM generate_series(1, ?) AS g
+                CROSS JOIN (SELECT array_agg(id) AS ids FROM users) u
+                """, DISTINCT_PHRASES, DISTINCT_PHRASES, ROWS);
+
+        // The same rows stored the pre-V10 way: text inline, with full-text and trigram indexes
+        jdbcTemplate.execute("""
+                CREATE TABLE inline_translations AS
+                SELECT t.id, t.user_id, sb.content AS source_text, tb.content AS translated_text,
+                       t.source_language, t.target_language, t.provider_used, t.is_cached,
+                       t.is_favorite, t.metadata, t.created_at
+                FROM translations t
+                JOIN text_blobs sb ON sb.hash = t.source_hash
+                JOIN text_blobs tb ON tb.hash = t.translated_hash
+                """);
+        jdbcTemplate.execute("""
+                ALTER TABLE inline_translations ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+                    setweight(to_tsvector('simple', source_text), 'A') ||
+                    setweight(to_tsvector('simple', translated_text), 'B')) STORED
+                """);
+        jdbcTemplate.execute("CREATE INDEX ON inline_translations USING gin (search_vector)");
+        jdbcTemplate.execute("CREATE INDEX ON inline_translations USING gin (lower(source_text) gin_trgm_ops)");
+
+        long inline = jdbcTemplate.queryForObject(
+                "SELECT pg_total_relation_size('inline_translations')", Long.class);
+        long deduplicated = jdbcTemplate.queryForObject("""
+                SELECT (SELECT sum(pg_table_size(inhrelid)) FROM pg_inherits
+                         WHERE inhparent = 'translations'::regclass)
+                     + (SELECT coalesce(sum(pg_relation_size(x.indexrelid)), 0)
+                          FROM pg_index x JOIN pg_inherits i ON i.inhrelid = x.indrelid
+                         WHERE i.inhparent = 'translations'::regclass
+                           AND x.indexrelid::regclass::text LIKE 'idx_translations_%hash%')
+                     + pg_total_relation_size('text_blobs')
+                """, Long.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM text_blobs", Long.class))
+                .isEqualTo(2L * DISTINCT_PHRASES);
+        assertThat(deduplicated).isLessThan(inline / 2);
+    }
+
+    private User saveUser(String email) {
+        return userRepository.saveAndFlush(User.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .passwordHash("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    private static Translation translation(User user, String source, String translated) {
+        return Translation.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .sourceText(source)
+                .translatedText(translated)
+                .targetLanguage("es")
+                .build();
+    }
+}
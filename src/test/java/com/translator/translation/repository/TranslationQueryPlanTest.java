@@ -0,0 +1,259 @@
+package com.translator.translation.repository;
+
+import com.translator.user.model.Role;
+import com.translator.user.model.User;
+import com.translator.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds a realistically sized history and asserts on EXPLAIN output, so that a
+ * migration or query change which silently falls back to a sequential scan fails the build.
+ *
+ * The table is partitioned by month (V9): the heavy user's rows span the current and previous
+ * month, and the other user's rows are spread over every partition so none is empty.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TranslationQueryPlanTest {
+
+    private static final int SEEDED_ROWS = 50_000;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User heavyUser;
+    private OffsetDateTime currentMonth;
+
+    @BeforeEach
+    void setUp() {
+        heavyUser = saveUser("heavy@test.com");
+        User otherUser = saveUser("other@test.com");
+        currentMonth = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+
+        seed(heavyUser.getId(), SEEDED_ROWS, "0 days", "1 minute");
+        seed(otherUser.getId(), SEEDED_ROWS / 10, "90 days", "1 hour");
+        // Past months land in the default partition until their partitions exist; creating
+        // them must move those rows out
+        for (int monthsBack = 1; monthsBack <= 4; monthsBack++) {
+            jdbcTemplate.queryForObject("SELECT create_translation_partition(?::date)", Boolean.class,
+                    currentMonth.minusMonths(monthsBack).toLocalDate().toString());
+        }
+        jdbcTemplate.update("""
+                INSERT INTO translations (id, user_id, source_hash, translated_hash, source_language, target_language)
+                VALUES (gen_random_uuid(), ?, intern_text_blob('The quick brown fox jumps over the lazy dog'),
+                        intern_text_blob('El rapido zorro marron'), 'en', 'es')
+                """, heavyUser.getId());
+        jdbcTemplate.execute("ANALYZE translations");
+        jdbcTemplate.execute("ANALYZE text_blobs");
+    }
+
+    @Test
+    void searchShouldResolveMatchesThroughBlobIndexes() {
+        String plan = explain("""
+                WITH matched AS MATERIALIZED (
+                    SELECT b.hash FROM text_blobs b
+                    WHERE b.search_vector @@ websearch_to_tsquery('simple', 'brown fox')
+                       OR lower(b.content) LIKE '%%brown fox%%'
+                       OR lower('brown fox') <%% lower(b.content)
+                )
+                SELECT t.id FROM translations t JOIN matched m ON m.hash = t.source_hash
+                WHERE t.user_id = '%1$s'
+                UNION
+                SELECT t.id FROM translations t JOIN matched m ON m.hash = t.translated_hash
+                WHERE t.user_id = '%1$s'
+                """.formatted(heavyUser.getId()));
+
+        assertThat(plan).contains("idx_text_blobs_search_vector");
+        assertThat(plan).contains("idx_text_blobs_content_lower_trgm");
+        assertThat(plan).contains("idx_translations_source_hash_user");
+        assertThat(plan).doesNotContain("Seq Scan on text_blobs");
+        assertNoSeqScanOnHeavyUserPartitions(plan);
+    }
+
+    @Test
+    void containsIgnoreCaseFilterShouldUseBlobTrigramIndex() {
+        String plan = explain("""
+                SELECT t.id
+                FROM translations t
+                WHERE t.user_id = '%s'
+                  AND t.source_hash IN (SELECT b.hash FROM text_blobs b WHERE lower(b.content) LIKE '%%brown fox%%')
+                """.formatted(heavyUser.getId()));
+
+        assertThat(plan).contains("idx_text_blobs_content_lower_trgm");
+    }
+
+    @Test
+    void languageFilterShouldScanCompositeIndexInOrder() {
+        String plan = explain("""
+                SELECT t.id
+                FROM translations t
+                WHERE t.user_id = '%s' AND t.target_language = 'fr'
+                ORDER BY t.created_at DESC
+                LIMIT 20
+                """.formatted(heavyUser.getId()));
+
+        assertThat(plan).contains("idx_translations_user_lang_created");
+        assertNoSortNode(plan);
+    }
+
+    @Test
+    void favoritesFilterShouldUsePartialIndex() {
+        String plan = explain("""
+                SELECT t.id
+                FROM translations t
+                WHERE t.user_id = '%s' AND t.is_favorite = true
+                ORDER BY t.created_at DESC
+                LIMIT 20
+                """.formatted(heavyUser.getId()));
+
+        assertThat(plan).contains("idx_translations_user_favorite_created");
+        assertNoSortNode(plan);
+    }
+
+    @Test
+    void providerAndDateRangeFilterShouldUseProviderIndex() {
+        String plan = explain("""
+                SELECT t.id
+                FROM translations t
+                WHERE t.user_id = '%s'
+                  AND t.provider_used = 'AWS_TRANSLATE'
+                  AND t.created_at >= now() - interval '1 day'
+                ORDER BY t.created_at DESC
+                LIMIT 20
+                """.formatted(heavyUser.getId()));
+
+        assertThat(plan).containsAnyOf("idx_translations_user_provider_created", "idx_translations_user_created");
+        assertNoSeqScanOnHeavyUserPartitions(plan);
+    }
+
+    @Test
+    void historyRangeShouldPruneToItsMonth() {
+        String plan = explain("""
+                SELECT t.id
+                FROM translations t
+                WHERE t.user_id = '%s'
+                  AND t.created_at >= '%s'
+                  AND t.created_at < '%s'
+                ORDER BY t.created_at DESC
+                LIMIT 20
+                """.formatted(heavyUser.getId(), currentMonth.plusDays(1), currentMonth.plusMonths(1)));
+
+        assertThat(plan).contains(partition(currentMonth));
+        assertThat(plan).doesNotContain(partition(currentMonth.minusMonths(1)));
+        assertThat(plan).doesNotContain(partition(currentMonth.plusMonths(1)));
+        assertThat(plan).doesNotContain("translations_default");
+    }
+
+    @Test
+    void createdSinceCountShouldSkipOlderMonths() {
+        String plan = explain("""
+                SELECT count(*)
+                FROM translations t
+                WHERE t.created_at > '%s'
+                """.formatted(currentMonth));
+
+        assertThat(plan).contains(partition(currentMonth));
+        for (int monthsBack = 1; monthsBack <= 4; monthsBack++) {
+            assertThat(plan).doesNotContain(partition(currentMonth.minusMonths(monthsBack)));
+        }
+    }
+
+    @Test
+    void creatingPartitionShouldMoveRowsOutOfDefault() {
+        OffsetDateTime previousMonth = currentMonth.minusMonths(1);
+
+        Long moved = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + partition(previousMonth), Long.class);
+        Long leftBehind = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM translations_default WHERE created_at >= ?", Long.class, previousMonth);
+
+        assertThat(moved).isPositive();
+        assertThat(leftBehind).isZero();
+    }
+
+    private User saveUser(String email) {
+        return userRepository.saveAndFlush(User.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .passwordHash("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    /**
+     * Inserts {@code rows} rows {@code spacing} apart, the newest {@code ahead} of now; a positive
+     * offset puts rows into the future partitions.
+     */
+    private void seed(UUID userId, int rows, String ahead, String spacing) {
+        jdbcTemplate.update("""
+                INSERT INTO translations (id, user_id, source_hash, translated_hash, source_language,
+                                          target_language, provider_used, is_favorite, created_at)
+                SELECT gen_random_uuid(), ?, intern_text_blob('sample phrase number ' || g),
+                       intern_text_blob('frase de ejemplo ' || g), 'en',
+                       (ARRAY['es', 'fr', 'de', 'hi'])[1 + g % 4], 'AWS_TRANSLATE', g % 50 = 0,
+                       now() + ?::interval - g * ?::interval
+                FROM generate_series(1, ?) AS g
+                """, userId, ahead, spacing, rows);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    private static String partition(OffsetDateTime month) {
+        return "translations_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    /** Small partitions holding only other users' rows may legitimately be seq-scanned. */
+    private void assertNoSeqScanOnHeavyUserPartitions(String plan) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM translations WHERE user_id = ?",
+                String.class, heavyUser.getId());
+        assertThat(partitions).isNotEmpty();
+        for (String partition : partitions) {
+            assertThat(plan).doesNotContain("Seq Scan on " + partition + " ");
+        }
+    }
+
+    /** Merge Append prints a "Sort Key" line; only an actual Sort node means an extra sort step. */
+    private static void assertNoSortNode(String plan) {
+        assertThat(plan).doesNotContainPattern("Sort\\s+\\(cost");
+    }
+}
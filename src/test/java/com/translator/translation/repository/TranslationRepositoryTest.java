@@ -1,5 +1,6 @@
 package com.translator.translation.repository;
 
+import com.translator.translation.dto.HistoryFilterDTO;
 import com.translator.translation.model.Translation;
 import com.translator.user.model.Role;
 import com.translator.user.model.User;
@@ -112,4 +113,109 @@ class TranslationRepositoryTest {
         long count = translationRepository.countByUserIdAndCreatedAtAfter(testUser.getId(), OffsetDateTime.now().minusDays(1));
         assertThat(count).isEqualTo(1);
     }
+
+    @Test
+    void shouldRankAndHighlightSearchMatches() {
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .sourceText("The quick brown fox jumps")
+                .translatedText("El rapido zorro marron salta")
+                .targetLanguage("es")
+                .build());
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .sourceText("Good morning")
+                .translatedText("Buenos dias")
+                .targetLanguage("es")
+                .build());
+
+        Page<TranslationSearchView> results = translationRepository.search(
+                testUser.getId(), "brown fox", PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).hasSize(1);
+        assertThat(results.getContent().get(0).getSourceHighlight()).contains("<mark>brown</mark>");
+        assertThat(results.getContent().get(0).getScore()).isPositive();
+    }
+
+    @Test
+    void shouldMatchTranslatedTextAndMisspelledTerms() {
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .sourceText("Welcome back")
+                .translatedText("Bienvenido de nuevo")
+                .targetLanguage("es")
+                .build());
+
+        assertThat(translationRepository.search(testUser.getId(), "bienvenido", PageRequest.of(0, 10))
+                .getContent()).hasSize(1);
+        assertThat(translationRepository.search(testUser.getId(), "welcom", PageRequest.of(0, 10))
+                .getContent()).hasSize(1);
+    }
+
+    @Test
+    void shouldCombineHistoryFilters() {
+        OffsetDateTime now = OffsetDateTime.now();
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID()).user(testUser)
+                .sourceText("Good night").translatedText("Bonne nuit")
+                .targetLanguage("fr").providerUsed("AWS_TRANSLATE")
+                .isFavorite(true).createdAt(now.minusHours(1))
+                .build());
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID()).user(testUser)
+                .sourceText("Good night").translatedText("Buenas noches")
+                .targetLanguage("es").providerUsed("AWS_TRANSLATE")
+                .isFavorite(true).createdAt(now.minusHours(1))
+                .build());
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID()).user(testUser)
+                .sourceText("Good night").translatedText("Bonne nuit")
+                .targetLanguage("fr").providerUsed("AWS_TRANSLATE")
+                .isFavorite(true).createdAt(now.minusDays(10))
+                .build());
+
+        HistoryFilterDTO filter = HistoryFilterDTO.builder()
+                .favoritesOnly(true)
+                .targetLanguage("fr")
+                .provider("AWS_TRANSLATE")
+                .search("NIGHT")
+                .from(now.minusDays(1))
+                .build();
+
+        Page<Translation> results = translationRepository.findAll(
+                TranslationSpecifications.fromFilter(testUser.getId(), filter), PageRequest.of(0, 10));
+
+        assertThat(results.getContent()).hasSize(1);
+        assertThat(results.getContent().get(0).getTranslatedText()).isEqualTo("Bonne nuit");
+    }
+
+    @Test
+    void shouldPurgeInBoundedChunksUpToCutoffAndHideTombstonedRowsFromSearch() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minusMinutes(1);
+        for (int i = 1; i <= 5; i++) {
+            translationRepository.saveAndFlush(Translation.builder()
+                    .id(UUID.randomUUID()).user(testUser)
+                    .sourceText("Old greeting " + i).translatedText("Saludo " + i)
+                    .targetLanguage("es").createdAt(cutoff.minusMinutes(i))
+                    .build());
+        }
+        translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID()).user(testUser)
+                .sourceText("New greeting").translatedText("Saludo nuevo")
+                .targetLanguage("es").createdAt(cutoff.plusSeconds(30))
+                .build());
+
+        assertThat(translationRepository.search(testUser.getId(), "greeting", cutoff, PageRequest.of(0, 10))
+                .getContent()).extracting(TranslationSearchView::getSourceText)
+                .containsExactly("New greeting");
+
+        assertThat(translationRepository.deleteChunk(testUser.getId(), cutoff, 2)).isEqualTo(2);
+        assertThat(translationRepository.deleteChunk(testUser.getId(), cutoff, 2)).isEqualTo(2);
+        assertThat(translationRepository.deleteChunk(testUser.getId(), cutoff, 2)).isEqualTo(1);
+        assertThat(translationRepository.deleteChunk(testUser.getId(), cutoff, 2)).isZero();
+        assertThat(translationRepository.countByUserId(testUser.getId())).isEqualTo(1);
+    }
 }
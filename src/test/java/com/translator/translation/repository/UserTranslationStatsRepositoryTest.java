@@ -0,0 +1,91 @@
+package com.translator.translation.repository;
+
+import com.translator.translation.model.UserTranslationStats;
+import com.translator.user.model.Role;
+import com.translator.user.model.User;
+import com.translator.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserTranslationStatsRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private UserTranslationStatsRepository statsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .email("stats@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .build();
+        userRepository.saveAndFlush(testUser);
+    }
+
+    @Test
+    void insertIfAbsentShouldBeIdempotent() {
+        statsRepository.insertIfAbsent(testUser.getId());
+        statsRepository.insertIfAbsent(testUser.getId());
+
+        UserTranslationStats stats = statsRepository.findByUserIdForUpdate(testUser.getId()).orElseThrow();
+
+        assertThat(statsRepository.count()).isEqualTo(1);
+        assertThat(stats.getTotalCount()).isZero();
+        assertThat(stats.getLanguageCounts()).isEmpty();
+        assertThat(stats.getWeeklyCounts()).isEmpty();
+    }
+
+    @Test
+    void shouldRoundTripJsonbCounters() {
+        statsRepository.insertIfAbsent(testUser.getId());
+        UserTranslationStats stats = statsRepository.findByUserIdForUpdate(testUser.getId()).orElseThrow();
+        stats.setTotalCount(3);
+        stats.getLanguageCounts().merge("es", 2L, Long::sum);
+        stats.getLanguageCounts().merge("fr", 1L, Long::sum);
+        statsRepository.saveAndFlush(stats);
+        entityManager.clear();
+
+        UserTranslationStats reloaded = statsRepository.findById(testUser.getId()).orElseThrow();
+
+        assertThat(reloaded.getTotalCount()).isEqualTo(3);
+        assertThat(reloaded.getLanguageCounts()).containsEntry("es", 2L).containsEntry("fr", 1L);
+    }
+}
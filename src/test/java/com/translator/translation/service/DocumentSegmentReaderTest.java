@@ -0,0 +1,114 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.DocumentFormat;
+import com.translator.translation.service.DocumentSegmentReader.DocumentSegment;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentSegmentReaderTest {
+
+    @Test
+    void textSegmentsShouldRebuildTheDocument() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2_000; i++) {
+            text.append("Sentence number ").append(i).append(" has a few words in it.").append(i % 7 == 0 ? "\n\n" : " ");
+        }
+
+        List<DocumentSegment> segments = readAll(new StringReader(text.toString()), DocumentFormat.TEXT, 300);
+
+        assertThat(rebuild(segments)).isEqualTo(text.toString());
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.text().length()).isLessThanOrEqualTo(300));
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.preamble()).isEmpty());
+    }
+
+    @Test
+    void textReaderShouldOnlyReadAheadAboutTwoSegments() throws IOException {
+        CountingReader input = new CountingReader(new StringReader("Lorem ipsum dolor sit amet. ".repeat(100_000)));
+
+        try (DocumentSegmentReader reader = DocumentSegmentReader.open(input, DocumentFormat.TEXT, 500)) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(reader.next()).isNotNull();
+                assertThat(input.read).isLessThanOrEqualTo((long) (i + 4) * 500);
+            }
+        }
+    }
+
+    @Test
+    void subtitleCuesShouldKeepNumberingAndTimings() throws IOException {
+        String srt = """
+                1
+                00:00:01,000 --> 00:00:02,500
+                Hello there.
+                How are you?
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Goodbye.
+                """;
+
+        List<DocumentSegment> segments = readAll(new StringReader("\uFEFF" + srt), DocumentFormat.SRT, 1000);
+
+        assertThat(segments).extracting(DocumentSegment::text).containsExactly("Hello there.\nHow are you?", "Goodbye.");
+        assertThat(segments.get(0).preamble()).isEqualTo("1\n00:00:01,000 --> 00:00:02,500\n");
+        assertThat(rebuild(segments)).isEqualTo(srt);
+    }
+
+    @Test
+    void vttBlocksWithoutTimingShouldBeCopiedVerbatim() throws IOException {
+        String vtt = "WEBVTT\n\nNOTE translated by machine\n\n00:01.000 --> 00:02.000\nHi\n\n\n";
+
+        List<DocumentSegment> segments = readAll(new StringReader(vtt), DocumentFormat.VTT, 1000);
+
+        assertThat(segments).filteredOn(DocumentSegment::isTranslatable).extracting(DocumentSegment::text)
+                .containsExactly("Hi");
+        assertThat(rebuild(segments)).isEqualTo(vtt);
+    }
+
+    private static List<DocumentSegment> readAll(Reader input, DocumentFormat format, int maxChars) throws IOException {
+        List<DocumentSegment> segments = new ArrayList<>();
+        try (DocumentSegmentReader reader = DocumentSegmentReader.open(input, format, maxChars)) {
+            DocumentSegment segment;
+            while ((segment = reader.next()) != null) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    private static String rebuild(List<DocumentSegment> segments) {
+        StringBuilder document = new StringBuilder();
+        segments.forEach(segment -> document.append(segment.preamble()).append(segment.text()).append(segment.separator()));
+        return document.toString();
+    }
+
+    private static final class CountingReader extends Reader {
+
+        private final Reader delegate;
+        private long read;
+
+        private CountingReader(Reader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int count = delegate.read(buffer, offset, length);
+            if (count > 0) {
+                read += count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
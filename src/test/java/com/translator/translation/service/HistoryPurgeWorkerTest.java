@@ -0,0 +1,103 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.HistoryPurgeJob;
+import com.translator.translation.model.PurgeStatus;
+import com.translator.translation.repository.HistoryPurgeJobRepository;
+import com.translator.translation.repository.TranslationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HistoryPurgeWorkerTest {
+
+    private final HistoryPurgeJobRepository jobRepository = mock(HistoryPurgeJobRepository.class);
+    private final TranslationRepository translationRepository = mock(TranslationRepository.class);
+    private final TranslationStatsService statsService = mock(TranslationStatsService.class);
+    private final HistoryPurgeWorker worker = new HistoryPurgeWorker(jobRepository, translationRepository, statsService,
+            100, 0, 300_000, 60_000, 3_600_000, 1);
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void shouldResumeAFailedPurgeAfterItsBackoff() {
+        HistoryPurgeJob job = HistoryPurgeJob.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .cutoff(OffsetDateTime.now())
+                .build();
+        when(jobRepository.claim(eq(job.getId()), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(jobRepository.updateProgress(eq(job.getId()), any(), anyLong(), any())).thenReturn(1);
+        when(jobRepository.fail(eq(job.getId()), any(), any(), anyLong(), anyInt(), any(), any())).thenReturn(1);
+        when(jobRepository.complete(eq(job.getId()), any(), any(), anyLong(), any())).thenReturn(1);
+        when(translationRepository.deleteChunk(eq(job.getUserId()), eq(job.getCutoff()), anyInt()))
+                .thenReturn(100)
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"))
+                .thenReturn(40);
+
+        worker.run(job.getId());
+
+        assertThat(job.getStatus()).isEqualTo(PurgeStatus.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getRetryAt()).isAfter(OffsetDateTime.now().plusSeconds(50));
+        assertThat(job.getCompletedAt()).isNull();
+
+        // The recovery sweep submits it again once retryAt has passed and the claim succeeds
+        worker.run(job.getId());
+
+        assertThat(job.getStatus()).isEqualTo(PurgeStatus.COMPLETED);
+        assertThat(job.getDeletedCount()).isEqualTo(140);
+        assertThat(job.getErrorMessage()).isNull();
+        assertThat(job.getCompletedAt()).isNotNull();
+        verify(statsService).rebuildHistory(job.getUserId());
+        verify(jobRepository).complete(eq(job.getId()), any(), eq(PurgeStatus.COMPLETED), eq(140L), any());
+    }
+
+    @Test
+    void shouldStopWithoutWritingStatusOnceAnotherWorkerHasTheJob() {
+        HistoryPurgeJob job = HistoryPurgeJob.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .cutoff(OffsetDateTime.now())
+                .build();
+        when(jobRepository.claim(eq(job.getId()), any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(translationRepository.deleteChunk(eq(job.getUserId()), eq(job.getCutoff()), anyInt())).thenReturn(100);
+        // The heartbeat went stale and the job was reclaimed after the first chunk
+        when(jobRepository.updateProgress(eq(job.getId()), any(), anyLong(), any())).thenReturn(1).thenReturn(0);
+
+        worker.run(job.getId());
+
+        verify(translationRepository, times(2)).deleteChunk(any(), any(), anyInt());
+        verify(statsService, never()).rebuildHistory(any());
+        verify(jobRepository, never()).complete(any(), any(), any(), anyLong(), any());
+        verify(jobRepository, never()).fail(any(), any(), any(), anyLong(), anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldDoubleTheBackoffPerAttemptUpToTheMax() {
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(worker.backoff(3)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(worker.backoff(7)).isEqualTo(Duration.ofHours(1));
+        assertThat(worker.backoff(100)).isEqualTo(Duration.ofHours(1));
+    }
+}
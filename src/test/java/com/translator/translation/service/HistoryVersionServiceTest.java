@@ -0,0 +1,96 @@
+package com.translator.translation.service;
+
+import com.translator.translation.service.HistoryVersionService.HistoryVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HistoryVersionServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+    private static final String KEY = HistoryVersionService.KEY_PREFIX + USER;
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+    private HistoryVersionService versionService;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+        versionService = new HistoryVersionService(redisTemplate, Duration.ofHours(24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldReadBothCountersFromRedis() {
+        when(hashOps.multiGet(KEY, List.of("history", "lookups"))).thenReturn(List.of("1700000000007", "1700000000003"));
+
+        assertThat(versionService.current(USER)).contains(new HistoryVersion(1700000000007L, 1700000000003L));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSeedAMissingHashInsteadOfStartingAtZero() {
+        when(hashOps.multiGet(KEY, List.of("history", "lookups"))).thenReturn(Arrays.asList(null, null));
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), anyString(), anyString()))
+                .thenReturn(List.of("1700000000000", "1700000000000"));
+
+        assertThat(versionService.current(USER)).contains(new HistoryVersion(1700000000000L, 1700000000000L));
+    }
+
+    @Test
+    void shouldReportNoVersionWhenRedisIsDown() {
+        when(hashOps.multiGet(any(), any())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(versionService.current(USER)).isEmpty();
+    }
+
+    @Test
+    void shouldBumpOnlyAfterTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versionService.historyChanged(USER);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("history"), anyString(), anyString());
+    }
+
+    @Test
+    void shouldBumpImmediatelyOutsideATransaction() {
+        versionService.lookupsChanged(List.of(USER));
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq("lookups"), anyString(), anyString());
+    }
+}
@@ -0,0 +1,83 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.external.TranslationProvider;
+import com.translator.translation.dto.LanguageDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LanguageCatalogServiceTest {
+
+    private final TranslationProvider aws = provider("AWS_TRANSLATE");
+    private final TranslationProvider libre = provider("LIBRE_TRANSLATE");
+    private final LanguageCatalogService catalog = new LanguageCatalogService(List.of(aws, libre));
+
+    @Test
+    void shouldRejectPairsNoProviderListsAndAcceptAutoAsSource() {
+        when(aws.supportedLanguages()).thenReturn(Optional.of(Map.of("en", "English", "es", "Spanish", "zh-TW", "Chinese (Traditional)")));
+        catalog.refresh();
+
+        assertThatCode(() -> catalog.requireSupported("en", "es")).doesNotThrowAnyException();
+        assertThatCode(() -> catalog.requireSupported(null, "ZH-tw")).doesNotThrowAnyException();
+        assertThatCode(() -> catalog.requireSupported("auto", "en")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> catalog.requireSupported("en", "xx"))
+                .isInstanceOf(UnsupportedLanguageException.class)
+                .hasMessage("Unsupported target language: xx");
+        assertThatThrownBy(() -> catalog.requireSupported("yy", "es"))
+                .isInstanceOf(UnsupportedLanguageException.class)
+                .hasMessage("Unsupported language pair: yy -> es");
+    }
+
+    @Test
+    void shouldOfferProvidersWithoutAListEveryPair() {
+        when(aws.supportedLanguages()).thenReturn(Optional.of(Map.of("en", "English", "es", "Spanish")));
+        catalog.refresh();
+
+        assertThat(catalog.supports("AWS_TRANSLATE", "en", "es")).isTrue();
+        assertThat(catalog.supports("AWS_TRANSLATE", "en", "xx")).isFalse();
+        assertThat(catalog.supports("LIBRE_TRANSLATE", "en", "xx")).isTrue();
+        assertThat(catalog.getCatalog().getLanguages()).extracting(LanguageDTO::getCode).containsExactly("en", "es");
+        assertThat(catalog.getCatalog().getLanguages().get(0).getProviders()).containsExactly("AWS_TRANSLATE");
+    }
+
+    @Test
+    void shouldAcceptEveryPairUntilAListHasLoaded() {
+        when(aws.supportedLanguages()).thenThrow(new IllegalStateException("unreachable"));
+        catalog.refresh();
+
+        assertThatCode(() -> catalog.requireSupported("en", "xx")).doesNotThrowAnyException();
+        assertThat(catalog.getCatalog().getLanguages()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepTheLastListWhenARefreshFailsAndChangeVersionOnlyWithContent() {
+        when(aws.supportedLanguages())
+                .thenReturn(Optional.of(Map.of("en", "English", "es", "Spanish")))
+                .thenThrow(new IllegalStateException("throttled"))
+                .thenReturn(Optional.of(Map.of("en", "English", "es", "Spanish", "fr", "French")));
+        catalog.refresh();
+        String version = catalog.version();
+
+        catalog.refresh();
+        assertThat(catalog.version()).isEqualTo(version);
+        assertThatThrownBy(() -> catalog.requireSupported("en", "fr")).isInstanceOf(UnsupportedLanguageException.class);
+
+        catalog.refresh();
+        assertThat(catalog.version()).isNotEqualTo(version);
+        assertThatCode(() -> catalog.requireSupported("en", "fr")).doesNotThrowAnyException();
+    }
+
+    private static TranslationProvider provider(String name) {
+        TranslationProvider provider = mock(TranslationProvider.class);
+        when(provider.getProviderName()).thenReturn(name);
+        return provider;
+    }
+}
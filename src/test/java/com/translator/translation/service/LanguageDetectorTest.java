@@ -0,0 +1,219 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.language.LanguageProfileBuilder;
+import com.translator.infrastructure.language.LanguageProfileModel;
+import com.translator.translation.service.LanguageDetector.DetectedLanguage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sentences here, and in {@code language-detection/heldout.tsv}, are not in the training corpora
+ * under {@code src/main/language-corpus}. The held-out file also has sentences in languages the
+ * model was not trained on.
+ */
+class LanguageDetectorTest {
+
+    private final LanguageDetector detector = new LanguageDetector("", 0.6, 0.5, 20, 0.85, 1000);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "en | Where can I buy tickets for the concert?",
+            "es | Necesito reservar una habitación de hotel para dos noches",
+            "fr | J'ai besoin de réserver une chambre d'hôtel pour deux nuits",
+            "de | Wo kann ich Karten für das Konzert kaufen?",
+            "it | Dove posso comprare i biglietti per il concerto?",
+            "pt | Preciso reservar um quarto de hotel para duas noites",
+            "nl | Ik moet een hotelkamer boeken voor twee nachten",
+            "sv | Jag behöver boka ett hotellrum för två nätter",
+            "pl | Muszę zarezerwować pokój w hotelu na dwie noce",
+            "tr | İki gece için bir otel odası ayırtmam gerekiyor",
+            "vi | Tôi cần đặt một phòng khách sạn cho hai đêm",
+            "fi | Minun täytyy varata hotellihuone kahdeksi yöksi",
+            "ru | Мне нужно забронировать номер в гостинице на две ночи",
+            "uk | Мені потрібно забронювати номер у готелі на дві ночі",
+            "bg | Трябва да резервирам хотелска стая за две нощувки",
+    })
+    void shouldDetectTrigramLanguagesReliably(String expected, String text) {
+        DetectedLanguage detected = detector.detect(text);
+
+        assertThat(detected.code()).isEqualTo(expected);
+        assertThat(detector.isReliable(detected)).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "hi | मुझे दो रातों के लिए होटल का कमरा बुक करना है",
+            "ja | 二泊のホテルの部屋を予約する必要があります",
+            "zh | 我需要预订两晚的酒店房间",
+            "ko | 이틀 밤 호텔 방을 예약해야 합니다",
+            "el | Πρέπει να κλείσω ένα δωμάτιο ξενοδοχείου για δύο νύχτες",
+    })
+    void shouldDecideByScriptAlone(String expected, String text) {
+        DetectedLanguage detected = detector.detect(text);
+
+        assertThat(detected.code()).isEqualTo(expected);
+        assertThat(detected.confidence()).isEqualTo(1.0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Delete",
+            "Save changes",
+            "Thank you",
+            "I need a hotel room",
+            "Buenos días",
+            "Danke schön",
+            "Не сейчас",
+    })
+    void shouldLeaveShortTextToTheProvider(String text) {
+        assertThat(detector.isReliable(detector.detect(text))).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "da | Husk at købe mælk og rugbrød, når du alligevel går forbi købmanden.",
+            "ca | Voldria reservar una taula per a quatre persones aquest vespre a les set.",
+            "sk | Chcel by som si rezervovať stôl pre štyroch ľudí dnes večer o siedmej.",
+            "hu | Szeretnék asztalt foglalni négy főre ma estére hét órára.",
+            "et | Ma sooviksin broneerida laua neljale inimesele täna õhtuks kell seitse.",
+            "lt | Norėčiau užsisakyti staliuką keturiems žmonėms šįvakar septintą valandą.",
+    })
+    void shouldNotPassOffUntrainedLanguagesAsTrainedOnes(String language, String text) {
+        DetectedLanguage detected = detector.detect(text);
+
+        assertThat(detector.isReliable(detected))
+                .as("%s text detected as %s", language, detected.code())
+                .isFalse();
+    }
+
+    @Test
+    void shouldOnlyReportHeldOutSentencesItGetsRight() throws IOException {
+        List<String> trained = bundledModel().languages();
+        int trainedTotal = 0;
+        int accepted = 0;
+        int wrong = 0;
+        int untrainedTotal = 0;
+        int untrainedAccepted = 0;
+        for (String[] sample : heldOut()) {
+            DetectedLanguage detected = detector.detect(sample[1]);
+            if (trained.contains(sample[0])) {
+                trainedTotal++;
+                if (detector.isReliable(detected)) {
+                    accepted++;
+                    wrong += detected.code().equals(sample[0]) ? 0 : 1;
+                }
+            } else {
+                untrainedTotal++;
+                untrainedAccepted += detector.isReliable(detected) ? 1 : 0;
+            }
+        }
+
+        assertThat(wrong).isZero();
+        assertThat((double) accepted / trainedTotal).isGreaterThan(0.75);
+        // Close relatives of a trained language (Galician, Afrikaans, Norwegian) can still pass as it
+        assertThat((double) untrainedAccepted / untrainedTotal).isLessThan(0.15);
+    }
+
+    /**
+     * With the gates off, every word prefix of the held-out sentences in trained languages is
+     * scored; in each confidence band the share detected correctly must match the confidence
+     * reported (expected calibration error), which is what {@link LanguageDetector#EVIDENCE_TEMPERATURE}
+     * was fitted to.
+     */
+    @Test
+    void confidenceShouldMatchHeldOutAccuracy() throws IOException {
+        LanguageProfileModel model = bundledModel();
+        LanguageDetector ungated = new LanguageDetector(model, 0, 0, 0, 0, 1000);
+        int bands = 10;
+        int[] counts = new int[bands];
+        int[] correct = new int[bands];
+        double[] confidenceSums = new double[bands];
+        int total = 0;
+        for (String[] sample : heldOut()) {
+            if (!model.languages().contains(sample[0])) {
+                continue;
+            }
+            String[] words = sample[1].split(" ");
+            for (int n = 1; n <= words.length; n++) {
+                DetectedLanguage detected = ungated.detect(String.join(" ", Arrays.copyOf(words, n)));
+                if (detected.code() == null) {
+                    continue;
+                }
+                int band = Math.min(bands - 1, (int) (detected.confidence() * bands));
+                counts[band]++;
+                confidenceSums[band] += detected.confidence();
+                correct[band] += detected.code().equals(sample[0]) ? 1 : 0;
+                total++;
+            }
+        }
+
+        double calibrationError = 0;
+        for (int band = 0; band < bands; band++) {
+            if (counts[band] > 0) {
+                calibrationError += Math.abs(confidenceSums[band] - correct[band]) / total;
+            }
+        }
+        assertThat(calibrationError).isLessThan(0.02);
+    }
+
+    @Test
+    void shouldReturnUnknownForTextWithoutLetters() {
+        DetectedLanguage detected = detector.detect("12:30 -- 42 !!");
+
+        assertThat(detected).isEqualTo(DetectedLanguage.UNKNOWN);
+        assertThat(detector.isReliable(detected)).isFalse();
+    }
+
+    @Test
+    void shouldLowerConfidenceForMixedScripts() {
+        DetectedLanguage pure = detector.detect("Мне нужно забронировать номер");
+        DetectedLanguage mixed = detector.detect("Мне нужно забронировать номер hotel booking now");
+
+        assertThat(mixed.confidence()).isLessThan(pure.confidence());
+    }
+
+    @Test
+    void bundledModelShouldMatchCorpusRebuild() throws Exception {
+        byte[] rebuilt = LanguageProfileBuilder.build(
+                LanguageProfileBuilder.readCorpora(Path.of("src/main/language-corpus")));
+
+        try (InputStream bundled = LanguageDetector.class.getResourceAsStream(LanguageDetector.BUNDLED_MODEL)) {
+            assertThat(bundled).isNotNull();
+            assertThat(bundled.readAllBytes())
+                    .as("profiles.bin is stale; rebuild it with LanguageProfileBuilder")
+                    .isEqualTo(rebuilt);
+        }
+    }
+
+    private static LanguageProfileModel bundledModel() throws IOException {
+        try (InputStream bundled = LanguageDetector.class.getResourceAsStream(LanguageDetector.BUNDLED_MODEL)) {
+            return LanguageProfileModel.wrap(ByteBuffer.wrap(bundled.readAllBytes()));
+        }
+    }
+
+    /** Language code and sentence, tab-separated. */
+    private static List<String[]> heldOut() throws IOException {
+        try (InputStream in = LanguageDetectorTest.class.getResourceAsStream("/language-detection/heldout.tsv")) {
+            List<String[]> samples = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    samples.add(line.split("\t", 2));
+                }
+            }
+            return samples;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.translator.translation.service;
+
+import com.translator.translation.model.ContentFormat;
+import com.translator.translation.service.MarkupTemplate.Part;
+import com.translator.translation.service.MarkupTemplate.Run;
+import com.translator.translation.service.MarkupTemplate.Verbatim;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkupTemplateTest {
+
+    @Test
+    void shouldGiveTheSameRunTextWhateverTheTagAttributes() {
+        Run first = runs("<p>Read <a href=\"/pricing\" class=\"cta\">our plans</a> today.</p>", ContentFormat.HTML).get(0);
+        Run second = runs("<li>Read <a href='/en/plans'>our plans</a> today.</li>", ContentFormat.HTML).get(0);
+
+        assertThat(first.text()).isEqualTo("Read <x1>our plans</x1> today.");
+        assertThat(second.text()).isEqualTo(first.text());
+        assertThat(first.placeholders()).containsEntry("<x1>", "<a href=\"/pricing\" class=\"cta\">");
+    }
+
+    @Test
+    void shouldSplitRunsAtBlockTagsAndCopyRawTextElements() {
+        String html = "<ul><li>Home</li><li> About </li></ul><script>var b = '<b>text</b>';</script><p>42</p>";
+
+        MarkupTemplate template = MarkupTemplate.parse(html, ContentFormat.HTML);
+
+        assertThat(template.runs()).extracting(Run::text).containsExactly("Home", "About");
+        assertThat(render(template)).isEqualTo(html);
+    }
+
+    @Test
+    void shouldKeepCodeAndUnknownEntitiesOpaqueAndDecodeKnownOnes() {
+        Run run = runs("<p>Run <code>npm <b>i</b></code> &mdash; Tom &amp; Jerry</p>", ContentFormat.HTML).get(0);
+
+        assertThat(run.text()).isEqualTo("Run <x1/> <x2/> Tom & Jerry");
+        assertThat(run.placeholders()).containsValues("<code>npm <b>i</b></code>", "&mdash;");
+        assertThat(run.render("Ejecuta <x1/> <x2/> Tom & Jerry")).isEqualTo("Ejecuta <code>npm <b>i</b></code> &mdash; Tom &amp; Jerry");
+    }
+
+    @Test
+    void shouldTreatTagsClosedOutOfOrderAsStandalone() {
+        Run run = runs("<p><b>bold <i>both</b> tail</i></p>", ContentFormat.HTML).get(0);
+
+        assertThat(run.text()).isEqualTo("<x1>bold <x2/>both</x1> tail<x3/>");
+    }
+
+    @Test
+    void shouldRenderReorderedPlaceholdersAndRejectLostOnes() {
+        Run run = runs("<p>the <b>red</b> <i>car</i></p>", ContentFormat.HTML).get(0);
+
+        assertThat(run.render("la <x2>voiture</x2> <x1>rouge</x1> & co"))
+                .isEqualTo("la <i>voiture</i> <b>rouge</b> &amp; co");
+        assertThat(run.render("la voiture <x1>rouge</x1>")).isNull();
+        assertThat(run.render("la <x2>voiture</x2> <x1>rouge</x1> <x1>")).isNull();
+        assertThat(run.render("la <x3/> <x2>voiture</x2> <x1>rouge</x1>")).isNull();
+    }
+
+    @Test
+    void shouldRebuildFromTranslatedPieces() {
+        Run run = runs("<p>Click <a href=\"/x\">here</a> now</p>", ContentFormat.HTML).get(0);
+
+        assertThat(run.pieces()).containsExactly("Click ", "here", " now");
+        assertThat(run.render(run.withPieces(List.of("Klicken ", "hier", " jetzt"))))
+                .isEqualTo("Klicken <a href=\"/x\">hier</a> jetzt");
+    }
+
+    @Test
+    void shouldExtractMarkdownRunsWithoutBlockPrefixesLinksOrCode() {
+        String markdown = "# Getting started\n\n"
+                + "- [ ] Install **the** [CLI](https://example.com/cli) with `brew install x`\n"
+                + "```sh\necho **not text**\n```\n"
+                + "| Name | Count |\n|---|---|\n| snake_case_name | 2 * 3 |\n";
+
+        MarkupTemplate template = MarkupTemplate.parse(markdown, ContentFormat.MARKDOWN);
+
+        assertThat(template.runs()).extracting(Run::text).containsExactly(
+                "Getting started",
+                "Install <x1>the</x1> <x2>CLI</x2> with <x3/>",
+                "Name", "Count", "snake_case_name");
+        assertThat(template.runs().get(1).placeholders())
+                .containsEntry("</x2>", "](https://example.com/cli)")
+                .containsEntry("<x3/>", "`brew install x`");
+        assertThat(render(template)).isEqualTo(markdown);
+    }
+
+    @Test
+    void shouldKeepTextWithoutLettersOutOfTranslation() {
+        MarkupTemplate template = MarkupTemplate.parse("<p>2024</p><p><b>-</b></p>", ContentFormat.HTML);
+
+        assertThat(template.runs()).isEmpty();
+        assertThat(template.parts()).hasSize(1);
+    }
+
+    private static List<Run> runs(String source, ContentFormat format) {
+        return MarkupTemplate.parse(source, format).runs();
+    }
+
+    /** Renders each run's own text back, i.e. an identity translation. */
+    private static String render(MarkupTemplate template) {
+        StringBuilder out = new StringBuilder();
+        for (Part part : template.parts()) {
+            out.append(part instanceof Verbatim verbatim ? verbatim.markup() : ((Run) part).render(((Run) part).text()));
+        }
+        return out.toString();
+    }
+}
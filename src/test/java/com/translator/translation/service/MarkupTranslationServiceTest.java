@@ -0,0 +1,134 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.model.ContentFormat;
+import com.translator.translation.service.TranslationService.ResolvedRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MarkupTranslationServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private final TranslationService translationService = mock(TranslationService.class);
+    private final CacheInvalidationService cacheInvalidation = mock(CacheInvalidationService.class);
+    private MarkupTranslationService markupService;
+
+    @BeforeEach
+    void setUp() {
+        markupService = new MarkupTranslationService(translationService, cacheInvalidation,
+                new TranslatorMetrics(new SimpleMeterRegistry()), 4);
+        when(translationService.resolveSourceLanguage(any()))
+                .thenAnswer(call -> new ResolvedRequest(call.getArgument(0), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        markupService.shutdown();
+    }
+
+    @Test
+    void shouldTranslateEachDistinctRunOnceAndRebuildTheMarkup() {
+        when(translationService.translateSegment(any(), eq(USER), any(Predicate.class))).thenAnswer(call -> response(
+                call.<ResolvedRequest>getArgument(0).request().getSourceText()
+                        .replace("Home", "Start").replace("Go", "Los").replace("now", "jetzt"),
+                "AWS_TRANSLATE", false));
+
+        TranslationResponseDTO response = markupService.translate(
+                request("<ul><li><a href=\"/a\">Home</a></li><li><a href=\"/b\">Home</a></li></ul><p>Go <b>now</b></p>",
+                        ContentFormat.HTML), USER);
+
+        assertThat(response.getTranslatedText()).isEqualTo(
+                "<ul><li><a href=\"/a\">Start</a></li><li><a href=\"/b\">Start</a></li></ul><p>Los <b>jetzt</b></p>");
+        assertThat(response.getProviderUsed()).isEqualTo("AWS_TRANSLATE");
+        assertThat(response.isServedFromCache()).isFalse();
+        verify(translationService, times(1)).translateSegment(argThat(segment -> segment != null
+                && segment.request().getSourceText().equals("<x1>Home</x1>")), eq(USER), any(Predicate.class));
+        verify(translationService).recordSegmentedTranslation(any(), eq(response.getTranslatedText()),
+                eq("AWS_TRANSLATE"), eq(USER));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToPiecesWhenPlaceholdersAreLostAndNotCacheTheRun() {
+        // The provider drops the tags of the whole run, but translates plain pieces fine
+        when(translationService.translateSegment(any(), eq(USER), any(Predicate.class)))
+                .thenReturn(response("Klicken Sie hier", "AWS_TRANSLATE", false));
+        when(translationService.translateSegment(any(), eq(USER))).thenAnswer(call -> response(
+                call.<ResolvedRequest>getArgument(0).request().getSourceText().equals("Click") ? "Klicken" : "hier",
+                "CAFFEINE_CACHE", true));
+
+        TranslationResponseDTO response = markupService.translate(
+                request("Click <a href=\"/x\">here</a>", ContentFormat.HTML), USER);
+
+        assertThat(response.getTranslatedText()).isEqualTo("Klicken <a href=\"/x\">hier</a>");
+        ArgumentCaptor<Predicate<String>> cacheable = ArgumentCaptor.forClass(Predicate.class);
+        verify(translationService).translateSegment(any(), eq(USER), cacheable.capture());
+        assertThat(cacheable.getValue().test("Klicken Sie hier")).isFalse();
+        assertThat(cacheable.getValue().test("Klicken <x1>hier</x1>")).isTrue();
+        verify(cacheInvalidation, never()).invalidateTranslation(anyString(), anyString());
+    }
+
+    @Test
+    void shouldInvalidateACachedRunWhosePlaceholdersWereLost() {
+        when(translationService.translateSegment(any(), eq(USER), any(Predicate.class)))
+                .thenReturn(response("Klicken Sie hier", "REDIS_CACHE", true));
+        when(translationService.translateSegment(any(), eq(USER)))
+                .thenReturn(response("hier", "CAFFEINE_CACHE", true));
+
+        markupService.translate(request("Click <a href=\"/x\">here</a>", ContentFormat.HTML), USER);
+
+        verify(cacheInvalidation).invalidateTranslation("Click <x1>here</x1>", "de");
+    }
+
+    @Test
+    void shouldReportCacheTierAndSkipHistoryWhenEveryRunIsCached() {
+        when(translationService.translateSegment(any(), eq(USER), any(Predicate.class)))
+                .thenReturn(response("Hola", "REDIS_CACHE", true));
+
+        TranslationResponseDTO response = markupService.translate(
+                request("## Hello\n\n`code` only\n", ContentFormat.MARKDOWN), USER);
+
+        assertThat(response.isServedFromCache()).isTrue();
+        assertThat(response.getProviderUsed()).isEqualTo("REDIS_CACHE");
+        verify(translationService, never()).recordSegmentedTranslation(any(), anyString(), anyString(), any());
+    }
+
+    private static TranslationRequestDTO request(String text, ContentFormat format) {
+        TranslationRequestDTO request = new TranslationRequestDTO();
+        request.setSourceText(text);
+        request.setSourceLanguage("en");
+        request.setTargetLanguage("de");
+        request.setFormat(format);
+        return request;
+    }
+
+    private static TranslationResponseDTO response(String text, String provider, boolean cached) {
+        return TranslationResponseDTO.builder()
+                .translatedText(text)
+                .sourceLanguageDetected("en")
+                .targetLanguage("de")
+                .providerUsed(provider)
+                .servedFromCache(cached)
+                .build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.service.ProviderCallScheduler.Lane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProviderCallSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final List<String> served = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldServeWaitingInteractiveCallsBeforeBulkAndKeepBulkOutOfTheHeadroom() throws Exception {
+        ProviderCallScheduler scheduler = scheduler(2, 1, Duration.ofSeconds(5), 10);
+        CountDownLatch firstHolder = hold(scheduler, Lane.INTERACTIVE);
+        CountDownLatch secondHolder = hold(scheduler, Lane.INTERACTIVE);
+
+        Future<?> bulk = submit(scheduler, Lane.BULK, UUID.randomUUID(), "bulk");
+        awaitDepth(Lane.BULK, 1);
+        Future<?> interactive = submit(scheduler, Lane.INTERACTIVE, UUID.randomUUID(), "interactive");
+        awaitDepth(Lane.INTERACTIVE, 1);
+
+        firstHolder.countDown();
+        interactive.get(5, TimeUnit.SECONDS);
+        // One slot free is not enough for bulk while its headroom is one
+        assertThat(served).containsExactly("interactive");
+        assertThat(depth(Lane.BULK)).isEqualTo(1);
+
+        secondHolder.countDown();
+        bulk.get(5, TimeUnit.SECONDS);
+        assertThat(served).containsExactly("interactive", "bulk");
+        assertThat(registry.get("translation.provider.queue.wait")
+                .tags("lane", "bulk", "outcome", "admitted").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInterleaveUsersWithinALaneByFinishTag() throws Exception {
+        ProviderCallScheduler scheduler = scheduler(1, 0, Duration.ofSeconds(5), 10);
+        CountDownLatch holder = hold(scheduler, Lane.INTERACTIVE);
+        UUID heavy = UUID.randomUUID();
+        UUID light = UUID.randomUUID();
+
+        List<Future<?>> calls = new CopyOnWriteArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            calls.add(submit(scheduler, Lane.INTERACTIVE, heavy, "heavy-" + i));
+            awaitDepth(Lane.INTERACTIVE, i);
+        }
+        calls.add(submit(scheduler, Lane.INTERACTIVE, light, "light-1"));
+        awaitDepth(Lane.INTERACTIVE, 4);
+
+        holder.countDown();
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(served).containsExactly("heavy-1", "light-1", "heavy-2", "heavy-3");
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFullAndTimeOutWhenNoSlotFrees() throws Exception {
+        ProviderCallScheduler scheduler = scheduler(1, 0, Duration.ofMillis(100), 1);
+        CountDownLatch holder = hold(scheduler, Lane.INTERACTIVE);
+
+        Future<?> bulk = submit(scheduler, Lane.BULK, UUID.randomUUID(), "bulk");
+        awaitDepth(Lane.BULK, 1);
+        assertThatThrownBy(() -> scheduler.call(Lane.BULK, UUID.randomUUID(), 10, () -> "never"))
+                .isInstanceOf(ProviderCapacityException.class)
+                .hasMessageContaining("queue full");
+
+        Future<?> interactive = submit(scheduler, Lane.INTERACTIVE, UUID.randomUUID(), "interactive");
+        assertThatThrownBy(() -> interactive.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ProviderCapacityException.class);
+        assertThat(depth(Lane.INTERACTIVE)).isZero();
+
+        holder.countDown();
+        bulk.get(5, TimeUnit.SECONDS);
+        assertThat(served).containsExactly("bulk");
+        assertThat(registry.get("translation.provider.queue.wait")
+                .tags("lane", "bulk", "outcome", "rejected").timer().count()).isEqualTo(1);
+        assertThat(registry.get("translation.provider.queue.wait")
+                .tags("lane", "interactive", "outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    /** Bulk and background calls wait up to five seconds; background never gets a slot. */
+    private ProviderCallScheduler scheduler(int slots, int bulkHeadroom, Duration interactiveMaxWait, int maxQueued) {
+        return new ProviderCallScheduler(new TranslatorMetrics(registry), slots,
+                interactiveMaxWait, maxQueued,
+                bulkHeadroom, Duration.ofSeconds(5), maxQueued,
+                slots, Duration.ofSeconds(5), maxQueued);
+    }
+
+    /** Takes a slot and keeps it until the returned latch is released. */
+    private CountDownLatch hold(ProviderCallScheduler scheduler, Lane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> scheduler.call(lane, UUID.randomUUID(), 10, () -> {
+            started.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private Future<?> submit(ProviderCallScheduler scheduler, Lane lane, UUID userId, String name) {
+        return callers.submit(() -> scheduler.call(lane, userId, 10, () -> served.add(name)));
+    }
+
+    private void awaitDepth(Lane lane, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (depth(lane) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(depth(lane)).isEqualTo(expected);
+    }
+
+    private int depth(Lane lane) {
+        return (int) registry.get("translation.provider.queue.depth")
+                .tag("lane", lane.name().toLowerCase()).gauge().value();
+    }
+}
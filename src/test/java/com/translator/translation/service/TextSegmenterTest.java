@@ -0,0 +1,67 @@
+package com.translator.translation.service;
+
+import com.translator.translation.service.TextSegmenter.Segment;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextSegmenterTest {
+
+    @Test
+    void shouldPackSentencesUpToTheLimit() {
+        List<Segment> segments = TextSegmenter.split("One two. Three four. Five six.", 20);
+
+        assertThat(segments).extracting(Segment::text).containsExactly("One two. Three four.", "Five six.");
+        assertThat(segments).extracting(Segment::separator).containsExactly(" ", "");
+    }
+
+    @Test
+    void shouldKeepParagraphBreaksAsSeparators() {
+        String text = "First paragraph.\n\nSecond paragraph.\n";
+
+        List<Segment> segments = TextSegmenter.split(text, 20);
+
+        assertThat(segments).containsExactly(
+                new Segment("First paragraph.", "\n\n"),
+                new Segment("Second paragraph.", "\n"));
+        assertThat(rejoin(segments)).isEqualTo(text);
+    }
+
+    @Test
+    void shouldCutOverlongSentenceAtWhitespace() {
+        List<Segment> segments = TextSegmenter.split("alpha beta gamma delta epsilon", 12);
+
+        assertThat(segments).extracting(Segment::text).containsExactly("alpha beta", "gamma delta", "epsilon");
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.text().length()).isLessThanOrEqualTo(12));
+    }
+
+    @Test
+    void shouldHardCutTextWithoutWhitespaceButNotSplitSurrogatePairs() {
+        String text = "a".repeat(4) + "😀" + "b".repeat(4);
+
+        List<Segment> segments = TextSegmenter.split(text, 5);
+
+        assertThat(rejoin(segments)).isEqualTo(text);
+        assertThat(segments).allSatisfy(segment ->
+                assertThat(Character.isHighSurrogate(segment.text().charAt(segment.text().length() - 1))).isFalse());
+    }
+
+    @Test
+    void shouldReturnNothingForBlankText() {
+        assertThat(TextSegmenter.split("  \n ", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> TextSegmenter.split("text", 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String rejoin(List<Segment> segments) {
+        StringBuilder text = new StringBuilder();
+        segments.forEach(segment -> text.append(segment.text()).append(segment.separator()));
+        return text.toString();
+    }
+}
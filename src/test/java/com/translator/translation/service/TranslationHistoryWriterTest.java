@@ -0,0 +1,142 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.TranslationRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Flushes commit on their own, as in production, so the test runs outside a transaction. */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TranslationHistoryWriter.class, TranslationStatsService.class})
+class TranslationHistoryWriterTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @MockBean
+    private HistoryVersionService versionService;
+
+    @Autowired
+    private TranslationHistoryWriter historyWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = createUser();
+        bob = createUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        historyWriter.flush();
+        jdbcTemplate.update("DELETE FROM translations");
+        jdbcTemplate.update("DELETE FROM user_translation_stats");
+    }
+
+    @Test
+    void shouldWriteQueuedRowsAndTheirStatsInOneFlush() {
+        historyWriter.enqueue(request("Good morning everyone", "es"), "Buenos días a todos", "AWS_TRANSLATE", alice, false);
+        historyWriter.enqueue(request("Good morning everyone", "es"), "Buenos días a todos", "AWS_TRANSLATE", bob, true);
+        historyWriter.enqueue(request("Thank you", "fr"), "Merci", "LIBRE_TRANSLATE", alice, false);
+
+        assertThat(historyRows(alice) + historyRows(bob)).isZero();
+
+        historyWriter.flush();
+
+        assertThat(historyRows(alice)).isEqualTo(2);
+        assertThat(historyRows(bob)).isEqualTo(1);
+        // Each distinct text of the batch is stored once, however many rows use it
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM text_blobs WHERE content IN ('Good morning everyone', 'Buenos días a todos')",
+                Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT sb.content || ' -> ' || tb.content || ' ' || (t.metadata ->> 'wordCount') || ' ' || t.is_cached
+                FROM translations t
+                JOIN text_blobs sb ON sb.hash = t.source_hash
+                JOIN text_blobs tb ON tb.hash = t.translated_hash
+                WHERE t.user_id = ?
+                """, String.class, bob)).isEqualTo("Good morning everyone -> Buenos días a todos 3 true");
+        assertThat(totalCount(alice)).isEqualTo(2);
+        assertThat(totalCount(bob)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT language_counts ->> 'fr' FROM user_translation_stats WHERE user_id = ?", String.class, alice))
+                .isEqualTo("1");
+    }
+
+    @Test
+    void shouldSkipRowsOfAUserDeletedWhileTheyWereQueued() {
+        UUID deleted = UUID.randomUUID();
+        historyWriter.enqueue(request("Hello", "es"), "Hola", "AWS_TRANSLATE", deleted, false);
+        historyWriter.enqueue(request("Hello", "es"), "Hola", "AWS_TRANSLATE", alice, false);
+
+        historyWriter.flush();
+
+        assertThat(historyRows(alice)).isEqualTo(1);
+        assertThat(historyRows(deleted)).isZero();
+        assertThat(totalCount(alice)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_translation_stats WHERE user_id = ?", Integer.class, deleted)).isZero();
+
+        // Nothing was requeued
+        historyWriter.flush();
+        assertThat(historyRows(alice)).isEqualTo(1);
+    }
+
+    private UUID createUser() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, role) VALUES (?, ?, 'hash', 'USER')",
+                userId, userId + "@test.com");
+        return userId;
+    }
+
+    private int historyRows(UUID userId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM translations WHERE user_id = ?", Integer.class, userId);
+    }
+
+    private long totalCount(UUID userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_count FROM user_translation_stats WHERE user_id = ?", Long.class, userId);
+    }
+
+    private static TranslationRequestDTO request(String sourceText, String targetLanguage) {
+        TranslationRequestDTO request = new TranslationRequestDTO();
+        request.setSourceText(sourceText);
+        request.setTargetLanguage(targetLanguage);
+        return request;
+    }
+}
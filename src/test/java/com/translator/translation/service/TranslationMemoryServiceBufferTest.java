@@ -0,0 +1,67 @@
+package com.translator.translation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslationMemoryServiceBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private TranslationMemoryService memory;
+
+    @AfterEach
+    void tearDown() {
+        memory.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepWritesFromAFailedBatchForTheNextFlush() {
+        memory = new TranslationMemoryService(jdbcTemplate, 100);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(new int[]{1});
+
+        memory.remember("Hello", "en", "es", "Hola", "AWS_TRANSLATE");
+        memory.flush();
+        memory.recordUsage("Hello", "en", "es");
+        memory.flush();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> retried = batches.getAllValues().get(1);
+        assertThat(retried).hasSize(1);
+        assertThat(retried.get(0)).containsExactly("Hello", "en", "es", "Hola", "AWS_TRANSLATE", 2L);
+    }
+
+    @Test
+    void shouldFlushAFullBufferOffTheCallingThread() {
+        memory = new TranslationMemoryService(jdbcTemplate, 1);
+        AtomicReference<String> flushThread = new AtomicReference<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(call -> {
+            flushThread.set(Thread.currentThread().getName());
+            return new int[]{1};
+        });
+
+        memory.remember("Hello", "en", "es", "Hola", "AWS_TRANSLATE");
+        memory.remember("Goodbye", "en", "es", "Adios", "AWS_TRANSLATE");
+
+        verify(jdbcTemplate, timeout(5000)).batchUpdate(anyString(), anyList());
+        assertThat(flushThread.get()).startsWith("memory-flush-");
+    }
+}
@@ -0,0 +1,70 @@
+package com.translator.translation.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TranslationMemoryService.class)
+class TranslationMemoryServiceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TranslationMemoryService translationMemory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldServeRememberedResultOnlyAfterFlush() {
+        translationMemory.remember("Good evening", null, "es", "Buenas tardes", "AWS_TRANSLATE");
+
+        assertThat(translationMemory.lookup("Good evening", null, "es")).isEmpty();
+
+        translationMemory.flush();
+
+        assertThat(translationMemory.lookup("Good evening", null, "es")).contains("Buenas tardes");
+        assertThat(translationMemory.lookup("Good evening", "en", "es")).isEmpty();
+        assertThat(translationMemory.lookup("Good evening", null, "fr")).isEmpty();
+    }
+
+    @Test
+    void shouldCollapseRepeatedWritesIntoOneRowWithSummedUsage() {
+        translationMemory.remember("Thank you", "en", "fr", "Merci", "AWS_TRANSLATE");
+        translationMemory.recordUsage("Thank you", "en", "fr");
+        translationMemory.remember("Thank you", "en", "fr", "Merci", "AWS_TRANSLATE");
+        translationMemory.flush();
+        translationMemory.recordUsage("Thank you", "en", "fr");
+        translationMemory.flush();
+
+        Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM translation_memory", Long.class);
+        Long usage = jdbcTemplate.queryForObject("SELECT usage_count FROM translation_memory", Long.class);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(usage).isEqualTo(4);
+    }
+}
@@ -0,0 +1,28 @@
+package com.translator.translation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranslationServiceTest {
+
+    @Test
+    void wordCountShouldMatchRegexSplit() {
+        for (String text : new String[]{"", "one", "two words", "  leading", "trailing  ", " ", "\t\n",
+                "a\u000Bb\fc\rd", "non\u00A0breaking", "many   spaces\tand\nlines  "}) {
+            assertThat(TranslationService.wordCount(text)).as("'%s'", text)
+                    .isEqualTo(text.split("\\s+").length);
+        }
+    }
+
+    @Test
+    void responseIdShouldBeAVersionFourUuid() {
+        UUID id = TranslationService.responseId();
+
+        assertThat(id.version()).isEqualTo(4);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(TranslationService.responseId()).isNotEqualTo(id);
+    }
+}
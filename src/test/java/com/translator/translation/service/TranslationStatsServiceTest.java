@@ -0,0 +1,241 @@
+package com.translator.translation.service;
+
+import com.translator.translation.dto.HistoryStatsDTO;
+import com.translator.translation.model.Translation;
+import com.translator.translation.model.UserTranslationStats;
+import com.translator.translation.repository.TranslationRepository;
+import com.translator.translation.repository.UserTranslationStatsRepository;
+import com.translator.user.model.Role;
+import com.translator.user.model.User;
+import com.translator.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.DayOfWeek;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TranslationStatsService.class)
+class TranslationStatsServiceTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @MockBean
+    private HistoryVersionService versionService;
+
+    @Autowired
+    private TranslationStatsService statsService;
+
+    @Autowired
+    private UserTranslationStatsRepository statsRepository;
+
+    @Autowired
+    private TranslationRepository translationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .email("statsservice@test.com")
+                .passwordHash("hash")
+                .role(Role.USER)
+                .build();
+        userRepository.saveAndFlush(testUser);
+    }
+
+    @Test
+    void shouldTrackCountsThroughInsertFavoriteToggleAndDelete() {
+        OffsetDateTime now = OffsetDateTime.now();
+        UUID helloId = insert("es", now, false).getId();
+        insert("es", now, true);
+        insert("fr", now, false);
+
+        HistoryStatsDTO afterInserts = reloadStats();
+        assertThat(afterInserts.getTotalTranslations()).isEqualTo(3);
+        assertThat(afterInserts.getFavoriteCount()).isEqualTo(1);
+        assertThat(afterInserts.getTranslationsThisWeek()).isEqualTo(3);
+        assertThat(afterInserts.getMostUsedLanguage()).isEqualTo("es");
+
+        Translation hello = translationRepository.findById(helloId).orElseThrow();
+        hello.setFavorite(true);
+        statsService.recordFavoriteChange(testUser.getId(), true);
+        assertThat(reloadStats().getFavoriteCount()).isEqualTo(2);
+
+        remove(translationRepository.findById(helloId).orElseThrow());
+        remove(findOne("fr"));
+
+        HistoryStatsDTO afterDeletes = reloadStats();
+        assertThat(afterDeletes.getTotalTranslations()).isEqualTo(1);
+        assertThat(afterDeletes.getFavoriteCount()).isEqualTo(1);
+        assertThat(afterDeletes.getTranslationsThisWeek()).isEqualTo(1);
+        assertThat(counters().getLanguageCounts()).containsOnly(Map.entry("es", 1L));
+        verify(versionService, atLeastOnce()).historyChanged(testUser.getId());
+    }
+
+    @Test
+    void shouldRollWeeklyBucketsOverAtMondayMidnightUtc() {
+        OffsetDateTime monday = OffsetDateTime.now(ZoneOffset.UTC).with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
+        String thisWeek = monday.toLocalDate().toString();
+        String lastWeek = monday.minusWeeks(1).toLocalDate().toString();
+
+        insert("es", monday.minusMinutes(30), false);
+        insert("es", monday.plusMinutes(30), false);
+        insert("es", monday.plusDays(1), false);
+        // Older than translator.stats.retained-weeks (12), so pruned from the rollup
+        insert("es", monday.minusWeeks(13), false);
+
+        assertThat(counters().getWeeklyCounts()).containsOnly(Map.entry(lastWeek, 1L), Map.entry(thisWeek, 2L));
+        assertThat(reloadStats().getTranslationsThisWeek()).isEqualTo(2);
+
+        remove(findOne(monday.minusMinutes(30)));
+
+        assertThat(counters().getWeeklyCounts()).containsOnly(Map.entry(thisWeek, 2L));
+        assertThat(reloadStats().getTotalTranslations()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldResetOnPurgeAndRebuildFromWhatRemains() {
+        OffsetDateTime monday = OffsetDateTime.now(ZoneOffset.UTC).with(DayOfWeek.MONDAY).truncatedTo(ChronoUnit.DAYS);
+        insert("es", monday.minusMinutes(30), true);
+        insert("fr", monday.plusMinutes(30), false);
+        entityManager.flush();
+        statsService.recordLookup(testUser.getId(), true);
+        statsService.flushLookups();
+        entityManager.clear();
+
+        statsService.resetHistory(testUser.getId());
+
+        UserTranslationStats reset = counters();
+        assertThat(reset.getTotalCount()).isZero();
+        assertThat(reset.getFavoriteCount()).isZero();
+        assertThat(reset.getLanguageCounts()).isEmpty();
+        assertThat(reset.getWeeklyCounts()).isEmpty();
+        assertThat(reset.getLastTranslationAt()).isNull();
+        // Lookups describe traffic, not stored history, so a purge keeps them
+        assertThat(reset.getLookupCount()).isEqualTo(1);
+
+        // The fr row was inserted while the purge ran and survived it
+        translationRepository.delete(findOne("es"));
+        entityManager.flush();
+        statsService.rebuildHistory(testUser.getId());
+
+        UserTranslationStats rebuilt = counters();
+        assertThat(rebuilt.getTotalCount()).isEqualTo(1);
+        assertThat(rebuilt.getFavoriteCount()).isZero();
+        assertThat(rebuilt.getLanguageCounts()).containsOnly(Map.entry("fr", 1L));
+        // The SQL rebuild must land in the same bucket as the Java rollup does
+        assertThat(rebuilt.getWeeklyCounts()).containsOnly(Map.entry(monday.toLocalDate().toString(), 1L));
+        assertThat(rebuilt.getLastTranslationAt()).isCloseTo(monday.plusMinutes(30), within(1, ChronoUnit.SECONDS));
+        assertThat(rebuilt.getLookupCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldComputeCacheHitRateFromFlushedLookups() {
+        assertThat(statsService.getStats(testUser.getId()).getCacheHitRate()).isZero();
+
+        statsService.recordLookup(testUser.getId(), true);
+        statsService.recordLookup(testUser.getId(), true);
+        statsService.recordLookup(testUser.getId(), false);
+        // Tallies are in memory until flushed
+        assertThat(reloadStats().getCacheHitRate()).isZero();
+
+        statsService.flushLookups();
+        statsService.recordLookup(testUser.getId(), false);
+        statsService.flushLookups();
+
+        assertThat(reloadStats().getCacheHitRate()).isEqualTo(0.5);
+        assertThat(counters().getLookupCount()).isEqualTo(4);
+        assertThat(counters().getCacheHitCount()).isEqualTo(2);
+        verify(versionService, atLeastOnce()).lookupsChanged(List.of(testUser.getId()));
+    }
+
+    /** Mirrors {@link TranslationHistoryWriter}: the row and its rollup in one transaction. */
+    private Translation insert(String targetLanguage, OffsetDateTime createdAt, boolean favorite) {
+        Translation translation = translationRepository.saveAndFlush(Translation.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .sourceText("Hello " + UUID.randomUUID())
+                .translatedText("Hola")
+                .targetLanguage(targetLanguage)
+                .isFavorite(favorite)
+                .createdAt(createdAt)
+                .build());
+        statsService.recordInsert(testUser.getId(), targetLanguage, createdAt, favorite);
+        return translation;
+    }
+
+    private void remove(Translation translation) {
+        translationRepository.delete(translation);
+        statsService.recordRemoval(testUser.getId(), translation.getTargetLanguage(),
+                translation.getCreatedAt(), translation.isFavorite());
+    }
+
+    private Translation findOne(String targetLanguage) {
+        return translationRepository.findAll().stream()
+                .filter(t -> t.getTargetLanguage().equals(targetLanguage))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Translation findOne(OffsetDateTime createdAt) {
+        return translationRepository.findAll().stream()
+                .filter(t -> t.getCreatedAt().isEqual(createdAt))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /** Reads the row back from the database rather than the entity the service still holds. */
+    private UserTranslationStats counters() {
+        entityManager.flush();
+        entityManager.clear();
+        return statsRepository.findById(testUser.getId()).orElseThrow();
+    }
+
+    private HistoryStatsDTO reloadStats() {
+        entityManager.flush();
+        entityManager.clear();
+        return statsService.getStats(testUser.getId());
+    }
+}
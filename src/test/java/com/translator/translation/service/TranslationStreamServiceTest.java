@@ -0,0 +1,119 @@
+package com.translator.translation.service;
+
+import com.translator.infrastructure.observability.TranslatorMetrics;
+import com.translator.translation.dto.TranslationRequestDTO;
+import com.translator.translation.dto.TranslationResponseDTO;
+import com.translator.translation.dto.TranslationSegmentDTO;
+import com.translator.translation.service.TranslationService.ResolvedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TranslationStreamServiceTest {
+
+    private static final UUID USER = UUID.randomUUID();
+
+    private final TranslationService translationService = mock(TranslationService.class);
+    private TranslationStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new TranslationStreamService(translationService, mock(TranslatorMetrics.class), 12, 4, 4);
+        when(translationService.resolveSourceLanguage(any()))
+                .thenAnswer(call -> new ResolvedRequest(call.getArgument(0), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void shouldEmitSegmentsInOrderEvenWhenLaterOnesFinishFirst() throws Exception {
+        // Earlier segments are slower, so completion order is the reverse of source order
+        when(translationService.translateSegment(any(), eq(USER))).thenAnswer(call -> {
+            String text = call.<ResolvedRequest>getArgument(0).request().getSourceText();
+            Thread.sleep(text.startsWith("One") ? 150 : text.startsWith("Two") ? 100 : 0);
+            return response(text.toUpperCase(), "AWS_TRANSLATE", false);
+        });
+        List<TranslationSegmentDTO> emitted = new ArrayList<>();
+
+        streamService.stream(request("One here. Two here. Three."), USER, emitted::add);
+
+        assertThat(emitted).extracting(TranslationSegmentDTO::getIndex).containsExactly(0, 1, 2);
+        assertThat(emitted).extracting(TranslationSegmentDTO::getTranslatedText)
+                .containsExactly("ONE HERE.", "TWO HERE.", "THREE.");
+        assertThat(emitted).allSatisfy(segment -> assertThat(segment.getTotalSegments()).isEqualTo(3));
+        verify(translationService).recordSegmentedTranslation(any(), eq("ONE HERE. TWO HERE. THREE."),
+                eq("AWS_TRANSLATE"), eq(USER));
+    }
+
+    @Test
+    void shouldAttributeEachSegmentAndSkipHistoryWhenAllCached() throws Exception {
+        when(translationService.translateSegment(any(), eq(USER))).thenAnswer(call -> {
+            String text = call.<ResolvedRequest>getArgument(0).request().getSourceText();
+            return text.startsWith("One")
+                    ? response("uno", "CAFFEINE_CACHE", true)
+                    : response("dos", "REDIS_CACHE", true);
+        });
+        List<TranslationSegmentDTO> emitted = new ArrayList<>();
+
+        streamService.stream(request("One here. Two here."), USER, emitted::add);
+
+        assertThat(emitted).extracting(TranslationSegmentDTO::getProviderUsed)
+                .containsExactly("CAFFEINE_CACHE", "REDIS_CACHE");
+        assertThat(emitted).extracting(TranslationSegmentDTO::getServedFromCache).containsOnly(true);
+        verify(translationService, never()).recordSegmentedTranslation(any(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void shouldEndWithErrorLineWhenSegmentFails() throws Exception {
+        when(translationService.translateSegment(any(), eq(USER))).thenAnswer(call -> {
+            String text = call.<ResolvedRequest>getArgument(0).request().getSourceText();
+            if (text.startsWith("Two")) {
+                throw new IllegalStateException("All translation providers failed");
+            }
+            return response("ok", "AWS_TRANSLATE", false);
+        });
+        List<TranslationSegmentDTO> emitted = new ArrayList<>();
+
+        streamService.stream(request("One here. Two here. Three."), USER, emitted::add);
+
+        assertThat(emitted).hasSize(2);
+        assertThat(emitted.get(0).getError()).isNull();
+        assertThat(emitted.get(1).getIndex()).isEqualTo(1);
+        assertThat(emitted.get(1).getError()).isNotBlank();
+        verify(translationService, never()).recordSegmentedTranslation(any(), anyString(), anyString(), any());
+    }
+
+    private static TranslationRequestDTO request(String text) {
+        TranslationRequestDTO request = new TranslationRequestDTO();
+        request.setSourceText(text);
+        request.setSourceLanguage("en");
+        request.setTargetLanguage("es");
+        return request;
+    }
+
+    private static TranslationResponseDTO response(String text, String provider, boolean cached) {
+        return TranslationResponseDTO.builder()
+                .translatedText(text)
+                .sourceLanguageDetected("en")
+                .targetLanguage("es")
+                .providerUsed(provider)
+                .servedFromCache(cached)
+                .build();
+    }
+}
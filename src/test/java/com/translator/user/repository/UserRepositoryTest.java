@@ -6,12 +6,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +44,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldFindUserByEmail() {
         User user = User.builder()
@@ -70,4 +79,53 @@ class UserRepositoryTest {
         assertThat(exists).isTrue();
         assertThat(notExists).isFalse();
     }
+
+    @Test
+    void shouldListUsersWithMaintainedCountsSortedAndFiltered() {
+        saveUser("idle@example.com");
+        User light = saveUser("light@example.com");
+        User heavy = saveUser("heavy@example.com");
+        jdbcTemplate.update("UPDATE user_translation_stats SET total_count = ?, last_translation_at = ? WHERE user_id = ?",
+                2, OffsetDateTime.now().minusDays(30), light.getId());
+        jdbcTemplate.update("UPDATE user_translation_stats SET total_count = ?, last_translation_at = ? WHERE user_id = ?",
+                40, OffsetDateTime.now(), heavy.getId());
+
+        Page<UserActivityView> all = userRepository.findUserActivity(0, null,
+                PageRequest.of(0, 10, JpaSort.unsafe(Sort.Direction.DESC, "s.totalCount")));
+        Page<UserActivityView> recent = userRepository.findUserActivity(1, OffsetDateTime.now().minusDays(1),
+                PageRequest.of(0, 10));
+
+        assertThat(all.getContent()).extracting(UserActivityView::getEmail)
+                .containsExactly("heavy@example.com", "light@example.com", "idle@example.com");
+        assertThat(all.getContent()).extracting(UserActivityView::getTranslationCount)
+                .containsExactly(40L, 2L, 0L);
+        assertThat(recent.getContent()).extracting(UserActivityView::getId).containsExactly(heavy.getId());
+        assertThat(recent.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeTheCountSortFromTheStatsIndex() {
+        saveUser("indexed@example.com");
+        // The table is tiny; take sequential scans off so the plan shows which index is usable
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN SELECT u.id FROM users u JOIN user_translation_stats s ON s.user_id = u.id
+                WHERE s.total_count >= 1 ORDER BY s.total_count DESC LIMIT 20
+                """, String.class));
+
+        assertThat(plan).contains("idx_user_translation_stats_total");
+        // Every user has a stats row from creation on, so the inner join drops nobody
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM user_translation_stats", Long.class))
+                .isEqualTo(userRepository.count());
+    }
+
+    private User saveUser(String email) {
+        return userRepository.saveAndFlush(User.builder()
+                .id(UUID.randomUUID())
+                .email(email)
+                .passwordHash("hash")
+                .role(Role.USER)
+                .build());
+    }
 }
@@ -39,6 +39,17 @@ resource "aws_security_group" "app" {
     cidr_blocks = ["0.0.0.0/0"]
   }
 
+  # gRPC API; internal callers only, so it is not behind the ALB
+  dynamic "ingress" {
+    for_each = length(var.grpc_ingress_cidr_blocks) > 0 ? [1] : []
+    content {
+      from_port   = 9090
+      to_port     = 9090
+      protocol    = "tcp"
+      cidr_blocks = var.grpc_ingress_cidr_blocks
+    }
+  }
+
   egress {
     from_port   = 0
     to_port     = 0
@@ -67,11 +78,18 @@ resource "aws_ecs_task_definition" "app" {
     image     = var.ecr_image_uri
     essential = true
 
-    portMappings = [{
-      containerPort = 8080
-      hostPort      = 8080
-      protocol      = "tcp"
-    }]
+    portMappings = [
+      {
+        containerPort = 8080
+        hostPort      = 8080
+        protocol      = "tcp"
+      },
+      {
+        containerPort = 9090
+        hostPort      = 9090
+        protocol      = "tcp"
+      }
+    ]
 
     environment = [
       for k, v in var.env_vars : { name = k, value = v }
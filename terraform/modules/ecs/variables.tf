@@ -13,3 +13,9 @@ variable "env_vars" {
   type        = map(string)
   default     = {}
 }
+
+variable "grpc_ingress_cidr_blocks" {
+  description = "CIDR blocks allowed to reach the gRPC port (9090); empty keeps it closed"
+  type        = list(string)
+  default     = []
+}
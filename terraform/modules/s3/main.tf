@@ -29,4 +29,27 @@ resource "aws_s3_bucket_lifecycle_configuration" "exports" {
     expiration { days = 30 }
     filter { prefix = "translator-exports/" }
   }
+
+  # Document translation inputs and outputs (documents/<job>/, uploads/<user>/)
+  rule {
+    id     = "expire-documents"
+    status = "Enabled"
+    expiration { days = 7 }
+    filter { prefix = "documents/" }
+  }
+
+  rule {
+    id     = "expire-document-uploads"
+    status = "Enabled"
+    expiration { days = 7 }
+    filter { prefix = "uploads/" }
+  }
+
+  # Parts of uploads left open by a worker that died before completing or aborting them
+  rule {
+    id     = "abort-incomplete-uploads"
+    status = "Enabled"
+    abort_incomplete_multipart_upload { days_after_initiation = 1 }
+    filter {}
+  }
 }